@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.preferences.AbsIntPrefInitializer.IterationOrder;
 import de.uni_freiburg.informatik.ultimate.util.csv.ICsvProvider;
 import de.uni_freiburg.informatik.ultimate.util.csv.ICsvProviderProvider;
 import de.uni_freiburg.informatik.ultimate.util.csv.SimpleCsvProvider;
@@ -28,6 +29,24 @@ public class AbsIntBenchmark<ACTION, LOCATION> implements ICsvProviderProvider<O
 	@CsvColumn("PostApplication")
 	private int mPostApplication;
 
+	@CsvColumn("SkippedPostApplication")
+	private int mSkippedPostApplication;
+
+	@CsvColumn("ForgottenVariables")
+	private int mForgottenVariables;
+
+	@CsvColumn("IterationOrder")
+	private IterationOrder mIterationOrder;
+
+	@CsvColumn("Iterations")
+	private int mIterations;
+
+	@CsvColumn("ProcedureSummaries")
+	private int mProcedureSummaries;
+
+	@CsvColumn("ProcedureSummaryReuses")
+	private int mProcedureSummaryReuses;
+
 	public AbsIntBenchmark() {
 		mAction2Visits = new HashMap<>();
 		mAction2Merges = new HashMap<>();
@@ -35,6 +54,7 @@ public class AbsIntBenchmark<ACTION, LOCATION> implements ICsvProviderProvider<O
 		mAction2Fixpoints = new HashMap<>();
 		mMaxVariables = 0;
 		mPostApplication = 0;
+		mIterations = 0;
 	}
 
 	@Override
@@ -44,9 +64,23 @@ public class AbsIntBenchmark<ACTION, LOCATION> implements ICsvProviderProvider<O
 
 	void addIteration(final ACTION action) {
 		mLastAction = action.hashCode();
+		mIterations++;
 		addOrIncrement(mAction2Visits);
 	}
 
+	void setIterationOrder(final IterationOrder iterationOrder) {
+		mIterationOrder = iterationOrder;
+	}
+
+	void setProcedureSummaries(final int summaries, final int reuses) {
+		mProcedureSummaries = summaries;
+		mProcedureSummaryReuses = reuses;
+	}
+
+	public int getIterations() {
+		return mIterations;
+	}
+
 	void addMerge() {
 		addOrIncrement(mAction2Merges);
 	}
@@ -69,6 +103,14 @@ public class AbsIntBenchmark<ACTION, LOCATION> implements ICsvProviderProvider<O
 		mPostApplication++;
 	}
 
+	void countSkippedPostApplication() {
+		mSkippedPostApplication++;
+	}
+
+	void addForgottenVariables(final int varCount) {
+		mForgottenVariables += varCount;
+	}
+
 	private void addOrIncrement(final Map<Integer, Integer> map) {
 		final Integer visits = map.get(mLastAction);
 		if (visits == null) {
@@ -84,6 +126,10 @@ public class AbsIntBenchmark<ACTION, LOCATION> implements ICsvProviderProvider<O
 			return "No benchmarks available";
 		}
 		final StringBuilder sb = new StringBuilder();
+		if (mIterationOrder != null) {
+			sb.append("Iteration order ").append(mIterationOrder).append(": ");
+		}
+		sb.append(mIterations).append(" iterations. ");
 		final Optional<Integer> visits =
 				mAction2Visits.entrySet().stream().map(a -> a.getValue()).reduce((a, b) -> a + b);
 		sb.append("Visited ").append(mAction2Visits.size()).append(" different actions ").append(visits.get())
@@ -116,6 +162,14 @@ public class AbsIntBenchmark<ACTION, LOCATION> implements ICsvProviderProvider<O
 					.append(" different actions.");
 		}
 		sb.append(" Largest state had " + mMaxVariables + " variables.");
+		if (mProcedureSummaries > 0) {
+			sb.append(" Computed ").append(mProcedureSummaries).append(" procedure summaries and reused them ")
+					.append(mProcedureSummaryReuses).append(" times.");
+		}
+		if (mSkippedPostApplication > 0 || mForgottenVariables > 0) {
+			sb.append(" Skipped ").append(mSkippedPostApplication).append(" post applications and forgot ")
+					.append(mForgottenVariables).append(" dead variables.");
+		}
 
 		return sb.toString();
 	}
@@ -28,6 +28,7 @@
 package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -35,6 +36,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -49,7 +51,11 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractSta
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractState.SubsetResult;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractStateBinaryOperator;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IVariableProvider;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.ParallelProcedureSummaries.ProcedureSummary;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.preferences.AbsIntPrefInitializer;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.preferences.AbsIntPrefInitializer.IterationOrder;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.AbstractPostCache;
 import de.uni_freiburg.informatik.ultimate.util.CoreUtil;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
 
@@ -64,7 +70,12 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 
 	private final int mMaxUnwindings;
 	private final int mMaxParallelStates;
+	private final IterationOrder mIterationOrder;
+	private final int mProcedureThreads;
+	private final AbstractPostCache mPostCache;
+	private final ISparsenessProvider<ACTION, LOC> mSparseness;
 
+	private final FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> mParams;
 	private final ITransitionProvider<ACTION, LOC> mTransitionProvider;
 	private final IAbstractStateStorage<STATE, ACTION, LOC> mStateStorage;
 	private final IAbstractDomain<STATE, ACTION> mDomain;
@@ -78,10 +89,16 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 	private final SummaryMap<STATE, ACTION, LOC> mSummaryMap;
 	private final boolean mUseHierachicalPre;
 
+	private IAbstractPostOperator<STATE, ACTION> mPostOperator;
+	private IAbstractStateBinaryOperator<STATE> mWideningOperator;
+	private ParallelProcedureSummaries<STATE, ACTION, VARDECL, LOC> mProcedureSummaries;
+	private Set<LOC> mExitLocations;
+
 	public FixpointEngine(final FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> params) {
 		if (params == null || !params.isValid()) {
 			throw new IllegalArgumentException("invalid params");
 		}
+		mParams = params;
 		mTimer = params.getTimer();
 		mLogger = params.getLogger();
 		mTransitionProvider = params.getTransitionProvider();
@@ -92,6 +109,10 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 		mDebugHelper = params.getDebugHelper();
 		mMaxUnwindings = params.getMaxUnwindings();
 		mMaxParallelStates = params.getMaxParallelStates();
+		mIterationOrder = params.getIterationOrder();
+		mProcedureThreads = params.getProcedureThreads();
+		mPostCache = params.getPostCache();
+		mSparseness = params.getSparseness();
 		mSummaryMap = new SummaryMap<>(mTransitionProvider, mLogger);
 		mUseHierachicalPre = mDomain.useHierachicalPre();
 	}
@@ -99,10 +120,25 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 	@Override
 	public AbsIntResult<STATE, ACTION, LOC> run(final Collection<? extends LOC> initialNodes, final Script script) {
 		mLogger.info("Starting fixpoint engine with domain " + mDomain.getClass().getSimpleName() + " (maxUnwinding="
-				+ mMaxUnwindings + ", maxParallelStates=" + mMaxParallelStates + ")");
+				+ mMaxUnwindings + ", maxParallelStates=" + mMaxParallelStates + ", iterationOrder=" + mIterationOrder
+				+ ", procedureThreads=" + mProcedureThreads + ", sparse=" + (mSparseness != null) + ")");
 		mResult = new AbsIntResult<>(script, mDomain, mTransitionProvider, mVarProvider);
 		mDomain.beforeFixpointComputation();
-		calculateFixpoint(initialNodes);
+		mWideningOperator = mDomain.getWideningOperator();
+		mPostOperator = mProcedureThreads > 0 ? mDomain.createIndependentPostOperator() : null;
+		if (mPostOperator != null) {
+			mProcedureSummaries = new ParallelProcedureSummaries<>(mParams, initialNodes, script);
+			mProcedureSummaries.run(() -> calculateFixpoint(initialNodes, createInitialWorklistItems(initialNodes)));
+			mResult.getBenchmark().setProcedureSummaries(mProcedureSummaries.getComputedSummaries(),
+					mProcedureSummaries.getReusedSummaries());
+		} else {
+			if (mProcedureThreads > 0) {
+				mLogger.warn("Domain " + mDomain.getClass().getSimpleName()
+						+ " does not support concurrent fixpoint computations, analysing the whole program instead");
+			}
+			mPostOperator = mDomain.getPostOperator();
+			calculateFixpoint(initialNodes, createInitialWorklistItems(initialNodes));
+		}
 		mResult.saveRootStorage(mStateStorage);
 		mResult.saveSummaryStorage(mSummaryMap);
 		mLogger.debug("Fixpoint computation completed");
@@ -110,21 +146,71 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 		return mResult;
 	}
 
-	private void calculateFixpoint(final Collection<? extends LOC> start) {
-		final Deque<WorklistItem<STATE, ACTION, VARDECL, LOC>> worklist = new ArrayDeque<>();
-		final IAbstractPostOperator<STATE, ACTION> postOp = mDomain.getPostOperator();
-		final IAbstractStateBinaryOperator<STATE> wideningOp = mDomain.getWideningOperator();
-		final Set<ACTION> reachedErrors = new HashSet<>();
+	/**
+	 * Compute the fixpoint of the procedure called by the call of a {@link ProcedureSummary} for the abstract call
+	 * context of the summary. Transitions that leave the procedure are not taken; their sources are collected as exit
+	 * locations instead.
+	 */
+	AbsIntResult<STATE, ACTION, LOC> runProcedure(
+			final ParallelProcedureSummaries<STATE, ACTION, VARDECL, LOC> procedureSummaries,
+			final ProcedureSummary<STATE, ACTION, VARDECL, LOC> summary, final Script script) {
+		mProcedureSummaries = procedureSummaries;
+		mExitLocations = new HashSet<>();
+		// the widening operator was created by the engine that started the procedure-wise analysis
+		mWideningOperator = mDomain.getWideningOperator();
+		mPostOperator = mDomain.createIndependentPostOperator();
+		mResult = new AbsIntResult<>(script, mDomain, mTransitionProvider, mVarProvider);
 
-		// add all outgoing edges of nodes in the start set that are not unnecessary summaries to the worklist
-		start.stream().flatMap(a -> mTransitionProvider.getSuccessorActions(a).stream())
-				.filter(a -> !mTransitionProvider.isSummaryWithImplementation(a)).map(this::createInitialWorklistItem)
-				.forEach(worklist::add);
+		final LOC entry = mTransitionProvider.getTarget(summary.getCall());
+		final DisjunctiveAbstractState<STATE> entryState = summary.getEntryState();
+		mStateStorage.addAbstractState(entry, entryState);
+		final List<WorklistItem<STATE, ACTION, VARDECL, LOC>> initialItems = new ArrayList<>();
+		for (final ACTION action : mTransitionProvider.getSuccessorActions(entry)) {
+			if (mTransitionProvider.isLeavingScope(action)) {
+				mExitLocations.add(entry);
+			} else if (!mTransitionProvider.isSummaryWithImplementation(action)) {
+				initialItems.add(new WorklistItem<>(entryState, action, mStateStorage, mSummaryMap));
+			}
+		}
+		calculateFixpoint(Collections.singleton(entry), initialItems);
+		mResult.saveRootStorage(mStateStorage);
+		mResult.saveSummaryStorage(mSummaryMap);
+		return mResult;
+	}
+
+	Set<LOC> getExitLocations() {
+		return mExitLocations;
+	}
+
+	private void calculateFixpoint(final Collection<? extends LOC> start,
+			final List<WorklistItem<STATE, ACTION, VARDECL, LOC>> initialItems) {
+		final ILoopDetector<ACTION> loopDetector;
+		final Queue<WorklistItem<STATE, ACTION, VARDECL, LOC>> worklist;
+		if (mIterationOrder == IterationOrder.WTO) {
+			final WeakTopologicalOrdering<ACTION, LOC> wto = new WeakTopologicalOrdering<>(mTransitionProvider, start);
+			if (mLogger.isDebugEnabled()) {
+				mLogger.debug("Weak topological ordering: " + wto);
+			}
+			mLogger.info("Computed weak topological ordering of " + wto.getNumberOfLocations() + " locations with "
+					+ wto.getNumberOfComponents() + " components");
+			loopDetector = wto;
+			worklist = wto.createWorklist(WorklistItem::getAction);
+		} else {
+			loopDetector = mLoopDetector;
+			worklist = new ArrayDeque<>();
+		}
+		mResult.getBenchmark().setIterationOrder(mIterationOrder);
+		final IAbstractPostOperator<STATE, ACTION> postOp =
+				mPostCache == null ? mPostOperator : mPostCache.wrap(mPostOperator);
+		final IAbstractStateBinaryOperator<STATE> wideningOp = mWideningOperator;
+		final Set<ACTION> reachedErrors = new HashSet<>();
+		final List<PendingCall> pendingCalls = new ArrayList<>();
+		worklist.addAll(initialItems);
 
-		while (!worklist.isEmpty()) {
+		while (!worklist.isEmpty() || resumePendingCalls(pendingCalls, worklist)) {
 			checkTimeout();
 
-			final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem = worklist.removeFirst();
+			final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem = worklist.poll();
 			mResult.getBenchmark().addIteration(currentItem.getAction());
 
 			if (mLogger.isDebugEnabled()) {
@@ -142,7 +228,7 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 			// continue;
 			// }
 
-			checkLoopState(currentItem);
+			checkLoopState(currentItem, loopDetector);
 			checkReachedError(currentItem, postState, reachedErrors);
 
 			final DisjunctiveAbstractState<STATE> postStateAfterWidening =
@@ -161,12 +247,90 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 			assert postStatesAfterSave != null : "Saving a state is not allowed to return null";
 			logDebugPostChanged(postStateAfterWidening, postStatesAfterSave, "Merge");
 
-			final List<WorklistItem<STATE, ACTION, VARDECL, LOC>> newItems =
-					createSuccessorItems(currentItem, postStatesAfterSave);
+			final List<WorklistItem<STATE, ACTION, VARDECL, LOC>> newItems;
+			if (isSummarizedCall(currentItem)) {
+				newItems = createSummaryItems(currentItem, postStatesAfterSave, pendingCalls);
+			} else {
+				newItems = createSuccessorItems(currentItem, postStatesAfterSave);
+			}
 			worklist.addAll(newItems);
 		}
 	}
 
+	private List<WorklistItem<STATE, ACTION, VARDECL, LOC>> createInitialWorklistItems(
+			final Collection<? extends LOC> start) {
+		// add all outgoing edges of nodes in the start set that are not unnecessary summaries to the worklist
+		return start.stream().flatMap(a -> mTransitionProvider.getSuccessorActions(a).stream())
+				.filter(a -> !mTransitionProvider.isSummaryWithImplementation(a)).map(this::createInitialWorklistItem)
+				.collect(Collectors.toList());
+	}
+
+	private boolean isSummarizedCall(final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem) {
+		final ACTION action = currentItem.getAction();
+		return mProcedureSummaries != null && mTransitionProvider.isEnteringScope(action)
+				&& mProcedureSummaries.isSummarized(action);
+	}
+
+	/**
+	 * Replace the body of the procedure entered by a call item with the summary for the abstract call context
+	 * <code>calleeEntryState</code>. If the summary is still being computed, the call item is parked in
+	 * <code>pendingCalls</code> and the worklist continues with the remaining items.
+	 */
+	private List<WorklistItem<STATE, ACTION, VARDECL, LOC>> createSummaryItems(
+			final WorklistItem<STATE, ACTION, VARDECL, LOC> callItem,
+			final DisjunctiveAbstractState<STATE> calleeEntryState, final List<PendingCall> pendingCalls) {
+		final ProcedureSummary<STATE, ACTION, VARDECL, LOC> summary =
+				mProcedureSummaries.getSummary(callItem.getAction(), calleeEntryState);
+		if (!summary.isDone()) {
+			pendingCalls.add(new PendingCall(callItem, summary));
+			return Collections.emptyList();
+		}
+		return applySummary(callItem, summary);
+	}
+
+	/**
+	 * Wait for the summaries of all pending calls and add the items that continue after these calls to the worklist.
+	 *
+	 * @return true iff the worklist is not empty afterwards.
+	 */
+	private boolean resumePendingCalls(final List<PendingCall> pendingCalls,
+			final Queue<WorklistItem<STATE, ACTION, VARDECL, LOC>> worklist) {
+		for (final PendingCall pending : pendingCalls) {
+			checkTimeout();
+			worklist.addAll(applySummary(pending.mCallItem, pending.mSummary));
+		}
+		pendingCalls.clear();
+		return !worklist.isEmpty();
+	}
+
+	private List<WorklistItem<STATE, ACTION, VARDECL, LOC>> applySummary(
+			final WorklistItem<STATE, ACTION, VARDECL, LOC> callItem,
+			final ProcedureSummary<STATE, ACTION, VARDECL, LOC> summary) {
+		summary.join();
+		if (summary.hasReachedError()) {
+			// analyse the procedure inline s.t. counterexamples start at the initial nodes
+			return createSuccessorItems(callItem, summary.getEntryState());
+		}
+		final ACTION call = callItem.getAction();
+		if (mLogger.isDebugEnabled()) {
+			mLogger.debug(AbsIntPrefInitializer.INDENT + " Using procedure summary for "
+					+ LoggingHelper.getTransitionString(call, mTransitionProvider));
+		}
+
+		// the call item already entered the scope of the callee, so its current storage is the scope storage
+		callItem.getCurrentStorage().addStorage(summary.getStorage());
+		final List<WorklistItem<STATE, ACTION, VARDECL, LOC>> returnItems = new ArrayList<>();
+		for (final LOC exit : summary.getExitLocations()) {
+			final DisjunctiveAbstractState<STATE> exitState = summary.getStorage().getAbstractState(exit);
+			for (final ACTION ret : mTransitionProvider.getSuccessorActions(exit)) {
+				if (mTransitionProvider.isLeavingScope(ret, call)) {
+					returnItems.add(new WorklistItem<>(exitState, ret, callItem));
+				}
+			}
+		}
+		return returnItems;
+	}
+
 	/**
 	 * This method checks whether the current item can be ignored by a summary. This is the case if this item is a call
 	 * to a procedure for which a summary is already calculated. In this case, the item will count as processed and
@@ -179,7 +343,7 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 	 */
 	private boolean useSummaryInstead(final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem,
 			final DisjunctiveAbstractState<STATE> postState,
-			final Deque<WorklistItem<STATE, ACTION, VARDECL, LOC>> worklist) {
+			final Queue<WorklistItem<STATE, ACTION, VARDECL, LOC>> worklist) {
 		final ACTION callAction = currentItem.getAction();
 		if (!mTransitionProvider.isEnteringScope(callAction)) {
 			// can only use summary if entering a scope
@@ -243,16 +407,28 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 				postState = preStateWithFreshVariables.apply(postOp, preState, currentAction);
 			}
 			isHierachicalPostResultBottom(postState, currentItem);
+			mResult.getBenchmark().countPostApplication();
 
-		} else {
+		} else if (mSparseness == null) {
 			preStateWithFreshVariables = preState;
 			postState = preState.apply(postOp, currentAction);
+			mResult.getBenchmark().countPostApplication();
+		} else {
+			preStateWithFreshVariables = preState;
+			if (mSparseness.isIdentity(currentAction)) {
+				postState = preState;
+				mResult.getBenchmark().countSkippedPostApplication();
+			} else {
+				postState = preState.apply(postOp, currentAction);
+				mResult.getBenchmark().countPostApplication();
+			}
+			postState = forgetDeadVariables(currentAction, postState);
 		}
-		mResult.getBenchmark().countPostApplication();
 
 		assert postState != null;
-		assert assertIsPostSound(preState, currentAction, preStateWithFreshVariables, hierachicalPreState,
-				postState) : "Post is unsound";
+		// the debug helper uses the solver and can therefore not be shared by parallel procedure summaries
+		assert mProcedureSummaries != null || assertIsPostSound(preState, currentAction, preStateWithFreshVariables,
+				hierachicalPreState, postState) : "Post is unsound";
 
 		// check if we enter or leave a scope and act accordingly (saving summaries, creating new scope storages, etc.)
 		postState = prepareScope(currentItem, postState);
@@ -260,6 +436,28 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 		return postState;
 	}
 
+	/**
+	 * Set all local variables that are not live at the target of the given action to top. This loses no precision
+	 * that could be observed later, but lets loops stabilize as soon as the values of the live variables do.
+	 */
+	private DisjunctiveAbstractState<STATE> forgetDeadVariables(final ACTION action,
+			final DisjunctiveAbstractState<STATE> postState) {
+		if (postState.isBottom()) {
+			return postState;
+		}
+		final Set<IProgramVarOrConst> live = mSparseness.getLiveVariables(mTransitionProvider.getTarget(action));
+		if (live == null) {
+			return postState;
+		}
+		final List<IProgramVarOrConst> dead = postState.getVariables().stream()
+				.filter(a -> !a.isGlobal() && !live.contains(a)).collect(Collectors.toList());
+		if (dead.isEmpty()) {
+			return postState;
+		}
+		mResult.getBenchmark().addForgottenVariables(dead.size());
+		return postState.removeVariables(dead).addVariables(dead);
+	}
+
 	private boolean assertIsPostSound(final DisjunctiveAbstractState<STATE> preState, final ACTION currentAction,
 			final DisjunctiveAbstractState<STATE> preStateWithFreshVariables,
 			final DisjunctiveAbstractState<STATE> hierachicalPreState,
@@ -329,10 +527,11 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 		return true;
 	}
 
-	private void checkLoopState(final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem) {
+	private void checkLoopState(final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem,
+			final ILoopDetector<ACTION> loopDetector) {
 		final ACTION currentAction = currentItem.getAction();
 		// check if we are entering a loop
-		if (mLoopDetector.isEnteringLoop(currentAction)) {
+		if (loopDetector.isEnteringLoop(currentAction)) {
 			final LOC currentLoopHead = mTransitionProvider.getSource(currentAction);
 			final int loopCounterValue = currentItem.enterLoop(currentLoopHead);
 			if (mLogger.isDebugEnabled()) {
@@ -384,6 +583,7 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 			final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem,
 			final DisjunctiveAbstractState<STATE> postState) {
 		final ACTION current = currentItem.getAction();
+		addExitLocation(currentItem);
 		final Collection<ACTION> successors = mTransitionProvider.getSuccessors(current, currentItem.getCurrentScope());
 
 		if (successors.isEmpty()) {
@@ -406,6 +606,22 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 		return successorItems;
 	}
 
+	/**
+	 * If we compute a procedure summary and the current item reaches a location from which the analysed procedure
+	 * returns, remember this location. The returns themselves are not successors because they leave the outermost
+	 * scope.
+	 */
+	private void addExitLocation(final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem) {
+		if (mExitLocations == null || currentItem.getScopeStackDepth() > 1) {
+			return;
+		}
+		final LOC target = mTransitionProvider.getTarget(currentItem.getAction());
+		if (!mExitLocations.contains(target) && mTransitionProvider.getSuccessorActions(target).stream()
+				.anyMatch(mTransitionProvider::isLeavingScope)) {
+			mExitLocations.add(target);
+		}
+	}
+
 	private DisjunctiveAbstractState<STATE> widenIfNecessary(
 			final WorklistItem<STATE, ACTION, VARDECL, LOC> currentItem,
 			final DisjunctiveAbstractState<STATE> postState, final IAbstractStateBinaryOperator<STATE> wideningOp) {
@@ -650,4 +866,18 @@ public class FixpointEngine<STATE extends IAbstractState<STATE>, ACTION, VARDECL
 				.append(item.getState().hashCode()).append("]").append(" --[").append(item.getAction().hashCode())
 				.append("]->");
 	}
+
+	/**
+	 * A call item that waits for the procedure summary of its abstract call context.
+	 */
+	private final class PendingCall {
+		private final WorklistItem<STATE, ACTION, VARDECL, LOC> mCallItem;
+		private final ProcedureSummary<STATE, ACTION, VARDECL, LOC> mSummary;
+
+		private PendingCall(final WorklistItem<STATE, ACTION, VARDECL, LOC> callItem,
+				final ProcedureSummary<STATE, ACTION, VARDECL, LOC> summary) {
+			mCallItem = callItem;
+			mSummary = summary;
+		}
+	}
 }
@@ -9,6 +9,8 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractSta
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IVariableProvider;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.Activator;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.preferences.AbsIntPrefInitializer;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.preferences.AbsIntPrefInitializer.IterationOrder;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.AbstractPostCache;
 
 /**
  *
@@ -26,6 +28,10 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 	private final IProgressAwareTimer mTimer;
 	private final int mMaxUnwindings;
 	private final int mMaxParallelStates;
+	private final IterationOrder mIterationOrder;
+	private final int mProcedureThreads;
+	private final AbstractPostCache mPostCache;
+	private final ISparsenessProvider<ACTION, LOC> mSparseness;
 	private final ILogger mLogger;
 
 	/**
@@ -51,6 +57,10 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 		final IPreferenceProvider ups = services.getPreferenceProvider(Activator.PLUGIN_ID);
 		mMaxUnwindings = ups.getInt(AbsIntPrefInitializer.LABEL_ITERATIONS_UNTIL_WIDENING);
 		mMaxParallelStates = ups.getInt(AbsIntPrefInitializer.LABEL_MAX_PARALLEL_STATES);
+		mIterationOrder = ups.getEnum(AbsIntPrefInitializer.LABEL_ITERATION_ORDER, IterationOrder.class);
+		mProcedureThreads = ups.getInt(AbsIntPrefInitializer.LABEL_PROCEDURE_THREADS);
+		mPostCache = null;
+		mSparseness = null;
 	}
 
 	/**
@@ -61,7 +71,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			final IVariableProvider<STATE, ACTION> varProvider, final ILoopDetector<ACTION> loopDetector,
 			final IAbstractDomain<STATE, ACTION> domain, final IDebugHelper<STATE, ACTION, VARDECL, LOC> debugHelper,
 			final IProgressAwareTimer timer, final ILogger logger, final int maxUnwindings,
-			final int maxParallelStates) {
+			final int maxParallelStates, final IterationOrder iterationOrder, final int procedureThreads,
+			final AbstractPostCache postCache, final ISparsenessProvider<ACTION, LOC> sparseness) {
 		mTransitionProvider = transitionProvider;
 		mStorage = storage;
 		mVarProvider = varProvider;
@@ -72,6 +83,10 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 		mLogger = logger;
 		mMaxUnwindings = maxUnwindings;
 		mMaxParallelStates = maxParallelStates;
+		mIterationOrder = iterationOrder;
+		mProcedureThreads = procedureThreads;
+		mPostCache = postCache;
+		mSparseness = sparseness;
 	}
 
 	/**
@@ -90,7 +105,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("transitionProvider may not be null");
 		}
 		return new FixpointEngineParameters<>(transitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
-				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
@@ -99,7 +115,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("storage may not be null");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, storage, mVarProvider, mLoopDetector, mDomain,
-				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
@@ -108,7 +125,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("varProvider may not be null");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, varProvider, mLoopDetector, mDomain,
-				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
@@ -117,7 +135,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("loopDetector may not be null");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, loopDetector, mDomain,
-				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
@@ -126,7 +145,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("domain may not be null");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, domain,
-				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
@@ -135,7 +155,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("debugHelper may not be null");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
-				debugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				debugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> setTimer(final IProgressAwareTimer timer) {
@@ -143,7 +164,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("timer may not be null");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
-				mDebugHelper, timer, mLogger, mMaxUnwindings, mMaxParallelStates);
+				mDebugHelper, timer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> setMaxUnwindings(final int maxUnwindings) {
@@ -151,7 +173,8 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("maxUnwindings must be larger than zero");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
-				mDebugHelper, mTimer, mLogger, maxUnwindings, mMaxParallelStates);
+				mDebugHelper, mTimer, mLogger, maxUnwindings, mMaxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
 	}
 
 	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> setMaxParallelStates(final int maxParallelStates) {
@@ -159,7 +182,48 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 			throw new IllegalArgumentException("maxParallelStates must be larger than zero");
 		}
 		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
-				mDebugHelper, mTimer, mLogger, mMaxUnwindings, maxParallelStates);
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, maxParallelStates, mIterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
+	}
+
+	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
+			setIterationOrder(final IterationOrder iterationOrder) {
+		if (iterationOrder == null) {
+			throw new IllegalArgumentException("iterationOrder may not be null");
+		}
+		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, iterationOrder,
+				mProcedureThreads, mPostCache, mSparseness);
+	}
+
+	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> setProcedureThreads(final int procedureThreads) {
+		if (procedureThreads < 0) {
+			throw new IllegalArgumentException("procedureThreads must not be negative");
+		}
+		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder, procedureThreads,
+				mPostCache, mSparseness);
+	}
+
+	/**
+	 * Let the fixpoint engine answer post operations from the given cache, which may be shared with other runs. A
+	 * value of <code>null</code> disables caching.
+	 */
+	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> setPostCache(final AbstractPostCache postCache) {
+		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder, mProcedureThreads,
+				postCache, mSparseness);
+	}
+
+	/**
+	 * Let the fixpoint engine skip the post of actions that are the identity and set local variables that are not live
+	 * to top. A value of <code>null</code> disables the sparse analysis.
+	 */
+	public FixpointEngineParameters<STATE, ACTION, VARDECL, LOC>
+			setSparseness(final ISparsenessProvider<ACTION, LOC> sparseness) {
+		return new FixpointEngineParameters<>(mTransitionProvider, mStorage, mVarProvider, mLoopDetector, mDomain,
+				mDebugHelper, mTimer, mLogger, mMaxUnwindings, mMaxParallelStates, mIterationOrder, mProcedureThreads,
+				mPostCache, sparseness);
 	}
 
 	public boolean isValid() {
@@ -193,6 +257,12 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 		if (getMaxParallelStates() <= 0) {
 			throw new IllegalArgumentException("Wrong value for max parallel states");
 		}
+		if (getIterationOrder() == null) {
+			throw new IllegalArgumentException("Missing iteration order");
+		}
+		if (getProcedureThreads() < 0) {
+			throw new IllegalArgumentException("Wrong value for procedure threads");
+		}
 		return true;
 	}
 
@@ -235,4 +305,20 @@ public class FixpointEngineParameters<STATE extends IAbstractState<STATE>, ACTIO
 	public int getMaxParallelStates() {
 		return mMaxParallelStates;
 	}
+
+	public IterationOrder getIterationOrder() {
+		return mIterationOrder;
+	}
+
+	public int getProcedureThreads() {
+		return mProcedureThreads;
+	}
+
+	public AbstractPostCache getPostCache() {
+		return mPostCache;
+	}
+
+	public ISparsenessProvider<ACTION, LOC> getSparseness() {
+		return mSparseness;
+	}
 }
@@ -70,6 +70,20 @@ public interface IAbstractStateStorage<STATE extends IAbstractState<STATE>, ACTI
 
 	IAbstractStateStorage<STATE, ACTION, LOC> createStorage(ACTION scope);
 
+	/**
+	 * @return A new, empty root storage that does not share any states or scopes with this storage.
+	 */
+	IAbstractStateStorage<STATE, ACTION, LOC> createIndependentStorage();
+
+	/**
+	 * Add all states, child scopes, and scope fixpoints of another root storage to this storage. The other storage is
+	 * not modified.
+	 *
+	 * @param other
+	 *            A root storage that was created by {@link #createIndependentStorage()}.
+	 */
+	void addStorage(IAbstractStateStorage<STATE, ACTION, LOC> other);
+
 	void scopeFixpointReached();
 
 	void saveSummarySubstituion(ACTION action, DisjunctiveAbstractState<STATE> summaryPostState, ACTION summaryAction);
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm;
+
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst;
+
+/**
+ * Def-use information that allows the {@link FixpointEngine} to run sparsely, i.e., to skip the abstract post of
+ * actions that do not change any variable and to forget the values of variables that are not used anymore.
+ *
+ * @param <ACTION>
+ *            The type of the actions.
+ * @param <LOC>
+ *            The type of the locations.
+ */
+public interface ISparsenessProvider<ACTION, LOC> {
+
+	/**
+	 * @return true iff the abstract post of the given action is the identity, i.e., the action neither reads nor
+	 *         writes a variable and does not restrict the set of states.
+	 */
+	boolean isIdentity(ACTION action);
+
+	/**
+	 * @return The variables that may be read at the given location before they are written, or null if this is
+	 *         unknown. The fixpoint engine sets all local variables that are not contained in this set to top.
+	 */
+	Set<IProgramVarOrConst> getLiveVariables(LOC loc);
+}
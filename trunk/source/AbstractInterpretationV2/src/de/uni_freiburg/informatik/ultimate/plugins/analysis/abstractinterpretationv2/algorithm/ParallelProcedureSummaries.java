@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.DisjunctiveAbstractState;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractDomain;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractState;
+import de.uni_freiburg.informatik.ultimate.util.scc.DefaultSccComputation;
+import de.uni_freiburg.informatik.ultimate.util.scc.StronglyConnectedComponent;
+
+/**
+ * Procedure summaries for the procedure-wise mode of the {@link FixpointEngine}.
+ *
+ * A summary is the complete fixpoint of one procedure for one abstract call context, i.e., for the abstract state at
+ * the entry of the procedure. Summaries are computed on demand on a fork/join pool and are reused by every call with
+ * the same context. Calls between procedures of the same strongly connected component of the call graph are not
+ * summarized but analysed inline, so summaries are only requested along the acyclic component graph and every
+ * summary depends only on summaries of procedures further down the call graph.
+ *
+ * Each summary is computed with its own post operator (see {@link IAbstractDomain#createIndependentPostOperator()}),
+ * hence this class may only be used with domains that support concurrent fixpoint computations.
+ *
+ * @param <STATE>
+ *            The type of the abstract states.
+ * @param <ACTION>
+ *            The type of transitions of the control flow graph.
+ * @param <VARDECL>
+ *            The type of variable declarations.
+ * @param <LOC>
+ *            The type of locations of the control flow graph.
+ */
+final class ParallelProcedureSummaries<STATE extends IAbstractState<STATE>, ACTION, VARDECL, LOC> {
+
+	private final FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> mParams;
+	private final ITransitionProvider<ACTION, LOC> mTransitionProvider;
+	private final ILogger mLogger;
+	private final Script mScript;
+	private final ForkJoinPool mPool;
+
+	private final Map<ACTION, String> mCall2Caller;
+	private final Map<String, StronglyConnectedComponent<String>> mProc2Scc;
+	private final Map<String, List<ProcedureSummary<STATE, ACTION, VARDECL, LOC>>> mSummaries;
+	private final AtomicInteger mComputedSummaries;
+	private final AtomicInteger mReusedSummaries;
+
+	ParallelProcedureSummaries(final FixpointEngineParameters<STATE, ACTION, VARDECL, LOC> params,
+			final Collection<? extends LOC> initialNodes, final Script script) {
+		mParams = params;
+		mTransitionProvider = params.getTransitionProvider();
+		mLogger = params.getLogger();
+		mScript = script;
+		mPool = new ForkJoinPool(params.getProcedureThreads());
+		mCall2Caller = new HashMap<>();
+		mSummaries = new HashMap<>();
+		mComputedSummaries = new AtomicInteger();
+		mReusedSummaries = new AtomicInteger();
+		mProc2Scc = computeCallGraphComponents(initialNodes);
+	}
+
+	/**
+	 * Run a fixpoint computation on the fork/join pool of this instance and shut the pool down afterwards.
+	 */
+	void run(final Runnable fixpointComputation) {
+		try {
+			mPool.invoke(ForkJoinTask.adapt(fixpointComputation));
+		} finally {
+			mPool.shutdownNow();
+		}
+	}
+
+	/**
+	 * @param call
+	 *            A call transition.
+	 * @return true iff the given call leaves the strongly connected component of its caller in the call graph and can
+	 *         thus be replaced by a summary.
+	 */
+	boolean isSummarized(final ACTION call) {
+		final String caller = mCall2Caller.get(call);
+		if (caller == null) {
+			return false;
+		}
+		return mProc2Scc.get(caller) != mProc2Scc.get(mTransitionProvider.getProcedureName(call));
+	}
+
+	/**
+	 * Get the summary of the procedure called by <code>call</code> for the abstract call context
+	 * <code>entryState</code>. If there is no such summary yet, its computation is started on the fork/join pool. The
+	 * caller has to {@link ProcedureSummary#join()} the summary before it can use it.
+	 */
+	ProcedureSummary<STATE, ACTION, VARDECL, LOC> getSummary(final ACTION call,
+			final DisjunctiveAbstractState<STATE> entryState) {
+		final String callee = mTransitionProvider.getProcedureName(call);
+		final ProcedureSummary<STATE, ACTION, VARDECL, LOC> summary;
+		synchronized (mSummaries) {
+			final List<ProcedureSummary<STATE, ACTION, VARDECL, LOC>> summaries =
+					mSummaries.computeIfAbsent(callee, a -> new ArrayList<>());
+			for (final ProcedureSummary<STATE, ACTION, VARDECL, LOC> existing : summaries) {
+				if (existing.getEntryState().isEqualTo(entryState)) {
+					mReusedSummaries.incrementAndGet();
+					return existing;
+				}
+			}
+			summary = new ProcedureSummary<>(this, call, entryState);
+			summaries.add(summary);
+		}
+		summary.fork();
+		return summary;
+	}
+
+	private void compute(final ProcedureSummary<STATE, ACTION, VARDECL, LOC> summary) {
+		final IAbstractStateStorage<STATE, ACTION, LOC> storage = mParams.getStorage().createIndependentStorage();
+		final FixpointEngine<STATE, ACTION, VARDECL, LOC> engine = new FixpointEngine<>(mParams.setStorage(storage));
+		final AbsIntResult<STATE, ACTION, LOC> result = engine.runProcedure(this, summary, mScript);
+		summary.mStorage = storage;
+		summary.mExitLocations = engine.getExitLocations();
+		summary.mHasReachedError = result.hasReachedError();
+		mComputedSummaries.incrementAndGet();
+	}
+
+	int getComputedSummaries() {
+		return mComputedSummaries.get();
+	}
+
+	int getReusedSummaries() {
+		return mReusedSummaries.get();
+	}
+
+	private Map<String, StronglyConnectedComponent<String>>
+			computeCallGraphComponents(final Collection<? extends LOC> initialNodes) {
+		// explore all procedures reachable from the initial nodes and remember the caller of each call
+		final Map<String, Set<String>> callGraph = new HashMap<>();
+		final Map<LOC, String> loc2Proc = new HashMap<>();
+		final Deque<LOC> worklist = new ArrayDeque<>();
+		for (final LOC initial : initialNodes) {
+			if (loc2Proc.putIfAbsent(initial, getProcedureName(initial)) == null) {
+				worklist.add(initial);
+			}
+		}
+		while (!worklist.isEmpty()) {
+			final LOC current = worklist.remove();
+			final String proc = loc2Proc.get(current);
+			callGraph.computeIfAbsent(proc, a -> new HashSet<>());
+			for (final ACTION action : mTransitionProvider.getSuccessorActions(current)) {
+				if (mTransitionProvider.isLeavingScope(action)) {
+					// the return site is reached through the summary of the call
+					continue;
+				}
+				final String succProc;
+				if (mTransitionProvider.isEnteringScope(action)) {
+					succProc = mTransitionProvider.getProcedureName(action);
+					mCall2Caller.put(action, proc);
+					callGraph.get(proc).add(succProc);
+				} else {
+					succProc = proc;
+				}
+				final LOC target = mTransitionProvider.getTarget(action);
+				if (loc2Proc.putIfAbsent(target, succProc) == null) {
+					worklist.add(target);
+				}
+			}
+		}
+
+		final DefaultSccComputation<String> sccComputation = new DefaultSccComputation<>(mLogger,
+				a -> callGraph.getOrDefault(a, Collections.emptySet()).iterator(), callGraph.size(),
+				callGraph.keySet());
+		mLogger.info("Procedure-wise analysis of " + callGraph.size() + " procedures in "
+				+ sccComputation.getSCCs().size() + " strongly connected components with "
+				+ mPool.getParallelism() + " threads");
+		return sccComputation.getNodeToComponents();
+	}
+
+	private String getProcedureName(final LOC initial) {
+		return mTransitionProvider.getSuccessorActions(initial).stream()
+				.filter(a -> !mTransitionProvider.isEnteringScope(a) && !mTransitionProvider.isLeavingScope(a)
+						&& !mTransitionProvider.isSummaryWithImplementation(a))
+				.map(mTransitionProvider::getProcedureName).findAny().orElse(String.valueOf(initial));
+	}
+
+	/**
+	 * The fixpoint of one procedure for one abstract call context. It is computed by a separate {@link FixpointEngine}
+	 * with its own state storage.
+	 */
+	static final class ProcedureSummary<STATE extends IAbstractState<STATE>, ACTION, VARDECL, LOC>
+			extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final transient ParallelProcedureSummaries<STATE, ACTION, VARDECL, LOC> mOwner;
+		private final transient ACTION mCall;
+		private final transient DisjunctiveAbstractState<STATE> mEntryState;
+
+		private transient IAbstractStateStorage<STATE, ACTION, LOC> mStorage;
+		private transient Set<LOC> mExitLocations;
+		private boolean mHasReachedError;
+
+		private ProcedureSummary(final ParallelProcedureSummaries<STATE, ACTION, VARDECL, LOC> owner,
+				final ACTION call, final DisjunctiveAbstractState<STATE> entryState) {
+			mOwner = owner;
+			mCall = call;
+			mEntryState = entryState;
+		}
+
+		@Override
+		protected void compute() {
+			mOwner.compute(this);
+		}
+
+		ACTION getCall() {
+			return mCall;
+		}
+
+		DisjunctiveAbstractState<STATE> getEntryState() {
+			return mEntryState;
+		}
+
+		/**
+		 * @return The root storage of the procedure, valid after {@link #join()}.
+		 */
+		IAbstractStateStorage<STATE, ACTION, LOC> getStorage() {
+			return mStorage;
+		}
+
+		/**
+		 * @return The locations of the procedure from which it returns, valid after {@link #join()}.
+		 */
+		Set<LOC> getExitLocations() {
+			return mExitLocations;
+		}
+
+		/**
+		 * @return true iff an error location was reachable in this context, valid after {@link #join()}.
+		 */
+		boolean hasReachedError() {
+			return mHasReachedError;
+		}
+	}
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A weak topological ordering (WTO) of the locations of a control flow graph as defined by Bourdoncle ("Efficient
+ * chaotic iteration strategies with widenings", FMPI 1993).
+ * <p>
+ * A WTO is a total order of the locations together with a hierarchy of components. Each component is an interval of
+ * the order whose first location is the head of the component, and every back edge of the graph leads from a location
+ * to the head of a component that contains this location. Hence, it suffices to widen at component heads.
+ * <p>
+ * The ordering is computed for each procedure separately: call and return transitions are not followed, their targets
+ * (i.e., the entry locations of procedures and the return sites) are used as additional roots. Summaries are followed
+ * and connect a call site with its return site.
+ * <p>
+ * Processing the items of a worklist in the order of the positions of their source locations (see
+ * {@link #createWorklist(Function)}) yields Bourdoncle's recursive iteration strategy: because every back edge leads
+ * to a head that precedes all locations of its component, a component is stabilized before any location after the
+ * component is processed, and inner components are stabilized before their enclosing components.
+ *
+ * @param <ACTION>
+ *            The type of transitions of the control flow graph.
+ * @param <LOC>
+ *            The type of locations of the control flow graph.
+ */
+public class WeakTopologicalOrdering<ACTION, LOC> implements ILoopDetector<ACTION> {
+
+	private static final int FINISHED = Integer.MAX_VALUE;
+
+	private final ITransitionProvider<ACTION, LOC> mTransitionProvider;
+	private final Map<LOC, Integer> mPosition;
+	private final Map<LOC, Integer> mComponentEnd;
+	private final Map<LOC, LOC> mInnermostHead;
+
+	// only used during construction
+	private final Map<LOC, Integer> mDfn;
+	private final Deque<LOC> mStack;
+	private final Deque<LOC> mRoots;
+	private final List<LOC> mReversedOrder;
+	private final Map<LOC, Integer> mReversedComponentStart;
+	private int mNum;
+
+	public WeakTopologicalOrdering(final ITransitionProvider<ACTION, LOC> transitionProvider,
+			final Collection<? extends LOC> start) {
+		mTransitionProvider = transitionProvider;
+		mDfn = new HashMap<>();
+		mStack = new ArrayDeque<>();
+		mRoots = new ArrayDeque<>(start);
+		mReversedOrder = new ArrayList<>();
+		mReversedComponentStart = new HashMap<>();
+		mNum = 0;
+
+		while (!mRoots.isEmpty()) {
+			final LOC root = mRoots.removeFirst();
+			if (getDfn(root) == 0) {
+				visit(root);
+			}
+		}
+
+		final int size = mReversedOrder.size();
+		mPosition = new HashMap<>(size);
+		for (int i = 0; i < size; ++i) {
+			mPosition.put(mReversedOrder.get(i), size - 1 - i);
+		}
+		mComponentEnd = new HashMap<>(mReversedComponentStart.size());
+		for (final Map.Entry<LOC, Integer> entry : mReversedComponentStart.entrySet()) {
+			mComponentEnd.put(entry.getKey(), size - 1 - entry.getValue());
+		}
+		mInnermostHead = computeInnermostHeads(size);
+	}
+
+	/**
+	 * @return the position of the location in this ordering, or the number of ordered locations if the location was
+	 *         not reachable from the start locations.
+	 */
+	public int getPosition(final LOC loc) {
+		final Integer pos = mPosition.get(loc);
+		return pos == null ? mPosition.size() : pos;
+	}
+
+	/**
+	 * @return true iff the location is the head of a component.
+	 */
+	public boolean isHead(final LOC loc) {
+		return mComponentEnd.containsKey(loc);
+	}
+
+	public int getNumberOfLocations() {
+		return mPosition.size();
+	}
+
+	public int getNumberOfComponents() {
+		return mComponentEnd.size();
+	}
+
+	/**
+	 * A transition enters a loop if it leads from the head of a component into this component (self loops of a head
+	 * included). Together with the widening in {@link FixpointEngine}, this means that we widen only at component
+	 * heads.
+	 */
+	@Override
+	public boolean isEnteringLoop(final ACTION transition) {
+		final LOC source = mTransitionProvider.getSource(transition);
+		return isHead(source) && isInComponent(source, mTransitionProvider.getTarget(transition));
+	}
+
+	/**
+	 * A transition leaves a loop if it leads from a location to a location outside of the innermost component that
+	 * contains the source.
+	 */
+	@Override
+	public boolean isLeavingLoop(final ACTION transition) {
+		final LOC head = mInnermostHead.get(mTransitionProvider.getSource(transition));
+		return head != null && !isInComponent(head, mTransitionProvider.getTarget(transition));
+	}
+
+	/**
+	 * Create a worklist that returns its items ordered by the positions of the sources of their actions in this
+	 * ordering. Items with the same position are returned in the order in which they were added.
+	 *
+	 * @param getAction
+	 *            A function that returns the action of an item.
+	 */
+	public <E> Queue<E> createWorklist(final Function<E, ACTION> getAction) {
+		return new WtoWorklist<>(e -> getPosition(mTransitionProvider.getSource(getAction.apply(e))));
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		final Deque<Integer> openComponents = new ArrayDeque<>();
+		for (int i = mReversedOrder.size() - 1; i >= 0; --i) {
+			final LOC loc = mReversedOrder.get(i);
+			final int pos = mPosition.get(loc);
+			if (sb.length() > 0) {
+				sb.append(' ');
+			}
+			final Integer end = mComponentEnd.get(loc);
+			if (end != null) {
+				sb.append('(');
+				openComponents.push(end);
+			}
+			sb.append(loc);
+			while (!openComponents.isEmpty() && openComponents.peek() == pos) {
+				sb.append(')');
+				openComponents.pop();
+			}
+		}
+		return sb.toString();
+	}
+
+	private boolean isInComponent(final LOC head, final LOC loc) {
+		final Integer pos = mPosition.get(loc);
+		return pos != null && pos >= mPosition.get(head) && pos <= mComponentEnd.get(head);
+	}
+
+	private Map<LOC, LOC> computeInnermostHeads(final int size) {
+		final Map<LOC, LOC> rtr = new HashMap<>();
+		final Deque<LOC> openHeads = new ArrayDeque<>();
+		for (int i = size - 1; i >= 0; --i) {
+			final LOC loc = mReversedOrder.get(i);
+			final int pos = mPosition.get(loc);
+			while (!openHeads.isEmpty() && mComponentEnd.get(openHeads.peek()) < pos) {
+				openHeads.pop();
+			}
+			if (isHead(loc)) {
+				openHeads.push(loc);
+			}
+			if (!openHeads.isEmpty()) {
+				rtr.put(loc, openHeads.peek());
+			}
+		}
+		return rtr;
+	}
+
+	private int getDfn(final LOC loc) {
+		final Integer dfn = mDfn.get(loc);
+		return dfn == null ? 0 : dfn;
+	}
+
+	/**
+	 * Bourdoncle's algorithm for the computation of a WTO with an explicit stack of frames instead of recursion. The
+	 * partition is built by appending to {@link #mReversedOrder}, i.e., in reverse order.
+	 */
+	private void visit(final LOC root) {
+		final Deque<Frame<LOC>> frames = new ArrayDeque<>();
+		frames.push(startVisit(root));
+		Integer returnedHead = null;
+		while (!frames.isEmpty()) {
+			final Frame<LOC> frame = frames.peek();
+			if (returnedHead != null) {
+				if (!frame.mIsComponent) {
+					frame.updateHead(returnedHead);
+				}
+				returnedHead = null;
+			}
+			if (frame.mSuccessors.hasNext()) {
+				final LOC succ = frame.mSuccessors.next();
+				final int dfn = getDfn(succ);
+				if (dfn == 0) {
+					frames.push(startVisit(succ));
+				} else if (!frame.mIsComponent) {
+					frame.updateHead(dfn);
+				}
+				continue;
+			}
+			frames.pop();
+			if (frame.mIsComponent) {
+				// the component of frame.mLoc is complete, add its head
+				mReversedOrder.add(frame.mLoc);
+				mReversedComponentStart.put(frame.mLoc, frame.mComponentStart);
+				returnedHead = frame.mHead;
+			} else if (frame.mHead == mDfn.get(frame.mLoc)) {
+				mDfn.put(frame.mLoc, FINISHED);
+				LOC elem = mStack.pop();
+				if (frame.mIsLoop) {
+					while (elem != frame.mLoc) {
+						mDfn.put(elem, 0);
+						elem = mStack.pop();
+					}
+					frames.push(new Frame<>(frame.mLoc, getSuccessors(frame.mLoc).iterator(), frame.mHead, true,
+							mReversedOrder.size()));
+				} else {
+					mReversedOrder.add(frame.mLoc);
+					returnedHead = frame.mHead;
+				}
+			} else {
+				returnedHead = frame.mHead;
+			}
+		}
+	}
+
+	private Frame<LOC> startVisit(final LOC loc) {
+		mStack.push(loc);
+		mNum++;
+		mDfn.put(loc, mNum);
+		return new Frame<>(loc, getSuccessors(loc).iterator(), mNum, false, -1);
+	}
+
+	private List<LOC> getSuccessors(final LOC loc) {
+		final List<LOC> rtr = new ArrayList<>();
+		for (final ACTION action : mTransitionProvider.getSuccessorActions(loc)) {
+			final LOC target = mTransitionProvider.getTarget(action);
+			if (target == null) {
+				continue;
+			}
+			if (mTransitionProvider.isEnteringScope(action) || mTransitionProvider.isLeavingScope(action)) {
+				mRoots.add(target);
+			} else {
+				rtr.add(target);
+			}
+		}
+		return rtr;
+	}
+
+	/**
+	 * The state of one invocation of Bourdoncle's procedures <code>visit</code> (if {@link #mIsComponent} is false) or
+	 * <code>component</code> (otherwise).
+	 */
+	private static final class Frame<LOC> {
+		private final LOC mLoc;
+		private final Iterator<LOC> mSuccessors;
+		private final boolean mIsComponent;
+		private final int mComponentStart;
+		private int mHead;
+		private boolean mIsLoop;
+
+		private Frame(final LOC loc, final Iterator<LOC> successors, final int head, final boolean isComponent,
+				final int componentStart) {
+			mLoc = loc;
+			mSuccessors = successors;
+			mHead = head;
+			mIsComponent = isComponent;
+			mComponentStart = componentStart;
+			mIsLoop = false;
+		}
+
+		private void updateHead(final int min) {
+			if (min <= mHead) {
+				mHead = min;
+				mIsLoop = true;
+			}
+		}
+	}
+
+	/**
+	 * A queue that is ordered by a position and in FIFO order for equal positions.
+	 */
+	private static final class WtoWorklist<E> extends AbstractQueue<E> {
+		private final Function<E, Integer> mGetPosition;
+		private final TreeMap<Integer, Deque<E>> mItems;
+		private int mSize;
+
+		private WtoWorklist(final Function<E, Integer> getPosition) {
+			mGetPosition = getPosition;
+			mItems = new TreeMap<>();
+			mSize = 0;
+		}
+
+		@Override
+		public boolean offer(final E item) {
+			mItems.computeIfAbsent(mGetPosition.apply(item), a -> new ArrayDeque<>()).addLast(item);
+			mSize++;
+			return true;
+		}
+
+		@Override
+		public E poll() {
+			final Map.Entry<Integer, Deque<E>> first = mItems.firstEntry();
+			if (first == null) {
+				return null;
+			}
+			final E rtr = first.getValue().removeFirst();
+			if (first.getValue().isEmpty()) {
+				mItems.remove(first.getKey());
+			}
+			mSize--;
+			return rtr;
+		}
+
+		@Override
+		public E peek() {
+			final Map.Entry<Integer, Deque<E>> first = mItems.firstEntry();
+			return first == null ? null : first.getValue().peekFirst();
+		}
+
+		@Override
+		public int size() {
+			return mSize;
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return mItems.values().stream().flatMap(Deque::stream).iterator();
+		}
+	}
+}
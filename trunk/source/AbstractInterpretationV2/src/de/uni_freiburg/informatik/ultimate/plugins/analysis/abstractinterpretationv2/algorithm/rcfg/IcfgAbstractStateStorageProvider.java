@@ -112,6 +112,23 @@ public class IcfgAbstractStateStorageProvider<STATE extends IAbstractState<STATE
 		return rtr;
 	}
 
+	@Override
+	public final IAbstractStateStorage<STATE, ACTION, LOC> createIndependentStorage() {
+		return new IcfgAbstractStateStorageProvider<>(getServices(), getTransitionProvider());
+	}
+
+	@Override
+	public void addStorage(final IAbstractStateStorage<STATE, ACTION, LOC> other) {
+		final IcfgAbstractStateStorageProvider<STATE, ACTION, LOC, ?> otherStore =
+				(IcfgAbstractStateStorageProvider<STATE, ACTION, LOC, ?>) other;
+		otherStore.mStorage.forEach(this::addAbstractState);
+		mScopeFixpoints.addAll(otherStore.mScopeFixpoints);
+		mUsedSummary.addAll(otherStore.mUsedSummary);
+		for (final IcfgAbstractStateStorageProvider<STATE, ACTION, LOC, ?> otherChild : otherStore.mChildStores) {
+			createStorage(otherChild.mScope).addStorage(otherChild);
+		}
+	}
+
 	@Override
 	public final Map<LOC, Set<DisjunctiveAbstractState<STATE>>> computeLoc2States() {
 		final Set<IcfgAbstractStateStorageProvider<STATE, ACTION, LOC, VARDECL>> stores = getAllStores();
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IIcfg;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IReturnAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgEdge;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgLocation;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.ISparsenessProvider;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.livevariable.LiveVariableState;
+
+/**
+ * {@link ISparsenessProvider} for {@link IcfgEdge}s that uses the result of the live variable analysis
+ * ({@link LiveVariableState}s) and the transition formulas of the edges.
+ * <p>
+ * The out-parameters of a procedure are live at all its locations, because the return edges to its callers read
+ * them after its exit location.
+ */
+public class IcfgSparsenessProvider implements ISparsenessProvider<IcfgEdge, IcfgLocation> {
+
+	private final Map<IcfgLocation, Set<IProgramVarOrConst>> mLiveVariables;
+
+	/**
+	 * @param icfg
+	 *            The {@link IIcfg} that was analysed.
+	 * @param loc2LiveVariables
+	 *            The result of the live variable analysis. Locations without a state are treated as locations for
+	 *            which the live variables are unknown.
+	 */
+	public IcfgSparsenessProvider(final IIcfg<?> icfg,
+			final Map<IcfgLocation, LiveVariableState<IcfgEdge>> loc2LiveVariables) {
+		final Map<String, Set<IProgramVarOrConst>> outParams = getOutParams(icfg);
+		mLiveVariables = new HashMap<>();
+		for (final Entry<IcfgLocation, LiveVariableState<IcfgEdge>> entry : loc2LiveVariables.entrySet()) {
+			final Set<IProgramVarOrConst> procOutParams = outParams.get(entry.getKey().getProcedure());
+			if (procOutParams == null) {
+				mLiveVariables.put(entry.getKey(), entry.getValue().getLiveVariables());
+			} else {
+				final Set<IProgramVarOrConst> live = new HashSet<>(entry.getValue().getLiveVariables());
+				live.addAll(procOutParams);
+				mLiveVariables.put(entry.getKey(), live);
+			}
+		}
+	}
+
+	/**
+	 * @return The out-parameters of each procedure, i.e., the variables that the return edges leaving its exit
+	 *         location read.
+	 */
+	private static Map<String, Set<IProgramVarOrConst>> getOutParams(final IIcfg<?> icfg) {
+		final Map<String, Set<IProgramVarOrConst>> result = new HashMap<>();
+		for (final Entry<String, ? extends IcfgLocation> entry : icfg.getProcedureExitNodes().entrySet()) {
+			for (final IcfgEdge edge : entry.getValue().getOutgoingEdges()) {
+				if (edge instanceof IReturnAction) {
+					final Set<IProgramVar> read = ((IReturnAction) edge).getAssignmentOfReturn().getInVars().keySet();
+					result.computeIfAbsent(entry.getKey(), a -> new HashSet<>()).addAll(read);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isIdentity(final IcfgEdge action) {
+		if (!(action instanceof IInternalAction)) {
+			return false;
+		}
+		final UnmodifiableTransFormula tf = ((IInternalAction) action).getTransformula();
+		return tf.getAssignedVars().isEmpty() && tf.getAuxVars().isEmpty() && tf.getBranchEncoders().isEmpty()
+				&& SmtUtils.isTrue(tf.getFormula());
+	}
+
+	@Override
+	public Set<IProgramVarOrConst> getLiveVariables(final IcfgLocation loc) {
+		return mLiveVariables.get(loc);
+	}
+}
@@ -273,12 +273,17 @@ public abstract class NonrelationalPostOperator<STATE extends NonrelationalState
 			final IIdentifierTranslator[] translators = new IIdentifierTranslator[] { new SimpleTranslator(),
 					mBoogie2Smt.new ConstOnlyIdentifierTranslator() };
 
-			final Term expressionTerm =
-					mBoogie2Smt.getExpression2Term().translateToTerm(translators, inExpression).getTerm();
+			final Expression termExpression;
+			// Boogie2SMT and its script are shared by all post operators of the domain, which may run concurrently
+			synchronized (mBoogie2Smt) {
+				final Term expressionTerm =
+						mBoogie2Smt.getExpression2Term().translateToTerm(translators, inExpression).getTerm();
 
-			final Term valueTerm = inValue.getTerm(mBoogie2Smt.getScript(), expressionTerm.getSort(), expressionTerm);
+				final Term valueTerm =
+						inValue.getTerm(mBoogie2Smt.getScript(), expressionTerm.getSort(), expressionTerm);
 
-			final Expression termExpression = mBoogie2Smt.getTerm2Expression().translate(valueTerm);
+				termExpression = mBoogie2Smt.getTerm2Expression().translate(valueTerm);
+			}
 
 			assert termExpression.getType() == BoogieType.TYPE_BOOL;
 
@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 
 import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
@@ -50,10 +51,19 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.LoggingHelper;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.typeutils.TypeUtils;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.TVBool;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.PersistentHashMap;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.PersistentHashSet;
 
 /**
  * Abstract implementation of an abstract state for non-relational domains.
  *
+ * <p>
+ * The variables and values of a state are stored in persistent data structures ({@link PersistentHashSet},
+ * {@link PersistentHashMap}). Copies of a state (see {@link #createCopy()}) share these data structures and updates
+ * only copy the path to the updated variable, hence copying a state is cheap and a state that differs from another
+ * state only in a few variables shares most of its memory with the other state.
+ * </p>
+ *
  * @author Marius Greitschus (greitsch@informatik.uni-freiburg.de)
  * @author Daniel Dietsch (dietsch@informatik.uni-freiburg.de)
  *
@@ -72,9 +82,9 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 	private static int sId;
 	private final int mId;
 
-	private final Set<IProgramVarOrConst> mVariables;
-	private final Map<IProgramVarOrConst, V> mValueMap;
-	private final Map<IProgramVarOrConst, BooleanValue> mBooleanValuesMap;
+	private PersistentHashSet<IProgramVarOrConst> mVariables;
+	private PersistentHashMap<IProgramVarOrConst, V> mValueMap;
+	private PersistentHashMap<IProgramVarOrConst, BooleanValue> mBooleanValuesMap;
 	private TVBool mIsBottom;
 
 	private final ILogger mLogger;
@@ -119,9 +129,9 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 	protected NonrelationalState(final ILogger logger, final Set<IProgramVarOrConst> variables,
 			final Map<IProgramVarOrConst, V> valuesMap, final Map<IProgramVarOrConst, BooleanValue> booleanValuesMap,
 			final TVBool isBottom) {
-		mVariables = new HashSet<>(variables);
-		mValueMap = new HashMap<>(valuesMap);
-		mBooleanValuesMap = new HashMap<>(booleanValuesMap);
+		mVariables = PersistentHashSet.copyOf(variables);
+		mValueMap = PersistentHashMap.copyOf(valuesMap);
+		mBooleanValuesMap = PersistentHashMap.copyOf(booleanValuesMap);
 		sId++;
 		mId = sId;
 		mLogger = logger;
@@ -130,7 +140,7 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 
 	@Override
 	public Set<IProgramVarOrConst> getVariables() {
-		return Collections.unmodifiableSet(mVariables);
+		return mVariables;
 	}
 
 	/**
@@ -342,8 +352,8 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 		assert var != null;
 		assert value != null;
 		state.resetBottomPreserving();
-		state.mVariables.add(var);
-		state.getVar2ValueNonrelational().put(var, value);
+		state.mVariables = state.mVariables.plus(var);
+		state.mValueMap = state.mValueMap.plus(var, value);
 		if (value.isBottom()) {
 			state.mIsBottom = TVBool.FIXED;
 		}
@@ -366,7 +376,7 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 		assert state.mVariables.contains(variable) : "Variable unknown";
 		assert state.getVar2ValueBoolean().get(variable) != null : "Boolean variable not in boolean values map";
 		state.resetBottomPreserving();
-		state.getVar2ValueBoolean().put(variable, value);
+		state.mBooleanValuesMap = state.mBooleanValuesMap.plus(variable, value);
 		if (value.isBottom()) {
 			state.mIsBottom = TVBool.FIXED;
 		}
@@ -409,15 +419,17 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 		assert state != null;
 		assert variable != null;
 
-		if (!state.mVariables.add(variable)) {
+		if (state.mVariables.contains(variable)) {
 			throw new UnsupportedOperationException(
 					"Variable names must be disjoint. Variable " + variable + " is already present.");
 		}
+		state.mVariables = state.mVariables.plus(variable);
 		state.resetBottomPreserving();
 		// TODO: Add array support.
 		final Consumer<IProgramVarOrConst> varConsumer =
-				var -> state.getVar2ValueNonrelational().put(var, createTopValue());
-		final Consumer<IProgramVarOrConst> boolConsumer = var -> state.getVar2ValueBoolean().put(var, BooleanValue.TOP);
+				var -> state.mValueMap = state.mValueMap.plus(var, createTopValue());
+		final Consumer<IProgramVarOrConst> boolConsumer =
+				var -> state.mBooleanValuesMap = state.mBooleanValuesMap.plus(var, BooleanValue.TOP);
 
 		TypeUtils.consumeVariable(varConsumer, boolConsumer, null, variable);
 	}
@@ -457,28 +469,15 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			return SubsetResult.NONE;
 		}
 
-		for (final Entry<IProgramVarOrConst, V> entry : getVar2ValueNonrelational().entrySet()) {
-			final V thisValue = entry.getValue();
-			final V otherValue = other.getVar2ValueNonrelational().get(entry.getKey());
-			if (otherValue == null) {
-				// if the other state has no value for this value, it means top for the other state
-				continue;
-			}
-			if (!thisValue.isContainedIn(otherValue)) {
-				return SubsetResult.NONE;
-			}
+		// if the other state has no value for a variable, it means top for the other state; allMatch skips these
+		// variables as well as the values that are shared by both states
+		final NonrelationalState<STATE, V> otherState = other;
+		if (!PersistentHashMap.allMatch(mValueMap, otherState.mValueMap, V::isContainedIn)) {
+			return SubsetResult.NONE;
 		}
-
-		for (final Entry<IProgramVarOrConst, BooleanValue> entry : getVar2ValueBoolean().entrySet()) {
-			final BooleanValue thisValue = entry.getValue();
-			final BooleanValue otherValue = other.getVar2ValueBoolean().get(entry.getKey());
-			if (otherValue == null) {
-				// if the other state has no value for this value, it means top for the other state
-				continue;
-			}
-			if (!thisValue.isContainedIn(otherValue)) {
-				return SubsetResult.NONE;
-			}
+		if (!PersistentHashMap.allMatch(mBooleanValuesMap, otherState.mBooleanValuesMap,
+				BooleanValue::isContainedIn)) {
+			return SubsetResult.NONE;
 		}
 		return SubsetResult.NON_STRICT;
 	}
@@ -488,14 +487,8 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			final de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst variable) {
 		assert variable != null;
 
-		final Set<IProgramVarOrConst> newVarMap = new HashSet<>(mVariables);
-		newVarMap.remove(variable);
-		final Map<IProgramVarOrConst, V> newValMap = new HashMap<>(getVar2ValueNonrelational());
-		newValMap.remove(variable);
-		final Map<IProgramVarOrConst, BooleanValue> newBooleanValMap = new HashMap<>(getVar2ValueBoolean());
-		newBooleanValMap.remove(variable);
-
-		return createState(mLogger, newVarMap, newValMap, newBooleanValMap, mIsBottom == TVBool.FIXED);
+		return createState(mLogger, mVariables.minus(variable), mValueMap.minus(variable),
+				mBooleanValuesMap.minus(variable), mIsBottom == TVBool.FIXED);
 	}
 
 	@Override
@@ -517,16 +510,15 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			return getThis();
 		}
 
-		final Set<IProgramVarOrConst> newVars = new HashSet<>(mVariables);
-		final Map<IProgramVarOrConst, V> newValMap = new HashMap<>(getVar2ValueNonrelational());
-		final Map<IProgramVarOrConst, BooleanValue> newBooleanValMap = new HashMap<>(getVar2ValueBoolean());
+		final Map<IProgramVarOrConst, V> newValues = new HashMap<>();
+		final Map<IProgramVarOrConst, BooleanValue> newBooleanValues = new HashMap<>();
 
 		// TODO: Add array support.
-		final Consumer<IProgramVarOrConst> varConsumer = var -> newValMap.put(var, createTopValue());
-		final Consumer<IProgramVarOrConst> boolConsumer = var -> newBooleanValMap.put(var, BooleanValue.TOP);
+		final Consumer<IProgramVarOrConst> varConsumer = var -> newValues.put(var, createTopValue());
+		final Consumer<IProgramVarOrConst> boolConsumer = var -> newBooleanValues.put(var, BooleanValue.TOP);
 
 		for (final IProgramVarOrConst var : variables) {
-			if (!newVars.add(var)) {
+			if (mVariables.contains(var) || newValues.containsKey(var) || newBooleanValues.containsKey(var)) {
 				throw new UnsupportedOperationException(
 						"Variable names must be disjoint. The variable " + var + " is already present.");
 			}
@@ -534,7 +526,8 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			TypeUtils.consumeVariable(varConsumer, boolConsumer, null, var);
 		}
 
-		return createState(mLogger, newVars, newValMap, newBooleanValMap, mIsBottom == TVBool.FIXED);
+		return createState(mLogger, mVariables.plusAll(variables), mValueMap.plusAll(newValues),
+				mBooleanValuesMap.plusAll(newBooleanValues), mIsBottom == TVBool.FIXED);
 	}
 
 	@Override
@@ -545,16 +538,8 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			return getThis();
 		}
 
-		final Set<IProgramVarOrConst> newVarMap = new HashSet<>(mVariables);
-		final Map<IProgramVarOrConst, V> newValMap = new HashMap<>(getVar2ValueNonrelational());
-		final Map<IProgramVarOrConst, BooleanValue> newBooleanValMap = new HashMap<>(getVar2ValueBoolean());
-		for (final IProgramVarOrConst entry : variables) {
-			newVarMap.remove(entry);
-			newValMap.remove(entry);
-			newBooleanValMap.remove(entry);
-		}
-
-		return createState(mLogger, newVarMap, newValMap, newBooleanValMap, mIsBottom == TVBool.FIXED);
+		return createState(mLogger, mVariables.minusAll(variables), mValueMap.minusAll(variables),
+				mBooleanValuesMap.minusAll(variables), mIsBottom == TVBool.FIXED);
 	}
 
 	@Override
@@ -580,20 +565,22 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 				continue;
 			}
 
-			if (!newNRState.mVariables.remove(oldVar)) {
+			if (!newNRState.mVariables.contains(oldVar)) {
 				// this state does not contain this variable
 				continue;
 			}
+			newNRState.mVariables = newNRState.mVariables.minus(oldVar);
 			addVariableInternally(newNRState, newVar);
 			isChanged = true;
 
-			if (newNRState.mValueMap.containsKey(oldVar)) {
-				assert !newNRState.mBooleanValuesMap.containsKey(oldVar);
-				final V oldVarValue = newNRState.mValueMap.remove(oldVar);
-				newNRState.mValueMap.put(newVar, oldVarValue);
-			} else if (newNRState.mBooleanValuesMap.containsKey(oldVar)) {
-				final BooleanValue oldVarValue = newNRState.mBooleanValuesMap.remove(oldVar);
-				newNRState.mBooleanValuesMap.put(newVar, oldVarValue);
+			final V oldVarValue = newNRState.mValueMap.get(oldVar);
+			final BooleanValue oldVarBooleanValue = newNRState.mBooleanValuesMap.get(oldVar);
+			if (oldVarValue != null) {
+				assert oldVarBooleanValue == null;
+				newNRState.mValueMap = newNRState.mValueMap.minus(oldVar).plus(newVar, oldVarValue);
+			} else if (oldVarBooleanValue != null) {
+				newNRState.mBooleanValuesMap =
+						newNRState.mBooleanValuesMap.minus(oldVar).plus(newVar, oldVarBooleanValue);
 			} else {
 				throw new AssertionError(
 						"If var is known in this state is has to be either a number value or a boolean value");
@@ -655,21 +642,10 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			return false;
 		}
 
-		for (final Entry<IProgramVarOrConst, V> entry : getVar2ValueNonrelational().entrySet()) {
-			final V otherValue = other.getVar2ValueNonrelational().get(entry.getKey());
-			if (!getVar2ValueNonrelational().get(entry.getKey()).isEqualTo(otherValue)) {
-				return false;
-			}
-		}
-
-		for (final Entry<IProgramVarOrConst, BooleanValue> entry : getVar2ValueBoolean().entrySet()) {
-			final BooleanValue otherValue = other.getVar2ValueBoolean().get(entry.getKey());
-			if (!getVar2ValueBoolean().get(entry.getKey()).isEqualTo(otherValue)) {
-				return false;
-			}
-		}
-
-		return true;
+		// both states have the same variables, hence allMatch compares the values of all variables
+		final NonrelationalState<STATE, V> otherState = other;
+		return PersistentHashMap.allMatch(mValueMap, otherState.mValueMap, V::isEqualTo) && PersistentHashMap
+				.allMatch(mBooleanValuesMap, otherState.mBooleanValuesMap, BooleanValue::isEqualTo);
 	}
 
 	/**
@@ -785,6 +761,10 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 			return false;
 		}
 
+		if (other.mVariables == mVariables) {
+			return true;
+		}
+
 		if (other.mVariables.size() != mVariables.size()) {
 			return false;
 		}
@@ -825,19 +805,7 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 		}
 		// End of optimizations
 
-		final STATE returnState = createCopy();
-
-		for (final Entry<IProgramVarOrConst, V> entry : getVar2ValueNonrelational().entrySet()) {
-			setValueInternally(returnState, entry.getKey(),
-					entry.getValue().intersect(other.getVar2ValueNonrelational().get(entry.getKey())));
-		}
-
-		for (final Entry<IProgramVarOrConst, BooleanValue> entry : getVar2ValueBoolean().entrySet()) {
-			setValueInternally(returnState, entry.getKey(),
-					entry.getValue().intersect(other.getVar2ValueBoolean().get(entry.getKey())));
-		}
-
-		return returnState;
+		return combineValues(other, V::intersect, BooleanValue::intersect);
 	}
 
 	/**
@@ -869,16 +837,54 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 
 		// End of speed optimizations
 
-		final STATE returnState = createCopy();
-
 		// TODO: Add array support.
-		final Consumer<IProgramVarOrConst> varConsumer = var -> setValueInternally(returnState, var,
-				getVar2ValueNonrelational().get(var).merge(other.getVar2ValueNonrelational().get(var)));
-		final Consumer<IProgramVarOrConst> boolConsumer = var -> setValueInternally(returnState, var,
-				getVar2ValueBoolean().get(var).merge(other.getVar2ValueBoolean().get(var)));
+		return combineValues(other, V::merge, BooleanValue::merge);
+	}
 
-		for (final IProgramVarOrConst var : mVariables) {
-			TypeUtils.consumeVariable(varConsumer, boolConsumer, null, var);
+	/**
+	 * Combines the values of <code>this</code> and another state variable-wise. Each variable that occurs in both
+	 * states gets the value of the given operator applied to its value in <code>this</code> and its value in
+	 * <code>other</code>, all other variables keep their value.
+	 *
+	 * <p>
+	 * Values that are shared by both states (e.g., because one state is a modified copy of the other) are not visited.
+	 * Hence, both operators must return a value that is equal to <code>v</code> when applied to <code>(v, v)</code>,
+	 * as join, meet, and widening operators do.
+	 * </p>
+	 *
+	 * @param other
+	 *            The other state.
+	 * @param valueOperator
+	 *            The operator for the values of the non-relational domain.
+	 * @param booleanOperator
+	 *            The operator for the boolean values.
+	 * @return A new {@link NonrelationalState} with the combined values, or <code>this</code> if the operators return
+	 *         the value of <code>this</code> for all variables.
+	 */
+	public STATE combineValues(final STATE other, final BinaryOperator<V> valueOperator,
+			final BinaryOperator<BooleanValue> booleanOperator) {
+		final NonrelationalState<STATE, V> otherState = other;
+		final STATE returnState = createCopy();
+		final NonrelationalState<STATE, V> returnNRState = returnState;
+		returnNRState.resetBottomPreserving();
+		returnNRState.mValueMap =
+				PersistentHashMap.combine(mValueMap, otherState.mValueMap, (first, second) -> {
+					final V result = valueOperator.apply(first, second);
+					if (result.isBottom()) {
+						returnNRState.mIsBottom = TVBool.FIXED;
+					}
+					return result;
+				});
+		returnNRState.mBooleanValuesMap = PersistentHashMap.combine(mBooleanValuesMap,
+				otherState.mBooleanValuesMap, (first, second) -> {
+					final BooleanValue result = booleanOperator.apply(first, second);
+					if (result.isBottom()) {
+						returnNRState.mIsBottom = TVBool.FIXED;
+					}
+					return result;
+				});
+		if (returnNRState.mValueMap == mValueMap && returnNRState.mBooleanValuesMap == mBooleanValuesMap) {
+			return getThis();
 		}
 		return returnState;
 	}
@@ -951,15 +957,10 @@ public abstract class NonrelationalState<STATE extends NonrelationalState<STATE,
 	 */
 	public STATE bottomState() {
 		final STATE ret = createCopy();
-		ret.resetBottomPreserving();
-		for (final Entry<IProgramVarOrConst, V> entry : ret.getVar2ValueNonrelational().entrySet()) {
-			entry.setValue(createBottomValue());
-		}
-
-		for (final Entry<IProgramVarOrConst, BooleanValue> entry : ret.getVar2ValueBoolean().entrySet()) {
-			entry.setValue(BooleanValue.BOTTOM);
-		}
-
+		final NonrelationalState<STATE, V> retNRState = ret;
+		retNRState.resetBottomPreserving();
+		retNRState.mValueMap = mValueMap.mapValues(value -> createBottomValue());
+		retNRState.mBooleanValuesMap = mBooleanValuesMap.mapValues(value -> BooleanValue.BOTTOM);
 		return ret;
 	}
 
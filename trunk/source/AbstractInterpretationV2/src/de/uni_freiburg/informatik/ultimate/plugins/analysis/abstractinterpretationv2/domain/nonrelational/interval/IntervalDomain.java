@@ -119,14 +119,19 @@ public class IntervalDomain implements IAbstractDomain<IntervalDomainState, Icfg
 	@Override
 	public IAbstractPostOperator<IntervalDomainState, IcfgEdge> getPostOperator() {
 		if (mPostOperator == null) {
-			final IPreferenceProvider prefs = mServices.getPreferenceProvider(Activator.PLUGIN_ID);
-			final int maxParallelStates = prefs.getInt(AbsIntPrefInitializer.LABEL_MAX_PARALLEL_STATES);
-			mPostOperator = new IntervalPostOperator(mLogger, mSymbolTable, mBpl2SmtSymbolTable, maxParallelStates,
-					mRootAnnotation.getBoogie2SMT(), mCfgSmtToolkit);
+			mPostOperator = createIndependentPostOperator();
 		}
 		return mPostOperator;
 	}
 
+	@Override
+	public IAbstractPostOperator<IntervalDomainState, IcfgEdge> createIndependentPostOperator() {
+		final IPreferenceProvider prefs = mServices.getPreferenceProvider(Activator.PLUGIN_ID);
+		final int maxParallelStates = prefs.getInt(AbsIntPrefInitializer.LABEL_MAX_PARALLEL_STATES);
+		return new IntervalPostOperator(mLogger, mSymbolTable, mBpl2SmtSymbolTable, maxParallelStates,
+				mRootAnnotation.getBoogie2SMT(), mCfgSmtToolkit);
+	}
+
 	@Override
 	public boolean isAbstractable(final Term inputTerm) {
 		return !mAbstractablePropertyChecker.isPropertySatisfied(inputTerm);
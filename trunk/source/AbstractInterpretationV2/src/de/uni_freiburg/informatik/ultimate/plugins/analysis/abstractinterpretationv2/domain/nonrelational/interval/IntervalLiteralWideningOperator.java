@@ -30,15 +30,10 @@ package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretat
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.Consumer;
 
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractStateBinaryOperator;
-import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.generic.LiteralCollection;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.BooleanValue;
-import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.typeutils.TypeUtils;
 
 /**
  * Implementation of a widening operator in the interval domain which widens according to number literals occurring in
@@ -60,49 +55,12 @@ public class IntervalLiteralWideningOperator implements IAbstractStateBinaryOper
 		assert first.hasSameVariables(second);
 		assert !first.isBottom() && !second.isBottom();
 
-		final List<IProgramVarOrConst> boolsToWiden = new ArrayList<>();
-		final List<BooleanValue> boolValues = new ArrayList<>();
-		final List<IProgramVarOrConst> varsToWiden = new ArrayList<>();
-		final List<IntervalDomainValue> varValues = new ArrayList<>();
-		final List<IProgramVarOrConst> arraysToWiden = new ArrayList<>();
-		final List<IntervalDomainValue> arrayValues = new ArrayList<>();
-
 		// TODO: Add array support.
-		final Consumer<IProgramVarOrConst> varConsumer = var -> {
-			final IntervalDomainValue firstValue = first.getValue(var);
-			final IntervalDomainValue secondValue = second.getValue(var);
-
-			if (secondValue.isContainedIn(firstValue)) {
-				varsToWiden.add(var);
-				varValues.add(firstValue);
-			} else if (!firstValue.isEqualTo(secondValue)) {
-				varsToWiden.add(var);
-				varValues.add(determineNextValue(firstValue, secondValue));
-			}
-		};
-		final Consumer<IProgramVarOrConst> boolConsumer = var -> {
-			final BooleanValue firstValue = first.getBooleanValue(var);
-			final BooleanValue secondValue = second.getBooleanValue(var);
-
-			if (!firstValue.isEqualTo(secondValue)) {
-				boolsToWiden.add(var);
+		return first.combineValues(second,
+				(firstValue, secondValue) -> secondValue.isContainedIn(firstValue) ? firstValue
+						: determineNextValue(firstValue, secondValue),
 				// Bools are always widened to top.
-				boolValues.add(BooleanValue.TOP);
-			}
-		};
-
-		for (final IProgramVarOrConst var : first.getVariables()) {
-			TypeUtils.consumeVariable(varConsumer, boolConsumer, null, var);
-		}
-
-		final IProgramVarOrConst[] vars = varsToWiden.toArray(new IProgramVarOrConst[varsToWiden.size()]);
-		final IntervalDomainValue[] vals = varValues.toArray(new IntervalDomainValue[varValues.size()]);
-		final IProgramVarOrConst[] bools = boolsToWiden.toArray(new IProgramVarOrConst[boolsToWiden.size()]);
-		final BooleanValue[] boolVals = boolValues.toArray(new BooleanValue[boolValues.size()]);
-		final IProgramVarOrConst[] arrays = arraysToWiden.toArray(new IProgramVarOrConst[arraysToWiden.size()]);
-		final IntervalDomainValue[] arrayVals = arrayValues.toArray(new IntervalDomainValue[arrayValues.size()]);
-
-		return first.setMixedValues(vars, vals, bools, boolVals, arrays, arrayVals);
+				(firstValue, secondValue) -> firstValue.isEqualTo(secondValue) ? firstValue : BooleanValue.TOP);
 	}
 
 	private IntervalDomainValue determineNextValue(final IntervalDomainValue first, final IntervalDomainValue second) {
@@ -28,13 +28,8 @@
 
 package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.interval;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.Consumer;
-
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractStateBinaryOperator;
-import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst;
-import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.typeutils.TypeUtils;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.BooleanValue;
 
 /**
  * Implementation of a simple widening operator that just returns a new interval of the form (-&infin; ; &infin;).
@@ -49,26 +44,10 @@ public class IntervalSimpleWideningOperator implements IAbstractStateBinaryOpera
 		assert first.hasSameVariables(second);
 		assert !first.isBottom() && !second.isBottom();
 
-		final List<IProgramVarOrConst> boolsToTop = new ArrayList<>();
-		final List<IProgramVarOrConst> varsToTop = new ArrayList<>();
-		final List<IProgramVarOrConst> arraysToTop = new ArrayList<>();
-
 		// TODO: Add array support.
-		final Consumer<IProgramVarOrConst> varConsumer = var -> {
-			if (!first.getValue(var).isEqualTo(second.getValue(var))) {
-				varsToTop.add(var);
-			}
-		};
-		final Consumer<IProgramVarOrConst> boolConsumer = var -> {
-			if (!first.getBooleanValue(var).isEqualTo(second.getBooleanValue(var))) {
-				boolsToTop.add(var);
-			}
-		};
-
-		for (final IProgramVarOrConst var : first.getVariables()) {
-			TypeUtils.consumeVariable(varConsumer, boolConsumer, null, var);
-		}
-
-		return first.setVarsToTop(varsToTop, boolsToTop, arraysToTop);
+		return first.combineValues(second,
+				(firstValue, secondValue) -> firstValue.isEqualTo(secondValue) ? firstValue
+						: new IntervalDomainValue(false),
+				(firstValue, secondValue) -> firstValue.isEqualTo(secondValue) ? firstValue : BooleanValue.TOP);
 	}
 }
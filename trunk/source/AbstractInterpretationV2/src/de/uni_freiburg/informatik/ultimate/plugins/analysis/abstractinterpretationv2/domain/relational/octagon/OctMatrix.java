@@ -27,6 +27,7 @@
 
 package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.relational.octagon;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
@@ -134,7 +135,13 @@ public class OctMatrix {
 	 * speed. The runtime of some algorithms depends on the content of the
 	 * matrix.
 	 */
-	private static final Consumer<OctMatrix> sDefaultShortestPathClosure = OctMatrix::shortestPathClosurePrimitiveSparse;
+	private static final Consumer<OctMatrix> sDefaultShortestPathClosure = OctMatrix::shortestPathClosurePrimitiveLong;
+
+	/**
+	 * Represents {@link OctValue#INFINITY} in the {@code long} matrices used by
+	 * {@link #shortestPathClosurePrimitiveLong()}.
+	 */
+	private static final long LONG_INFINITY = Long.MAX_VALUE;
 
 	/**
 	 * Size of this matrix (size = #rows = #columns). Size is always an even
@@ -1032,6 +1039,133 @@ public class OctMatrix {
 		return indexLength;
 	}
 
+	/**
+	 * Computes the shortest path closure in-place, as in
+	 * {@link #shortestPathClosurePrimitiveSparse()}, while computing on a
+	 * primitive {@code long} array instead of {@link OctValue}s. Path lengths
+	 * are computed without allocating objects; only entries that changed are
+	 * converted back to {@link OctValue}s.
+	 * <p>
+	 * The result is exact and equal to the result of the other closure
+	 * algorithms. If this matrix contains entries that are not integers (or do
+	 * not fit into a {@code long}) or a path length overflows, this method
+	 * falls back to {@link #shortestPathClosurePrimitiveSparse()}.
+	 */
+	protected void shortestPathClosurePrimitiveLong() {
+		final long[] entries = toLongEntries();
+		if (entries == null) {
+			shortestPathClosurePrimitiveSparse();
+			return;
+		}
+		final long[] original = entries.clone();
+		try {
+			shortestPathClosurePrimitiveLong(entries);
+		} catch (final ArithmeticException e) {
+			shortestPathClosurePrimitiveSparse();
+			return;
+		}
+		for (int i = 0; i < entries.length; ++i) {
+			if (entries[i] != original[i]) {
+				mEntries[i] = new OctValue(BigDecimal.valueOf(entries[i]));
+				mStrongClosure = mTightClosure = null;
+			}
+		}
+	}
+
+	/**
+	 * Converts the entries of this matrix to {@code long} values.
+	 *
+	 * @return Entries of this matrix with {@link #LONG_INFINITY} for
+	 *         {@link OctValue#INFINITY}, or {@code null} if an entry cannot be
+	 *         represented as {@code long}
+	 */
+	private long[] toLongEntries() {
+		final long[] entries = new long[mEntries.length];
+		for (int i = 0; i < mEntries.length; ++i) {
+			final BigDecimal value = mEntries[i].getValue();
+			if (value == null) {
+				entries[i] = LONG_INFINITY;
+				continue;
+			}
+			try {
+				entries[i] = value.longValueExact();
+			} catch (final ArithmeticException e) {
+				// fractional part or too large
+				return null;
+			}
+			if (entries[i] == LONG_INFINITY) {
+				return null;
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Computes the shortest path closure of a matrix given as {@code long}
+	 * array (see {@link #toLongEntries()}) in-place. Iterates the matrix in the
+	 * same order as {@link #shortestPathClosurePrimitiveSparse()}.
+	 *
+	 * @param entries
+	 *            Entries of a matrix of the same size as this matrix
+	 * @throws ArithmeticException
+	 *             A path length is too large to be represented
+	 */
+	private void shortestPathClosurePrimitiveLong(final long[] entries) {
+		final int[] rk = new int[mSize]; // indices of finite entries in rows k and k^1
+		final int[] ck = new int[mSize]; // indices of finite entries in columns k and k^1
+		int indexLength = 0;
+		for (int k = 0; k < mSize; ++k) {
+			final int kk = k ^ 1;
+			if (k < kk) { // k is even => entered new 2x2 block
+				indexLength = 0;
+				for (int i = 0; i < mSize; ++i) {
+					if (entries[indexOf(i, k)] != LONG_INFINITY || entries[indexOf(i, kk)] != LONG_INFINITY) {
+						ck[indexLength] = i;
+						rk[indexLength] = i ^ 1;
+						++indexLength;
+					}
+				}
+			}
+			for (int _i = 0; _i < indexLength; ++_i) {
+				final int i = ck[_i];
+				final long ik = entries[indexOf(i, k)];
+				final long ikk = entries[indexOf(i, kk)];
+				final int maxCol = i | 1;
+				for (int _j = 0; _j < indexLength; ++_j) {
+					final int j = rk[_j];
+					if (j > maxCol) {
+						break;
+					}
+					final long indirectRoute =
+							Math.min(addLong(ik, entries[indexOf(k, j)]), addLong(ikk, entries[indexOf(kk, j)]));
+					final int ij = indexOf(i, j);
+					if (entries[ij] > indirectRoute) {
+						entries[ij] = indirectRoute;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds two {@code long} matrix entries.
+	 *
+	 * @return Sum of the entries, {@link #LONG_INFINITY} if one of the entries
+	 *         is {@link #LONG_INFINITY}
+	 * @throws ArithmeticException
+	 *             The sum is too large to be represented
+	 */
+	private static long addLong(final long a, final long b) {
+		if (a == LONG_INFINITY || b == LONG_INFINITY) {
+			return LONG_INFINITY;
+		}
+		final long sum = Math.addExact(a, b);
+		if (sum == LONG_INFINITY) {
+			throw new ArithmeticException("long overflow");
+		}
+		return sum;
+	}
+
 	/**
 	 * Compute the shortest path closure in-place, using the closure algorithm
 	 * of APRON (a library) as recalled by Singh
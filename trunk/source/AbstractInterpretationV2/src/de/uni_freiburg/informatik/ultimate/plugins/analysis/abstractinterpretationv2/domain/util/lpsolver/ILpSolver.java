@@ -30,6 +30,9 @@ package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretat
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
 
 /**
  * @author Marius Greitschus (greitsch@informatik.uni-freiburg.de)
@@ -99,4 +102,18 @@ public interface ILpSolver<T extends Number> {
 	 */
 	public BigDecimal getMinimumValue(String name);
 
+	/**
+	 * Returns the computed minimum and maximum for all variables of the linear program. The constraint system is built
+	 * only once; each bound is obtained by re-optimizing it with a different objective.
+	 * 
+	 * <p>
+	 * Note: You must call {@link #createNewLpInstance(List)} first, in order to be able to run this function.
+	 * </p>
+	 * 
+	 * @return A map from each variable name to the pair of its minimum and maximum value. A value is <code>null</code>
+	 *         if it is unbounded (&infin;). If the linear program has no feasible solution, the returned map is
+	 *         <code>null</code>.
+	 */
+	public Map<String, Pair<BigDecimal, BigDecimal>> getBounds();
+
 }
@@ -31,6 +31,7 @@ package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretat
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,13 +39,19 @@ import org.ojalgo.array.Array1D;
 import org.ojalgo.optimisation.Expression;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
 import org.ojalgo.optimisation.Optimisation.Result;
+import org.ojalgo.optimisation.Optimisation.State;
 import org.ojalgo.optimisation.Variable;
 
 import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.lpsolver.ILpSolver;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.lpsolver.LinearConstraint;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
 
 /**
+ * An {@link ILpSolver} backed by an ojAlgo {@link ExpressionsBasedModel}. The model is built once per linear program
+ * and re-optimized for each queried bound by changing only the objective weights. ojAlgo starts each optimization from
+ * the variable values of the previous solution, which are kept in the model.
+ *
  * @author Marius Greitschus (greitsch@informatik.uni-freiburg.de)
  *
  */
@@ -58,8 +65,9 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 
 	private final Class<T> mType;
 
-	private Result mMaximizationResult;
-	private Result mMinimizationResult;
+	private final Map<String, BigDecimal> mMaximumValues;
+	private final Map<String, BigDecimal> mMinimumValues;
+	private boolean mIsInfeasible;
 
 	private List<Variable> mVariableList;
 
@@ -70,6 +78,8 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 		mLogger = logger;
 		mModelIsPresent = false;
 		mType = type;
+		mMaximumValues = new HashMap<>();
+		mMinimumValues = new HashMap<>();
 	}
 
 	@Override
@@ -101,6 +111,7 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 
 		mModel = new ExpressionsBasedModel(mVariableList);
 		mModelIsPresent = true;
+		clearResults();
 		mLogger.debug("Created new linear program instance.");
 	}
 
@@ -110,6 +121,7 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 		assert constraint != null;
 
 		mLogger.debug("Adding constraint: " + constraint.toLogString());
+		clearResults();
 
 		final String expressionName = constraint.getName();
 
@@ -123,7 +135,7 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 			exp.upper(constraint.getUpper());
 		}
 
-		final int numVars = constraint.getVariableCount();
+		final int numVars = mVariableList.size();
 		Array1D<?> factors;
 
 		if (mType.equals(BigDecimal.class)) {
@@ -149,6 +161,7 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 		mModel.dispose();
 		mModel = null;
 		mModelIsPresent = false;
+		clearResults();
 		mLogger.debug("Linear program instance deleted.");
 	}
 
@@ -159,43 +172,75 @@ public class OjAlgoSolver<T extends Number> implements ILpSolver<T> {
 		}
 	}
 
-	private void maximize() {
-		mLogger.debug("Starting maximization...");
-		mMaximizationResult = mModel.maximise();
-		mLogger.debug("Optimization result for maximization: " + mMaximizationResult.getState());
+	@Override
+	public BigDecimal getMaximumValue(String name) {
+		assert mModelIsPresent : "The model has not been initialized, yet. You need to call createNewLpInstance first.";
+		if (!mMaximumValues.containsKey(name)) {
+			mMaximumValues.put(name, optimize(name, true));
+		}
+		return mMaximumValues.get(name);
 	}
 
-	private void minimize() {
-		mLogger.debug("Starting minimization...");
-		mMinimizationResult = mModel.minimise();
-		mLogger.debug("Optimization result for minimization: " + mMinimizationResult.getState());
+	@Override
+	public BigDecimal getMinimumValue(String name) {
+		assert mModelIsPresent : "The model has not been initialized, yet. You need to call createNewLpInstance first.";
+		if (!mMinimumValues.containsKey(name)) {
+			mMinimumValues.put(name, optimize(name, false));
+		}
+		return mMinimumValues.get(name);
 	}
 
 	@Override
-	public BigDecimal getMaximumValue(String name) {
-		if (mMaximizationResult == null) {
-			maximize();
+	public Map<String, Pair<BigDecimal, BigDecimal>> getBounds() {
+		final Map<String, Pair<BigDecimal, BigDecimal>> rtr = new LinkedHashMap<>();
+		for (final Variable var : mVariableList) {
+			final String name = var.getName();
+			final BigDecimal min = getMinimumValue(name);
+			if (mIsInfeasible) {
+				return null;
+			}
+			rtr.put(name, new Pair<>(min, getMaximumValue(name)));
 		}
+		return rtr;
+	}
 
+	/**
+	 * Optimizes the model with the variable <code>name</code> as only objective.
+	 *
+	 * @return The optimal value of the variable, or <code>null</code> if it is unbounded or the linear program has no
+	 *         feasible solution. In the latter case, {@link #mIsInfeasible} is set.
+	 */
+	private BigDecimal optimize(String name, boolean maximize) {
 		final Integer index = mVariableIndexMap.get(name);
 		if (index == null) {
 			throw new InternalError("The variable " + name + " does not occur in the variable index map.");
 		}
 
-		return mModel.getVariable(index).getUpperLimit();
-	}
-
-	@Override
-	public BigDecimal getMinimumValue(String name) {
-		if (mMinimizationResult == null) {
-			minimize();
+		final Variable var = mVariableList.get(index);
+		final Result result;
+		var.weight(BigDecimal.ONE);
+		try {
+			mLogger.debug("Starting " + (maximize ? "maximization" : "minimization") + " of " + name + "...");
+			result = maximize ? mModel.maximise() : mModel.minimise();
+		} finally {
+			var.weight(null);
 		}
+		final State state = result.getState();
+		mLogger.debug("Optimization result for " + name + ": " + state);
 
-		final Integer index = mVariableIndexMap.get(name);
-		if (index == null) {
-			throw new InternalError("The variable " + name + " does not occur in the variable index map.");
+		if (state == State.INFEASIBLE) {
+			mIsInfeasible = true;
+			return null;
 		}
+		if (state == State.UNBOUNDED || !state.isFeasible()) {
+			return null;
+		}
+		return result.get(index);
+	}
 
-		return mModel.getVariable(index).getLowerLimit();
+	private void clearResults() {
+		mMaximumValues.clear();
+		mMinimumValues.clear();
+		mIsInfeasible = false;
 	}
 }
@@ -66,6 +66,22 @@ import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretati
  */
 public class AbsIntPrefInitializer extends UltimatePreferenceInitializer {
 
+	/**
+	 * The order in which the fixpoint engine processes its worklist.
+	 */
+	public enum IterationOrder {
+		/**
+		 * Process transitions in the order in which they were added, widen at loop heads that are annotated by the
+		 * RCFG builder.
+		 */
+		FIFO,
+		/**
+		 * Process transitions in the order of a weak topological ordering of the locations and stabilize its
+		 * components recursively, widen only at component heads.
+		 */
+		WTO
+	}
+
 	public static final String[] VALUES_ABSTRACT_DOMAIN = new String[] {
 
 			EmptyDomain.class.getSimpleName(), SignDomain.class.getSimpleName(), IntervalDomain.class.getSimpleName(),
@@ -81,6 +97,21 @@ public class AbsIntPrefInitializer extends UltimatePreferenceInitializer {
 
 	public static final String LABEL_ITERATIONS_UNTIL_WIDENING = "Minimum iterations before widening";
 	public static final String LABEL_MAX_PARALLEL_STATES = "Parallel states before merging";
+	public static final String LABEL_ITERATION_ORDER = "Iteration order";
+	public static final String TOOLTIP_ITERATION_ORDER = "FIFO processes transitions in the order in which they "
+			+ "were discovered. WTO processes transitions along a weak topological ordering (Bourdoncle) and "
+			+ "widens only at the heads of its components.";
+	public static final String LABEL_PROCEDURE_THREADS = "Threads for procedure summaries";
+	public static final String TOOLTIP_PROCEDURE_THREADS = "0 analyses the whole program with one worklist. A "
+			+ "positive value caches one summary per procedure and abstract call context, computes missing summaries "
+			+ "bottom-up along the call graph on a fork/join pool with that many threads, and reuses them at every "
+			+ "call with the same context. Calls inside a recursive component are still analysed inline. Each summary "
+			+ "uses its own post operator. Domains that cannot provide independent post operators (currently all "
+			+ "except the interval domain) ignore this setting and analyse the whole program with one worklist.";
+	public static final String LABEL_SPARSE_ANALYSIS = "Sparse analysis for nonrelational domains";
+	public static final String TOOLTIP_SPARSE_ANALYSIS = "Run a live variable analysis first. Afterwards, skip the "
+			+ "abstract post of actions that do not change any variable and set local variables that are not live to "
+			+ "top. The computed fixpoints contain no information about dead local variables.";
 	public static final String LABEL_DESCRIPTION_ABSTRACT_DOMAIN =
 			"Settings for the abstract domain to use. Select the Abstract domain to use here.\n\nChange the settings for each abstract domain in the corresponding sub-page.";
 	public static final String LABEL_ABSTRACT_DOMAIN = "Abstract domain";
@@ -94,6 +125,9 @@ public class AbsIntPrefInitializer extends UltimatePreferenceInitializer {
 
 	public static final int DEF_ITERATIONS_UNTIL_WIDENING = 3;
 	public static final int DEF_STATES_UNTIL_MERGE = 2;
+	public static final IterationOrder DEF_ITERATION_ORDER = IterationOrder.FIFO;
+	public static final int DEF_PROCEDURE_THREADS = 0;
+	public static final boolean DEF_SPARSE_ANALYSIS = false;
 	public static final boolean DEF_RUN_AS_PRE_ANALYSIS = false;
 	public static final String DEF_ABSTRACT_DOMAIN = VALUES_ABSTRACT_DOMAIN[0];
 	public static final String DEF_ABSTRACT_DOMAIN_FUTURE = VALUES_ABSTRACT_DOMAIN_FUTURE[0];
@@ -118,6 +152,13 @@ public class AbsIntPrefInitializer extends UltimatePreferenceInitializer {
 				PreferenceType.Integer, new IUltimatePreferenceItemValidator.IntegerValidator(1, 100000)));
 		rtr.add(new UltimatePreferenceItem<>(LABEL_MAX_PARALLEL_STATES, DEF_STATES_UNTIL_MERGE, PreferenceType.Integer,
 				new IUltimatePreferenceItemValidator.IntegerValidator(1, 100000)));
+		rtr.add(new UltimatePreferenceItem<>(LABEL_ITERATION_ORDER, DEF_ITERATION_ORDER, TOOLTIP_ITERATION_ORDER,
+				PreferenceType.Combo, IterationOrder.values()));
+		rtr.add(new UltimatePreferenceItem<>(LABEL_PROCEDURE_THREADS, DEF_PROCEDURE_THREADS,
+				TOOLTIP_PROCEDURE_THREADS, PreferenceType.Integer,
+				new IUltimatePreferenceItemValidator.IntegerValidator(0, 1024)));
+		rtr.add(new UltimatePreferenceItem<>(LABEL_SPARSE_ANALYSIS, DEF_SPARSE_ANALYSIS, TOOLTIP_SPARSE_ANALYSIS,
+				PreferenceType.Boolean));
 		rtr.add(new UltimatePreferenceItem<>(LABEL_RUN_AS_PRE_ANALYSIS, DEF_RUN_AS_PRE_ANALYSIS,
 				TOOLTIP_RUN_AS_PRE_ANALYSIS, PreferenceType.Boolean));
 		rtr.add(new UltimatePreferenceItem<>(LABEL_USE_FUTURE_RCFG, DEF_USE_FUTURE_RCFG, TOOLTIP_USE_FUTURE_RCFG,
@@ -57,10 +57,12 @@ import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretati
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.IResultReporter;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.ITransitionProvider;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.generic.SilentReporter;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg.IcfgSparsenessProvider;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg.IcfgTransitionProvider;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg.RCFGLiteralCollector;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg.RcfgLoopDetector;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg.RcfgResultReporter;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.NonrelationalState;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.dataflow.DataflowDomain;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.dataflow.DataflowState;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.nonrelational.livevariable.LiveVariableDomain;
@@ -72,6 +74,7 @@ import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretati
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.tool.initializer.FixpointEngineFutureParameterFactory;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.tool.initializer.FixpointEngineParameterFactory;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.AbsIntUtil;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.AbstractPostCache;
 
 /**
  * Should be used by other tools to run abstract interpretation on various parts of the RCFG.
@@ -105,10 +108,11 @@ public final class AbstractInterpreter {
 		final FixpointEngineParameters<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> params =
 				domFac.createParams(timer, transProvider, loopDetector);
 
-		final FixpointEngine<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> fxpe = new FixpointEngine<>(params);
+		final ILogger logger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
+		final FixpointEngine<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> fxpe =
+				new FixpointEngine<>(addSparseness(root, timer, services, logger, params));
 		final AbsIntResult<STATE, IcfgEdge, IcfgLocation> result = fxpe.run(root.getInitialNodes(), script);
 
-		final ILogger logger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
 		return postProcessResult(services, logger, false, result, root);
 	}
 
@@ -120,6 +124,18 @@ public final class AbstractInterpreter {
 	public static <STATE extends IAbstractState<STATE>> IAbstractInterpretationResult<STATE, IcfgEdge, IcfgLocation>
 			runWithoutTimeoutAndResults(final IIcfg<?> root, final IProgressAwareTimer timer,
 					final IUltimateServiceProvider services) {
+		return runWithoutTimeoutAndResults(root, timer, services, null);
+	}
+
+	/**
+	 * Run abstract interpretation as independent analysis on a whole {@link IIcfg}, suppress
+	 * {@link ToolchainCanceledException}s (return null instead), and answer post operations from the given
+	 * {@link AbstractPostCache} if it is not null. The cache can be shared between runs on different {@link IIcfg}s
+	 * that use the same actions, e.g., path programs of the same program.
+	 */
+	public static <STATE extends IAbstractState<STATE>> IAbstractInterpretationResult<STATE, IcfgEdge, IcfgLocation>
+			runWithoutTimeoutAndResults(final IIcfg<?> root, final IProgressAwareTimer timer,
+					final IUltimateServiceProvider services, final AbstractPostCache postCache) {
 		assert root != null;
 		assert services != null;
 		assert timer != null;
@@ -131,7 +147,7 @@ public final class AbstractInterpreter {
 			final ILoopDetector<IcfgEdge> loopDetector = new RcfgLoopDetector<>();
 			final boolean useFuture = services.getPreferenceProvider(Activator.PLUGIN_ID)
 					.getBoolean(AbsIntPrefInitializer.LABEL_USE_FUTURE_RCFG);
-			final FixpointEngineParameters<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> params;
+			FixpointEngineParameters<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> params;
 			if (useFuture) {
 				final FixpointEngineFutureParameterFactory domFac =
 						new FixpointEngineFutureParameterFactory(root, services);
@@ -142,8 +158,10 @@ public final class AbstractInterpreter {
 						new FixpointEngineParameterFactory(root, () -> new RCFGLiteralCollector(root), services);
 				params = domFac.createParams(timer, transProvider, loopDetector);
 			}
+			params = addSparseness(root, timer, services, logger, params);
 
-			final FixpointEngine<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> fxpe = new FixpointEngine<>(params);
+			final FixpointEngine<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> fxpe =
+					new FixpointEngine<>(postCache == null ? params : params.setPostCache(postCache));
 			final Set<? extends IcfgLocation> initial = root.getInitialNodes();
 			logger.info("Using domain " + params.getAbstractDomain().domainDescription());
 			final AbsIntResult<STATE, IcfgEdge, IcfgLocation> result = fxpe.run(initial, script);
@@ -251,6 +269,31 @@ public final class AbstractInterpreter {
 				p -> new BackwardFixpointEngine<>(p));
 	}
 
+	/**
+	 * If the sparse analysis is enabled and the domain is nonrelational, run the live variable analysis on the given
+	 * {@link IIcfg} and let the fixpoint engine use its result.
+	 */
+	private static <STATE extends IAbstractState<STATE>>
+			FixpointEngineParameters<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> addSparseness(
+					final IIcfg<?> root, final IProgressAwareTimer timer, final IUltimateServiceProvider services,
+					final ILogger logger,
+					final FixpointEngineParameters<STATE, IcfgEdge, IProgramVarOrConst, IcfgLocation> params) {
+		if (!services.getPreferenceProvider(Activator.PLUGIN_ID)
+				.getBoolean(AbsIntPrefInitializer.LABEL_SPARSE_ANALYSIS)) {
+			return params;
+		}
+		if (!(params.getAbstractDomain().createTopState() instanceof NonrelationalState<?, ?>)) {
+			logger.info("Sparse analysis is only available for nonrelational domains, using dense analysis");
+			return params;
+		}
+		final IAbstractInterpretationResult<LiveVariableState<IcfgEdge>, IcfgEdge, IcfgLocation> liveVariables =
+				runFutureLiveVariableDomain(root, timer, services, true, logger);
+		if (liveVariables == null) {
+			return params;
+		}
+		return params.setSparseness(new IcfgSparsenessProvider(root, liveVariables.getLoc2SingleStates()));
+	}
+
 	private static <STATE extends IAbstractState<STATE>, ACTION extends IcfgEdge, LOC extends IcfgLocation>
 			IAbstractInterpretationResult<STATE, ACTION, LOC> postProcessResult(final IUltimateServiceProvider services,
 					final ILogger logger, final boolean isSilent, final AbsIntResult<STATE, ACTION, LOC> result,
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractPostOperator;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractState;
+
+/**
+ * A bounded cache of abstract post states that can be shared by several runs of the abstract interpreter, e.g., by the
+ * runs on the path programs of all iterations of one CEGAR loop.
+ *
+ * The cache is independent of the abstract domain: it wraps the post operator of a domain and remembers for a pair of
+ * an action and an abstract pre state the computed post states. Abstract states do not have value-based
+ * {@link Object#equals(Object)}, so entries are grouped by action and a lookup compares the pre states of the group
+ * with {@link IAbstractState#isEqualTo(IAbstractState)}, which also compares the variables. Hence finding the group
+ * does not depend on the number of variables. Only the post of actions that do not change the scope is cached,
+ * because the post of calls and returns may depend on temporary variables of the domain instance.
+ *
+ * The cache is divided into segments by the hash code of the action. Each segment has its own lock and its own share
+ * of the bound, so threads that compute posts of different actions (e.g., the procedure summaries of the fixpoint
+ * engine) rarely wait for each other. The post operator itself runs without a lock. The bound counts pre states, not
+ * the size of the states. If a segment contains more than its share, its least recently used groups are removed.
+ */
+public final class AbstractPostCache {
+
+	private static final int MAX_ENTRIES_PER_GROUP = 8;
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Segment[] mSegments;
+
+	/**
+	 * @param maxEntries
+	 *            The maximal number of pre states for which post states are kept.
+	 */
+	public AbstractPostCache(final int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be larger than zero");
+		}
+		final int numberOfSegments = Math.min(MAX_SEGMENTS, maxEntries);
+		mSegments = new Segment[numberOfSegments];
+		for (int i = 0; i < numberOfSegments; i++) {
+			mSegments[i] = new Segment(maxEntries / numberOfSegments + (i < maxEntries % numberOfSegments ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Create a post operator that answers from this cache and falls back to the given post operator.
+	 */
+	public <STATE extends IAbstractState<STATE>, ACTION> IAbstractPostOperator<STATE, ACTION>
+			wrap(final IAbstractPostOperator<STATE, ACTION> postOperator) {
+		return new CachingPostOperator<>(postOperator);
+	}
+
+	public int getHits() {
+		int result = 0;
+		for (final Segment segment : mSegments) {
+			result += segment.getHits();
+		}
+		return result;
+	}
+
+	public int getMisses() {
+		int result = 0;
+		for (final Segment segment : mSegments) {
+			result += segment.getMisses();
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of pre states for which post states are kept
+	 */
+	public int size() {
+		int result = 0;
+		for (final Segment segment : mSegments) {
+			result += segment.getEntries();
+		}
+		return result;
+	}
+
+	public int getEvictions() {
+		int result = 0;
+		for (final Segment segment : mSegments) {
+			result += segment.getEvictions();
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "AbstractPostCache: " + getHits() + " hits, " + getMisses() + " misses, " + size() + " entries, "
+				+ getEvictions() + " evictions";
+	}
+
+	private Segment getSegment(final Object action) {
+		final int hash = action.hashCode();
+		return mSegments[Math.floorMod(hash ^ (hash >>> 16), mSegments.length)];
+	}
+
+	/**
+	 * A pre state and its post states.
+	 */
+	private static final class CacheEntry {
+		private final IAbstractState<?> mPreState;
+		private final List<?> mPostStates;
+
+		private CacheEntry(final IAbstractState<?> preState, final List<?> postStates) {
+			mPreState = preState;
+			mPostStates = postStates;
+		}
+	}
+
+	/**
+	 * The groups of the actions with the same segment index.
+	 */
+	private static final class Segment {
+		private final int mMaxEntries;
+		private final LinkedHashMap<Object, Deque<CacheEntry>> mGroups;
+		private int mEntries;
+		private int mHits;
+		private int mMisses;
+		private int mEvictions;
+
+		private Segment(final int maxEntries) {
+			mMaxEntries = maxEntries;
+			// access order, so iteration starts with the least recently used group
+			mGroups = new LinkedHashMap<>(16, 0.75F, true);
+		}
+
+		private synchronized int getHits() {
+			return mHits;
+		}
+
+		private synchronized int getMisses() {
+			return mMisses;
+		}
+
+		private synchronized int getEntries() {
+			return mEntries;
+		}
+
+		private synchronized int getEvictions() {
+			return mEvictions;
+		}
+
+		@SuppressWarnings("unchecked")
+		private synchronized <STATE extends IAbstractState<STATE>> List<STATE> get(final Object action,
+				final STATE preState) {
+			final CacheEntry entry = find(mGroups.get(action), preState);
+			if (entry == null) {
+				mMisses++;
+				return null;
+			}
+			mHits++;
+			return (List<STATE>) entry.mPostStates;
+		}
+
+		private synchronized <STATE extends IAbstractState<STATE>> void put(final Object action,
+				final STATE preState, final List<STATE> postStates) {
+			final Deque<CacheEntry> group = mGroups.computeIfAbsent(action, a -> new ArrayDeque<>());
+			if (find(group, preState) != null) {
+				// another thread computed the same post in the meantime
+				return;
+			}
+			group.addFirst(new CacheEntry(preState, postStates));
+			mEntries++;
+			if (group.size() > MAX_ENTRIES_PER_GROUP) {
+				group.removeLast();
+				mEntries--;
+				mEvictions++;
+			}
+			final Iterator<Entry<Object, Deque<CacheEntry>>> iter = mGroups.entrySet().iterator();
+			while (mEntries > mMaxEntries && iter.hasNext()) {
+				final Deque<CacheEntry> oldest = iter.next().getValue();
+				if (oldest == group) {
+					continue;
+				}
+				mEntries -= oldest.size();
+				mEvictions += oldest.size();
+				iter.remove();
+			}
+			while (mEntries > mMaxEntries) {
+				// the segment is smaller than one group
+				group.removeLast();
+				mEntries--;
+				mEvictions++;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <STATE extends IAbstractState<STATE>> CacheEntry find(final Deque<CacheEntry> group,
+				final STATE preState) {
+			if (group != null) {
+				for (final CacheEntry entry : group) {
+					if (entry.mPreState.getClass() == preState.getClass()
+							&& preState.isEqualTo((STATE) entry.mPreState)) {
+						return entry;
+					}
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A post operator that uses the cache for actions that do not change the scope.
+	 */
+	private final class CachingPostOperator<STATE extends IAbstractState<STATE>, ACTION>
+			implements IAbstractPostOperator<STATE, ACTION> {
+
+		private final IAbstractPostOperator<STATE, ACTION> mPostOperator;
+
+		private CachingPostOperator(final IAbstractPostOperator<STATE, ACTION> postOperator) {
+			mPostOperator = postOperator;
+		}
+
+		@Override
+		public List<STATE> apply(final STATE oldstate, final ACTION transition) {
+			final Segment segment = getSegment(transition);
+			final List<STATE> cached = segment.get(transition, oldstate);
+			if (cached != null) {
+				return cached;
+			}
+			final List<STATE> postStates = mPostOperator.apply(oldstate, transition);
+			segment.put(transition, oldstate, postStates);
+			return postStates;
+		}
+
+		@Override
+		public List<STATE> apply(final STATE stateBeforeLeaving, final STATE secondState, final ACTION transition) {
+			return mPostOperator.apply(stateBeforeLeaving, secondState, transition);
+		}
+	}
+}
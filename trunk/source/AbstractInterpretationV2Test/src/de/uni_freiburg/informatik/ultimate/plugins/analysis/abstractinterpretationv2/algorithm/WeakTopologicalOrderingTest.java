@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link WeakTopologicalOrdering} on small graphs whose locations are strings.
+ */
+public class WeakTopologicalOrderingTest {
+
+	@Test
+	public void testNestedLoops() {
+		final Graph graph = new Graph();
+		final Edge ab = graph.edge("a", "b");
+		final Edge bc = graph.edge("b", "c");
+		final Edge be = graph.edge("b", "e");
+		final Edge cd = graph.edge("c", "d");
+		final Edge dc = graph.edge("d", "c");
+		final Edge db = graph.edge("d", "b");
+		final WeakTopologicalOrdering<Edge, String> wto = graph.wto("a");
+
+		assertEquals("a (b (c d)) e", wto.toString());
+		assertEquals(5, wto.getNumberOfLocations());
+		assertEquals(2, wto.getNumberOfComponents());
+		assertTrue(wto.isHead("b"));
+		assertTrue(wto.isHead("c"));
+		assertFalse(wto.isHead("d"));
+
+		assertFalse(wto.isEnteringLoop(ab));
+		assertTrue(wto.isEnteringLoop(bc));
+		assertTrue(wto.isEnteringLoop(cd));
+		assertFalse(wto.isEnteringLoop(be));
+		// d -> c stays in the inner component, d -> b leaves it but stays in the outer one
+		assertFalse(wto.isLeavingLoop(dc));
+		assertTrue(wto.isLeavingLoop(db));
+		assertTrue(wto.isLeavingLoop(be));
+		assertFalse(wto.isLeavingLoop(cd));
+	}
+
+	@Test
+	public void testIrreducibleLoop() {
+		final Graph graph = new Graph();
+		final Edge ab = graph.edge("a", "b");
+		final Edge ac = graph.edge("a", "c");
+		graph.edge("b", "c");
+		final Edge cb = graph.edge("c", "b");
+		final Edge cd = graph.edge("c", "d");
+		final WeakTopologicalOrdering<Edge, String> wto = graph.wto("a");
+
+		// the loop b <-> c has two entries, but only the first visited one becomes the head
+		assertEquals("a (b c) d", wto.toString());
+		assertEquals(1, wto.getNumberOfComponents());
+		assertTrue(wto.isHead("b"));
+		assertFalse(wto.isHead("c"));
+		assertFalse(wto.isEnteringLoop(ab));
+		assertFalse(wto.isEnteringLoop(ac));
+		assertFalse(wto.isLeavingLoop(cb));
+		assertTrue(wto.isLeavingLoop(cd));
+	}
+
+	@Test
+	public void testIrreducibleLoopInsideLoop() {
+		final Graph graph = new Graph();
+		graph.edge("a", "h");
+		graph.edge("h", "b");
+		graph.edge("h", "c");
+		graph.edge("b", "c");
+		graph.edge("c", "b");
+		graph.edge("c", "h");
+		graph.edge("h", "x");
+		final WeakTopologicalOrdering<Edge, String> wto = graph.wto("a");
+
+		assertEquals("a (h (b c)) x", wto.toString());
+		assertTrue(wto.isHead("h"));
+		assertTrue(wto.isHead("b"));
+		assertTrue(wto.getPosition("h") < wto.getPosition("b"));
+		assertTrue(wto.getPosition("b") < wto.getPosition("c"));
+		assertTrue(wto.getPosition("c") < wto.getPosition("x"));
+	}
+
+	@Test
+	public void testCallTargetsAreRoots() {
+		final Graph graph = new Graph();
+		graph.call("a", "p");
+		graph.edge("a", "r");
+		graph.edge("p", "q");
+		graph.edge("q", "p");
+		final WeakTopologicalOrdering<Edge, String> wto = graph.wto("a");
+
+		// the call is not followed, its target is ordered as an additional root (before the locations of the caller)
+		assertEquals("(p q) a r", wto.toString());
+		assertTrue(wto.isHead("p"));
+		assertEquals(4, wto.getNumberOfLocations());
+		// locations that are not reachable are ordered last
+		assertEquals(4, wto.getPosition("unreachable"));
+	}
+
+	@Test
+	public void testWorklistOrder() {
+		final Graph graph = new Graph();
+		final Edge ab = graph.edge("a", "b");
+		final Edge bc = graph.edge("b", "c");
+		final Edge bd = graph.edge("b", "d");
+		final Edge cb = graph.edge("c", "b");
+		final Edge de = graph.edge("d", "e");
+		final WeakTopologicalOrdering<Edge, String> wto = graph.wto("a");
+		assertEquals("a (b c) d e", wto.toString());
+
+		final Queue<Edge> worklist = wto.createWorklist(Function.identity());
+		worklist.addAll(Arrays.asList(de, cb, bd, ab, bc));
+		final List<Edge> polled = new ArrayList<>();
+		while (!worklist.isEmpty()) {
+			polled.add(worklist.poll());
+		}
+		// ordered by the position of the source, FIFO for equal sources
+		assertEquals(Arrays.asList(ab, bd, bc, cb, de), polled);
+	}
+
+	private static final class Edge {
+		private final String mSource;
+		private final String mTarget;
+		private final boolean mIsCall;
+
+		private Edge(final String source, final String target, final boolean isCall) {
+			mSource = source;
+			mTarget = target;
+			mIsCall = isCall;
+		}
+
+		@Override
+		public String toString() {
+			return mSource + (mIsCall ? " -call-> " : " -> ") + mTarget;
+		}
+	}
+
+	private static final class Graph implements ITransitionProvider<Edge, String> {
+		private final List<Edge> mEdges = new ArrayList<>();
+
+		private Edge edge(final String source, final String target) {
+			final Edge edge = new Edge(source, target, false);
+			mEdges.add(edge);
+			return edge;
+		}
+
+		private Edge call(final String source, final String target) {
+			final Edge edge = new Edge(source, target, true);
+			mEdges.add(edge);
+			return edge;
+		}
+
+		private WeakTopologicalOrdering<Edge, String> wto(final String start) {
+			return new WeakTopologicalOrdering<>(this, Collections.singleton(start));
+		}
+
+		@Override
+		public Collection<Edge> getSuccessorActions(final String loc) {
+			final List<Edge> rtr = new ArrayList<>();
+			for (final Edge edge : mEdges) {
+				if (edge.mSource.equals(loc)) {
+					rtr.add(edge);
+				}
+			}
+			return rtr;
+		}
+
+		@Override
+		public Collection<Edge> getPredecessorActions(final String loc) {
+			final List<Edge> rtr = new ArrayList<>();
+			for (final Edge edge : mEdges) {
+				if (edge.mTarget.equals(loc)) {
+					rtr.add(edge);
+				}
+			}
+			return rtr;
+		}
+
+		@Override
+		public String getSource(final Edge action) {
+			return action.mSource;
+		}
+
+		@Override
+		public String getTarget(final Edge action) {
+			return action.mTarget;
+		}
+
+		@Override
+		public boolean isEnteringScope(final Edge action) {
+			return action.mIsCall;
+		}
+
+		@Override
+		public boolean isLeavingScope(final Edge action) {
+			return false;
+		}
+
+		@Override
+		public Collection<Edge> getSuccessors(final Edge action, final Edge scope) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Collection<Edge> getPredecessors(final Edge action, final Edge scope) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isErrorLocation(final String loc) {
+			return false;
+		}
+
+		@Override
+		public boolean isEnteringScope(final Edge action, final Edge scope) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isLeavingScope(final Edge action, final Edge scope) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isSummaryForCall(final Edge action, final Edge call) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isSummaryWithImplementation(final Edge action) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Edge getSummaryForCall(final Edge call) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getProcedureName(final Edge current) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toLogString(final Edge action) {
+			return action.toString();
+		}
+	}
+}
@@ -27,6 +27,7 @@ public class ClosureBenchmark {
 		cb.addCandidate("fsparse", OctMatrix::shortestPathClosureFullSparse);
 		cb.addCandidate("sparse", OctMatrix::shortestPathClosureSparse);
 		cb.addCandidate("psparse", OctMatrix::shortestPathClosurePrimitiveSparse);
+		cb.addCandidate("plong", OctMatrix::shortestPathClosurePrimitiveLong);
 		cb.run(3);
 		cb.printFullStatistics();
 		cb.printShortStatistics(8);
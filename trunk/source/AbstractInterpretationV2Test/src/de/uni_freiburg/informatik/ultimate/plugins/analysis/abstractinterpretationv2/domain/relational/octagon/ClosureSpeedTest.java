@@ -20,11 +20,13 @@ public class ClosureSpeedTest {
 		st.addTest(50, 600);
 		st.addTest(100, 80);
 		st.addTest(150, 20);
+		st.addTest(200, 8);
 		st.addFunction("naiv", OctMatrix::shortestPathClosureNaiv);
 		st.addFunction("apron", OctMatrix::shortestPathClosureApron);
 		st.addFunction("fsparse", OctMatrix::shortestPathClosureFullSparse);
 		st.addFunction("sparse", OctMatrix::shortestPathClosureSparse);
 		st.addFunction("psparse", OctMatrix::shortestPathClosurePrimitiveSparse);
+		st.addFunction("plong", OctMatrix::shortestPathClosurePrimitiveLong);
 		st.run();
 	}
 
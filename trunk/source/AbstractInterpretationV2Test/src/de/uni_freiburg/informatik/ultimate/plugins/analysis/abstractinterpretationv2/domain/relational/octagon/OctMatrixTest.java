@@ -147,6 +147,37 @@ public class OctMatrixTest {
 		}
 	}
 
+	@Test
+	public void testClosurePrimitiveLongByComparingRandom() {
+		for (int testcase = 0; testcase < 2000; ++testcase) {
+			final int variables = (int) (Math.random() * 10) + 1;
+			final OctMatrix m = OctMatrix.random(variables);
+			final OctMatrix cNaiv = m.strongClosure(OctMatrix::shortestPathClosureNaiv);
+			final OctMatrix cLong = m.strongClosure(OctMatrix::shortestPathClosurePrimitiveLong);
+			if (!cNaiv.hasNegativeSelfLoop() || !cLong.hasNegativeSelfLoop()) {
+				assertIsEqualTo(cNaiv, cLong);
+			}
+		}
+	}
+
+	@Test
+	public void testClosurePrimitiveLongFallback() {
+		// non-integral entries
+		OctMatrix m = OctMatrix.parseBlockLowerTriangular(
+				  "  0   2.5 "
+				+ "  1     0 "
+				+ "inf   1.5     0   inf "
+				+ "  3   inf   0.5     0 ");
+		assertIsEqualTo(m.strongClosure(OctMatrix::shortestPathClosureNaiv),
+				m.strongClosure(OctMatrix::shortestPathClosurePrimitiveLong));
+		// overflow
+		m = OctMatrix.parseBlockLowerTriangular(
+				  "0 9223372036854775806 "
+				+ "9223372036854775806 0 ");
+		assertIsEqualTo(m.strongClosure(OctMatrix::shortestPathClosureNaiv),
+				m.strongClosure(OctMatrix::shortestPathClosurePrimitiveLong));
+	}
+
 	// widening tests //////////////////////////////////////////////////////////////////////////////////////////////////
 
 	@Test
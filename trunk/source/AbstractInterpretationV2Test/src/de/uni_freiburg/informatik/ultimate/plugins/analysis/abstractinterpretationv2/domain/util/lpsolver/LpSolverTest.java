@@ -28,17 +28,21 @@
 
 package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.lpsolver;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
 import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.domain.util.lpsolver.ojalgo.OjAlgoSolver;
 import de.uni_freiburg.informatik.ultimate.test.mocks.ConsoleLogger;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
 
 /**
  * @author Marius Greitschus (greitsch@informatik.uni-freiburg.de)
@@ -244,4 +248,69 @@ public class LpSolverTest {
 		assertTrue(maxY == null);
 		assertTrue(minY.compareTo(BigDecimal.ZERO) == 0);
 	}
+
+	@Test
+	public void testojAlgoLpSolverBounds() {
+		final OjAlgoSolver<BigDecimal> solver = new OjAlgoSolver<>(logger, BigDecimal.class);
+		final List<String> variables = new ArrayList<>();
+		variables.add("x");
+		variables.add("y");
+		solver.createNewLpInstance(variables);
+
+		final LinearConstraint<BigDecimal> constrX = new LinearConstraint<>("x-constraint");
+		constrX.addCoefficient("x", BigDecimal.ONE);
+		constrX.setLower(BigDecimal.ZERO);
+		constrX.setUpper(new BigDecimal(4));
+		solver.addVariableConstraint(constrX);
+
+		final LinearConstraint<BigDecimal> constrY = new LinearConstraint<>("y-constraint");
+		constrY.addCoefficient("y", BigDecimal.ONE);
+		constrY.setLower(BigDecimal.ONE);
+		solver.addVariableConstraint(constrY);
+
+		final Map<String, Pair<BigDecimal, BigDecimal>> bounds = solver.getBounds();
+		logger.info("Computed bounds: " + bounds);
+
+		solver.deleteLpInstance();
+
+		assertNotNull(bounds);
+		assertTrue(bounds.get("x").getFirst().compareTo(BigDecimal.ZERO) == 0);
+		assertTrue(bounds.get("x").getSecond().compareTo(new BigDecimal(4)) == 0);
+		assertTrue(bounds.get("y").getFirst().compareTo(BigDecimal.ONE) == 0);
+		// unbounded, but the linear program is feasible
+		assertNull(bounds.get("y").getSecond());
+	}
+
+	@Test
+	public void testojAlgoLpSolverInfeasible() {
+		final OjAlgoSolver<BigDecimal> solver = new OjAlgoSolver<>(logger, BigDecimal.class);
+		final List<String> variables = new ArrayList<>();
+		variables.add("x");
+		variables.add("y");
+		solver.createNewLpInstance(variables);
+
+		final LinearConstraint<BigDecimal> constrX = new LinearConstraint<>("x-constraint");
+		constrX.addCoefficient("x", BigDecimal.ONE);
+		constrX.setLower(BigDecimal.ZERO);
+		constrX.setUpper(BigDecimal.ONE);
+		solver.addVariableConstraint(constrX);
+
+		final LinearConstraint<BigDecimal> sum = new LinearConstraint<>("sum");
+		sum.addCoefficient("x", BigDecimal.ONE);
+		sum.addCoefficient("y", BigDecimal.ONE);
+		sum.setLower(new BigDecimal(2));
+		solver.addVariableConstraint(sum);
+
+		final LinearConstraint<BigDecimal> constrY = new LinearConstraint<>("y-constraint");
+		constrY.addCoefficient("y", BigDecimal.ONE);
+		constrY.setUpper(BigDecimal.ZERO);
+		solver.addVariableConstraint(constrY);
+
+		final Map<String, Pair<BigDecimal, BigDecimal>> bounds = solver.getBounds();
+		logger.info("Computed bounds: " + bounds);
+
+		solver.deleteLpInstance();
+
+		assertNull(bounds);
+	}
 }
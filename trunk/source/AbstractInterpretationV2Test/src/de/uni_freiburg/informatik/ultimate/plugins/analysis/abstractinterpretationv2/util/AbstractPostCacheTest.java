@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE AbstractInterpretationV2 plug-in.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE AbstractInterpretationV2 plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE AbstractInterpretationV2 plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE AbstractInterpretationV2 plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE AbstractInterpretationV2 plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractPostOperator;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractState;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVarOrConst;
+
+/**
+ * Tests hits and eviction of the {@link AbstractPostCache}.
+ */
+public class AbstractPostCacheTest {
+
+	@Test
+	public void equalPreStatesHit() {
+		final AbstractPostCache cache = new AbstractPostCache(100);
+		final CountingPostOperator post = new CountingPostOperator();
+		final IAbstractPostOperator<TestState, String> cached = cache.wrap(post);
+
+		final List<TestState> first = cached.apply(new TestState(1), "a");
+		// an equal but different pre state
+		assertSame(first, cached.apply(new TestState(1), "a"));
+		assertEquals(1, post.mCalls.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		// other action or other pre state
+		cached.apply(new TestState(1), "b");
+		cached.apply(new TestState(2), "a");
+		assertEquals(3, post.mCalls.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void postOfReturnIsNotCached() {
+		final AbstractPostCache cache = new AbstractPostCache(100);
+		final CountingPostOperator post = new CountingPostOperator();
+		final IAbstractPostOperator<TestState, String> cached = cache.wrap(post);
+		cached.apply(new TestState(1), new TestState(2), "ret");
+		cached.apply(new TestState(1), new TestState(2), "ret");
+		assertEquals(2, post.mCalls.get());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedGroupIsEvicted() {
+		final CountingPostOperator post = new CountingPostOperator();
+		// a single segment
+		final AbstractPostCache single = new AbstractPostCache(1);
+		final IAbstractPostOperator<TestState, String> cachedSingle = single.wrap(post);
+
+		cachedSingle.apply(new TestState(1), "a");
+		cachedSingle.apply(new TestState(1), "b");
+		assertEquals(1, single.size());
+		assertEquals(1, single.getEvictions());
+		cachedSingle.apply(new TestState(1), "b");
+		assertEquals(1, single.getHits());
+		cachedSingle.apply(new TestState(1), "a");
+		assertEquals(1, single.getHits());
+		assertEquals(2, single.getEvictions());
+
+		// the bound holds for many actions, although each segment is bounded separately
+		final AbstractPostCache cache = new AbstractPostCache(2);
+		final IAbstractPostOperator<TestState, String> cached = cache.wrap(post);
+		for (int i = 0; i < 100; i++) {
+			cached.apply(new TestState(i), "action" + i);
+		}
+		assertEquals(2, cache.size());
+		assertEquals(98, cache.getEvictions());
+	}
+
+	@Test
+	public void oldestPreStatesOfGroupAreEvicted() {
+		final AbstractPostCache cache = new AbstractPostCache(1000);
+		final CountingPostOperator post = new CountingPostOperator();
+		final IAbstractPostOperator<TestState, String> cached = cache.wrap(post);
+		for (int i = 0; i < 10; i++) {
+			cached.apply(new TestState(i), "a");
+		}
+		// at most 8 pre states per action
+		assertEquals(8, cache.size());
+		assertEquals(2, cache.getEvictions());
+		cached.apply(new TestState(9), "a");
+		assertEquals(1, cache.getHits());
+		cached.apply(new TestState(0), "a");
+		assertEquals(1, cache.getHits());
+		assertEquals(11, post.mCalls.get());
+	}
+
+	@Test
+	public void concurrentUse() throws InterruptedException, ExecutionException {
+		final AbstractPostCache cache = new AbstractPostCache(1000);
+		final CountingPostOperator post = new CountingPostOperator();
+		final IAbstractPostOperator<TestState, String> cached = cache.wrap(post);
+		final int threads = 4;
+		final int callsPerThread = 1000;
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < callsPerThread; i++) {
+						final List<TestState> result = cached.apply(new TestState(i % 5), "action" + i % 7);
+						assertEquals(i % 5 + 1, result.get(0).mValue);
+					}
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(threads * callsPerThread, cache.getHits() + cache.getMisses());
+		assertEquals(cache.getMisses(), post.mCalls.get());
+		assertTrue(cache.size() <= 35);
+		assertTrue(cache.getHits() > 0);
+	}
+
+	/**
+	 * Post operator that increments the value of the state.
+	 */
+	private static final class CountingPostOperator implements IAbstractPostOperator<TestState, String> {
+		private final AtomicInteger mCalls = new AtomicInteger();
+
+		@Override
+		public List<TestState> apply(final TestState oldstate, final String transition) {
+			mCalls.incrementAndGet();
+			return Collections.singletonList(new TestState(oldstate.mValue + 1));
+		}
+
+		@Override
+		public List<TestState> apply(final TestState stateBeforeLeaving, final TestState secondState,
+				final String transition) {
+			mCalls.incrementAndGet();
+			return Collections.singletonList(secondState);
+		}
+	}
+
+	/**
+	 * Abstract state without variables that is described by a number.
+	 */
+	private static final class TestState implements IAbstractState<TestState> {
+		private final int mValue;
+
+		private TestState(final int value) {
+			mValue = value;
+		}
+
+		@Override
+		public TestState addVariable(final IProgramVarOrConst variable) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestState removeVariable(final IProgramVarOrConst variable) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestState addVariables(final Collection<IProgramVarOrConst> variables) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestState removeVariables(final Collection<IProgramVarOrConst> variables) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean containsVariable(final IProgramVarOrConst var) {
+			return false;
+		}
+
+		@Override
+		public Set<IProgramVarOrConst> getVariables() {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public TestState renameVariables(final Map<IProgramVarOrConst, IProgramVarOrConst> old2newVars) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestState patch(final TestState dominator) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestState intersect(final TestState other) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestState union(final TestState other) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return true;
+		}
+
+		@Override
+		public boolean isBottom() {
+			return false;
+		}
+
+		@Override
+		public boolean isEqualTo(final TestState other) {
+			return mValue == other.mValue;
+		}
+
+		@Override
+		public SubsetResult isSubsetOf(final TestState other) {
+			return isEqualTo(other) ? SubsetResult.EQUAL : SubsetResult.NONE;
+		}
+
+		@Override
+		public TestState compact() {
+			return this;
+		}
+
+		@Override
+		public Term getTerm(final Script script) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toLogString() {
+			return String.valueOf(mValue);
+		}
+	}
+}
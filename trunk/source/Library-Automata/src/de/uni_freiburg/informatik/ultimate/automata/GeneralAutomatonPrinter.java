@@ -26,8 +26,6 @@
  */
 package de.uni_freiburg.informatik.ultimate.automata;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Collection;
 import java.util.Map;
@@ -36,6 +34,9 @@ import de.uni_freiburg.informatik.ultimate.util.CoreUtil;
 
 /**
  * Abstract superclass for automaton printers.
+ * <p>
+ * The output is written directly to the {@link PrintWriter} without an intermediate string representation, so the
+ * memory consumption does not depend on the size of the automaton.
  *
  * @author Christian Schilling (schillic@informatik.uni-freiburg.de)
  */
@@ -45,7 +46,6 @@ public abstract class GeneralAutomatonPrinter {
 	public static final String NEW_LINE = System.lineSeparator();
 
 	private final PrintWriter mPrintWriter;
-	private StringBuilder mStringBuilder;
 
 	/**
 	 * @param printWriter
@@ -53,42 +53,40 @@ public abstract class GeneralAutomatonPrinter {
 	 */
 	protected GeneralAutomatonPrinter(final PrintWriter printWriter) {
 		mPrintWriter = printWriter;
-		mStringBuilder = new StringBuilder();
 	}
 
 	protected void finish() {
-		final BufferedWriter bw = new BufferedWriter(mPrintWriter);
-		try {
-			bw.write(mStringBuilder.toString());
-			bw.flush();
-			mStringBuilder = new StringBuilder();
-		} catch (final IOException e) {
-			throw new RuntimeException(e);
+		mPrintWriter.flush();
+		if (mPrintWriter.checkError()) {
+			throw new RuntimeException("Writing the automaton failed.");
 		}
 	}
 
 	protected final void println(final String string) {
-		mStringBuilder.append(string).append(CoreUtil.getPlatformLineSeparator());
+		mPrintWriter.print(string);
+		mPrintWriter.print(CoreUtil.getPlatformLineSeparator());
 	}
 
 	protected final void println(final char character) {
-		mStringBuilder.append(character).append(CoreUtil.getPlatformLineSeparator());
+		mPrintWriter.print(character);
+		mPrintWriter.print(CoreUtil.getPlatformLineSeparator());
 	}
 
 	protected final void print(final String string) {
-		mStringBuilder.append(string);
+		mPrintWriter.print(string);
 	}
 
 	protected final void printElement(final String elem) {
-		mStringBuilder.append(elem).append(' ');
+		mPrintWriter.print(elem);
+		mPrintWriter.print(' ');
 	}
 
 	protected final void print(final char character) {
-		mStringBuilder.append(character);
+		mPrintWriter.print(character);
 	}
 
 	protected final void print(final StringBuilder builder) {
-		mStringBuilder.append(builder);
+		mPrintWriter.append(builder);
 	}
 
 	protected final void printAutomatonPrefix() {
@@ -78,12 +78,11 @@ public class BuchiComplementNCSBSimpleNwa2<LETTER, STATE> implements INwaSuccess
 	private final BuchiNwaComplement mComplementBuchi; 
 //	private final Map<Integer, LETTER> mIdLetterMap;
 	private final Map<LETTER, Integer> mLetterIdMap;
-	private final Map<Integer, STATE> mIdStateMap;
+	// result states indexed by the (dense) state numbering of mComplementBuchi
+	private final List<STATE> mIdStateMap;
 	private final Map<STATE, Integer> mStateIdMap;
 
 	private final NwaToBuchiWrapper<LETTER, STATE> mOperandBuchi;
-	private final Map<LevelRankingState<LETTER, STATE>, STATE> mDet2res = new HashMap<>();
-	private final Map<Integer, LevelRankingState<LETTER, STATE>> mInt2LevelRanks = new HashMap<>();
 	/**
 	 * Constructor.
 	 * 
@@ -104,7 +103,7 @@ public class BuchiComplementNCSBSimpleNwa2<LETTER, STATE> implements INwaSuccess
 		mStateFactory = stateFactory;
 		mSetOfStates = new SetOfStates<>(mStateFactory.createEmptyStackState());
 //		mIdLetterMap = new HashMap<>();
-		mIdStateMap = new HashMap<>();
+		mIdStateMap = new ArrayList<>();
 		mStateIdMap = new HashMap<>();
 		
 		int id = 0;
@@ -148,11 +147,12 @@ public class BuchiComplementNCSBSimpleNwa2<LETTER, STATE> implements INwaSuccess
 		}
 	}
 	
+	/**
+	 * The level ranking is only needed to let the state factory build the result state, hence it is not retained.
+	 */
 	protected STATE getRelatedSTATE(int sId) {
 		LevelRankingState<LETTER, STATE> lvlrk = constructLevelRankingState(sId);
-		STATE resState = mStateFactory.buchiComplementNcsb(lvlrk);
-		mDet2res.put(lvlrk, resState);
-		return resState;
+		return mStateFactory.buchiComplementNcsb(lvlrk);
 	}
 	private StateWithRankInfo<STATE> getStackState(int downState) {
 		StateWithRankInfo<STATE> stackState = null;
@@ -164,13 +164,10 @@ public class BuchiComplementNCSBSimpleNwa2<LETTER, STATE> implements INwaSuccess
 		return stackState;
 	}
 	protected LevelRankingState<LETTER, STATE> constructLevelRankingState(int sid) {
-		LevelRankingState<LETTER, STATE> lvlrk = mInt2LevelRanks.get(sid);
-		if(lvlrk != null) return lvlrk;
-		
 		StateNwaNCSB state = (StateNwaNCSB) mComplementBuchi.getState(sid);
 		NCSB ncsb = state.getNCSB();
 
-		lvlrk = new LevelRankingState<>(mOperand);
+		LevelRankingState<LETTER, STATE> lvlrk = new LevelRankingState<>(mOperand);
 		IntSet B = ncsb.getBSet();
 		// N
 		IntSet temp = ncsb.getNSet();
@@ -204,10 +201,13 @@ public class BuchiComplementNCSBSimpleNwa2<LETTER, STATE> implements INwaSuccess
 	 * Return state of result automaton that represents detState. If no such state was constructed yet, construct it.
 	 */
 	private STATE getOrAdd(final boolean isInitial, int sId) {
-		STATE resState = mIdStateMap.get(sId);
+		STATE resState = sId < mIdStateMap.size() ? mIdStateMap.get(sId) : null;
 		if (resState == null) {
 			resState = getRelatedSTATE(sId);
-			mIdStateMap.put(sId, resState);
+			while (mIdStateMap.size() <= sId) {
+				mIdStateMap.add(null);
+			}
+			mIdStateMap.set(sId, resState);
 			mStateIdMap.put(resState, sId);
 			mSetOfStates.addState(isInitial, mComplementBuchi.isFinal(sId), resState);
 		} else {
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations;
+
+import java.util.Iterator;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataOperationCanceledException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomatonDefinitionPrinter;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.BinaryNwaOperation;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.DoubleDeckerAutomatonFilteredStates;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.IDoubleDeckerAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INwaInclusionStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INwaOutgoingLetterAndTransitionProvider;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.oldapi.IOpWithDelayedDeadEndRemoval;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.reachablestates.NestedWordAutomatonReachableStates;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.IEmptyStackStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.IIntersectionStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.ISinkStateFactory;
+
+/**
+ * Computes the difference of two nested word automata like {@link Difference}, but reuses all states of the first
+ * operand that are not affected by the second operand (see {@link IncrementalDifferenceNwa}).
+ * <p>
+ * In a CEGAR loop the first operand is the current abstraction and the second operand is an interpolant automaton that
+ * usually constrains only a few letters. The states and transitions of the abstraction from which no such letter is
+ * reachable are taken over unchanged; only the remaining part of the product is explored and only for this part new
+ * states are constructed. The result is a new {@link NestedWordAutomatonReachableStates}; the first operand is not
+ * modified.
+ * <p>
+ * Because a state of the result is not necessarily a product state, this operation does not provide a mapping from
+ * pairs of states to result states (in contrast to {@link Difference#getFst2snd2res()}).
+ *
+ * @param <LETTER>
+ *            letter type
+ * @param <STATE>
+ *            state type
+ */
+public final class IncrementalDifference<LETTER, STATE>
+		extends BinaryNwaOperation<LETTER, STATE, INwaInclusionStateFactory<STATE>>
+		implements IOpWithDelayedDeadEndRemoval<LETTER, STATE> {
+	private final INestedWordAutomaton<LETTER, STATE> mFstOperand;
+	private final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> mSndOperand;
+	private final IStateDeterminizer<LETTER, STATE> mStateDeterminizer;
+	private final ISinkStateFactory<STATE> mStateFactory;
+	private IncrementalDifferenceNwa<LETTER, STATE> mIntersect;
+	private NestedWordAutomatonReachableStates<LETTER, STATE> mResult;
+	private DoubleDeckerAutomatonFilteredStates<LETTER, STATE> mResultWOdeadEnds;
+
+	/**
+	 * @param services
+	 *            Ultimate services
+	 * @param stateFactory
+	 *            state factory
+	 * @param fstOperand
+	 *            first operand
+	 * @param sndOperand
+	 *            second operand
+	 * @param stateDeterminizer
+	 *            determinizer that is used if the second operand is not deterministic
+	 * @param finalIsTrap
+	 *            assume that in the second operand a final state is a trap
+	 * @throws AutomataLibraryException
+	 *             if construction fails
+	 */
+	public <SF extends ISinkStateFactory<STATE> & IIntersectionStateFactory<STATE> & IEmptyStackStateFactory<STATE>> IncrementalDifference(
+			final AutomataLibraryServices services, final SF stateFactory,
+			final INestedWordAutomaton<LETTER, STATE> fstOperand,
+			final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> sndOperand,
+			final IStateDeterminizer<LETTER, STATE> stateDeterminizer, final boolean finalIsTrap)
+			throws AutomataLibraryException {
+		super(services);
+		mFstOperand = fstOperand;
+		mSndOperand = sndOperand;
+		mStateFactory = stateFactory;
+		mStateDeterminizer = stateDeterminizer;
+
+		if (mLogger.isInfoEnabled()) {
+			mLogger.info(startMessage());
+		}
+
+		computeDifference(stateFactory, finalIsTrap);
+
+		if (mLogger.isInfoEnabled()) {
+			mLogger.info(exitMessage());
+		}
+	}
+
+	@Override
+	public String exitMessage() {
+		return "Finished " + getOperationName() + " Result " + mResult.sizeInformation() + ". Constructed "
+				+ mIntersect.getNumberOfConstructedStates() + " new states, "
+				+ mIntersect.getNumberOfUnaffectedStates() + " states of first operand were reusable.";
+	}
+
+	private <SF extends IIntersectionStateFactory<STATE> & IEmptyStackStateFactory<STATE>> void
+			computeDifference(final SF stateFactory, final boolean finalIsTrap) throws AutomataLibraryException {
+		if (hasSeveralInitialStates(mSndOperand)) {
+			if (mLogger.isInfoEnabled()) {
+				mLogger.info("Subtrahend was not deterministic. Computing result with determinization.");
+			}
+		} else {
+			final TotalizeNwa<LETTER, STATE> sndTotalized = new TotalizeNwa<>(mSndOperand, mStateFactory, true);
+			final ComplementDeterministicNwa<LETTER, STATE> sndComplemented =
+					new ComplementDeterministicNwa<>(sndTotalized);
+			final IncrementalDifferenceNwa<LETTER, STATE> intersect =
+					new IncrementalDifferenceNwa<>(mFstOperand, sndComplemented, stateFactory, finalIsTrap);
+			final NestedWordAutomatonReachableStates<LETTER, STATE> result =
+					new NestedWordAutomatonReachableStates<>(mServices, intersect);
+			if (!sndTotalized.nonDeterminismInInputDetected()) {
+				mIntersect = intersect;
+				mResult = result;
+				if (mLogger.isInfoEnabled()) {
+					mLogger.info("Subtrahend was deterministic. Have not used determinization.");
+				}
+				return;
+			}
+			if (mLogger.isInfoEnabled()) {
+				mLogger.info("Subtrahend was not deterministic. Recomputing result with determinization.");
+			}
+		}
+		final DeterminizeNwa<LETTER, STATE> sndDeterminized =
+				new DeterminizeNwa<>(mServices, mSndOperand, mStateDeterminizer, mStateFactory, null, true);
+		final ComplementDeterministicNwa<LETTER, STATE> sndComplemented =
+				new ComplementDeterministicNwa<>(sndDeterminized);
+		mIntersect = new IncrementalDifferenceNwa<>(mFstOperand, sndComplemented, stateFactory, finalIsTrap);
+		mResult = new NestedWordAutomatonReachableStates<>(mServices, mIntersect);
+	}
+
+	private boolean hasSeveralInitialStates(final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> automaton) {
+		final Iterator<STATE> iterator = automaton.getInitialStates().iterator();
+		if (!iterator.hasNext()) {
+			return false;
+		}
+		iterator.next();
+		return iterator.hasNext();
+	}
+
+	@Override
+	public INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> getFirstOperand() {
+		return mFstOperand;
+	}
+
+	@Override
+	public INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> getSecondOperand() {
+		return mSndOperand;
+	}
+
+	@Override
+	public IDoubleDeckerAutomaton<LETTER, STATE> getResult() {
+		if (mResultWOdeadEnds == null) {
+			return mResult;
+		}
+		return mResultWOdeadEnds;
+	}
+
+	@Override
+	public boolean checkResult(final INwaInclusionStateFactory<STATE> stateFactory) throws AutomataLibraryException {
+		if (mLogger.isInfoEnabled()) {
+			mLogger.info("Start testing correctness of " + getOperationName());
+		}
+		final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> resultDifference =
+				new Difference<>(mServices, stateFactory, mFstOperand, mSndOperand).getResult();
+		final boolean correct = new IsEquivalent<>(mServices, stateFactory, resultDifference, mResult).getResult();
+		assert correct;
+		if (!correct) {
+			AutomatonDefinitionPrinter.writeToFileIfPreferred(mServices, getOperationName() + "Failed",
+					"language is different", mFstOperand, mSndOperand);
+		}
+		if (mLogger.isInfoEnabled()) {
+			mLogger.info("Finished testing correctness of " + getOperationName());
+		}
+		return correct;
+	}
+
+	@Override
+	public boolean removeDeadEnds() throws AutomataOperationCanceledException {
+		mResult.computeDeadEnds();
+		mResultWOdeadEnds = new DoubleDeckerAutomatonFilteredStates<>(mServices, mResult, mResult.getWithOutDeadEnds());
+		if (mLogger.isInfoEnabled()) {
+			mLogger.info("With dead ends: " + mResult.getStates().size());
+			mLogger.info("Without dead ends: " + mResultWOdeadEnds.getStates().size());
+		}
+		return mResult.getStates().size() != mResultWOdeadEnds.getStates().size();
+	}
+
+	@Override
+	public long getDeadEndRemovalTime() {
+		return 0;
+	}
+
+	@Override
+	public Iterable<UpDownEntry<STATE>> getRemovedUpDownEntry() {
+		return mResult.getWithOutDeadEnds().getRemovedUpDownEntry();
+	}
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryException;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INwaOutgoingLetterAndTransitionProvider;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomataUtils;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.IOutgoingTransitionlet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.IncomingCallTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.IncomingInternalTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.IncomingReturnTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingCallTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingInternalTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingReturnTransition;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.IEmptyStackStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.IIntersectionStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.IStateFactory;
+
+/**
+ * On-the-fly intersection of a nested word automaton (the minuend) with a deterministic and total nested word automaton
+ * (typically the complement of the subtrahend of a difference) that reuses states of the minuend.
+ * <p>
+ * Let s0 be the initial state of the second operand. We call a letter <i>constrained</i> if reading it in s0 (resp.
+ * reading a return letter in s0 with hierarchical predecessor s0) does not lead back to s0. A state q of the minuend is
+ * <i>unaffected</i> if no transition labeled by a constrained letter is reachable from q (here we ignore the matching
+ * of calls and returns, hence the set of unaffected states is closed under successors). For an unaffected state q the
+ * product state (q, s0) accepts the same nested words as q, hence we do not construct a new state for (q, s0) but use q
+ * itself. The successors of such a state are taken from the minuend directly; neither the second operand nor the
+ * state factory is queried. Only a return whose hierarchical predecessor is a product state (q', s') with s' != s0 is
+ * computed via the second operand.
+ * <p>
+ * States are only reused if s0 is accepting, otherwise (q, s0) would never be accepting. The state factory has to
+ * construct states that are different from all states of the first operand.
+ *
+ * @param <LETTER>
+ *            letter type
+ * @param <STATE>
+ *            state type
+ */
+public class IncrementalDifferenceNwa<LETTER, STATE> implements INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> {
+	private final INestedWordAutomaton<LETTER, STATE> mFstOperand;
+	private final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> mSndOperand;
+	private final IIntersectionStateFactory<STATE> mStateFactory;
+	private final IEmptyStackStateFactory<STATE> mEmptyStackStateFactory;
+	private final boolean mAssumeInSndNonFinalIsTrap;
+	private final STATE mEmptyStackState;
+
+	/**
+	 * Initial state of the second operand if states of the first operand are reused, null otherwise.
+	 */
+	private final STATE mSndInitial;
+	/**
+	 * States of the first operand from which a transition labeled by a constrained letter is reachable. All other states
+	 * of the first operand are unaffected.
+	 */
+	private final Set<STATE> mAffected;
+
+	private final Map<STATE, Map<STATE, STATE>> mFst2snd2res = new HashMap<>();
+	private final Map<STATE, ProductState> mRes2prod = new HashMap<>();
+
+	private Set<STATE> mInitialStates;
+
+	/**
+	 * @param fstOperand
+	 *            first operand
+	 * @param sndOperand
+	 *            second operand, has to be deterministic and total
+	 * @param stateFactory
+	 *            state factory
+	 * @param assumeInSndNonFinalIsTrap
+	 *            assume that in the second operand a non-final state is a trap
+	 * @throws AutomataLibraryException
+	 *             if alphabets differ
+	 */
+	public <SF extends IIntersectionStateFactory<STATE> & IEmptyStackStateFactory<STATE>> IncrementalDifferenceNwa(
+			final INestedWordAutomaton<LETTER, STATE> fstOperand,
+			final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> sndOperand, final SF stateFactory,
+			final boolean assumeInSndNonFinalIsTrap) throws AutomataLibraryException {
+		mFstOperand = fstOperand;
+		mSndOperand = sndOperand;
+		if (!NestedWordAutomataUtils.sameAlphabet(mFstOperand, mSndOperand)) {
+			throw new AutomataLibraryException(this.getClass(),
+					"Unable to apply operation to automata with different alphabets.");
+		}
+		mStateFactory = stateFactory;
+		mEmptyStackStateFactory = stateFactory;
+		mAssumeInSndNonFinalIsTrap = assumeInSndNonFinalIsTrap;
+		mEmptyStackState = stateFactory.createEmptyStackState();
+
+		final Iterator<STATE> sndInitials = mSndOperand.getInitialStates().iterator();
+		final STATE sndInitial = sndInitials.hasNext() ? sndInitials.next() : null;
+		if (sndInitial == null || sndInitials.hasNext() || !mSndOperand.isFinal(sndInitial)) {
+			mSndInitial = null;
+			mAffected = null;
+		} else {
+			mSndInitial = sndInitial;
+			mAffected = computeAffectedStates();
+		}
+	}
+
+	/**
+	 * Only the states from which a transition labeled by a constrained letter is reachable are visited (by a backward
+	 * search from these transitions); the unaffected states are not enumerated.
+	 *
+	 * @return states of the first operand from which a transition labeled by a constrained letter is reachable
+	 */
+	private Set<STATE> computeAffectedStates() {
+		final VpAlphabet<LETTER> alphabet = mFstOperand.getVpAlphabet();
+		final Set<LETTER> constrained = new HashSet<>();
+		for (final LETTER letter : alphabet.getInternalAlphabet()) {
+			if (!leadsBackToSndInitial(mSndOperand.internalSuccessors(mSndInitial, letter))) {
+				constrained.add(letter);
+			}
+		}
+		for (final LETTER letter : alphabet.getCallAlphabet()) {
+			if (!leadsBackToSndInitial(mSndOperand.callSuccessors(mSndInitial, letter))) {
+				constrained.add(letter);
+			}
+		}
+		for (final LETTER letter : alphabet.getReturnAlphabet()) {
+			if (!leadsBackToSndInitial(mSndOperand.returnSuccessors(mSndInitial, mSndInitial, letter))) {
+				constrained.add(letter);
+			}
+		}
+
+		if (constrained.isEmpty()) {
+			return Collections.emptySet();
+		}
+
+		// backward search from all states that have an outgoing transition labeled by a constrained letter
+		final Set<STATE> affected = new HashSet<>();
+		final Deque<STATE> worklist = new ArrayDeque<>();
+		for (final STATE state : mFstOperand.getStates()) {
+			if (hasConstrainedOutgoingTransition(state, constrained)) {
+				affected.add(state);
+				worklist.add(state);
+			}
+		}
+		while (!worklist.isEmpty()) {
+			final STATE state = worklist.removeFirst();
+			for (final IncomingInternalTransition<LETTER, STATE> trans : mFstOperand.internalPredecessors(state)) {
+				if (affected.add(trans.getPred())) {
+					worklist.add(trans.getPred());
+				}
+			}
+			for (final IncomingCallTransition<LETTER, STATE> trans : mFstOperand.callPredecessors(state)) {
+				if (affected.add(trans.getPred())) {
+					worklist.add(trans.getPred());
+				}
+			}
+			for (final IncomingReturnTransition<LETTER, STATE> trans : mFstOperand.returnPredecessors(state)) {
+				if (affected.add(trans.getLinPred())) {
+					worklist.add(trans.getLinPred());
+				}
+			}
+		}
+		return affected;
+	}
+
+	private boolean hasConstrainedOutgoingTransition(final STATE state, final Set<LETTER> constrained) {
+		for (final LETTER letter : mFstOperand.lettersInternal(state)) {
+			if (constrained.contains(letter)) {
+				return true;
+			}
+		}
+		for (final LETTER letter : mFstOperand.lettersCall(state)) {
+			if (constrained.contains(letter)) {
+				return true;
+			}
+		}
+		for (final LETTER letter : mFstOperand.lettersReturn(state)) {
+			if (constrained.contains(letter)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private <T extends IOutgoingTransitionlet<LETTER, STATE>> boolean
+			leadsBackToSndInitial(final Iterable<T> transitions) {
+		final Iterator<T> it = transitions.iterator();
+		if (!it.hasNext()) {
+			return false;
+		}
+		final STATE succ = it.next().getSucc();
+		return !it.hasNext() && mSndInitial.equals(succ);
+	}
+
+	/**
+	 * @return number of states of the first operand that are reused (some of them may not be reachable in the
+	 *         product)
+	 */
+	public int getNumberOfUnaffectedStates() {
+		if (mSndInitial == null) {
+			return 0;
+		}
+		return mFstOperand.size() - mAffected.size();
+	}
+
+	/**
+	 * @param fst
+	 *            state of the first operand
+	 * @return true iff the product state (fst, s0) is represented by fst itself
+	 */
+	private boolean isUnaffected(final STATE fst) {
+		return mSndInitial != null && !mAffected.contains(fst);
+	}
+
+	/**
+	 * @return number of product states that have been constructed so far (reused states are not counted)
+	 */
+	public int getNumberOfConstructedStates() {
+		return mRes2prod.size();
+	}
+
+	private boolean isReused(final STATE state) {
+		return !mRes2prod.containsKey(state);
+	}
+
+	private STATE getFst(final STATE state) {
+		final ProductState prod = mRes2prod.get(state);
+		return prod == null ? state : prod.mFst;
+	}
+
+	private STATE getSnd(final STATE state) {
+		final ProductState prod = mRes2prod.get(state);
+		return prod == null ? mSndInitial : prod.mSnd;
+	}
+
+	private STATE getOrConstructState(final STATE fst, final STATE snd) {
+		if (mSndInitial != null && mSndInitial.equals(snd) && isUnaffected(fst)) {
+			return fst;
+		}
+		Map<STATE, STATE> snd2res = mFst2snd2res.get(fst);
+		if (snd2res == null) {
+			snd2res = new HashMap<>();
+			mFst2snd2res.put(fst, snd2res);
+		}
+		STATE res = snd2res.get(snd);
+		if (res == null) {
+			res = mStateFactory.intersection(fst, snd);
+			assert !mFstOperand.getStates().contains(res)
+					|| !isUnaffected(res) : "product state coincides with reused state";
+			snd2res.put(snd, res);
+			mRes2prod.put(res, new ProductState(fst, snd, mFstOperand.isFinal(fst) && mSndOperand.isFinal(snd)));
+		}
+		return res;
+	}
+
+	private Set<STATE> constructInitialStates() {
+		final Set<STATE> initialStates = new HashSet<>();
+		for (final STATE fst : mFstOperand.getInitialStates()) {
+			for (final STATE snd : mSndOperand.getInitialStates()) {
+				initialStates.add(getOrConstructState(fst, snd));
+			}
+		}
+		return initialStates;
+	}
+
+	@Override
+	public Iterable<STATE> getInitialStates() {
+		if (mInitialStates == null) {
+			mInitialStates = constructInitialStates();
+		}
+		return mInitialStates;
+	}
+
+	@Override
+	public boolean isInitial(final STATE state) {
+		if (mInitialStates == null) {
+			mInitialStates = constructInitialStates();
+		}
+		return mInitialStates.contains(state);
+	}
+
+	@Override
+	public boolean isFinal(final STATE state) {
+		final ProductState prod = mRes2prod.get(state);
+		return prod == null ? mFstOperand.isFinal(state) : prod.mIsFinal;
+	}
+
+	@Override
+	public VpAlphabet<LETTER> getVpAlphabet() {
+		return mFstOperand.getVpAlphabet();
+	}
+
+	@Deprecated
+	@Override
+	public IStateFactory<STATE> getStateFactory() {
+		return mEmptyStackStateFactory;
+	}
+
+	@Override
+	public STATE getEmptyStackState() {
+		return mEmptyStackState;
+	}
+
+	@Override
+	public Set<LETTER> lettersInternal(final STATE state) {
+		return mFstOperand.lettersInternal(getFst(state));
+	}
+
+	@Override
+	public Set<LETTER> lettersCall(final STATE state) {
+		return mFstOperand.lettersCall(getFst(state));
+	}
+
+	@Override
+	public Set<LETTER> lettersReturn(final STATE state, final STATE hier) {
+		return mFstOperand.lettersReturn(getFst(state), getFst(hier));
+	}
+
+	@Override
+	public Iterable<OutgoingInternalTransition<LETTER, STATE>> internalSuccessors(final STATE state,
+			final LETTER letter) {
+		if (isReused(state)) {
+			return mFstOperand.internalSuccessors(state, letter);
+		}
+		return internalSuccessors(mFstOperand.internalSuccessors(getFst(state), letter), getSnd(state));
+	}
+
+	@Override
+	public Iterable<OutgoingInternalTransition<LETTER, STATE>> internalSuccessors(final STATE state) {
+		if (isReused(state)) {
+			return mFstOperand.internalSuccessors(state);
+		}
+		return internalSuccessors(mFstOperand.internalSuccessors(getFst(state)), getSnd(state));
+	}
+
+	private Iterable<OutgoingInternalTransition<LETTER, STATE>> internalSuccessors(
+			final Iterable<OutgoingInternalTransition<LETTER, STATE>> fstInternalSuccs, final STATE snd) {
+		final Collection<OutgoingInternalTransition<LETTER, STATE>> result = new ArrayList<>();
+		for (final OutgoingInternalTransition<LETTER, STATE> fstTrans : fstInternalSuccs) {
+			final LETTER letter = fstTrans.getLetter();
+			for (final OutgoingInternalTransition<LETTER, STATE> sndTrans : mSndOperand.internalSuccessors(snd,
+					letter)) {
+				final STATE sndSucc = sndTrans.getSucc();
+				if (mAssumeInSndNonFinalIsTrap && !mSndOperand.isFinal(sndSucc)) {
+					continue;
+				}
+				result.add(new OutgoingInternalTransition<>(letter, getOrConstructState(fstTrans.getSucc(), sndSucc)));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<OutgoingCallTransition<LETTER, STATE>> callSuccessors(final STATE state, final LETTER letter) {
+		if (isReused(state)) {
+			return mFstOperand.callSuccessors(state, letter);
+		}
+		return callSuccessors(mFstOperand.callSuccessors(getFst(state), letter), getSnd(state));
+	}
+
+	@Override
+	public Iterable<OutgoingCallTransition<LETTER, STATE>> callSuccessors(final STATE state) {
+		if (isReused(state)) {
+			return mFstOperand.callSuccessors(state);
+		}
+		return callSuccessors(mFstOperand.callSuccessors(getFst(state)), getSnd(state));
+	}
+
+	private Iterable<OutgoingCallTransition<LETTER, STATE>>
+			callSuccessors(final Iterable<OutgoingCallTransition<LETTER, STATE>> fstCallSuccs, final STATE snd) {
+		final Collection<OutgoingCallTransition<LETTER, STATE>> result = new ArrayList<>();
+		for (final OutgoingCallTransition<LETTER, STATE> fstTrans : fstCallSuccs) {
+			final LETTER letter = fstTrans.getLetter();
+			for (final OutgoingCallTransition<LETTER, STATE> sndTrans : mSndOperand.callSuccessors(snd, letter)) {
+				final STATE sndSucc = sndTrans.getSucc();
+				if (mAssumeInSndNonFinalIsTrap && !mSndOperand.isFinal(sndSucc)) {
+					continue;
+				}
+				result.add(new OutgoingCallTransition<>(letter, getOrConstructState(fstTrans.getSucc(), sndSucc)));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<OutgoingReturnTransition<LETTER, STATE>> returnSuccessors(final STATE state, final STATE hier,
+			final LETTER letter) {
+		return returnSuccessors(mFstOperand.returnSuccessors(getFst(state), getFst(hier), letter), state, hier);
+	}
+
+	@Override
+	public Iterable<OutgoingReturnTransition<LETTER, STATE>> returnSuccessorsGivenHier(final STATE state,
+			final STATE hier) {
+		return returnSuccessors(mFstOperand.returnSuccessorsGivenHier(getFst(state), getFst(hier)), state, hier);
+	}
+
+	private Iterable<OutgoingReturnTransition<LETTER, STATE>> returnSuccessors(
+			final Iterable<OutgoingReturnTransition<LETTER, STATE>> fstReturnSuccs, final STATE state,
+			final STATE hier) {
+		final STATE sndHier = getSnd(hier);
+		// for a reused state the second operand stays in its initial state unless the call was read in another state
+		final boolean reuseSuccessors = isReused(state) && mSndInitial.equals(sndHier);
+		final STATE sndState = getSnd(state);
+		final Collection<OutgoingReturnTransition<LETTER, STATE>> result = new ArrayList<>();
+		for (final OutgoingReturnTransition<LETTER, STATE> fstTrans : fstReturnSuccs) {
+			final LETTER letter = fstTrans.getLetter();
+			if (reuseSuccessors) {
+				result.add(new OutgoingReturnTransition<>(hier, letter, fstTrans.getSucc()));
+				continue;
+			}
+			for (final OutgoingReturnTransition<LETTER, STATE> sndTrans : mSndOperand.returnSuccessors(sndState,
+					sndHier, letter)) {
+				final STATE sndSucc = sndTrans.getSucc();
+				if (mAssumeInSndNonFinalIsTrap && !mSndOperand.isFinal(sndSucc)) {
+					continue;
+				}
+				result.add(new OutgoingReturnTransition<>(hier, letter,
+						getOrConstructState(fstTrans.getSucc(), sndSucc)));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return mRes2prod.size();
+	}
+
+	@Override
+	public String sizeInformation() {
+		return "currently " + size() + " constructed states and " + getNumberOfUnaffectedStates()
+				+ " reusable states, but on-demand construction may add more states";
+	}
+
+	/**
+	 * State of the product construction that is not a reused state of the first operand.
+	 */
+	private final class ProductState {
+		private final STATE mFst;
+		private final STATE mSnd;
+		private final boolean mIsFinal;
+
+		ProductState(final STATE fst, final STATE snd, final boolean isFinal) {
+			mFst = fst;
+			mSnd = snd;
+			mIsFinal = isFinal;
+		}
+	}
+}
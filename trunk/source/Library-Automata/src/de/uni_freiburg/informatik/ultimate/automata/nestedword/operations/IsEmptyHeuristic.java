@@ -32,7 +32,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -55,6 +54,13 @@ import de.uni_freiburg.informatik.ultimate.util.datastructures.HashedPriorityQue
 
 /**
  * Check emptiness and obtain an accepting run of a nested word automaton using a modified version of A*.
+ * <p>
+ * A search node consists of a state and the stack of hierarchical predecessors that lead to it. The run is not stored
+ * in the search nodes; each node only keeps a pointer to its predecessor, and stacks are shared between nodes. The run
+ * is reconstructed from these pointers once a goal state is reached.
+ * <p>
+ * Note that the search does not use summaries. If the operand accepts nested words with unbounded call depth and no
+ * goal state is reachable, the search may not terminate.
  *
  * @author Daniel Dietsch (dietsch@informatik.uni-freiburg.de)
  * @param <LETTER>
@@ -87,6 +93,24 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 				IHeuristic.getZeroHeuristic());
 	}
 
+	/**
+	 * Search a run from the initial states of the automaton to the final states of the automaton that is guided by the
+	 * given heuristic.
+	 *
+	 * @param services
+	 *            Ultimate services
+	 * @param operand
+	 *            input NWA
+	 * @param heuristic
+	 *            heuristic that estimates the distance from a state to a final state
+	 */
+	public IsEmptyHeuristic(final AutomataLibraryServices services,
+			final INwaOutgoingLetterAndTransitionProvider<LETTER, STATE> operand,
+			final IHeuristic<STATE, LETTER> heuristic) throws AutomataOperationCanceledException {
+		this(services, operand, CoreUtil.constructHashSet(operand.getInitialStates()), a -> false, a -> operand.isFinal(a),
+				heuristic);
+	}
+
 	/**
 	 * Constructor that is not restricted to emptiness checks. The set of startStates defines where the run that we
 	 * search has to start. The set of forbiddenStates defines states that the run must not visit. The set of goalStates
@@ -150,9 +174,10 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 				final RunningTaskInfo rti = new RunningTaskInfo(getClass(), taskDescription);
 				throw new AutomataOperationCanceledException(rti);
 			}
-			mLogger.info("----");
 			final Item current = worklist.poll();
-			mLogger.info("Cur " + current);
+			if (mLogger.isDebugEnabled()) {
+				mLogger.debug("Cur " + current);
+			}
 			if (mIsGoalState.test(current.mTargetState)) {
 				return current.constructRun();
 			}
@@ -170,12 +195,15 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 					}
 				}
 
-				final int expectedCost = costSoFar
-						+ heuristic.getHeuristicValue(succ.mTargetState, succ.getHierPreState(), succ.mTransition);
+				final int heuristicValue =
+						heuristic.getHeuristicValue(succ.mTargetState, succ.getHierPreState(), succ.mTransition);
+				if (heuristicValue == IHeuristic.INFINITY) {
+					// no goal state is reachable from the successor
+					continue;
+				}
+				final int expectedCost = costSoFar + heuristicValue;
 				final boolean rem = worklist.remove(succ);
 				if (!rem && !closed.add(succ)) {
-					// if
-					mLogger.info("REM " + rem);
 					continue;
 				}
 				succ.setExpectedCostToTarget(expectedCost);
@@ -184,7 +212,9 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 				}
 				succ.setCostSoFar(costSoFar);
 				worklist.add(succ);
-				mLogger.info("Add " + succ);
+				if (mLogger.isDebugEnabled()) {
+					mLogger.debug("Add " + succ);
+				}
 			}
 		}
 		return null;
@@ -284,7 +314,56 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 	}
 
 	/**
-	 * Internal datastructure that represents worklist item.
+	 * Immutable stack of hierarchical predecessor states. Items that are connected by internal transitions share the
+	 * same stack object, and a call only adds a single cell on top of its predecessor's stack.
+	 */
+	private final class CallStack {
+		private final STATE mTop;
+		private final CallStack mBelow;
+		private final int mHeight;
+		private final int mHashCode;
+
+		CallStack(final STATE top, final CallStack below) {
+			mTop = top;
+			mBelow = below;
+			mHeight = below == null ? 1 : below.mHeight + 1;
+			mHashCode = 31 * (below == null ? 0 : below.mHashCode) + (top == null ? 0 : top.hashCode());
+		}
+
+		@Override
+		public int hashCode() {
+			return mHashCode;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			@SuppressWarnings("unchecked")
+			CallStack cur = (CallStack) obj;
+			if (cur.mHeight != mHeight || cur.mHashCode != mHashCode) {
+				return false;
+			}
+			CallStack other = this;
+			while (other != null && other != cur) {
+				if (other.mTop == null ? cur.mTop != null : !other.mTop.equals(cur.mTop)) {
+					return false;
+				}
+				other = other.mBelow;
+				cur = cur.mBelow;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Internal datastructure that represents worklist item. Two items are equal if they have the same target state and
+	 * the same stack of hierarchical predecessors; the letter and the back pointer only describe how the item was
+	 * reached.
 	 *
 	 * @author Daniel Dietsch (dietsch@informatik.uni-freiburg.de)
 	 *
@@ -292,7 +371,7 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 	private class Item implements Comparable<Item> {
 
 		private final STATE mTargetState;
-		private final Deque<STATE> mHierPreStates;
+		private final CallStack mHierPreStates;
 		private final LETTER mTransition;
 		private final Item mBackPointer;
 		private final ItemType mItemType;
@@ -328,14 +407,11 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 			if (symbolType == ItemType.INTERNAL) {
 				mHierPreStates = predecessor.mHierPreStates;
 			} else if (symbolType == ItemType.RETURN) {
-				mHierPreStates = new ArrayDeque<>(predecessor.mHierPreStates);
-				mHierPreStates.pop();
+				mHierPreStates = predecessor.mHierPreStates.mBelow;
 			} else if (symbolType == ItemType.CALL) {
-				mHierPreStates = new ArrayDeque<>(predecessor.mHierPreStates);
-				mHierPreStates.push(hierPreState);
+				mHierPreStates = new CallStack(hierPreState, predecessor.mHierPreStates);
 			} else {
-				mHierPreStates = new ArrayDeque<>();
-				mHierPreStates.push(hierPreState);
+				mHierPreStates = new CallStack(hierPreState, null);
 			}
 
 			mTransition = letter;
@@ -366,16 +442,14 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 		}
 
 		public STATE getHierPreState() {
-			return mHierPreStates.peek();
+			return mHierPreStates == null ? null : mHierPreStates.mTop;
 		}
 
 		public STATE findHierPredecessor() {
-			if (mHierPreStates.size() < 2) {
+			if (mHierPreStates == null || mHierPreStates.mBelow == null) {
 				return null;
 			}
-			final Iterator<STATE> iter = mHierPreStates.iterator();
-			iter.next();
-			return iter.next();
+			return mHierPreStates.mBelow.mTop;
 		}
 
 		public NestedRun<LETTER, STATE> constructRun() {
@@ -436,7 +510,6 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 			int result = 1;
 			result = prime * result + ((mTargetState == null) ? 0 : mTargetState.hashCode());
 			result = prime * result + ((mHierPreStates == null) ? 0 : mHierPreStates.hashCode());
-			result = prime * result + ((mTransition == null) ? 0 : mTransition.hashCode());
 			return result;
 		}
 
@@ -467,21 +540,14 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 			} else if (!mHierPreStates.equals(other.mHierPreStates)) {
 				return false;
 			}
-			if (mTransition == null) {
-				if (other.mTransition != null) {
-					return false;
-				}
-			} else if (!mTransition.equals(other.mTransition)) {
-				return false;
-			}
 			return true;
 		}
 
 		@Override
 		public String toString() {
-			return String.format("{?} {%s} %s (%s) {%s} (g=%d, h=%d, f=%d, s=%d)", mHierPreStates.peek().hashCode(),
+			return String.format("{?} {%s} %s (%s) {%s} (g=%d, h=%d, f=%d, s=%d)", getHierPreState().hashCode(),
 					mTransition == null ? 0 : mTransition.hashCode(), mItemType, mTargetState.hashCode(), mCostSoFar,
-					mLowestExpectedCost, mExpectedCostToTarget, mHierPreStates.size());
+					mLowestExpectedCost, mExpectedCostToTarget, mHierPreStates.mHeight);
 		}
 	}
 
@@ -496,6 +562,15 @@ public final class IsEmptyHeuristic<LETTER, STATE> extends UnaryNwaOperation<LET
 	 */
 	public interface IHeuristic<STATE, LETTER> {
 
+		/**
+		 * Heuristic value that marks states from which no goal state is reachable.
+		 */
+		int INFINITY = Integer.MAX_VALUE;
+
+		/**
+		 * @return an estimate of the cost from state to a goal state, or {@link #INFINITY} if no goal state is
+		 *         reachable from state
+		 */
 		int getHeuristicValue(STATE state, STATE stateK, LETTER trans);
 
 		int getConcreteCost(LETTER trans);
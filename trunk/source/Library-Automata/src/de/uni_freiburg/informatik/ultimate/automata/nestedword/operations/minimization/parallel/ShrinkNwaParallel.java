@@ -0,0 +1,480 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.parallel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataOperationCanceledException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataOperationStatistics;
+import de.uni_freiburg.informatik.ultimate.automata.StatisticsType;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomataUtils;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.AbstractMinimizeNwa;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.IMinimizationCheckResultStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.IMinimizationStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingCallTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingInternalTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingReturnTransition;
+import de.uni_freiburg.informatik.ultimate.automata.util.PartitionBackedSetOfPairs;
+import de.uni_freiburg.informatik.ultimate.core.lib.exceptions.RunningTaskInfo;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.UnionFind;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
+
+/**
+ * Parallel partition refinement for nested word automata.
+ * <p>
+ * In contrast to {@link de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.ShrinkNwa}
+ * this class does not use a splitter worklist. Instead, the partition is refined in rounds (signature refinement). In
+ * each round, every state computes its signature, i.e., its current block together with the set of outgoing
+ * transitions where the target is abstracted to its block. The states whose signatures are equal stay together. The
+ * signatures of different states are independent and are computed concurrently on a fixed pool of worker threads.
+ * <p>
+ * Internal and call transitions contribute pairs (letter, successor block). A return transition (lin, hier, letter,
+ * succ) contributes to both the linear and the hierarchical predecessor, where the respective other predecessor is
+ * kept concrete. This makes the resulting relation a congruence for return transitions, so the quotient is
+ * language-equivalent to the operand.
+ * <p>
+ * The result is a bisimulation quotient and hence can be larger than the result of {@code ShrinkNwa}, which also
+ * takes down states into account.
+ *
+ * @param <LETTER>
+ *            letter type
+ * @param <STATE>
+ *            state type
+ */
+public final class ShrinkNwaParallel<LETTER, STATE> extends AbstractMinimizeNwa<LETTER, STATE> {
+	private static final int KIND_INTERNAL = 0;
+	private static final int KIND_CALL = 1;
+	private static final int KIND_RETURN_LIN = 2;
+	private static final int KIND_RETURN_HIER = 3;
+
+	/**
+	 * Minimal number of states a worker is assigned to in one round.
+	 */
+	private static final int MINIMAL_CHUNK_SIZE = 256;
+
+	private final INestedWordAutomaton<LETTER, STATE> mOperand;
+	private final int mNumberOfThreads;
+
+	/**
+	 * Mapping of states to integers and vice versa.
+	 */
+	private final List<STATE> mInt2State;
+	private final Map<STATE, Integer> mState2Int;
+
+	/**
+	 * Outgoing transitions per state, stored as pairs (transition key, successor) in a flat array. A transition key
+	 * identifies the kind, the letter, and (for return transitions) the respective other predecessor.
+	 */
+	private int[][] mOutgoing;
+
+	private int mNumberOfRounds;
+	private int mInitialPartitionSize;
+	private int mLargestBlockInitialPartition;
+
+	/**
+	 * Constructor with default settings.
+	 *
+	 * @param services
+	 *            Ultimate services
+	 * @param stateFactory
+	 *            state factory
+	 * @param operand
+	 *            input nested word automaton
+	 * @throws AutomataOperationCanceledException
+	 *             if cancel signal is received
+	 */
+	public ShrinkNwaParallel(final AutomataLibraryServices services,
+			final IMinimizationStateFactory<STATE> stateFactory, final INestedWordAutomaton<LETTER, STATE> operand)
+			throws AutomataOperationCanceledException {
+		this(services, stateFactory, operand, null, false, false, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor with an initial partition.
+	 *
+	 * @param services
+	 *            Ultimate services
+	 * @param stateFactory
+	 *            state factory
+	 * @param operand
+	 *            input nested word automaton
+	 * @param equivalenceClasses
+	 *            represent initial equivalence classes (can be {@code null})
+	 * @param addMapOldState2newState
+	 *            true iff mapping old to new state is needed
+	 * @param initialPartitionSeparatesFinalsAndNonfinals
+	 *            true iff the initial partition already separates final and non-final states
+	 * @param numberOfThreads
+	 *            number of worker threads
+	 * @throws AutomataOperationCanceledException
+	 *             if cancel signal is received
+	 */
+	public ShrinkNwaParallel(final AutomataLibraryServices services,
+			final IMinimizationStateFactory<STATE> stateFactory, final INestedWordAutomaton<LETTER, STATE> operand,
+			final PartitionBackedSetOfPairs<STATE> equivalenceClasses, final boolean addMapOldState2newState,
+			final boolean initialPartitionSeparatesFinalsAndNonfinals, final int numberOfThreads)
+			throws AutomataOperationCanceledException {
+		super(services, stateFactory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("At least one thread is needed.");
+		}
+		mOperand = operand;
+		mNumberOfThreads = numberOfThreads;
+		mInt2State = new ArrayList<>(operand.size());
+		mState2Int = new HashMap<>(operand.size());
+
+		printStartMessage();
+
+		for (final STATE state : mOperand.getStates()) {
+			mState2Int.put(state, mInt2State.size());
+			mInt2State.add(state);
+		}
+		initializeTransitions();
+		final int[] initialBlocks = initializePartition(equivalenceClasses, initialPartitionSeparatesFinalsAndNonfinals);
+		final int[] blocks = refine(initialBlocks);
+		constructResultFromPartition(toPartition(blocks), addMapOldState2newState);
+
+		printExitMessage();
+	}
+
+	@Override
+	protected INestedWordAutomaton<LETTER, STATE> getOperand() {
+		return mOperand;
+	}
+
+	@Override
+	public AutomataOperationStatistics getAutomataOperationStatistics() {
+		final AutomataOperationStatistics statistics = super.getAutomataOperationStatistics();
+		if (mLargestBlockInitialPartition != 0) {
+			statistics.addKeyValuePair(StatisticsType.SIZE_MAXIMAL_INITIAL_BLOCK, mLargestBlockInitialPartition);
+		}
+		return statistics;
+	}
+
+	@Override
+	protected Pair<Boolean, String> checkResultHelper(final IMinimizationCheckResultStateFactory<STATE> stateFactory)
+			throws AutomataLibraryException {
+		return checkLanguageEquivalence(stateFactory);
+	}
+
+	/**
+	 * @return Number of refinement rounds.
+	 */
+	public int getNumberOfRounds() {
+		return mNumberOfRounds;
+	}
+
+	/**
+	 * Stores all transitions of the operand in integer arrays. This is done sequentially because the operand is not
+	 * required to be thread-safe. Afterward, the worker threads only read these arrays.
+	 */
+	private void initializeTransitions() throws AutomataOperationCanceledException {
+		final int size = mInt2State.size();
+		final Map<LETTER, Integer> letter2Int = new HashMap<>();
+		final Map<Long, Integer> transitionKeys = new HashMap<>();
+		final List<List<Integer>> outgoing = new ArrayList<>(size);
+		for (int i = 0; i < size; ++i) {
+			outgoing.add(new ArrayList<>());
+		}
+
+		for (int i = 0; i < size; ++i) {
+			checkTimeout();
+			final STATE state = mInt2State.get(i);
+			final List<Integer> stateOutgoing = outgoing.get(i);
+			for (final OutgoingInternalTransition<LETTER, STATE> trans : mOperand.internalSuccessors(state)) {
+				final int letter = getOrAddId(letter2Int, trans.getLetter());
+				addTransition(stateOutgoing, transitionKeys, KIND_INTERNAL, letter, -1,
+						mState2Int.get(trans.getSucc()));
+			}
+			for (final OutgoingCallTransition<LETTER, STATE> trans : mOperand.callSuccessors(state)) {
+				final int letter = getOrAddId(letter2Int, trans.getLetter());
+				addTransition(stateOutgoing, transitionKeys, KIND_CALL, letter, -1, mState2Int.get(trans.getSucc()));
+			}
+			for (final OutgoingReturnTransition<LETTER, STATE> trans : mOperand.returnSuccessors(state)) {
+				final int letter = getOrAddId(letter2Int, trans.getLetter());
+				final int hier = mState2Int.get(trans.getHierPred());
+				final int succ = mState2Int.get(trans.getSucc());
+				addTransition(stateOutgoing, transitionKeys, KIND_RETURN_LIN, letter, hier, succ);
+				addTransition(outgoing.get(hier), transitionKeys, KIND_RETURN_HIER, letter, i, succ);
+			}
+		}
+
+		mOutgoing = new int[size][];
+		for (int i = 0; i < size; ++i) {
+			final List<Integer> stateOutgoing = outgoing.get(i);
+			final int[] array = new int[stateOutgoing.size()];
+			for (int j = 0; j < array.length; ++j) {
+				array[j] = stateOutgoing.get(j);
+			}
+			mOutgoing[i] = array;
+			outgoing.set(i, null);
+		}
+	}
+
+	private static void addTransition(final List<Integer> outgoing, final Map<Long, Integer> transitionKeys,
+			final int kind, final int letter, final int otherPred, final int succ) {
+		// letters and states are nonnegative integers; 'otherPred' is -1 for internal and call transitions
+		final long keyForMap = ((((long) letter) << 2 | kind) << 32) | (otherPred & 0xFFFFFFFFL);
+		outgoing.add(getOrAddId(transitionKeys, keyForMap));
+		outgoing.add(succ);
+	}
+
+	private static <K> int getOrAddId(final Map<K, Integer> map, final K key) {
+		final Integer oldId = map.get(key);
+		if (oldId != null) {
+			return oldId;
+		}
+		final int newId = map.size();
+		map.put(key, newId);
+		return newId;
+	}
+
+	private int[] initializePartition(final PartitionBackedSetOfPairs<STATE> equivalenceClasses,
+			final boolean initialPartitionSeparatesFinalsAndNonfinals) {
+		final int size = mInt2State.size();
+		final int[] blocks = new int[size];
+		// blocks are identified by (module, isFinal)
+		final Map<Pair<Integer, Boolean>, Integer> blockIds = new HashMap<>();
+		if (equivalenceClasses == null) {
+			for (int i = 0; i < size; ++i) {
+				blocks[i] = getOrAddId(blockIds, new Pair<>(0, mOperand.isFinal(mInt2State.get(i))));
+			}
+		} else {
+			Arrays.fill(blocks, -1);
+			final Collection<Set<STATE>> modules = equivalenceClasses.getRelation();
+			mInitialPartitionSize = modules.size();
+			int module = 0;
+			for (final Set<STATE> block : modules) {
+				for (final STATE state : block) {
+					final Integer stateId = mState2Int.get(state);
+					if (stateId == null) {
+						// module contains a state that is not present in the operand
+						continue;
+					}
+					final boolean isFinal = !initialPartitionSeparatesFinalsAndNonfinals && mOperand.isFinal(state);
+					blocks[stateId] = getOrAddId(blockIds, new Pair<>(module, isFinal));
+				}
+				mLargestBlockInitialPartition = Math.max(mLargestBlockInitialPartition, block.size());
+				++module;
+			}
+			// states not covered by the initial partition are only separated by their final status
+			for (int i = 0; i < size; ++i) {
+				if (blocks[i] == -1) {
+					blocks[i] = getOrAddId(blockIds, new Pair<>(-1, mOperand.isFinal(mInt2State.get(i))));
+				}
+			}
+		}
+		return blocks;
+	}
+
+	/**
+	 * Refines the partition until it is stable.
+	 *
+	 * @param initialBlocks
+	 *            initial block for each state
+	 * @return final block for each state
+	 */
+	private int[] refine(final int[] initialBlocks) throws AutomataOperationCanceledException {
+		final int size = initialBlocks.length;
+		int[] blocks = initialBlocks;
+		int numberOfBlocks = countBlocks(blocks);
+		if (size == 0) {
+			return blocks;
+		}
+
+		final int numberOfChunks = Math.max(1, Math.min(mNumberOfThreads, size / MINIMAL_CHUNK_SIZE));
+		final ExecutorService executor =
+				numberOfChunks > 1 ? Executors.newFixedThreadPool(numberOfChunks, this::createDaemonThread) : null;
+		try {
+			final Signature[] signatures = new Signature[size];
+			while (true) {
+				checkTimeout();
+				++mNumberOfRounds;
+				computeSignatures(executor, numberOfChunks, blocks, signatures);
+
+				// reassign block ids sequentially to obtain a deterministic result
+				final Map<Signature, Integer> signature2Block = new HashMap<>(2 * numberOfBlocks);
+				final int[] newBlocks = new int[size];
+				for (int i = 0; i < size; ++i) {
+					newBlocks[i] = getOrAddId(signature2Block, signatures[i]);
+					signatures[i] = null;
+				}
+				blocks = newBlocks;
+				if (signature2Block.size() == numberOfBlocks) {
+					break;
+				}
+				numberOfBlocks = signature2Block.size();
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+		if (mLogger.isDebugEnabled()) {
+			mLogger.debug("Partition stable after " + mNumberOfRounds + " rounds with " + numberOfBlocks + " blocks.");
+		}
+		return blocks;
+	}
+
+	private void computeSignatures(final ExecutorService executor, final int numberOfChunks, final int[] blocks,
+			final Signature[] signatures) throws AutomataOperationCanceledException {
+		final int size = blocks.length;
+		if (executor == null) {
+			computeSignatures(0, size, blocks, signatures);
+			return;
+		}
+		final List<Callable<Void>> tasks = new ArrayList<>(numberOfChunks);
+		final int chunkSize = (size + numberOfChunks - 1) / numberOfChunks;
+		for (int start = 0; start < size; start += chunkSize) {
+			final int from = start;
+			final int to = Math.min(size, start + chunkSize);
+			tasks.add(() -> {
+				computeSignatures(from, to, blocks, signatures);
+				return null;
+			});
+		}
+		try {
+			for (final Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw createCanceledException();
+		} catch (final ExecutionException e) {
+			throw new AssertionError("Signature computation failed.", e.getCause());
+		}
+	}
+
+	private void computeSignatures(final int from, final int to, final int[] blocks, final Signature[] signatures) {
+		for (int i = from; i < to; ++i) {
+			signatures[i] = new Signature(blocks[i], mOutgoing[i], blocks);
+		}
+	}
+
+	private static int countBlocks(final int[] blocks) {
+		final Set<Integer> ids = new HashSet<>();
+		for (final int block : blocks) {
+			ids.add(block);
+		}
+		return ids.size();
+	}
+
+	private UnionFind<STATE> toPartition(final int[] blocks) {
+		final Map<Integer, Set<STATE>> block2States = new HashMap<>();
+		for (int i = 0; i < blocks.length; ++i) {
+			Set<STATE> block = block2States.get(blocks[i]);
+			if (block == null) {
+				block = new HashSet<>();
+				block2States.put(blocks[i], block);
+			}
+			block.add(mInt2State.get(i));
+		}
+		final UnionFind<STATE> partition = new UnionFind<>();
+		for (final Set<STATE> block : block2States.values()) {
+			partition.addEquivalenceClass(block);
+		}
+		return partition;
+	}
+
+	private Thread createDaemonThread(final Runnable runnable) {
+		final Thread thread = new Thread(runnable, getOperationName() + "Worker");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private void checkTimeout() throws AutomataOperationCanceledException {
+		if (isCancellationRequested()) {
+			throw createCanceledException();
+		}
+	}
+
+	private AutomataOperationCanceledException createCanceledException() {
+		final String taskDescription = NestedWordAutomataUtils.generateGenericMinimizationRunningTaskDescription(
+				getOperationName(), mOperand, mInitialPartitionSize, mLargestBlockInitialPartition);
+		return new AutomataOperationCanceledException(new RunningTaskInfo(getClass(), taskDescription));
+	}
+
+	/**
+	 * Signature of a state: its own block and the sorted set of pairs (transition key, successor block).
+	 */
+	private static final class Signature {
+		private final long[] mElements;
+		private final int mHashCode;
+
+		Signature(final int block, final int[] outgoing, final int[] blocks) {
+			final long[] pairs = new long[outgoing.length / 2];
+			for (int j = 0; j < pairs.length; ++j) {
+				pairs[j] = ((long) outgoing[2 * j]) << 32 | blocks[outgoing[2 * j + 1]];
+			}
+			Arrays.sort(pairs);
+
+			// remove duplicates; the first entry is the own block
+			final long[] elements = new long[pairs.length + 1];
+			elements[0] = block;
+			int length = 1;
+			for (int j = 0; j < pairs.length; ++j) {
+				if (j == 0 || pairs[j] != pairs[j - 1]) {
+					elements[length] = pairs[j];
+					++length;
+				}
+			}
+			mElements = length == elements.length ? elements : Arrays.copyOf(elements, length);
+			mHashCode = Arrays.hashCode(mElements);
+		}
+
+		@Override
+		public int hashCode() {
+			return mHashCode;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			final Signature other = (Signature) obj;
+			return mHashCode == other.mHashCode && Arrays.equals(mElements, other.mElements);
+		}
+	}
+}
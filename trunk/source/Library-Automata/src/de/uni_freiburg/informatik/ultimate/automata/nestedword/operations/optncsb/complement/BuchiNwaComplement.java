@@ -56,7 +56,9 @@ public class BuchiNwaComplement extends BuchiNwa implements IBuchiNwaComplement
     private final TObjectIntMap<DoubleDecker> mDeckerMap;
     private final List<DoubleDecker> mDeckerList;
 
-    private final TObjectIntMap<StateNwaNCSB> mStateIndices = new TObjectIntHashMap<>();
+    // hash-consing table for the constructed states, keyed by their NCSB tuple
+    // so that a lookup does not need to allocate a state object
+    private final TObjectIntMap<NCSB> mStateIndices = new TObjectIntHashMap<>(16, 0.5f, -1);
     private final IntSet mFinalDeckers;
 
     public BuchiNwaComplement(IBuchiNwa buchi) {
@@ -81,24 +83,21 @@ public class BuchiNwaComplement extends BuchiNwa implements IBuchiNwaComplement
             this.setFinal(0);
         this.setInitial(0);
         int id = this.addState(state);
-        mStateIndices.put(state, id);
+        mStateIndices.put(ncsb, id);
     }
 
     protected StateNwaNCSB addState(NCSB ncsb) {
-
-        StateNwaNCSB state = new StateNwaNCSB(this, 0, ncsb);
-
-        if (mStateIndices.containsKey(state)) {
-            return (StateNwaNCSB) getState(mStateIndices.get(state));
-        } else {
-            int index = getStateSize();
-            StateNwaNCSB newState = new StateNwaNCSB(this, index, ncsb);
-            int id = this.addState(newState);
-            mStateIndices.put(newState, id);
-            if (ncsb.getBSet().isEmpty())
-                setFinal(index);
-            return newState;
+        final int existing = mStateIndices.get(ncsb);
+        if (existing != mStateIndices.getNoEntryValue()) {
+            return (StateNwaNCSB) getState(existing);
         }
+        int index = getStateSize();
+        StateNwaNCSB newState = new StateNwaNCSB(this, index, ncsb);
+        int id = this.addState(newState);
+        mStateIndices.put(ncsb, id);
+        if (ncsb.getBSet().isEmpty())
+            setFinal(index);
+        return newState;
     }
 
     @Override
@@ -48,6 +48,13 @@ public class StateNwaNCSB extends StateNwa implements IStateNwaComplement {
     private final IBuchiNwa mOperand;
     private final NCSB mNCSB;
 
+    // letters (and return hierarchical predecessors) whose successors have
+    // already been computed, including the ones without any successor, so that
+    // dead ends are not recomputed on every query
+    private IntSet mExploredInternal;
+    private IntSet mExploredCall;
+    private TIntObjectMap<IntSet> mExploredReturn;
+
     public StateNwaNCSB(BuchiNwaComplement complement, int id, NCSB ncsb) {
         super(complement, id);
         this.mComplement = complement;
@@ -189,9 +196,12 @@ public class StateNwaNCSB extends StateNwa implements IStateNwaComplement {
     @Override
     public IntSet getSuccessorsInternal(int letter) {
         assert mComplement.getAlphabetInternal().get(letter);
-        if (super.getEnabledLettersInternal().contains(letter)) {
+        if (mExploredInternal == null) {
+            mExploredInternal = UtilIntSet.newIntSet();
+        } else if (mExploredInternal.get(letter)) {
             return super.getSuccessorsInternal(letter);
         }
+        mExploredInternal.set(letter);
         return computeSuccCallOrInternal(letter);
     }
 
@@ -205,9 +215,12 @@ public class StateNwaNCSB extends StateNwa implements IStateNwaComplement {
     @Override
     public IntSet getSuccessorsCall(int letter) {
         assert mComplement.getAlphabetCall().get(letter);
-        if (super.getEnabledLettersCall().contains(letter)) {
+        if (mExploredCall == null) {
+            mExploredCall = UtilIntSet.newIntSet();
+        } else if (mExploredCall.get(letter)) {
             return super.getSuccessorsCall(letter);
         }
+        mExploredCall.set(letter);
         return computeSuccCallOrInternal(letter);
     }
 
@@ -257,10 +270,17 @@ public class StateNwaNCSB extends StateNwa implements IStateNwaComplement {
     @Override
     public IntSet getSuccessorsReturn(int hier, int letter) {
         assert mComplement.getAlphabetReturn().get(letter);
-        if (super.getEnabledLettersReturn().contains(letter) 
-         && super.getEnabledHiersReturn(letter).contains(hier)) {
+        if (mExploredReturn == null) {
+            mExploredReturn = new TIntObjectHashMap<>();
+        }
+        IntSet exploredHiers = mExploredReturn.get(letter);
+        if (exploredHiers == null) {
+            exploredHiers = UtilIntSet.newIntSet();
+            mExploredReturn.put(letter, exploredHiers);
+        } else if (exploredHiers.get(hier)) {
             return super.getSuccessorsReturn(hier, letter);
         }
+        exploredHiers.set(hier);
         return computeSuccReturn(hier, letter);
     }
 
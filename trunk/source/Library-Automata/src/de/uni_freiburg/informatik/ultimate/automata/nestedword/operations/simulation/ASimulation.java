@@ -36,12 +36,19 @@
  */
 package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
 import de.uni_freiburg.informatik.ultimate.automata.AutomataOperationCanceledException;
@@ -100,6 +107,12 @@ import de.uni_freiburg.informatik.ultimate.util.scc.StronglyConnectedComponent;
  *            State class of buechi automaton
  */
 public abstract class ASimulation<LETTER, STATE> {
+	/**
+	 * Minimal number of vertices a task of the parallel lifting algorithm works on. Smaller SCCs or game graphs are
+	 * lifted by the sequential algorithm.
+	 */
+	private static final int MINIMAL_CHUNK_SIZE = 512;
+
 	/**
 	 * The resulting possible reduced buechi automaton.
 	 */
@@ -143,6 +156,10 @@ public abstract class ASimulation<LETTER, STATE> {
 	 * The list is implemented as priority queue that first works vertices with the highest progress measure.
 	 */
 	private PriorityQueue<Vertex<LETTER, STATE>> mWorkingList;
+	/**
+	 * Number of threads used for lifting progress measures, <tt>1</tt> if the sequential algorithm is used.
+	 */
+	private int mNumberOfThreads;
 
 	/**
 	 * Creates a new simulation that initiates all needed data structures and fields.
@@ -171,6 +188,7 @@ public abstract class ASimulation<LETTER, STATE> {
 		mVertexComp = new VertexPmReverseComparator<>();
 
 		mSccComp = null;
+		mNumberOfThreads = 1;
 
 		mPerformance = new SimulationPerformance(simType, useSccs);
 	}
@@ -249,6 +267,33 @@ public abstract class ASimulation<LETTER, STATE> {
 		return mPerformance;
 	}
 
+	/**
+	 * Sets the number of threads used for lifting progress measures. Must be called before
+	 * {@link #doSimulation()}.<br/>
+	 * With more than one thread, large SCCs (or the whole game graph if SCCs are not used) are lifted by
+	 * {@link #parallelLiftingAlgorithm(int, Set)}. The progress measures, and hence the result, are the same as for the
+	 * sequential algorithm. Simulations that override {@link #efficientLiftingAlgorithm(int, Set)}, like the fair
+	 * simulation, ignore this setting.
+	 * 
+	 * @param numberOfThreads
+	 *            Number of threads, at least <tt>1</tt>
+	 */
+	public void setNumberOfThreads(final int numberOfThreads) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("At least one thread is needed.");
+		}
+		mNumberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * Gets the number of threads used for lifting progress measures.
+	 * 
+	 * @return The number of threads used for lifting progress measures.
+	 */
+	public int getNumberOfThreads() {
+		return mNumberOfThreads;
+	}
+
 	/**
 	 * Gets t state factory used for creating states.
 	 * 
@@ -561,6 +606,11 @@ public abstract class ASimulation<LETTER, STATE> {
 		final AGameGraph<LETTER, STATE> game = getGameGraph();
 		final int globalInfinity = game.getGlobalInfinity();
 
+		if (mNumberOfThreads > 1 && (mUseSccs ? scc.size() : game.getSize()) >= 2 * MINIMAL_CHUNK_SIZE) {
+			parallelLiftingAlgorithm(localInfinity, scc);
+			return;
+		}
+
 		// Initialize working list and the C value of all vertices
 		createWorkingList();
 		if (mUseSccs) {
@@ -657,6 +707,150 @@ public abstract class ASimulation<LETTER, STATE> {
 		}
 	}
 
+	/**
+	 * Parallel variant of {@link #efficientLiftingAlgorithm(int, Set)}.<br/>
+	 * <br/>
+	 * The progress measures are lifted in rounds. In each round the vertices of the frontier, initially all vertices,
+	 * are split into chunks which are lifted concurrently. Each vertex is only written by the task of its chunk, but
+	 * tasks may read outdated measures of other chunks. This is harmless since the predecessors of all vertices whose
+	 * measure increased form the frontier of the next round, i.e., every vertex is lifted again after one of its
+	 * successors changed. Since lifting is monotone, this chaotic iteration reaches the same least fixed point as the
+	 * working list algorithm. Finally the neighbor counters are set to the number of best neighbors.
+	 * 
+	 * @param localInfinity
+	 *            The local infinity in the containing SCC or global infinity if not used
+	 * @param scc
+	 *            The containing SCC or <tt>null</tt> if not used
+	 * @throws AutomataOperationCanceledException
+	 *             If the operation was canceled, for example from the Ultimate framework.
+	 */
+	protected void parallelLiftingAlgorithm(final int localInfinity, final Set<Vertex<LETTER, STATE>> scc)
+			throws AutomataOperationCanceledException {
+		final AGameGraph<LETTER, STATE> game = getGameGraph();
+		final int globalInfinity = game.getGlobalInfinity();
+		final List<Vertex<LETTER, STATE>> vertices = new ArrayList<>(mUseSccs ? scc : game.getVertices());
+		final int numberOfThreads = Math.min(mNumberOfThreads, vertices.size() / MINIMAL_CHUNK_SIZE);
+		final ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+			final Thread thread = new Thread(runnable, getClass().getSimpleName() + "Worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Vertex<LETTER, STATE>> frontier = vertices;
+			while (!frontier.isEmpty()) {
+				final List<Vertex<LETTER, STATE>> currentFrontier = frontier;
+				final boolean[] increased = new boolean[currentFrontier.size()];
+				runInParallel(executor, numberOfThreads, currentFrontier.size(), (start, end) -> {
+					for (int i = start; i < end; ++i) {
+						final Vertex<LETTER, STATE> v = currentFrontier.get(i);
+						v.setBEff(calcBestNghbMeasure(v, localInfinity, scc));
+						final int pm = increaseVector(game.getPriority(v), v.getBEff(), localInfinity);
+						if (pm > v.getPM(scc, globalInfinity)) {
+							v.setPM(pm);
+							increased[i] = true;
+						}
+					}
+				});
+
+				// The working list flag marks the vertices of the next frontier
+				for (final Vertex<LETTER, STATE> v : currentFrontier) {
+					v.setInWL(false);
+				}
+				frontier = new ArrayList<>();
+				for (int i = 0; i < currentFrontier.size(); ++i) {
+					mPerformance.increaseCountingMeasure(CountingMeasure.SIMULATION_STEPS);
+					if (increased[i]) {
+						final Vertex<LETTER, STATE> v = currentFrontier.get(i);
+						addPredecessorsToFrontier(v, v.getPM(scc, globalInfinity) == globalInfinity, scc, frontier);
+					}
+				}
+
+				// If operation was canceled, for example from the
+				// Ultimate framework
+				if (!mProgressTimer.continueProcessing()) {
+					mLogger.debug("Stopped in parallelLiftingAlgorithm");
+					throw new AutomataOperationCanceledException(this.getClass());
+				}
+			}
+
+			final int[] nghbCounters = new int[vertices.size()];
+			runInParallel(executor, numberOfThreads, vertices.size(), (start, end) -> {
+				for (int i = start; i < end; ++i) {
+					nghbCounters[i] = calcNghbCounter(vertices.get(i), localInfinity, scc);
+				}
+			});
+			for (int i = 0; i < vertices.size(); ++i) {
+				vertices.get(i).setC(nghbCounters[i]);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void addPredecessorsToFrontier(final Vertex<LETTER, STATE> vertex, final boolean reachedInfinity,
+			final Set<Vertex<LETTER, STATE>> scc, final List<Vertex<LETTER, STATE>> frontier) {
+		final AGameGraph<LETTER, STATE> game = getGameGraph();
+		if (game.hasPredecessors(vertex)) {
+			addToFrontier(game.getPredecessors(vertex), scc, frontier);
+		}
+		// If vertex reached infinity, propagate this over the push-over
+		// edges.
+		if (reachedInfinity && game.hasPushOverPredecessors(vertex)) {
+			addToFrontier(game.getPushOverPredecessors(vertex), scc, frontier);
+		}
+	}
+
+	private void addToFrontier(final Set<Vertex<LETTER, STATE>> predecessors, final Set<Vertex<LETTER, STATE>> scc,
+			final List<Vertex<LETTER, STATE>> frontier) {
+		for (final Vertex<LETTER, STATE> pred : predecessors) {
+			if (!pred.isInWL() && (!mUseSccs || scc.contains(pred))) {
+				pred.setInWL(true);
+				frontier.add(pred);
+			}
+		}
+	}
+
+	/**
+	 * Splits the index range <tt>[0, size)</tt> into chunks and processes them concurrently. Small ranges are processed
+	 * by the calling thread.
+	 */
+	private void runInParallel(final ExecutorService executor, final int numberOfThreads, final int size,
+			final IRangeTask task) throws AutomataOperationCanceledException {
+		final int numberOfChunks = Math.max(1, Math.min(numberOfThreads, size / MINIMAL_CHUNK_SIZE));
+		if (numberOfChunks == 1) {
+			task.run(0, size);
+			return;
+		}
+		final int chunkSize = (size + numberOfChunks - 1) / numberOfChunks;
+		final List<Callable<Void>> tasks = new ArrayList<>(numberOfChunks);
+		for (int start = 0; start < size; start += chunkSize) {
+			final int chunkStart = start;
+			final int chunkEnd = Math.min(size, start + chunkSize);
+			tasks.add(() -> {
+				task.run(chunkStart, chunkEnd);
+				return null;
+			});
+		}
+		try {
+			for (final Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AutomataOperationCanceledException(this.getClass());
+		} catch (final ExecutionException e) {
+			throw new AssertionError("Parallel lifting failed.", e.getCause());
+		}
+	}
+
+	/**
+	 * Work on a range of vertex indices.
+	 */
+	@FunctionalInterface
+	private interface IRangeTask {
+		void run(int start, int end);
+	}
+
 	/**
 	 * Gets the {@link AGameGraph} used for this simulation.
 	 * 
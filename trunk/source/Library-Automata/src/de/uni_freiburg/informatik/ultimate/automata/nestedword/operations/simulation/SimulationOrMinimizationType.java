@@ -40,6 +40,10 @@ public enum SimulationOrMinimizationType {
 	 * Delayed full multi-pebble simulation.
 	 */
 	DELAYED_FULL_MULTIPEBBLE,
+	/**
+	 * Delayed simulation with parallel lifting of progress measures.
+	 */
+	DELAYED_PARALLEL,
 	/**
 	 * Direct simulation.
 	 */
@@ -48,6 +52,10 @@ public enum SimulationOrMinimizationType {
 	 * Direct full multi-pebble simulation.
 	 */
 	DIRECT_FULL_MULTIPEBBLE,
+	/**
+	 * Direct simulation with parallel lifting of progress measures.
+	 */
+	DIRECT_PARALLEL,
 	/**
 	 * External minimization method, MinimizeNwaPmaxSat.
 	 */
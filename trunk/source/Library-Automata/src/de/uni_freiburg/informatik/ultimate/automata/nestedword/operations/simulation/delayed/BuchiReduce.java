@@ -89,11 +89,30 @@ public class BuchiReduce<LETTER, STATE> extends AbstractMinimizeNwa<LETTER, STAT
 	 */
 	public BuchiReduce(final AutomataLibraryServices services, final IMinimizationStateFactory<STATE> stateFactory,
 			final INestedWordAutomaton<LETTER, STATE> operand) throws AutomataOperationCanceledException {
-		this(services, stateFactory, operand,
-				new DelayedSimulation<>(services.getProgressAwareTimer(),
-						services.getLoggingService().getLogger(LibraryIdentifiers.PLUGIN_ID), false, stateFactory,
-						new DelayedGameGraph<>(services, stateFactory, services.getProgressAwareTimer(),
-								services.getLoggingService().getLogger(LibraryIdentifiers.PLUGIN_ID), operand)));
+		this(services, stateFactory, operand, 1);
+	}
+
+	/**
+	 * Creates a new buechi reduce object that starts reducing the given buechi automaton and lifts the progress
+	 * measures of the simulation with the given number of threads.<br/>
+	 * Once finished the result can be get by using {@link #getResult()}.
+	 * 
+	 * @param services
+	 *            Service provider of Ultimate framework
+	 * @param stateFactory
+	 *            The state factory used for creating states
+	 * @param operand
+	 *            The buechi automaton to reduce
+	 * @param numberOfThreads
+	 *            Number of threads used for lifting progress measures, see
+	 *            {@link DelayedSimulation#setNumberOfThreads(int)}
+	 * @throws AutomataOperationCanceledException
+	 *             If the operation was canceled, for example from the Ultimate framework.
+	 */
+	public BuchiReduce(final AutomataLibraryServices services, final IMinimizationStateFactory<STATE> stateFactory,
+			final INestedWordAutomaton<LETTER, STATE> operand, final int numberOfThreads)
+			throws AutomataOperationCanceledException {
+		this(services, stateFactory, operand, createSimulation(services, stateFactory, operand, numberOfThreads));
 	}
 
 	/**
@@ -141,6 +160,19 @@ public class BuchiReduce<LETTER, STATE> extends AbstractMinimizeNwa<LETTER, STAT
 		mLogger.info(exitMessage());
 	}
 
+	private static <LETTER, STATE> DelayedSimulation<LETTER, STATE> createSimulation(
+			final AutomataLibraryServices services, final IMinimizationStateFactory<STATE> stateFactory,
+			final INestedWordAutomaton<LETTER, STATE> operand, final int numberOfThreads)
+			throws AutomataOperationCanceledException {
+		final ILogger logger = services.getLoggingService().getLogger(LibraryIdentifiers.PLUGIN_ID);
+		final DelayedGameGraph<LETTER, STATE> game =
+				new DelayedGameGraph<>(services, stateFactory, services.getProgressAwareTimer(), logger, operand);
+		final DelayedSimulation<LETTER, STATE> simulation =
+				new DelayedSimulation<>(services.getProgressAwareTimer(), logger, false, stateFactory, game);
+		simulation.setNumberOfThreads(numberOfThreads);
+		return simulation;
+	}
+
 	@Override
 	public Pair<Boolean, String> checkResultHelper(final IMinimizationCheckResultStateFactory<STATE> stateFactory)
 			throws AutomataLibraryException {
@@ -1043,20 +1043,28 @@ public class CompareReduceBuchiSimulation<LETTER, STATE>
 		Object method = null;
 
 		try {
-			if (type.equals(SimulationOrMinimizationType.DIRECT)) {
+			if (type.equals(SimulationOrMinimizationType.DIRECT)
+					|| type.equals(SimulationOrMinimizationType.DIRECT_PARALLEL)) {
 				final DirectGameGraph<LETTER, STATE> graph = new DirectGameGraph<>(services, stateFactory,
 						progressTimer, mLogger, operand);
 				graph.generateGameGraphFromAutomaton();
 				final DirectSimulation<LETTER, STATE> sim = new DirectSimulation<>(progressTimer, mLogger, useSCCs,
 						stateFactory, graph);
+				if (type.equals(SimulationOrMinimizationType.DIRECT_PARALLEL)) {
+					sim.setNumberOfThreads(Runtime.getRuntime().availableProcessors());
+				}
 				sim.doSimulation();
 				method = sim;
-			} else if (type.equals(SimulationOrMinimizationType.DELAYED)) {
+			} else if (type.equals(SimulationOrMinimizationType.DELAYED)
+					|| type.equals(SimulationOrMinimizationType.DELAYED_PARALLEL)) {
 				final DelayedGameGraph<LETTER, STATE> graph = new DelayedGameGraph<>(services, stateFactory,
 						progressTimer, mLogger, operand);
 				graph.generateGameGraphFromAutomaton();
 				final DelayedSimulation<LETTER, STATE> sim = new DelayedSimulation<>(progressTimer, mLogger, useSCCs,
 						stateFactory, graph);
+				if (type.equals(SimulationOrMinimizationType.DELAYED_PARALLEL)) {
+					sim.setNumberOfThreads(Runtime.getRuntime().availableProcessors());
+				}
 				sim.doSimulation();
 				method = sim;
 			} else if (type.equals(SimulationOrMinimizationType.FAIR)) {
@@ -1125,12 +1133,22 @@ public class CompareReduceBuchiSimulation<LETTER, STATE>
 		// Direct simulation with SCC
 		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DIRECT, true, mServices, timeOutMillis,
 				stateFactory, reachableOperand);
+		// Direct simulation with parallel lifting, without and with SCC
+		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DIRECT_PARALLEL, false, mServices,
+				timeOutMillis, stateFactory, reachableOperand);
+		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DIRECT_PARALLEL, true, mServices,
+				timeOutMillis, stateFactory, reachableOperand);
 		// Delayed simulation without SCC
 		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DELAYED, false, mServices, timeOutMillis,
 				stateFactory, reachableOperand);
 		// Delayed simulation with SCC
 		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DELAYED, true, mServices, timeOutMillis,
 				stateFactory, reachableOperand);
+		// Delayed simulation with parallel lifting, without and with SCC
+		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DELAYED_PARALLEL, false, mServices,
+				timeOutMillis, stateFactory, reachableOperand);
+		measureMethodPerformance(automatonName, SimulationOrMinimizationType.DELAYED_PARALLEL, true, mServices,
+				timeOutMillis, stateFactory, reachableOperand);
 		// Fair simulation without SCC
 		measureMethodPerformance(automatonName, SimulationOrMinimizationType.FAIR, false, mServices, timeOutMillis,
 				stateFactory, reachableOperand);
@@ -0,0 +1,534 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+
+/**
+ * Reads the {@code NestedWordAutomaton} and {@code FiniteAutomaton} definitions of an automata script (.ats) file.
+ * <p>
+ * In contrast to the automata script parser, the input is tokenized on the fly and the automaton is constructed
+ * directly, i.e., no syntax tree is built. This requires that the alphabets and the (initial and final) states are
+ * defined before the transitions, which is the order used by the {@code AutomatonDefinitionPrinter}. All other
+ * statements of the file are skipped.
+ */
+public final class NwaAtsReader {
+	private static final String NESTED_WORD_AUTOMATON = "NestedWordAutomaton";
+	private static final String FINITE_AUTOMATON = "FiniteAutomaton";
+
+	private static final String CALL_ALPHABET = "callAlphabet";
+	private static final String INTERNAL_ALPHABET = "internalAlphabet";
+	private static final String RETURN_ALPHABET = "returnAlphabet";
+	private static final String ALPHABET = "alphabet";
+	private static final String STATES = "states";
+	private static final String INITIAL_STATES = "initialStates";
+	private static final String FINAL_STATES = "finalStates";
+	private static final String CALL_TRANSITIONS = "callTransitions";
+	private static final String INTERNAL_TRANSITIONS = "internalTransitions";
+	private static final String RETURN_TRANSITIONS = "returnTransitions";
+	private static final String TRANSITIONS = "transitions";
+
+	private final AutomataLibraryServices mServices;
+
+	/**
+	 * @param services
+	 *            Ultimate services.
+	 */
+	public NwaAtsReader(final AutomataLibraryServices services) {
+		mServices = services;
+	}
+
+	/**
+	 * @param channel
+	 *            channel providing a UTF-8 encoded automata script
+	 * @return map (automaton name -> automaton) in the order of definition
+	 * @throws IOException
+	 *             if reading fails or the input is malformed
+	 */
+	public Map<String, NestedWordAutomaton<String, String>> read(final ReadableByteChannel channel)
+			throws IOException {
+		return read(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
+	}
+
+	/**
+	 * @param reader
+	 *            reader providing an automata script
+	 * @return map (automaton name -> automaton) in the order of definition
+	 * @throws IOException
+	 *             if reading fails or the input is malformed
+	 */
+	public Map<String, NestedWordAutomaton<String, String>> read(final Reader reader) throws IOException {
+		final Tokenizer tokenizer = new Tokenizer(reader);
+		final Map<String, NestedWordAutomaton<String, String>> result = new LinkedHashMap<>();
+		while (tokenizer.next() != TokenType.EOF) {
+			final boolean isNwa;
+			if (tokenizer.isIdentifier(NESTED_WORD_AUTOMATON)) {
+				isNwa = true;
+			} else if (tokenizer.isIdentifier(FINITE_AUTOMATON)) {
+				isNwa = false;
+			} else {
+				skipStatement(tokenizer);
+				continue;
+			}
+			tokenizer.expect(TokenType.IDENTIFIER);
+			final String name = tokenizer.getText();
+			tokenizer.next();
+			if (!tokenizer.isSymbol('=')) {
+				skipStatement(tokenizer);
+				continue;
+			}
+			tokenizer.next();
+			if (!tokenizer.isSymbol('(')) {
+				// assignment of an operation result
+				skipStatement(tokenizer);
+				continue;
+			}
+			final NestedWordAutomaton<String, String> nwa = new DefinitionReader(tokenizer, isNwa).read();
+			tokenizer.expectSymbol(';');
+			result.put(name, nwa);
+		}
+		return result;
+	}
+
+	/**
+	 * Skips all tokens up to the end of the current statement, i.e., a semicolon or the closing brace of a block
+	 * outside of any parentheses or braces.
+	 */
+	private static void skipStatement(final Tokenizer tokenizer) throws IOException {
+		int depth = 0;
+		TokenType type = tokenizer.getType();
+		while (type != TokenType.EOF) {
+			if (type == TokenType.SYMBOL) {
+				final char symbol = tokenizer.getText().charAt(0);
+				if (symbol == '(' || symbol == '{' || symbol == '[') {
+					++depth;
+				} else if (symbol == ')' || symbol == '}' || symbol == ']') {
+					--depth;
+					if (depth == 0 && symbol == '}') {
+						return;
+					}
+				} else if (symbol == ';' && depth <= 0) {
+					return;
+				}
+			}
+			type = tokenizer.next();
+		}
+	}
+
+	/**
+	 * Reads the body of one automaton definition.
+	 */
+	private final class DefinitionReader {
+		private final Tokenizer mTokenizer;
+		private final boolean mIsNwa;
+
+		private final Map<String, String> mInternalAlphabet = new HashMap<>();
+		private final Map<String, String> mCallAlphabet = new HashMap<>();
+		private final Map<String, String> mReturnAlphabet = new HashMap<>();
+		private final Map<String, String> mStates = new LinkedHashMap<>();
+		private final Set<String> mInitialStates = new HashSet<>();
+		private final Set<String> mFinalStates = new HashSet<>();
+		private NestedWordAutomaton<String, String> mNwa;
+
+		public DefinitionReader(final Tokenizer tokenizer, final boolean isNwa) {
+			mTokenizer = tokenizer;
+			mIsNwa = isNwa;
+		}
+
+		public NestedWordAutomaton<String, String> read() throws IOException {
+			mTokenizer.next();
+			while (!mTokenizer.isSymbol(')')) {
+				if (mTokenizer.getType() != TokenType.IDENTIFIER) {
+					throw mTokenizer.error("expected field name");
+				}
+				final String field = mTokenizer.getText();
+				mTokenizer.expectSymbol('=');
+				mTokenizer.expectSymbol('{');
+				readField(field);
+				if (!mTokenizer.isSymbol('}')) {
+					throw mTokenizer.error("expected '}'");
+				}
+				mTokenizer.next();
+				if (mTokenizer.isSymbol(',')) {
+					mTokenizer.next();
+				}
+			}
+			return getAutomaton();
+		}
+
+		private void readField(final String field) throws IOException {
+			switch (field) {
+				case CALL_ALPHABET:
+					readElements(mCallAlphabet);
+					break;
+				case INTERNAL_ALPHABET:
+				case ALPHABET:
+					readElements(mInternalAlphabet);
+					break;
+				case RETURN_ALPHABET:
+					readElements(mReturnAlphabet);
+					break;
+				case STATES:
+					readElements(mStates);
+					break;
+				case INITIAL_STATES:
+					readStateSet(mInitialStates);
+					break;
+				case FINAL_STATES:
+					readStateSet(mFinalStates);
+					break;
+				case CALL_TRANSITIONS:
+					readTransitions(3, mCallAlphabet);
+					break;
+				case INTERNAL_TRANSITIONS:
+				case TRANSITIONS:
+					readTransitions(3, mInternalAlphabet);
+					break;
+				case RETURN_TRANSITIONS:
+					readTransitions(4, mReturnAlphabet);
+					break;
+				default:
+					throw mTokenizer.error("unknown field " + field);
+			}
+		}
+
+		private void readElements(final Map<String, String> elements) throws IOException {
+			while (nextElementOrClosingBrace()) {
+				final String element = mTokenizer.getText();
+				elements.put(element, element);
+			}
+		}
+
+		private void readStateSet(final Set<String> states) throws IOException {
+			while (nextElementOrClosingBrace()) {
+				states.add(getState());
+			}
+		}
+
+		private void readTransitions(final int arity, final Map<String, String> alphabet) throws IOException {
+			final NestedWordAutomaton<String, String> nwa = getAutomaton();
+			final String[] elements = new String[arity];
+			while (nextElementOrClosingBrace() || mTokenizer.isSymbol('(')) {
+				if (!mTokenizer.isSymbol('(')) {
+					throw mTokenizer.error("expected transition");
+				}
+				for (int i = 0; i < arity; ++i) {
+					mTokenizer.next();
+					if (!mTokenizer.isElement()) {
+						throw mTokenizer.error("expected " + arity + " elements in transition");
+					}
+					elements[i] = (i == arity - 2) ? getLetter(alphabet) : getState();
+				}
+				mTokenizer.expectSymbol(')');
+				if (arity == 4) {
+					nwa.addReturnTransition(elements[0], elements[1], elements[2], elements[3]);
+				} else if (alphabet == mCallAlphabet) {
+					nwa.addCallTransition(elements[0], elements[1], elements[2]);
+				} else {
+					nwa.addInternalTransition(elements[0], elements[1], elements[2]);
+				}
+			}
+		}
+
+		/**
+		 * @return {@code true} iff the next token is an element; {@code false} iff it is the closing brace (other
+		 *         symbols except for separating commas are left to the caller)
+		 */
+		private boolean nextElementOrClosingBrace() throws IOException {
+			mTokenizer.next();
+			while (mTokenizer.isSymbol(',')) {
+				mTokenizer.next();
+			}
+			if (mTokenizer.isElement()) {
+				return true;
+			}
+			if (mTokenizer.getType() == TokenType.EOF) {
+				throw mTokenizer.error("unexpected end of input");
+			}
+			return false;
+		}
+
+		private String getState() throws IOException {
+			final String state = mStates.get(mTokenizer.getText());
+			if (state == null) {
+				throw mTokenizer.error("unknown state " + mTokenizer.getText());
+			}
+			return state;
+		}
+
+		private String getLetter(final Map<String, String> alphabet) throws IOException {
+			final String letter = alphabet.get(mTokenizer.getText());
+			if (letter == null) {
+				throw mTokenizer.error("letter " + mTokenizer.getText() + " not in alphabet");
+			}
+			return letter;
+		}
+
+		private NestedWordAutomaton<String, String> getAutomaton() throws IOException {
+			if (mNwa != null) {
+				return mNwa;
+			}
+			if (!mIsNwa && !(mCallAlphabet.isEmpty() && mReturnAlphabet.isEmpty())) {
+				throw mTokenizer.error("finite automaton with call or return alphabet");
+			}
+			final VpAlphabet<String> alphabet = new VpAlphabet<>(new HashSet<>(mInternalAlphabet.keySet()),
+					new HashSet<>(mCallAlphabet.keySet()), new HashSet<>(mReturnAlphabet.keySet()));
+			mNwa = new NestedWordAutomaton<>(mServices, alphabet, new StringFactory());
+			for (final String state : mStates.keySet()) {
+				mNwa.addState(mInitialStates.contains(state), mFinalStates.contains(state), state);
+			}
+			return mNwa;
+		}
+	}
+
+	/**
+	 * Token type.
+	 */
+	private enum TokenType {
+		IDENTIFIER, STRING, SYMBOL, EOF
+	}
+
+	/**
+	 * Splits the input into identifiers, strings, and single-character symbols; comments are skipped.
+	 */
+	private static final class Tokenizer {
+		private static final int BUFFER_SIZE = 1 << 16;
+		private static final int NO_CHAR = -2;
+
+		private final Reader mReader;
+		private final char[] mBuffer = new char[BUFFER_SIZE];
+		private int mPosition;
+		private int mLimit;
+		private int mPeeked = NO_CHAR;
+		private int mLine = 1;
+
+		private final StringBuilder mText = new StringBuilder();
+		private final List<String> mSymbols = new ArrayList<>(128);
+		private TokenType mType;
+		private String mTextString;
+
+		public Tokenizer(final Reader reader) {
+			mReader = reader;
+			for (char c = 0; c < 128; ++c) {
+				mSymbols.add(String.valueOf(c));
+			}
+		}
+
+		public TokenType getType() {
+			return mType;
+		}
+
+		public String getText() {
+			if (mTextString == null) {
+				mTextString = mText.toString();
+			}
+			return mTextString;
+		}
+
+		public boolean isElement() {
+			return mType == TokenType.IDENTIFIER || mType == TokenType.STRING;
+		}
+
+		public boolean isIdentifier(final String text) {
+			return mType == TokenType.IDENTIFIER && getText().equals(text);
+		}
+
+		public boolean isSymbol(final char symbol) {
+			return mType == TokenType.SYMBOL && mText.charAt(0) == symbol;
+		}
+
+		public void expect(final TokenType type) throws IOException {
+			if (next() != type) {
+				throw error("expected " + type);
+			}
+		}
+
+		public void expectSymbol(final char symbol) throws IOException {
+			next();
+			if (!isSymbol(symbol)) {
+				throw error("expected '" + symbol + "'");
+			}
+		}
+
+		public IOException error(final String message) {
+			final String found = mType == TokenType.EOF ? "end of input" : getText();
+			return new IOException("Line " + mLine + ": " + message + ", found " + found);
+		}
+
+		public TokenType next() throws IOException {
+			mText.setLength(0);
+			mTextString = null;
+			int c = skipWhitespaceAndComments();
+			if (c < 0) {
+				mType = TokenType.EOF;
+			} else if (c == '"') {
+				readString();
+				mType = TokenType.STRING;
+			} else if (isIdentifierChar(c)) {
+				do {
+					mText.append((char) c);
+					c = read();
+				} while (c >= 0 && isIdentifierChar(c));
+				unread(c);
+				mType = TokenType.IDENTIFIER;
+			} else {
+				mText.append((char) c);
+				if (c < mSymbols.size()) {
+					mTextString = mSymbols.get(c);
+				}
+				mType = TokenType.SYMBOL;
+			}
+			return mType;
+		}
+
+		private void readString() throws IOException {
+			final int startLine = mLine;
+			int c = read();
+			while (c != '"') {
+				if (c < 0) {
+					throw new IOException("Line " + startLine + ": unterminated string");
+				}
+				if (c == '\\') {
+					mText.append(unescape(read(), startLine));
+				} else {
+					mText.append((char) c);
+				}
+				c = read();
+			}
+		}
+
+		/**
+		 * Translates the character after a backslash. The escape sequences are the ones accepted by the lexer of the
+		 * automata script parser.
+		 */
+		private static char unescape(final int c, final int line) throws IOException {
+			switch (c) {
+				case 'b':
+					return '\b';
+				case 't':
+					return '\t';
+				case 'n':
+					return '\n';
+				case 'f':
+					return '\f';
+				case 'r':
+					return '\r';
+				case '"':
+				case '\'':
+				case '\\':
+					return (char) c;
+				default:
+					throw new IOException("Line " + line + ": illegal escape sequence in string");
+			}
+		}
+
+		private int skipWhitespaceAndComments() throws IOException {
+			while (true) {
+				final int c = read();
+				if (c == '/') {
+					final int d = read();
+					if (d == '/') {
+						skipLineComment();
+						continue;
+					} else if (d == '*') {
+						skipBlockComment();
+						continue;
+					}
+					unread(d);
+					return c;
+				}
+				if (c < 0 || !Character.isWhitespace(c)) {
+					return c;
+				}
+			}
+		}
+
+		private void skipLineComment() throws IOException {
+			int c;
+			do {
+				c = read();
+			} while (c >= 0 && c != '\n');
+		}
+
+		private void skipBlockComment() throws IOException {
+			int previous = -1;
+			int c = read();
+			while (c >= 0 && !(previous == '*' && c == '/')) {
+				previous = c;
+				c = read();
+			}
+		}
+
+		private static boolean isIdentifierChar(final int c) {
+			return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.' || c == '#' || c == '~';
+		}
+
+		private int read() throws IOException {
+			final int c;
+			if (mPeeked != NO_CHAR) {
+				c = mPeeked;
+				mPeeked = NO_CHAR;
+			} else {
+				if (mPosition == mLimit) {
+					mLimit = mReader.read(mBuffer, 0, BUFFER_SIZE);
+					mPosition = 0;
+					if (mLimit <= 0) {
+						mLimit = 0;
+						return -1;
+					}
+				}
+				c = mBuffer[mPosition++];
+			}
+			if (c == '\n') {
+				++mLine;
+			}
+			return c;
+		}
+
+		private void unread(final int c) {
+			if (c == '\n') {
+				--mLine;
+			}
+			mPeeked = c;
+		}
+	}
+}
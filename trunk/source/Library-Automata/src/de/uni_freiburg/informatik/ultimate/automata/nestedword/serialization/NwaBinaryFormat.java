@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and primitive encodings of the binary nested word automaton format.
+ * <p>
+ * Layout (all numbers are unsigned variable-length integers unless stated otherwise):
+ * <ol>
+ * <li>magic number (4 bytes) and version (1 byte)</li>
+ * <li>number of letters, then for each letter a kind byte (bit mask of {@link #INTERNAL}, {@link #CALL},
+ * {@link #RETURN}) and its string</li>
+ * <li>number of states, then for each state a flag byte (bit mask of {@link #INITIAL}, {@link #FINAL}) and its
+ * string</li>
+ * <li>internal, call, and return transitions; each section is a sequence of entries (predecessor index + 1, number of
+ * transitions, transitions) terminated by {@code 0}, where an internal or call transition is a pair (letter index,
+ * successor index) and a return transition is a triple (hierarchical predecessor index, letter index, successor
+ * index)</li>
+ * </ol>
+ * Strings are stored as the length of their UTF-8 encoding followed by the bytes.
+ */
+final class NwaBinaryFormat {
+	static final int MAGIC = 0x554E5741;
+	static final byte VERSION = 1;
+
+	static final int INTERNAL = 1;
+	static final int CALL = 2;
+	static final int RETURN = 4;
+
+	static final int INITIAL = 1;
+	static final int FINAL = 2;
+
+	private NwaBinaryFormat() {
+		// utility class
+	}
+
+	static void writeVarint(final DataOutputStream out, final int value) throws IOException {
+		int remainder = value;
+		while ((remainder & ~0x7F) != 0) {
+			out.writeByte((remainder & 0x7F) | 0x80);
+			remainder >>>= 7;
+		}
+		out.writeByte(remainder);
+	}
+
+	static int readVarint(final DataInputStream in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+			final int b = in.readUnsignedByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IOException("Malformed variable-length integer");
+	}
+
+	static void writeString(final DataOutputStream out, final String string) throws IOException {
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeVarint(out, bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(final DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[readVarint(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
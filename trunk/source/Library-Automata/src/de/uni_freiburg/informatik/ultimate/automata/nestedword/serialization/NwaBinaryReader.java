@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.IEmptyStackStateFactory;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+
+/**
+ * Reads a nested word automaton written by {@link NwaBinaryWriter}.
+ * <p>
+ * Transitions refer to letters and states by their index in the respective table, so two letters (states) with the
+ * same string are still different letters (states) if they were different in the written automaton. The caller
+ * decides how a table entry is represented by providing a factory that receives the index and the string of the
+ * entry. Each letter and state is created only once and shared by all transitions.
+ */
+public final class NwaBinaryReader {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final AutomataLibraryServices mServices;
+
+	/**
+	 * @param services
+	 *            Ultimate services.
+	 */
+	public NwaBinaryReader(final AutomataLibraryServices services) {
+		mServices = services;
+	}
+
+	/**
+	 * @param channel
+	 *            channel to read from
+	 * @return nested word automaton
+	 * @throws IOException
+	 *             if reading fails or the input is malformed
+	 */
+	public NestedWordAutomaton<String, String> read(final ReadableByteChannel channel) throws IOException {
+		return read(Channels.newInputStream(channel));
+	}
+
+	/**
+	 * Reads an automaton whose letters and states are represented by their strings.
+	 *
+	 * @param inputStream
+	 *            input stream to read from
+	 * @return nested word automaton
+	 * @throws IOException
+	 *             if reading fails or the input is malformed, in particular if two letters or two states have the same
+	 *             string
+	 */
+	public NestedWordAutomaton<String, String> read(final InputStream inputStream) throws IOException {
+		return read(inputStream, (index, string) -> string, (index, string) -> string, new StringFactory());
+	}
+
+	/**
+	 * @param inputStream
+	 *            input stream to read from
+	 * @param letterFactory
+	 *            creates the letter for a (letter index, string) pair; different indices must yield different letters
+	 * @param stateFactory
+	 *            creates the state for a (state index, string) pair; different indices must yield different states
+	 * @param emptyStackStateFactory
+	 *            factory for the empty stack state of the result
+	 * @param <LETTER>
+	 *            letter type
+	 * @param <STATE>
+	 *            state type
+	 * @return nested word automaton
+	 * @throws IOException
+	 *             if reading fails, the input is malformed, or a factory returns equal objects for different indices
+	 */
+	public <LETTER, STATE> NestedWordAutomaton<LETTER, STATE> read(final InputStream inputStream,
+			final BiFunction<Integer, String, LETTER> letterFactory,
+			final BiFunction<Integer, String, STATE> stateFactory,
+			final IEmptyStackStateFactory<STATE> emptyStackStateFactory) throws IOException {
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+		if (in.readInt() != NwaBinaryFormat.MAGIC) {
+			throw new IOException("Not a binary nested word automaton");
+		}
+		final byte version = in.readByte();
+		if (version != NwaBinaryFormat.VERSION) {
+			throw new IOException("Unsupported version " + version);
+		}
+
+		final int numberOfLetters = NwaBinaryFormat.readVarint(in);
+		final List<LETTER> letters = new ArrayList<>(numberOfLetters);
+		final Set<LETTER> internalAlphabet = new HashSet<>();
+		final Set<LETTER> callAlphabet = new HashSet<>();
+		final Set<LETTER> returnAlphabet = new HashSet<>();
+		for (int i = 0; i < numberOfLetters; ++i) {
+			final int kind = in.readUnsignedByte();
+			final LETTER letter = letterFactory.apply(i, NwaBinaryFormat.readString(in));
+			letters.add(letter);
+			if ((kind & NwaBinaryFormat.INTERNAL) != 0) {
+				internalAlphabet.add(letter);
+			}
+			if ((kind & NwaBinaryFormat.CALL) != 0) {
+				callAlphabet.add(letter);
+			}
+			if ((kind & NwaBinaryFormat.RETURN) != 0) {
+				returnAlphabet.add(letter);
+			}
+		}
+		checkDistinct(letters, "letter");
+
+		final NestedWordAutomaton<LETTER, STATE> nwa = new NestedWordAutomaton<>(mServices,
+				new VpAlphabet<>(internalAlphabet, callAlphabet, returnAlphabet), emptyStackStateFactory);
+		final int numberOfStates = NwaBinaryFormat.readVarint(in);
+		final List<STATE> states = new ArrayList<>(numberOfStates);
+		final int[] stateFlags = new int[numberOfStates];
+		for (int i = 0; i < numberOfStates; ++i) {
+			stateFlags[i] = in.readUnsignedByte();
+			states.add(stateFactory.apply(i, NwaBinaryFormat.readString(in)));
+		}
+		checkDistinct(states, "state");
+		for (int i = 0; i < numberOfStates; ++i) {
+			nwa.addState((stateFlags[i] & NwaBinaryFormat.INITIAL) != 0, (stateFlags[i] & NwaBinaryFormat.FINAL) != 0,
+					states.get(i));
+		}
+
+		for (int predPlusOne = NwaBinaryFormat.readVarint(in); predPlusOne != 0; predPlusOne =
+				NwaBinaryFormat.readVarint(in)) {
+			final STATE pred = get(states, predPlusOne - 1);
+			for (int i = NwaBinaryFormat.readVarint(in); i > 0; --i) {
+				final LETTER letter = get(letters, NwaBinaryFormat.readVarint(in));
+				nwa.addInternalTransition(pred, letter, get(states, NwaBinaryFormat.readVarint(in)));
+			}
+		}
+		for (int predPlusOne = NwaBinaryFormat.readVarint(in); predPlusOne != 0; predPlusOne =
+				NwaBinaryFormat.readVarint(in)) {
+			final STATE pred = get(states, predPlusOne - 1);
+			for (int i = NwaBinaryFormat.readVarint(in); i > 0; --i) {
+				final LETTER letter = get(letters, NwaBinaryFormat.readVarint(in));
+				nwa.addCallTransition(pred, letter, get(states, NwaBinaryFormat.readVarint(in)));
+			}
+		}
+		for (int predPlusOne = NwaBinaryFormat.readVarint(in); predPlusOne != 0; predPlusOne =
+				NwaBinaryFormat.readVarint(in)) {
+			final STATE pred = get(states, predPlusOne - 1);
+			for (int i = NwaBinaryFormat.readVarint(in); i > 0; --i) {
+				final STATE hier = get(states, NwaBinaryFormat.readVarint(in));
+				final LETTER letter = get(letters, NwaBinaryFormat.readVarint(in));
+				nwa.addReturnTransition(pred, hier, letter, get(states, NwaBinaryFormat.readVarint(in)));
+			}
+		}
+		return nwa;
+	}
+
+	private static <E> void checkDistinct(final List<E> table, final String kind) throws IOException {
+		if (new HashSet<>(table).size() != table.size()) {
+			throw new IOException("Two different " + kind + "s are represented by equal objects");
+		}
+	}
+
+	private static <E> E get(final List<E> table, final int index) throws IOException {
+		if (index < 0 || index >= table.size()) {
+			throw new IOException("Index " + index + " out of range");
+		}
+		return table.get(index);
+	}
+}
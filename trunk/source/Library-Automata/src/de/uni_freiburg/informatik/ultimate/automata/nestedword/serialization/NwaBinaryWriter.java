@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingCallTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingInternalTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingReturnTransition;
+
+/**
+ * Writes an {@link INestedWordAutomaton} in a compact binary format that can be read by {@link NwaBinaryReader}.
+ * <p>
+ * Letters and states are stored once in a table (using their {@link Object#toString()} representation); transitions
+ * refer to them by index. Different letters (states) get different indices even if their strings are equal; use the
+ * factory variant of {@link NwaBinaryReader} to keep them apart when reading. The automaton is written in one pass
+ * over its states without building an intermediate representation.
+ *
+ * @param <LETTER>
+ *            letter type
+ * @param <STATE>
+ *            state type
+ */
+public final class NwaBinaryWriter<LETTER, STATE> {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final INestedWordAutomaton<LETTER, STATE> mNwa;
+
+	/**
+	 * @param nwa
+	 *            nested word automaton
+	 */
+	public NwaBinaryWriter(final INestedWordAutomaton<LETTER, STATE> nwa) {
+		mNwa = nwa;
+	}
+
+	/**
+	 * @param channel
+	 *            channel to write to (it is not closed)
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public void write(final WritableByteChannel channel) throws IOException {
+		write(Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * @param outputStream
+	 *            output stream to write to (it is flushed, but not closed)
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public void write(final OutputStream outputStream) throws IOException {
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+		out.writeInt(NwaBinaryFormat.MAGIC);
+		out.writeByte(NwaBinaryFormat.VERSION);
+
+		final Map<LETTER, Integer> letter2index = writeLetters(out);
+		final Map<STATE, Integer> state2index = writeStates(out);
+
+		final List<OutgoingInternalTransition<LETTER, STATE>> internalTransitions = new ArrayList<>();
+		for (final STATE state : mNwa.getStates()) {
+			internalTransitions.clear();
+			mNwa.internalSuccessors(state).forEach(internalTransitions::add);
+			if (internalTransitions.isEmpty()) {
+				continue;
+			}
+			NwaBinaryFormat.writeVarint(out, state2index.get(state) + 1);
+			NwaBinaryFormat.writeVarint(out, internalTransitions.size());
+			for (final OutgoingInternalTransition<LETTER, STATE> trans : internalTransitions) {
+				NwaBinaryFormat.writeVarint(out, letter2index.get(trans.getLetter()));
+				NwaBinaryFormat.writeVarint(out, state2index.get(trans.getSucc()));
+			}
+		}
+		NwaBinaryFormat.writeVarint(out, 0);
+
+		final List<OutgoingCallTransition<LETTER, STATE>> callTransitions = new ArrayList<>();
+		for (final STATE state : mNwa.getStates()) {
+			callTransitions.clear();
+			mNwa.callSuccessors(state).forEach(callTransitions::add);
+			if (callTransitions.isEmpty()) {
+				continue;
+			}
+			NwaBinaryFormat.writeVarint(out, state2index.get(state) + 1);
+			NwaBinaryFormat.writeVarint(out, callTransitions.size());
+			for (final OutgoingCallTransition<LETTER, STATE> trans : callTransitions) {
+				NwaBinaryFormat.writeVarint(out, letter2index.get(trans.getLetter()));
+				NwaBinaryFormat.writeVarint(out, state2index.get(trans.getSucc()));
+			}
+		}
+		NwaBinaryFormat.writeVarint(out, 0);
+
+		final List<OutgoingReturnTransition<LETTER, STATE>> returnTransitions = new ArrayList<>();
+		for (final STATE state : mNwa.getStates()) {
+			returnTransitions.clear();
+			mNwa.returnSuccessors(state).forEach(returnTransitions::add);
+			if (returnTransitions.isEmpty()) {
+				continue;
+			}
+			NwaBinaryFormat.writeVarint(out, state2index.get(state) + 1);
+			NwaBinaryFormat.writeVarint(out, returnTransitions.size());
+			for (final OutgoingReturnTransition<LETTER, STATE> trans : returnTransitions) {
+				NwaBinaryFormat.writeVarint(out, state2index.get(trans.getHierPred()));
+				NwaBinaryFormat.writeVarint(out, letter2index.get(trans.getLetter()));
+				NwaBinaryFormat.writeVarint(out, state2index.get(trans.getSucc()));
+			}
+		}
+		NwaBinaryFormat.writeVarint(out, 0);
+		out.flush();
+	}
+
+	private Map<LETTER, Integer> writeLetters(final DataOutputStream out) throws IOException {
+		final Map<LETTER, Integer> letter2kind = new HashMap<>();
+		final List<LETTER> letters = new ArrayList<>();
+		addLetters(mNwa.getVpAlphabet().getInternalAlphabet(), NwaBinaryFormat.INTERNAL, letter2kind, letters);
+		addLetters(mNwa.getVpAlphabet().getCallAlphabet(), NwaBinaryFormat.CALL, letter2kind, letters);
+		addLetters(mNwa.getVpAlphabet().getReturnAlphabet(), NwaBinaryFormat.RETURN, letter2kind, letters);
+
+		final Map<LETTER, Integer> letter2index = new HashMap<>();
+		NwaBinaryFormat.writeVarint(out, letters.size());
+		for (final LETTER letter : letters) {
+			letter2index.put(letter, letter2index.size());
+			out.writeByte(letter2kind.get(letter));
+			NwaBinaryFormat.writeString(out, letter.toString());
+		}
+		return letter2index;
+	}
+
+	private static <LETTER> void addLetters(final Iterable<LETTER> alphabet, final int kind,
+			final Map<LETTER, Integer> letter2kind, final List<LETTER> letters) {
+		for (final LETTER letter : alphabet) {
+			final Integer oldKind = letter2kind.put(letter, kind);
+			if (oldKind == null) {
+				letters.add(letter);
+			} else {
+				letter2kind.put(letter, oldKind | kind);
+			}
+		}
+	}
+
+	private Map<STATE, Integer> writeStates(final DataOutputStream out) throws IOException {
+		final Map<STATE, Integer> state2index = new HashMap<>();
+		NwaBinaryFormat.writeVarint(out, mNwa.size());
+		for (final STATE state : mNwa.getStates()) {
+			state2index.put(state, state2index.size());
+			int flags = 0;
+			if (mNwa.isInitial(state)) {
+				flags |= NwaBinaryFormat.INITIAL;
+			}
+			if (mNwa.isFinal(state)) {
+				flags |= NwaBinaryFormat.FINAL;
+			}
+			out.writeByte(flags);
+			NwaBinaryFormat.writeString(out, state.toString());
+		}
+		return state2index;
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.oldapi.DifferenceDD;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Compares {@link IncrementalDifference} with {@link DifferenceDD} over several refinement rounds, where the result of
+ * one round is the minuend of the next round.
+ */
+public class IncrementalDifferenceTest {
+	private static final List<String> INTERNALS = Arrays.asList("a", "b", "c");
+	private static final String CALL = "call";
+	private static final String RETURN = "return";
+
+	private AutomataLibraryServices mServices;
+	private StringFactory mStateFactory;
+	private VpAlphabet<String> mAlphabet;
+
+	@Before
+	public void setUp() {
+		mServices = new AutomataLibraryServices(UltimateMocks.createUltimateServiceProviderMock());
+		mStateFactory = new StringFactory();
+		mAlphabet = new VpAlphabet<>(new HashSet<>(INTERNALS), new HashSet<>(Arrays.asList(CALL)),
+				new HashSet<>(Arrays.asList(RETURN)));
+	}
+
+	@Test
+	public void severalRefinementRounds() throws AutomataLibraryException {
+		final NestedWordAutomaton<String, String> minuend = new NestedWordAutomaton<>(mServices, mAlphabet,
+				mStateFactory);
+		for (int i = 0; i <= 8; i++) {
+			minuend.addState(i == 0, i == 5 || i == 7 || i == 8, "q" + i);
+		}
+		minuend.addInternalTransition("q0", "a", "q1");
+		minuend.addInternalTransition("q1", "b", "q2");
+		minuend.addCallTransition("q2", CALL, "q3");
+		minuend.addInternalTransition("q3", "c", "q4");
+		minuend.addReturnTransition("q4", "q2", RETURN, "q5");
+		minuend.addInternalTransition("q5", "b", "q8");
+		minuend.addInternalTransition("q0", "c", "q6");
+		minuend.addInternalTransition("q6", "a", "q7");
+		minuend.addInternalTransition("q7", "c", "q6");
+
+		// words with two b's
+		final NestedWordAutomaton<String, String> bb = constructSubtrahend("s", "b", "b");
+		// words with c directly followed by a
+		final NestedWordAutomaton<String, String> ca = constructSubtrahend("t", "c", "a");
+		// words with a directly followed by b
+		final NestedWordAutomaton<String, String> ab = constructSubtrahend("u", "a", "b");
+
+		final IncrementalDifference<String, String> first =
+				new IncrementalDifference<>(mServices, mStateFactory, minuend, bb, determinizer(bb), false);
+		Assert.assertTrue("states without b-successors are reused",
+				first.getResult().getStates().containsAll(Arrays.asList("q6", "q7")));
+
+		checkRounds(minuend, Arrays.asList(bb, ca, ab));
+	}
+
+	@Test
+	public void randomRefinementRounds() throws AutomataLibraryException {
+		for (int seed = 0; seed < 20; seed++) {
+			final Random random = new Random(seed);
+			final NestedWordAutomaton<String, String> minuend = constructRandomMinuend(random);
+			checkRounds(minuend, Arrays.asList(constructRandomSubtrahend(random, "r"),
+					constructRandomSubtrahend(random, "s"), constructRandomSubtrahend(random, "t")));
+		}
+	}
+
+	private void checkRounds(final INestedWordAutomaton<String, String> minuend,
+			final List<NestedWordAutomaton<String, String>> subtrahends) throws AutomataLibraryException {
+		INestedWordAutomaton<String, String> incremental = minuend;
+		INestedWordAutomaton<String, String> reference = minuend;
+		for (final NestedWordAutomaton<String, String> subtrahend : subtrahends) {
+			incremental = new IncrementalDifference<>(mServices, mStateFactory, incremental, subtrahend,
+					determinizer(subtrahend), false).getResult();
+			reference = new DifferenceDD<>(mServices, mStateFactory, reference, subtrahend, determinizer(subtrahend),
+					false, false).getResult();
+			Assert.assertTrue(new IsEquivalent<>(mServices, mStateFactory, incremental, reference).getResult());
+		}
+	}
+
+	private PowersetDeterminizer<String, String> determinizer(final NestedWordAutomaton<String, String> subtrahend) {
+		return new PowersetDeterminizer<>(subtrahend, true, mStateFactory);
+	}
+
+	/**
+	 * @return deterministic automaton that accepts all nested words in which first is directly followed by second
+	 */
+	private NestedWordAutomaton<String, String> constructSubtrahend(final String prefix, final String first,
+			final String second) {
+		final NestedWordAutomaton<String, String> result =
+				new NestedWordAutomaton<>(mServices, mAlphabet, mStateFactory);
+		final String initial = prefix + "0";
+		final String seen = prefix + "1";
+		final String accepting = prefix + "2";
+		result.addState(true, false, initial);
+		result.addState(false, false, seen);
+		result.addState(false, true, accepting);
+		for (final String letter : INTERNALS) {
+			result.addInternalTransition(initial, letter, letter.equals(first) ? seen : initial);
+			result.addInternalTransition(seen, letter,
+					letter.equals(second) ? accepting : letter.equals(first) ? seen : initial);
+			result.addInternalTransition(accepting, letter, accepting);
+		}
+		for (final String state : Arrays.asList(initial, seen, accepting)) {
+			final String succ = state.equals(accepting) ? accepting : initial;
+			result.addCallTransition(state, CALL, succ);
+			for (final String hier : Arrays.asList(initial, seen, accepting)) {
+				result.addReturnTransition(state, hier, RETURN, succ);
+			}
+		}
+		return result;
+	}
+
+	private NestedWordAutomaton<String, String> constructRandomMinuend(final Random random) {
+		final int size = 5;
+		final NestedWordAutomaton<String, String> result =
+				new NestedWordAutomaton<>(mServices, mAlphabet, mStateFactory);
+		for (int i = 0; i < size; i++) {
+			result.addState(i == 0, random.nextInt(3) == 0, "q" + i);
+		}
+		for (int i = 0; i < 2 * size; i++) {
+			final String pred = "q" + random.nextInt(size);
+			final String succ = "q" + random.nextInt(size);
+			switch (random.nextInt(4)) {
+			case 0:
+				result.addCallTransition(pred, CALL, succ);
+				break;
+			case 1:
+				result.addReturnTransition(pred, "q" + random.nextInt(size), RETURN, succ);
+				break;
+			default:
+				result.addInternalTransition(pred, INTERNALS.get(random.nextInt(INTERNALS.size())), succ);
+				break;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return deterministic automaton whose initial state has a self-loop for most letters, hence only few letters are
+	 *         constrained
+	 */
+	private NestedWordAutomaton<String, String> constructRandomSubtrahend(final Random random, final String prefix) {
+		final int size = 3;
+		final NestedWordAutomaton<String, String> result =
+				new NestedWordAutomaton<>(mServices, mAlphabet, mStateFactory);
+		for (int i = 0; i < size; i++) {
+			result.addState(i == 0, i == size - 1, prefix + i);
+		}
+		for (int i = 0; i < size; i++) {
+			final String state = prefix + i;
+			for (final String letter : INTERNALS) {
+				if (i == 0 && random.nextInt(3) != 0) {
+					result.addInternalTransition(state, letter, state);
+				} else if (random.nextInt(5) != 0) {
+					result.addInternalTransition(state, letter, prefix + random.nextInt(size));
+				}
+			}
+			result.addCallTransition(state, CALL, i == 0 ? state : prefix + random.nextInt(size));
+			for (int j = 0; j < size; j++) {
+				final boolean loop = i == 0 && j == 0 && random.nextBoolean();
+				result.addReturnTransition(state, prefix + j, RETURN, loop ? state : prefix + random.nextInt(size));
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.parallel;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEquivalent;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.RemoveDeadEnds;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.ShrinkNwa;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Compares {@link ShrinkNwaParallel} with the sequential {@link ShrinkNwa} on random automata.
+ */
+public class ShrinkNwaParallelTest {
+	private static final List<String> INTERNALS = Arrays.asList("a", "b");
+	private static final String CALL = "call";
+	private static final String RETURN = "return";
+	private static final int NUMBER_OF_THREADS = 4;
+
+	private AutomataLibraryServices mServices;
+	private StringFactory mStateFactory;
+
+	@Before
+	public void setUp() {
+		mServices = new AutomataLibraryServices(UltimateMocks.createUltimateServiceProviderMock());
+		mStateFactory = new StringFactory();
+	}
+
+	/**
+	 * On deterministic finite automata, the bisimulation quotient is the minimal automaton, so both operations have
+	 * to return automata of the same size.
+	 */
+	@Test
+	public void deterministicFiniteAutomata() throws AutomataLibraryException {
+		final VpAlphabet<String> alphabet = new VpAlphabet<>(new HashSet<>(INTERNALS));
+		for (int seed = 0; seed < 50; seed++) {
+			final Random random = new Random(seed);
+			final NestedWordAutomaton<String, String> nwa =
+					new NestedWordAutomaton<>(mServices, alphabet, mStateFactory);
+			final int size = 8;
+			for (int i = 0; i < size; i++) {
+				nwa.addState(i == 0, random.nextInt(3) == 0, "q" + i);
+			}
+			for (int i = 0; i < size; i++) {
+				for (final String letter : INTERNALS) {
+					if (random.nextInt(4) != 0) {
+						nwa.addInternalTransition("q" + i, letter, "q" + random.nextInt(size));
+					}
+				}
+			}
+			final INestedWordAutomaton<String, String> parallel = check(nwa);
+			if (parallel != null) {
+				Assert.assertEquals("seed " + seed, shrinkNwa(nwa).size(), parallel.size());
+			}
+		}
+	}
+
+	/**
+	 * On nested word automata, the results have to be equivalent to the operand, and the result of the sequential
+	 * operation, which also considers down states, must not be larger.
+	 */
+	@Test
+	public void nestedWordAutomata() throws AutomataLibraryException {
+		final VpAlphabet<String> alphabet = new VpAlphabet<>(new HashSet<>(INTERNALS),
+				new HashSet<>(Arrays.asList(CALL)), new HashSet<>(Arrays.asList(RETURN)));
+		for (int seed = 0; seed < 50; seed++) {
+			final Random random = new Random(seed);
+			final NestedWordAutomaton<String, String> nwa =
+					new NestedWordAutomaton<>(mServices, alphabet, mStateFactory);
+			final int size = 6;
+			for (int i = 0; i < size; i++) {
+				nwa.addState(i == 0, random.nextInt(3) == 0, "q" + i);
+			}
+			for (int i = 0; i < 3 * size; i++) {
+				final String pred = "q" + random.nextInt(size);
+				final String succ = "q" + random.nextInt(size);
+				switch (random.nextInt(4)) {
+				case 0:
+					nwa.addCallTransition(pred, CALL, succ);
+					break;
+				case 1:
+					nwa.addReturnTransition(pred, "q" + random.nextInt(size), RETURN, succ);
+					break;
+				default:
+					nwa.addInternalTransition(pred, INTERNALS.get(random.nextInt(INTERNALS.size())), succ);
+					break;
+				}
+			}
+			final INestedWordAutomaton<String, String> parallel = check(nwa);
+			if (parallel != null) {
+				Assert.assertTrue("seed " + seed, shrinkNwa(nwa).size() <= parallel.size());
+			}
+		}
+	}
+
+	/**
+	 * Minimizes the operand without dead ends sequentially and in parallel with one and with several threads.
+	 *
+	 * @return the parallel result, or {@code null} if the operand has no states without dead ends
+	 */
+	private INestedWordAutomaton<String, String> check(final NestedWordAutomaton<String, String> nwa)
+			throws AutomataLibraryException {
+		final INestedWordAutomaton<String, String> operand = new RemoveDeadEnds<>(mServices, nwa).getResult();
+		if (operand.size() == 0) {
+			return null;
+		}
+		final INestedWordAutomaton<String, String> sequential = shrinkNwa(nwa);
+		final INestedWordAutomaton<String, String> oneThread =
+				new ShrinkNwaParallel<>(mServices, mStateFactory, operand, null, false, false, 1).getResult();
+		final INestedWordAutomaton<String, String> parallel = new ShrinkNwaParallel<>(mServices, mStateFactory,
+				operand, null, false, false, NUMBER_OF_THREADS).getResult();
+		Assert.assertEquals(oneThread.size(), parallel.size());
+		Assert.assertTrue(new IsEquivalent<>(mServices, mStateFactory, operand, parallel).getResult());
+		Assert.assertTrue(new IsEquivalent<>(mServices, mStateFactory, sequential, parallel).getResult());
+		return parallel;
+	}
+
+	private INestedWordAutomaton<String, String> shrinkNwa(final NestedWordAutomaton<String, String> nwa)
+			throws AutomataLibraryException {
+		final INestedWordAutomaton<String, String> operand = new RemoveDeadEnds<>(mServices, nwa).getResult();
+		return new ShrinkNwa<>(mServices, mStateFactory, operand).getResult();
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryException;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.LibraryIdentifiers;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.delayed.BuchiReduce;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.delayed.DelayedGameGraph;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.delayed.DelayedSimulation;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.direct.DirectGameGraph;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.direct.DirectSimulation;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.util.DuplicatorVertex;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.util.SpoilerVertex;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Checks that the parallel lifting of progress measures in {@link ASimulation} computes the same progress measures as
+ * the sequential lifting.
+ */
+public class ParallelLiftingTest {
+	private static final List<String> LETTERS = Arrays.asList("a", "b");
+	private static final int NUMBER_OF_THREADS = 4;
+	/**
+	 * Large enough such that the game graphs have more vertices than the parallel lifting needs.
+	 */
+	private static final int NUMBER_OF_STATES = 24;
+
+	private AutomataLibraryServices mServices;
+	private ILogger mLogger;
+	private StringFactory mStateFactory;
+
+	@Before
+	public void setUp() {
+		mServices = new AutomataLibraryServices(UltimateMocks.createUltimateServiceProviderMock());
+		mLogger = mServices.getLoggingService().getLogger(LibraryIdentifiers.PLUGIN_ID);
+		mStateFactory = new StringFactory();
+	}
+
+	@Test
+	public void delayedSimulation() throws AutomataLibraryException {
+		for (int seed = 0; seed < 5; seed++) {
+			final NestedWordAutomaton<String, String> buchi = constructRandomBuchi(new Random(seed));
+			for (final boolean useSccs : Arrays.asList(false, true)) {
+				final DelayedGameGraph<String, String> sequential = new DelayedGameGraph<>(mServices, mStateFactory,
+						mServices.getProgressAwareTimer(), mLogger, buchi);
+				sequential.generateGameGraphFromAutomaton();
+				new DelayedSimulation<>(mServices.getProgressAwareTimer(), mLogger, useSccs, mStateFactory,
+						sequential).doSimulation();
+
+				final DelayedGameGraph<String, String> parallel = new DelayedGameGraph<>(mServices, mStateFactory,
+						mServices.getProgressAwareTimer(), mLogger, buchi);
+				parallel.generateGameGraphFromAutomaton();
+				final DelayedSimulation<String, String> simulation = new DelayedSimulation<>(
+						mServices.getProgressAwareTimer(), mLogger, useSccs, mStateFactory, parallel);
+				simulation.setNumberOfThreads(NUMBER_OF_THREADS);
+				simulation.doSimulation();
+
+				Assert.assertTrue(parallel.getSize() > 1024);
+				Assert.assertEquals("seed " + seed, getProgressMeasures(sequential), getProgressMeasures(parallel));
+			}
+			Assert.assertEquals(new BuchiReduce<>(mServices, mStateFactory, buchi).getResult().size(),
+					new BuchiReduce<>(mServices, mStateFactory, buchi, NUMBER_OF_THREADS).getResult().size());
+		}
+	}
+
+	@Test
+	public void directSimulation() throws AutomataLibraryException {
+		for (int seed = 0; seed < 5; seed++) {
+			final NestedWordAutomaton<String, String> buchi = constructRandomBuchi(new Random(seed));
+			for (final boolean useSccs : Arrays.asList(false, true)) {
+				final DirectGameGraph<String, String> sequential = new DirectGameGraph<>(mServices, mStateFactory,
+						mServices.getProgressAwareTimer(), mLogger, buchi);
+				sequential.generateGameGraphFromAutomaton();
+				new DirectSimulation<>(mServices.getProgressAwareTimer(), mLogger, useSccs, mStateFactory,
+						sequential).doSimulation();
+
+				final DirectGameGraph<String, String> parallel = new DirectGameGraph<>(mServices, mStateFactory,
+						mServices.getProgressAwareTimer(), mLogger, buchi);
+				parallel.generateGameGraphFromAutomaton();
+				final DirectSimulation<String, String> simulation = new DirectSimulation<>(
+						mServices.getProgressAwareTimer(), mLogger, useSccs, mStateFactory, parallel);
+				simulation.setNumberOfThreads(NUMBER_OF_THREADS);
+				simulation.doSimulation();
+
+				Assert.assertTrue(parallel.getSize() > 1024);
+				Assert.assertEquals("seed " + seed, getProgressMeasures(sequential), getProgressMeasures(parallel));
+			}
+		}
+	}
+
+	private static Map<String, Integer> getProgressMeasures(final AGameGraph<String, String> game) {
+		final int infinity = game.getGlobalInfinity();
+		final Map<String, Integer> result = new HashMap<>();
+		for (final SpoilerVertex<String, String> vertex : game.getSpoilerVertices()) {
+			result.put("S " + vertex.getQ0() + " " + vertex.getQ1() + " " + vertex.isB(),
+					vertex.getPM(null, infinity));
+		}
+		for (final DuplicatorVertex<String, String> vertex : game.getDuplicatorVertices()) {
+			result.put("D " + vertex.getQ0() + " " + vertex.getQ1() + " " + vertex.getLetter() + " " + vertex.isB(),
+					vertex.getPM(null, infinity));
+		}
+		return result;
+	}
+
+	private NestedWordAutomaton<String, String> constructRandomBuchi(final Random random) {
+		final NestedWordAutomaton<String, String> result =
+				new NestedWordAutomaton<>(mServices, new VpAlphabet<>(new HashSet<>(LETTERS)), mStateFactory);
+		for (int i = 0; i < NUMBER_OF_STATES; i++) {
+			result.addState(i == 0, random.nextInt(4) == 0, "q" + i);
+		}
+		for (int i = 0; i < NUMBER_OF_STATES; i++) {
+			for (final String letter : LETTERS) {
+				result.addInternalTransition("q" + i, letter, "q" + random.nextInt(NUMBER_OF_STATES));
+				if (random.nextBoolean()) {
+					result.addInternalTransition("q" + i, letter, "q" + random.nextInt(NUMBER_OF_STATES));
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Automata Library.
+ *
+ * The ULTIMATE Automata Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Automata Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Automata Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Automata Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Automata Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.AutomatonDefinitionPrinter;
+import de.uni_freiburg.informatik.ultimate.automata.AutomatonDefinitionPrinter.Format;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingCallTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingInternalTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingReturnTransition;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Round-trip tests for {@link NwaAtsReader}, {@link NwaBinaryWriter}, and {@link NwaBinaryReader}.
+ */
+public class NwaSerializationTest {
+	private AutomataLibraryServices mServices;
+
+	@Before
+	public void setUp() {
+		mServices = new AutomataLibraryServices(UltimateMocks.createUltimateServiceProviderMock());
+	}
+
+	@Test
+	public void atsEscapeSequences() throws IOException {
+		final String ats = "NestedWordAutomaton nwa = (\n" + "  callAlphabet = { },\n"
+				+ "  internalAlphabet = { \"a\\\"b\" \"c\\\\d\" \"e\\tf\\n\" \"\\\\\" },\n" + "  returnAlphabet = { },\n"
+				+ "  states = { \"q\\\"0\" \"q1\" },\n" + "  initialStates = { \"q\\\"0\" },\n"
+				+ "  finalStates = { \"q1\" },\n" + "  callTransitions = { },\n"
+				+ "  internalTransitions = { (\"q\\\"0\" \"a\\\"b\" \"q1\") (\"q1\" \"\\\\\" \"q1\") },\n"
+				+ "  returnTransitions = { }\n" + ");\n";
+		final NestedWordAutomaton<String, String> nwa = readAts(ats);
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList("a\"b", "c\\d", "e\tf\n", "\\")),
+				nwa.getVpAlphabet().getInternalAlphabet());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("q\"0", "q1")), nwa.getStates());
+		Assert.assertTrue(nwa.isInitial("q\"0"));
+		Assert.assertEquals(Arrays.asList("internal q\"0 a\"b q1", "internal q1 \\ q1"), transitions(nwa));
+	}
+
+	@Test(expected = IOException.class)
+	public void atsIllegalEscapeSequence() throws IOException {
+		readAts("FiniteAutomaton fa = ( alphabet = { \"a\\x\" }, states = { }, initialStates = { }, "
+				+ "finalStates = { }, transitions = { } );");
+	}
+
+	@Test
+	public void atsRoundTrip() throws IOException {
+		final NestedWordAutomaton<String, String> nwa = createNwa();
+		final String ats = new AutomatonDefinitionPrinter<>(mServices, "nwa", Format.ATS, nwa).getDefinitionAsString();
+		assertSameAutomaton(nwa, readAts(ats));
+	}
+
+	@Test
+	public void binaryRoundTrip() throws IOException {
+		final NestedWordAutomaton<String, String> nwa = createNwa();
+		final NestedWordAutomaton<String, String> result = new NwaBinaryReader(mServices).read(writeBinary(nwa));
+		assertSameAutomaton(nwa, result);
+	}
+
+	/**
+	 * Two different states with the same string must stay different states.
+	 */
+	@Test
+	public void binaryStatesWithEqualStrings() throws IOException {
+		final Object first = new Label("q");
+		final Object second = new Label("q");
+		final NestedWordAutomaton<String, Object> nwa = new NestedWordAutomaton<>(mServices,
+				new VpAlphabet<>(Collections.singleton("a"), Collections.emptySet(), Collections.emptySet()),
+				() -> new Label("#"));
+		nwa.addState(true, false, first);
+		nwa.addState(false, true, second);
+		nwa.addInternalTransition(first, "a", second);
+
+		final NestedWordAutomaton<String, Integer> result = new NwaBinaryReader(mServices).read(writeBinary(nwa),
+				(index, string) -> string, (index, string) -> index, () -> -1);
+		Assert.assertEquals(2, result.size());
+		final Integer initial = result.getInitialStates().iterator().next();
+		Assert.assertFalse(result.isFinal(initial));
+		final OutgoingInternalTransition<String, Integer> trans = result.internalSuccessors(initial).iterator().next();
+		Assert.assertTrue(result.isFinal(trans.getSucc()));
+		Assert.assertFalse(initial.equals(trans.getSucc()));
+	}
+
+	@Test(expected = IOException.class)
+	public void binaryStatesWithEqualStringsAsStrings() throws IOException {
+		final NestedWordAutomaton<String, Object> nwa = new NestedWordAutomaton<>(mServices,
+				new VpAlphabet<>(Collections.singleton("a"), Collections.emptySet(), Collections.emptySet()),
+				() -> new Label("#"));
+		nwa.addState(true, false, new Label("q"));
+		nwa.addState(false, true, new Label("q"));
+		new NwaBinaryReader(mServices).read(writeBinary(nwa));
+	}
+
+	private NestedWordAutomaton<String, String> readAts(final String ats) throws IOException {
+		final Map<String, NestedWordAutomaton<String, String>> automata =
+				new NwaAtsReader(mServices).read(new StringReader(ats));
+		Assert.assertEquals(1, automata.size());
+		return automata.values().iterator().next();
+	}
+
+	private static <STATE> ByteArrayInputStream writeBinary(final INestedWordAutomaton<String, STATE> nwa)
+			throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new NwaBinaryWriter<>(nwa).write(out);
+		return new ByteArrayInputStream(out.toByteArray());
+	}
+
+	private NestedWordAutomaton<String, String> createNwa() {
+		final NestedWordAutomaton<String, String> nwa = new NestedWordAutomaton<>(mServices,
+				new VpAlphabet<>(new HashSet<>(Arrays.asList("a", "b")), Collections.singleton("c"),
+						Collections.singleton("r")),
+				new StringFactory());
+		nwa.addState(true, false, "q0");
+		nwa.addState(false, false, "q1");
+		nwa.addState(false, true, "q2");
+		nwa.addInternalTransition("q0", "a", "q0");
+		nwa.addInternalTransition("q0", "b", "q1");
+		nwa.addCallTransition("q1", "c", "q0");
+		nwa.addReturnTransition("q0", "q1", "r", "q2");
+		nwa.addInternalTransition("q2", "a", "q2");
+		return nwa;
+	}
+
+	private static void assertSameAutomaton(final NestedWordAutomaton<String, String> expected,
+			final NestedWordAutomaton<String, String> actual) {
+		Assert.assertEquals(expected.getVpAlphabet().getInternalAlphabet(),
+				actual.getVpAlphabet().getInternalAlphabet());
+		Assert.assertEquals(expected.getVpAlphabet().getCallAlphabet(), actual.getVpAlphabet().getCallAlphabet());
+		Assert.assertEquals(expected.getVpAlphabet().getReturnAlphabet(), actual.getVpAlphabet().getReturnAlphabet());
+		Assert.assertEquals(expected.getStates(), actual.getStates());
+		Assert.assertEquals(new HashSet<>(expected.getInitialStates()), new HashSet<>(actual.getInitialStates()));
+		Assert.assertEquals(new HashSet<>(expected.getFinalStates()), new HashSet<>(actual.getFinalStates()));
+		Assert.assertEquals(transitions(expected), transitions(actual));
+	}
+
+	private static List<String> transitions(final NestedWordAutomaton<String, String> nwa) {
+		final List<String> result = new ArrayList<>();
+		for (final String state : nwa.getStates()) {
+			for (final OutgoingInternalTransition<String, String> trans : nwa.internalSuccessors(state)) {
+				result.add("internal " + state + " " + trans.getLetter() + " " + trans.getSucc());
+			}
+			for (final OutgoingCallTransition<String, String> trans : nwa.callSuccessors(state)) {
+				result.add("call " + state + " " + trans.getLetter() + " " + trans.getSucc());
+			}
+			for (final OutgoingReturnTransition<String, String> trans : nwa.returnSuccessors(state)) {
+				result.add("return " + state + " " + trans.getHierPred() + " " + trans.getLetter() + " "
+						+ trans.getSucc());
+			}
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * State whose equality is its identity.
+	 */
+	private static final class Label {
+		private final String mName;
+
+		Label(final String name) {
+			mName = name;
+		}
+
+		@Override
+		public String toString() {
+			return mName;
+		}
+	}
+}
@@ -68,6 +68,21 @@ public interface IAbstractDomain<STATE extends IAbstractState<STATE>, ACTION> {
 		throw new UnsupportedOperationException("This domain does not support the post operator");
 	}
 
+	/**
+	 * Create a new post operator for fixpoint computations that run concurrently to other fixpoint computations of
+	 * this domain, e.g., the procedure summaries of a fixpoint engine. Each of these computations uses its own post
+	 * operator.
+	 * <p>
+	 * A domain that returns a post operator here guarantees that the post operators it creates share no mutable state,
+	 * and that its states and its widening operator can be used by several threads at once.
+	 *
+	 * @return A new post operator that shares no mutable state with other post operators of this domain, or
+	 *         <code>null</code> if this domain does not support concurrent fixpoint computations.
+	 */
+	default IAbstractPostOperator<STATE, ACTION> createIndependentPostOperator() {
+		return null;
+	}
+
 	/**
 	 * @return The pre operator for the current abstract domain.
 	 */
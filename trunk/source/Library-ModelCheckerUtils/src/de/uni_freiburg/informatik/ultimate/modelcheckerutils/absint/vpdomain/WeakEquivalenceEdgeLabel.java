@@ -42,6 +42,8 @@ import de.uni_freiburg.informatik.ultimate.logic.Script;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.DataStructureUtils;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.BacktrackingCongruenceClosure;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.CcManager;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.CongruenceClosure;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.ICongruenceClosure;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.IRemovalInfo;
@@ -491,13 +493,27 @@ class WeakEquivalenceEdgeLabel<NODE extends IEqNodeIdentifier<NODE>, DISJUNCT ex
 			originalThis = this;
 		}
 
+		final CcManager<NODE> ccManager = mWeqCcManager.getCcManager();
 		final Set<DISJUNCT> newLabelContent = new HashSet<>();
 		for (final DISJUNCT lc1 : getDisjuncts()) {
+			/*
+			 * if lc1 is copied for several meets, the meets are first applied to one backtracking version of lc1, such
+			 * that only the consistent ones are copied (the inconsistent ones would be filtered out below anyway)
+			 */
+			final BacktrackingCongruenceClosure<NODE> lc1Backtracking =
+					(!inplace || lc1.isFrozen()) && otherLabel.getNumberOfDisjuncts() > 1
+						&& lc1.getClass().equals(CongruenceClosure.class)
+					? ccManager.getBacktrackingCc((CongruenceClosure<NODE>) lc1)
+					: null;
 			for (final DISJUNCT lc2 : otherLabel.getDisjuncts()) {
 				if (inplace && !lc1.isFrozen()) {
 					mWeqCcManager.meet(lc1, lc2, true);
 					newLabelContent.add(lc1);
 				} else {
+					if (lc1Backtracking != null
+							&& ccManager.isMeetInconsistent(lc1Backtracking, (CongruenceClosure<NODE>) lc2)) {
+						continue;
+					}
 					final DISJUNCT meet = mWeqCcManager.meet(lc1, lc2, false);
 					newLabelContent.add(meet);
 				}
@@ -28,6 +28,7 @@
  */
 package de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -43,6 +44,7 @@ import de.uni_freiburg.informatik.ultimate.core.lib.exceptions.RunningTaskInfo;
 import de.uni_freiburg.informatik.ultimate.core.lib.exceptions.ToolchainCanceledException;
 import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
 import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
 import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
 import de.uni_freiburg.informatik.ultimate.logic.LetTerm;
 import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
@@ -1134,6 +1136,52 @@ public final class TransFormulaUtils {
 		return null;
 	}
 
+	/**
+	 * Returns the auxiliary variables of a TransFormula in the order of their first occurrence in a depth-first,
+	 * left-to-right traversal of its formula. In contrast to the names of auxiliary variables, which are generated by a
+	 * counter, this order only depends on the structure of the formula. Hence it can be used to rename auxiliary
+	 * variables in a way that is stable across runs. Auxiliary variables that do not occur in the formula are omitted.
+	 */
+	public static List<TermVariable> getAuxVarsInOrderOfOccurrence(final TransFormula tf) {
+		final Set<TermVariable> auxVars = tf.getAuxVars();
+		final List<TermVariable> result = new ArrayList<>(auxVars.size());
+		if (auxVars.isEmpty()) {
+			return result;
+		}
+		final Set<Term> visited = new HashSet<>();
+		final ArrayDeque<Term> stack = new ArrayDeque<>();
+		stack.push(tf.getFormula());
+		while (!stack.isEmpty() && result.size() < auxVars.size()) {
+			final Term term = stack.pop();
+			if (!visited.add(term)) {
+				continue;
+			}
+			final Term[] children;
+			if (term instanceof TermVariable) {
+				if (auxVars.contains(term)) {
+					result.add((TermVariable) term);
+				}
+				continue;
+			} else if (term instanceof ApplicationTerm) {
+				children = ((ApplicationTerm) term).getParameters();
+			} else if (term instanceof QuantifiedFormula) {
+				children = new Term[] { ((QuantifiedFormula) term).getSubformula() };
+			} else if (term instanceof AnnotatedTerm) {
+				children = new Term[] { ((AnnotatedTerm) term).getSubterm() };
+			} else if (term instanceof LetTerm) {
+				final Term[] values = ((LetTerm) term).getValues();
+				children = Arrays.copyOf(values, values.length + 1);
+				children[values.length] = ((LetTerm) term).getSubTerm();
+			} else {
+				continue;
+			}
+			for (int i = children.length - 1; i >= 0; --i) {
+				stack.push(children[i]);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Pretty print a TransFormula by adding some line breaks to its normal {@link Object#toString()} representation.
 	 * Uses some simple heuristics like "align equality constraints which are argument to the same and/or by the same
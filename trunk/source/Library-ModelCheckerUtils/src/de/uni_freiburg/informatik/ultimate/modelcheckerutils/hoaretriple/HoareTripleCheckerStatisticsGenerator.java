@@ -45,6 +45,8 @@ public class HoareTripleCheckerStatisticsGenerator implements IStatisticsDataPro
 	protected final InCaReCounter mSolverCounterUnsat;
 	protected final InCaReCounter mSolverCounterUnknown;
 	protected final InCaReCounter mSolverCounterNotChecked;
+	protected final InCaReCounter mPersistentCacheHitCounter;
+	protected final InCaReCounter mPersistentCacheMissCounter;
 	protected final Benchmark mBenchmark;
 
 	protected boolean mRunning = false;
@@ -58,6 +60,8 @@ public class HoareTripleCheckerStatisticsGenerator implements IStatisticsDataPro
 		mSolverCounterUnsat = new InCaReCounter();
 		mSolverCounterUnknown = new InCaReCounter();
 		mSolverCounterNotChecked= new InCaReCounter();
+		mPersistentCacheHitCounter = new InCaReCounter();
+		mPersistentCacheMissCounter = new InCaReCounter();
 		mBenchmark = new Benchmark();
 		mBenchmark.register(String.valueOf(HoareTripleCheckerStatisticsDefinitions.Time));
 	}
@@ -86,6 +90,12 @@ public class HoareTripleCheckerStatisticsGenerator implements IStatisticsDataPro
 	public InCaReCounter getSolverCounterNotChecked() {
 		return mSolverCounterNotChecked;
 	}
+	public InCaReCounter getPersistentCacheHitCounter() {
+		return mPersistentCacheHitCounter;
+	}
+	public InCaReCounter getPersistentCacheMissCounter() {
+		return mPersistentCacheMissCounter;
+	}
 	public long getEdgeCheckerTime() {
 		return (long) mBenchmark.getElapsedTime(String.valueOf(HoareTripleCheckerStatisticsDefinitions.Time), TimeUnit.NANOSECONDS);
 	}
@@ -123,6 +133,10 @@ public class HoareTripleCheckerStatisticsGenerator implements IStatisticsDataPro
 			return mSolverCounterUnknown;
 		case SolverNotchecked:
 			return mSolverCounterNotChecked;
+		case PersistentCacheHit:
+			return mPersistentCacheHitCounter;
+		case PersistentCacheMiss:
+			return mPersistentCacheMissCounter;
 		case Time:
 			return getEdgeCheckerTime();
 		default:
@@ -154,6 +168,10 @@ public class HoareTripleCheckerStatisticsGenerator implements IStatisticsDataPro
 		builder.append(mSolverCounterUnknown);
 		builder.append(", mSolverCounterNotChecked=");
 		builder.append(mSolverCounterNotChecked);
+		builder.append(", mPersistentCacheHitCounter=");
+		builder.append(mPersistentCacheHitCounter);
+		builder.append(", mPersistentCacheMissCounter=");
+		builder.append(mPersistentCacheMissCounter);
 		builder.append("]");
 		return builder.toString();
 	}
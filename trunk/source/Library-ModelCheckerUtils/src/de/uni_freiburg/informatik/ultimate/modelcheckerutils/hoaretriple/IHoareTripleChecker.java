@@ -26,6 +26,9 @@
  */
 package de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
@@ -73,6 +76,34 @@ public interface IHoareTripleChecker extends ILockHolderWithVoluntaryLockRelease
 	 */
 	Validity checkReturn(IPredicate preLin, IPredicate preHier, IReturnAction act, IPredicate succ);
 
+	/**
+	 * Check the Hoare triples {pre} act {succ} for all succ in succs, where act is an internal action. Implementations
+	 * may share work between the checks, e.g., assert pre and act only once.
+	 *
+	 * @return map from each element of succs to the validity of the corresponding Hoare triple
+	 */
+	default Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		for (final IPredicate succ : succs) {
+			result.put(succ, checkInternal(pre, act, succ));
+		}
+		return result;
+	}
+
+	/**
+	 * Check the Hoare triples {pre} call {succ} for all succ in succs, see
+	 * {@link #checkInternalBatch(IPredicate, IInternalAction, Collection)}.
+	 */
+	default Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		for (final IPredicate succ : succs) {
+			result.put(succ, checkCall(pre, act, succ));
+		}
+		return result;
+	}
+
 	HoareTripleCheckerStatisticsGenerator getEdgeCheckerBenchmark();
 
 	static Validity convertLBool2Validity(final LBool lbool) {
@@ -121,6 +152,10 @@ public interface IHoareTripleChecker extends ILockHolderWithVoluntaryLockRelease
 
 		SolverNotchecked(Integer.class, StatisticsType.IN_CA_RE_ADDITION, StatisticsType.DATA_BEFORE_KEY),
 
+		PersistentCacheHit(Integer.class, StatisticsType.IN_CA_RE_ADDITION, StatisticsType.DATA_BEFORE_KEY),
+
+		PersistentCacheMiss(Integer.class, StatisticsType.IN_CA_RE_ADDITION, StatisticsType.DATA_BEFORE_KEY),
+
 		Time(Integer.class, StatisticsType.LONG_ADDITION, StatisticsType.NANOS_BEFORE_KEY),;
 
 		private final Class<?> mClazz;
@@ -30,14 +30,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 
 import de.uni_freiburg.informatik.ultimate.core.model.translation.IProgramExecution.ProgramState;
 import de.uni_freiburg.informatik.ultimate.logic.Annotation;
 import de.uni_freiburg.informatik.ultimate.logic.FormulaUnLet;
 import de.uni_freiburg.informatik.ultimate.logic.QuotedObject;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
 import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
@@ -54,6 +57,7 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.Unm
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramNonOldVar;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramOldVar;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.ContainsQuantifier;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
@@ -90,6 +94,10 @@ public class IncrementalHoareTripleChecker implements IHoareTripleChecker {
 	private final boolean mConstructCounterexamples;
 	private ProgramState<Term> mCounterexampleStatePrecond;
 	private ProgramState<Term> mCounterexampleStatePostcond;
+	/**
+	 * Set to false if the solver cannot evaluate terms in a model, then batched checks are not filtered by models.
+	 */
+	private boolean mUseModelsInBatchChecks = true;
 
 	/**
 	 * @param constructCounterexamples
@@ -175,6 +183,83 @@ public class IncrementalHoareTripleChecker implements IHoareTripleChecker {
 		return checkValidity();
 	}
 
+	/**
+	 * Checks the candidates one by one while keeping pre and act asserted. Whenever a Hoare triple is invalid, the
+	 * satisfying model is used to decide the remaining candidates: each candidate that does not hold in the model is
+	 * invalid as well and does not need its own satisfiability check.
+	 */
+	@Override
+	public Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		return checkBatch(succs, succ -> checkInternal(pre, act, succ));
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		return checkBatch(succs, succ -> checkCall(pre, act, succ));
+	}
+
+	private Map<IPredicate, Validity> checkBatch(final Collection<IPredicate> succs,
+			final Function<IPredicate, Validity> singleCheck) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final List<IPredicate> candidates = new ArrayList<>(succs);
+		for (int i = 0; i < candidates.size(); i++) {
+			final IPredicate succ = candidates.get(i);
+			if (result.containsKey(succ)) {
+				continue;
+			}
+			final Validity validity = singleCheck.apply(succ);
+			result.put(succ, validity);
+			if (validity == Validity.INVALID && mUseModelsInBatchChecks && mAssertedPostcond == succ) {
+				// the solver is still in the state of the satisfiable check of succ
+				filterInvalidByModel(candidates.subList(i + 1, candidates.size()), result);
+			}
+		}
+		return result;
+	}
+
+	private void filterInvalidByModel(final List<IPredicate> candidates, final Map<IPredicate, Validity> result) {
+		assert mManagedScript.isLockOwner(this);
+		final List<IPredicate> evaluated = new ArrayList<>();
+		final List<Term> postcondFormulas = new ArrayList<>();
+		for (final IPredicate candidate : candidates) {
+			if (result.containsKey(candidate)
+					|| new ContainsQuantifier().containsQuantifier(candidate.getFormula())) {
+				continue;
+			}
+			final Term postcondFormula;
+			if (mAssertedAction instanceof IInternalAction) {
+				postcondFormula = constructPostcondFormula(candidate, (IInternalAction) mAssertedAction,
+						mModifiableGlobalVariableManager, mManagedScript, this);
+			} else if (mAssertedAction instanceof ICallAction) {
+				postcondFormula = constructPostcondFormulaCall(candidate);
+			} else {
+				return;
+			}
+			evaluated.add(candidate);
+			postcondFormulas.add(postcondFormula);
+		}
+		if (evaluated.isEmpty()) {
+			return;
+		}
+		mEdgeCheckerBenchmark.continueEdgeCheckerTime();
+		final Map<Term, Term> values;
+		try {
+			values = mManagedScript.getValue(this, postcondFormulas.toArray(new Term[postcondFormulas.size()]));
+		} catch (final SMTLIBException | UnsupportedOperationException e) {
+			mUseModelsInBatchChecks = false;
+			return;
+		} finally {
+			mEdgeCheckerBenchmark.stopEdgeCheckerTime();
+		}
+		for (int i = 0; i < evaluated.size(); i++) {
+			if (SmtUtils.isFalse(values.get(postcondFormulas.get(i)))) {
+				result.put(evaluated.get(i), Validity.INVALID);
+			}
+		}
+	}
+
 	protected LBool prepareAssertionStackAndAddTransition(final IAction act) {
 		if (mAssertedAction != act) {
 			if (mAssertedAction != null) {
@@ -564,6 +649,18 @@ public class IncrementalHoareTripleChecker implements IHoareTripleChecker {
 		mManagedScript.push(this, 1);
 		mAssertedPostcond = p;
 
+		final Term renamedFormula = constructPostcondFormulaCall(p);
+		Term negation = mManagedScript.term(this, "not", renamedFormula);
+		if (mUseNamedTerms) {
+			final Annotation annot = new Annotation(ANNOT_NAMED, ID_NEGATED_POSTCONDITION);
+			negation = mManagedScript.annotate(this, negation, annot);
+		}
+		final LBool isSat = mManagedScript.assertTerm(this, negation);
+		mEdgeCheckerBenchmark.stopEdgeCheckerTime();
+		return isSat;
+	}
+
+	private Term constructPostcondFormulaCall(final IPredicate p) {
 		final Set<IProgramVar> boogieVars = p.getVars();
 		// rename oldVars to default constants of non-oldvars
 		Term renamedFormula = renameGlobalsAndOldVarsToNonOldDefaultConstants(boogieVars, p.getFormula());
@@ -574,14 +671,7 @@ public class IncrementalHoareTripleChecker implements IHoareTripleChecker {
 			renamedFormula = (new FormulaUnLet()).unlet(renamedFormula);
 		}
 		assert renamedFormula.getFreeVars().length == 0;
-		Term negation = mManagedScript.term(this, "not", renamedFormula);
-		if (mUseNamedTerms) {
-			final Annotation annot = new Annotation(ANNOT_NAMED, ID_NEGATED_POSTCONDITION);
-			negation = mManagedScript.annotate(this, negation, annot);
-		}
-		final LBool isSat = mManagedScript.assertTerm(this, negation);
-		mEdgeCheckerBenchmark.stopEdgeCheckerTime();
-		return isSat;
+		return renamedFormula;
 	}
 
 	private LBool assertPostcondReturn(final IPredicate p) {
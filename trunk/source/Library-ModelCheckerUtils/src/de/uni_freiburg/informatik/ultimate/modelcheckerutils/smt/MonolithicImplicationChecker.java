@@ -26,8 +26,11 @@
  */
 package de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt;
 
+import java.util.Map;
+
 import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
 import de.uni_freiburg.informatik.ultimate.logic.QuotedObject;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker;
@@ -88,6 +91,37 @@ public class MonolithicImplicationChecker {
 		return IHoareTripleChecker.convertLBool2Validity(lbool);
 	}
 
+	/**
+	 * Variant of {@link #checkImplication(Term, Term, boolean, Term, Term, boolean)} that additionally provides a
+	 * counterexample if the implication is not valid. In this case the map counterexample is filled with the values
+	 * of the given constants in a model of  antecedent /\ !succedent. The map remains empty if the solver is not
+	 * able to provide a model.
+	 */
+	public Validity checkImplication(final Term antecedent, final Term antecedentClosedFormula,
+			final Term succedent, final Term succedentClosedFormula, final Term[] constants,
+			final Map<Term, Term> counterexample) {
+		if (mManagedScript.isLocked()) {
+			mManagedScript.requestLockRelease();
+		}
+		mManagedScript.lock(this);
+		mManagedScript.echo(this, new QuotedObject("Start implication check"));
+		mManagedScript.push(this, 1);
+		mManagedScript.assertTerm(this, antecedentClosedFormula);
+		mManagedScript.assertTerm(this, SmtUtils.not(mManagedScript.getScript(), succedentClosedFormula));
+		final LBool lbool = mManagedScript.checkSat(this);
+		if (lbool == LBool.SAT && constants.length > 0) {
+			try {
+				counterexample.putAll(mManagedScript.getScript().getValue(constants));
+			} catch (final SMTLIBException | UnsupportedOperationException e) {
+				// solver does not provide models, the result of the implication check is not affected
+			}
+		}
+		mManagedScript.pop(this, 1);
+		mManagedScript.echo(this, new QuotedObject("Finished implication check"));
+		mManagedScript.unlock(this);
+		return IHoareTripleChecker.convertLBool2Validity(lbool);
+	}
+
 	private Validity dataflowBasedImplicationCheck(final Term antecedent, final Term succedent) {
 		return Validity.UNKNOWN;
 	}
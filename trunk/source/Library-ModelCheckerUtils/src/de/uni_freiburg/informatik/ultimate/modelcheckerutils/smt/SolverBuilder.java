@@ -527,6 +527,17 @@ public class SolverBuilder {
 			return mUseDiffWrapper;
 		}
 
+		/**
+		 * @return settings that coincide with these settings except for the timeout of SMTInterpol and the base name
+		 *         of the dumped script
+		 */
+		public SolverSettings withTimeoutAndBaseName(final long timeoutSmtInterpol,
+				final String baseNameOfDumpedScript) {
+			return new SolverSettings(mFakeNonIncrementalScript, mUseExternalSolver, mCommandExternalSolver,
+					timeoutSmtInterpol, mExternalInterpolator, mDumpSmtScriptToFile, mPathOfDumpedScript,
+					baseNameOfDumpedScript, mUseDiffWrapper);
+		}
+
 		public String constructFullPathOfDumpedScript() {
 			String result = getPathOfDumpedScript();
 			result = addFileSeparator(result);
@@ -289,7 +289,22 @@ public class PredicateUtils {
 			final UnmodifiableTransFormula tf, final Set<IProgramNonOldVar> modifiableGlobalsPred,
 			final Set<IProgramNonOldVar> modifiableGlobalsSucc) {
 		script.push(1);
+		script.assertTerm(constructInductivityQuery(script, precond, postcond, tf, modifiableGlobalsPred,
+				modifiableGlobalsSucc));
+		final LBool result = script.checkSat();
+
+		script.pop(1);
+		return result;
+	}
 
+	/**
+	 * Construct a closed formula that is unsatisfiable iff the Hoare triple {precond} tf {postcond} is valid. The
+	 * formula is constructed in the given script but nothing is asserted, hence it can be checked by another solver
+	 * after transferring it with a {@link TermTransferrer}.
+	 */
+	public static Term constructInductivityQuery(final Script script, final IPredicate precond,
+			final IPredicate postcond, final UnmodifiableTransFormula tf,
+			final Set<IProgramNonOldVar> modifiableGlobalsPred, final Set<IProgramNonOldVar> modifiableGlobalsSucc) {
 		final List<Term> conjuncts = new ArrayList<>();
 		{
 			// add oldvar equalities for precond and tf
@@ -341,11 +356,7 @@ public class PredicateUtils {
 			final Term postcondRenamed = rename(script, postcond, tf.getAssignedVars());
 			conjuncts.add(SmtUtils.not(script, postcondRenamed));
 		}
-		script.assertTerm(SmtUtils.and(script, conjuncts));
-		final LBool result = script.checkSat();
-
-		script.pop(1);
-		return result;
+		return SmtUtils.and(script, conjuncts);
 	}
 
 	/**
@@ -43,9 +43,12 @@ import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger.LogLevel;
 import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
 import de.uni_freiburg.informatik.ultimate.logic.Logics;
 import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.DefaultIcfgSymbolTable;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramNonOldVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker.Validity;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtSortUtils;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.SimplificationTechnique;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.XnfConversionTechnique;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
@@ -255,6 +258,29 @@ public class PredicateUnifierTest {
 		Assert.assertThat("6", unifier.getPredicateFactory(), Is.is(oUnifier.getPredicateFactory()));
 	}
 
+	/**
+	 * Predicates whose variables are disjoint may imply each other if they share a constant.
+	 */
+	@Test
+	public void testImplicationViaSharedConstant() {
+		final PredicateUnifier unifier = new PredicateUnifier(mServices, mMgdScript, mBasicFactory, mTable,
+				SimplificationTechnique.NONE, XnfConversionTechnique.BOTTOM_UP_WITH_LOCAL_SIMPLIFICATION);
+		mScript.declareFun("N", new Sort[0], SmtSortUtils.getIntSort(mScript));
+		final Term constN = mScript.term("N");
+		final Term three = mScript.numeral(String.valueOf(3));
+		final Term five = mScript.numeral(String.valueOf(5));
+
+		// a == 0 && N > 5
+		final IPredicate lhs = unifier.getOrConstructPredicate(mScript.term("and",
+				mScript.term("=", mA.getTermVariable(), mZero), mScript.term(">", constN, five)));
+		// b == 1 || N > 3
+		final IPredicate rhs = unifier.getOrConstructPredicate(mScript.term("or",
+				mScript.term("=", mB.getTermVariable(), mOne), mScript.term(">", constN, three)));
+
+		Assert.assertThat("1", unifier.getCoverageRelation().isCovered(lhs, rhs), Is.is(Validity.VALID));
+		Assert.assertThat("2", unifier.getCoverageRelation().isCovered(rhs, lhs), Is.is(Validity.INVALID));
+	}
+
 	private TestPredicate neg(final TestPredicate pred) {
 		return mFactory.neg(pred);
 	}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE ModelCheckerUtilsTest Library.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE ModelCheckerUtilsTest Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE ModelCheckerUtilsTest Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE ModelCheckerUtilsTest Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataOperationCanceledException;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedRun;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEmptyHeuristic;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEmptyHeuristic.IHeuristic;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.BasicIcfg;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IIcfgCallTransition;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgEdge;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgLocation;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.debugidentifiers.StringDebugIdentifier;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.ISLPredicate;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Tests for {@link ErrorDistanceHeuristic} on a small ICFG with two procedures and two error locations.
+ */
+public class ErrorDistanceHeuristicTest {
+
+	private static final String MAIN = "main";
+	private static final String FOO = "foo";
+
+	private AutomataLibraryServices mServices;
+	private BasicIcfg<IcfgLocation> mIcfg;
+
+	private IcfgLocation mL0;
+	private IcfgLocation mL1;
+	private IcfgLocation mL2;
+	private IcfgLocation mErrMain;
+	private IcfgLocation mD1;
+	private IcfgLocation mD2;
+	private IcfgLocation mF0;
+	private IcfgLocation mF1;
+	private IcfgLocation mErrFoo;
+
+	/**
+	 * main: l0 -> l1 -> l2 -> errMain, l1 -call-> f0, l0 -> d1 -> d2 -> d1 (no error reachable)<br>
+	 * foo: f0 -> f1 -> errFoo
+	 */
+	@Before
+	public void setUp() {
+		mServices = new AutomataLibraryServices(UltimateMocks.createUltimateServiceProviderMock());
+		final CfgSmtToolkit toolkit =
+				new CfgSmtToolkit(null, null, null, null, new HashSet<>(Arrays.asList(MAIN, FOO)), null, null);
+		mIcfg = new BasicIcfg<>("test", toolkit, IcfgLocation.class);
+
+		mL0 = location("l0", MAIN);
+		mL1 = location("l1", MAIN);
+		mL2 = location("l2", MAIN);
+		mErrMain = location("errMain", MAIN);
+		mD1 = location("d1", MAIN);
+		mD2 = location("d2", MAIN);
+		mF0 = location("f0", FOO);
+		mF1 = location("f1", FOO);
+		mErrFoo = location("errFoo", FOO);
+		mIcfg.addLocation(mL0, true, false, true, false, false);
+		mIcfg.addLocation(mErrMain, false, true, false, false, false);
+		mIcfg.addLocation(mF0, false, false, true, false, false);
+		mIcfg.addLocation(mErrFoo, false, true, false, false, false);
+		for (final IcfgLocation loc : Arrays.asList(mL1, mL2, mD1, mD2, mF1)) {
+			mIcfg.addOrdinaryLocation(loc);
+		}
+
+		internal(mL0, mL1);
+		internal(mL1, mL2);
+		internal(mL2, mErrMain);
+		call(mL1, mF0);
+		internal(mL0, mD1);
+		internal(mD1, mD2);
+		internal(mD2, mD1);
+		internal(mF0, mF1);
+		internal(mF1, mErrFoo);
+	}
+
+	@Test
+	public void distancesToNearestErrorLocation() {
+		final ErrorDistanceHeuristic<IcfgEdge> heuristic = ErrorDistanceHeuristic.create(mIcfg);
+		Assert.assertNotNull(heuristic);
+		Assert.assertEquals(0, value(heuristic, mErrMain));
+		Assert.assertEquals(0, value(heuristic, mErrFoo));
+		Assert.assertEquals(1, value(heuristic, mL2));
+		Assert.assertEquals(1, value(heuristic, mF1));
+		Assert.assertEquals(2, value(heuristic, mF0));
+		// both errMain (via l2) and errFoo (via the call) are two steps away
+		Assert.assertEquals(2, value(heuristic, mL1));
+		Assert.assertEquals(3, value(heuristic, mL0));
+		Assert.assertEquals(IHeuristic.INFINITY, value(heuristic, mD1));
+		Assert.assertEquals(IHeuristic.INFINITY, value(heuristic, mD2));
+	}
+
+	@Test
+	public void recursiveProgramHasNoHeuristic() {
+		call(mF1, mL0);
+		Assert.assertNull(ErrorDistanceHeuristic.create(mIcfg));
+	}
+
+	@Test
+	public void searchFollowsDistancesAndPrunesDeadBranch() throws AutomataOperationCanceledException {
+		final TestPredicate p0 = new TestPredicate(mL0);
+		final TestPredicate p1 = new TestPredicate(mL1);
+		final TestPredicate p2 = new TestPredicate(mL2);
+		final TestPredicate pErr = new TestPredicate(mErrMain);
+		final TestPredicate pD1 = new TestPredicate(mD1);
+		final TestPredicate pD2 = new TestPredicate(mD2);
+		final List<TestPredicate> states = Arrays.asList(p0, p1, p2, pErr, pD1, pD2);
+
+		final Set<IcfgEdge> letters = new HashSet<>();
+		for (final TestPredicate state : states) {
+			letters.addAll(state.getProgramPoint().getOutgoingEdges());
+		}
+		final NestedWordAutomaton<IcfgEdge, IPredicate> abstraction =
+				new NestedWordAutomaton<>(mServices, new VpAlphabet<>(letters), () -> new TestPredicate(null));
+		for (final TestPredicate state : states) {
+			abstraction.addState(state == p0, state == pErr, state);
+		}
+		for (final TestPredicate pred : states) {
+			for (final IcfgEdge edge : pred.getProgramPoint().getOutgoingEdges()) {
+				for (final TestPredicate succ : states) {
+					if (succ.getProgramPoint() == edge.getTarget() && !(edge instanceof IIcfgCallTransition<?>)) {
+						abstraction.addInternalTransition(pred, edge, succ);
+					}
+				}
+			}
+		}
+
+		final ErrorDistanceHeuristic<IcfgEdge> distances = ErrorDistanceHeuristic.create(mIcfg);
+		final Set<IPredicate> evaluated = new HashSet<>();
+		final IHeuristic<IPredicate, IcfgEdge> recording = new IHeuristic<IPredicate, IcfgEdge>() {
+			@Override
+			public int getHeuristicValue(final IPredicate state, final IPredicate stateK, final IcfgEdge trans) {
+				evaluated.add(state);
+				return distances.getHeuristicValue(state, stateK, trans);
+			}
+
+			@Override
+			public int getConcreteCost(final IcfgEdge trans) {
+				return distances.getConcreteCost(trans);
+			}
+		};
+
+		final NestedRun<IcfgEdge, IPredicate> run =
+				new IsEmptyHeuristic<>(mServices, abstraction, recording).getNestedRun();
+		Assert.assertNotNull(run);
+		Assert.assertEquals(Arrays.asList(p0, p1, p2, pErr), run.getStateSequence());
+		// d1 is rated INFINITY and never expanded, hence d2 is never reached
+		Assert.assertTrue(evaluated.contains(pD1));
+		Assert.assertFalse(evaluated.contains(pD2));
+	}
+
+	private static int value(final ErrorDistanceHeuristic<IcfgEdge> heuristic, final IcfgLocation loc) {
+		return heuristic.getHeuristicValue(new TestPredicate(loc), null, null);
+	}
+
+	private static IcfgLocation location(final String name, final String procedure) {
+		return new IcfgLocation(new StringDebugIdentifier(name), procedure);
+	}
+
+	private static void internal(final IcfgLocation source, final IcfgLocation target) {
+		connect(new TestEdge(source, target));
+	}
+
+	private static void call(final IcfgLocation source, final IcfgLocation target) {
+		connect(new TestCall(source, target));
+	}
+
+	private static void connect(final IcfgEdge edge) {
+		edge.getSource().addOutgoing(edge);
+		edge.getTarget().addIncoming(edge);
+	}
+
+	private static class TestEdge extends IcfgEdge {
+		private static final long serialVersionUID = 1L;
+
+		TestEdge(final IcfgLocation source, final IcfgLocation target) {
+			super(source, target, null);
+		}
+
+		@Override
+		public UnmodifiableTransFormula getTransformula() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toString() {
+			return getSource() + "->" + getTarget();
+		}
+	}
+
+	private static final class TestCall extends TestEdge implements IIcfgCallTransition<IcfgLocation> {
+		private static final long serialVersionUID = 1L;
+
+		TestCall(final IcfgLocation source, final IcfgLocation target) {
+			super(source, target);
+		}
+
+		@Override
+		public UnmodifiableTransFormula getLocalVarsAssignment() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public UnmodifiableTransFormula getTransformula() {
+			return getLocalVarsAssignment();
+		}
+	}
+
+	/**
+	 * Program point predicate without a formula; the heuristic only looks at the program point.
+	 */
+	private static final class TestPredicate implements ISLPredicate {
+		private final IcfgLocation mProgramPoint;
+
+		TestPredicate(final IcfgLocation programPoint) {
+			mProgramPoint = programPoint;
+		}
+
+		@Override
+		public IcfgLocation getProgramPoint() {
+			return mProgramPoint;
+		}
+
+		@Override
+		public Term getFormula() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Term getClosedFormula() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String[] getProcedures() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Set<IProgramVar> getVars() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(mProgramPoint);
+		}
+	}
+}
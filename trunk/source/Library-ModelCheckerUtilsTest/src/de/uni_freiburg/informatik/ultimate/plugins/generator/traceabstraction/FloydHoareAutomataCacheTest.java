@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE ModelCheckerUtilsTest Library.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE ModelCheckerUtilsTest Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE ModelCheckerUtilsTest Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE ModelCheckerUtilsTest Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger.LogLevel;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.DefaultIcfgSymbolTable;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.ModifiableGlobalsTable;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.TransFormulaBuilder;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula.Infeasibility;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramNonOldVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtSortUtils;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.SimplificationTechnique;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.XnfConversionTechnique;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.biesenb.TestPredicateFactory;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.BasicPredicateFactory;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.HashRelation;
+
+/**
+ * Round-trip tests for the {@link FloydHoareAutomataCache}: an automaton is stored by one cache and loaded by another
+ * cache that uses the same directory, as in a later run.
+ */
+public class FloydHoareAutomataCacheTest {
+
+	private static final String PROCEDURE = "p";
+	private static final String CALLEE = "q";
+
+	private IUltimateServiceProvider mServices;
+	private Script mScript;
+	private ManagedScript mMgdScript;
+	private DefaultIcfgSymbolTable mSymbolTable;
+	private BasicPredicateFactory mPredicateFactory;
+	private IProgramNonOldVar mX;
+	private IProgramNonOldVar mG;
+	private File mDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		mServices = UltimateMocks.createUltimateServiceProviderMock(LogLevel.WARN);
+		mScript = new SMTInterpol();
+		mScript.setLogic(Logics.QF_LIA);
+		mMgdScript = new ManagedScript(mServices, mScript);
+		final TestPredicateFactory factory = new TestPredicateFactory(mMgdScript);
+		mSymbolTable = new DefaultIcfgSymbolTable();
+		mX = factory.constructProgramVar("x");
+		mG = factory.constructProgramVar("g");
+		mSymbolTable.add(mX);
+		mSymbolTable.add(mG);
+		mPredicateFactory = new BasicPredicateFactory(mServices, mMgdScript, mSymbolTable, SimplificationTechnique.NONE,
+				XnfConversionTechnique.BOTTOM_UP_WITH_LOCAL_SIMPLIFICATION);
+		mDirectory = Files.createTempDirectory("fhacache").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		final File[] files = mDirectory.listFiles();
+		if (files != null) {
+			for (final File file : files) {
+				file.delete();
+			}
+		}
+		mDirectory.delete();
+	}
+
+	@Test
+	public void unchangedLetterMatches() {
+		final CfgSmtToolkit csToolkit = constructToolkit(mScript.term("true"), false);
+		final IInternalAction increment = assignment("x_1", "x_2", 1);
+		Assert.assertTrue(new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath())
+				.store(constructAutomaton(increment)));
+
+		// a later run: the letter has the same transition formula up to the names of its variables
+		final IInternalAction renamed = assignment("x_7", "x_9", 1);
+		final FloydHoareAutomataCache cache = new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath());
+		Assert.assertEquals(cache.getLetterKey(increment), cache.getLetterKey(renamed));
+		final List<INestedWordAutomaton<String, String>> loaded = cache.load(Collections.singleton(renamed));
+		Assert.assertEquals(1, loaded.size());
+		Assert.assertEquals(Collections.singleton(cache.getLetterKey(renamed)),
+				loaded.get(0).getVpAlphabet().getInternalAlphabet());
+	}
+
+	@Test
+	public void equalAutomataAreStoredOnce() {
+		final CfgSmtToolkit csToolkit = constructToolkit(mScript.term("true"), false);
+		final IInternalAction increment = assignment("x_1", "x_2", 1);
+		final FloydHoareAutomataCache cache = new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath());
+		Assert.assertTrue(cache.store(constructAutomaton(increment, false)));
+		// same automaton with new predicates that were added in a different order
+		Assert.assertFalse(cache.store(constructAutomaton(increment, true)));
+		Assert.assertEquals(1, automatonFiles().length);
+	}
+
+	@Test
+	public void loadUsesIndex() throws IOException {
+		final CfgSmtToolkit csToolkit = constructToolkit(mScript.term("true"), false);
+		final IInternalAction increment = assignment("x_1", "x_2", 1);
+		final IInternalAction incrementByTwo = assignment("x_1", "x_2", 2);
+		final FloydHoareAutomataCache cache = new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath());
+		Assert.assertTrue(cache.store(constructAutomaton(increment, false)));
+		final File first = automatonFiles()[0];
+		Assert.assertTrue(cache.store(constructAutomaton(incrementByTwo, false)));
+		final File second = automatonFiles()[0].equals(first) ? automatonFiles()[1] : automatonFiles()[0];
+
+		// the index says that the second file has the letter x := x + 2, hence it is not read for x := x + 1
+		Files.copy(first.toPath(), second.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		Assert.assertEquals(1, cache.load(Collections.singleton(increment)).size());
+
+		// without an index, all files are read (and indexed again)
+		Assert.assertTrue(new File(mDirectory, "index").delete());
+		Assert.assertEquals(2, cache.load(Collections.singleton(increment)).size());
+		Assert.assertTrue(new File(mDirectory, "index").isFile());
+	}
+
+	@Test
+	public void leastRecentlyUsedAutomatonIsEvicted() {
+		final CfgSmtToolkit csToolkit = constructToolkit(mScript.term("true"), false);
+		final IInternalAction increment = assignment("x_1", "x_2", 1);
+		final IInternalAction incrementByTwo = assignment("x_1", "x_2", 2);
+		final FloydHoareAutomataCache cache =
+				new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath(), 1);
+		Assert.assertTrue(cache.store(constructAutomaton(increment, false)));
+		Assert.assertTrue(automatonFiles()[0].setLastModified(System.currentTimeMillis() - 60_000));
+		Assert.assertTrue(cache.store(constructAutomaton(incrementByTwo, false)));
+
+		Assert.assertEquals(1, automatonFiles().length);
+		Assert.assertTrue(cache.load(Collections.singleton(increment)).isEmpty());
+		Assert.assertEquals(1, cache.load(Collections.singleton(incrementByTwo)).size());
+	}
+
+	@Test
+	public void changedLetterInvalidatesEntry() {
+		final CfgSmtToolkit csToolkit = constructToolkit(mScript.term("true"), false);
+		Assert.assertTrue(new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath())
+				.store(constructAutomaton(assignment("x_1", "x_2", 1))));
+
+		// a later run: the letter was changed from x := x + 1 to x := x + 2
+		final FloydHoareAutomataCache cache = new FloydHoareAutomataCache(mServices, csToolkit, mDirectory.getPath());
+		Assert.assertTrue(cache.load(Collections.singleton(assignment("x_1", "x_2", 2))).isEmpty());
+	}
+
+	@Test
+	public void changedAxiomsInvalidateEntry() {
+		final IInternalAction increment = assignment("x_1", "x_2", 1);
+		Assert.assertTrue(new FloydHoareAutomataCache(mServices, constructToolkit(mScript.term("true"), false),
+				mDirectory.getPath()).store(constructAutomaton(increment)));
+
+		final Term axioms = mScript.term(">=", mG.getDefaultConstant(), constant(0));
+		final FloydHoareAutomataCache cache =
+				new FloydHoareAutomataCache(mServices, constructToolkit(axioms, false), mDirectory.getPath());
+		Assert.assertTrue(cache.load(Collections.singleton(increment)).isEmpty());
+	}
+
+	@Test
+	public void modifiableGlobalsOfCalleeAreKeyed() {
+		final ICallAction call = call();
+		final String keyWithoutGlobals = new FloydHoareAutomataCache(mServices,
+				constructToolkit(mScript.term("true"), false), mDirectory.getPath()).getLetterKey(call);
+		final String keyWithGlobals = new FloydHoareAutomataCache(mServices,
+				constructToolkit(mScript.term("true"), true), mDirectory.getPath()).getLetterKey(call);
+		Assert.assertNotEquals(keyWithoutGlobals, keyWithGlobals);
+	}
+
+	@Test
+	public void auxVarsAreRenamedByOccurrence() {
+		final FloydHoareAutomataCache cache = new FloydHoareAutomataCache(mServices,
+				constructToolkit(mScript.term("true"), false), mDirectory.getPath());
+		// x := a + 2 * b for aux vars a and b, once the name of a is smaller and once the name of b
+		Assert.assertEquals(cache.getLetterKey(assignmentWithAuxVars("aux_a", "aux_b")),
+				cache.getLetterKey(assignmentWithAuxVars("aux_d", "aux_c")));
+	}
+
+	private CfgSmtToolkit constructToolkit(final Term axioms, final boolean calleeModifiesG) {
+		final HashRelation<String, IProgramNonOldVar> proc2globals = new HashRelation<>();
+		if (calleeModifiesG) {
+			proc2globals.addPair(CALLEE, mG);
+		}
+		return new CfgSmtToolkit(new ModifiableGlobalsTable(proc2globals), mMgdScript, mSymbolTable,
+				mPredicateFactory.newPredicate(axioms), Collections.singleton(PROCEDURE), null, null);
+	}
+
+	private NestedWordAutomaton<IInternalAction, IPredicate> constructAutomaton(final IInternalAction letter) {
+		return constructAutomaton(letter, false);
+	}
+
+	/**
+	 * @return an automaton with an internal transition from x >= 0 over the letter to x >= 1 and a self loop over the
+	 *         letter in x >= 1
+	 */
+	private NestedWordAutomaton<IInternalAction, IPredicate> constructAutomaton(final IInternalAction letter,
+			final boolean reverseOrder) {
+		final IPredicate emptyStack = mPredicateFactory.newPredicate(mScript.term("false"));
+		final NestedWordAutomaton<IInternalAction, IPredicate> nwa = new NestedWordAutomaton<>(
+				new AutomataLibraryServices(mServices),
+				new VpAlphabet<>(Collections.singleton(letter), Collections.emptySet(), Collections.emptySet()),
+				() -> emptyStack);
+		final IPredicate pre = mPredicateFactory.newPredicate(mScript.term(">=", mX.getTermVariable(), constant(0)));
+		final IPredicate post = mPredicateFactory.newPredicate(mScript.term(">=", mX.getTermVariable(), constant(1)));
+		if (reverseOrder) {
+			nwa.addState(false, true, post);
+			nwa.addState(true, false, pre);
+			nwa.addInternalTransition(post, letter, post);
+			nwa.addInternalTransition(pre, letter, post);
+		} else {
+			nwa.addState(true, false, pre);
+			nwa.addState(false, true, post);
+			nwa.addInternalTransition(pre, letter, post);
+			nwa.addInternalTransition(post, letter, post);
+		}
+		return nwa;
+	}
+
+	/**
+	 * @return x := x + increment, where the in- and out-variable of x have the given names
+	 */
+	private IInternalAction assignment(final String inName, final String outName, final int increment) {
+		final TermVariable in = mScript.variable(inName, intSort());
+		final TermVariable out = mScript.variable(outName, intSort());
+		final Map<IProgramVar, TermVariable> inVars = new HashMap<>();
+		final Map<IProgramVar, TermVariable> outVars = new HashMap<>();
+		inVars.put(mX, in);
+		outVars.put(mX, out);
+		final TransFormulaBuilder tfb = new TransFormulaBuilder(inVars, outVars, true, null, true, null, true);
+		tfb.setFormula(mScript.term("=", out, mScript.term("+", in, constant(increment))));
+		tfb.setInfeasibility(Infeasibility.NOT_DETERMINED);
+		final UnmodifiableTransFormula tf = tfb.finishConstruction(mMgdScript);
+		return new IInternalAction() {
+			@Override
+			public String getPrecedingProcedure() {
+				return PROCEDURE;
+			}
+
+			@Override
+			public String getSucceedingProcedure() {
+				return PROCEDURE;
+			}
+
+			@Override
+			public UnmodifiableTransFormula getTransformula() {
+				return tf;
+			}
+		};
+	}
+
+	/**
+	 * @return x := first + 2 * second, where first and second are aux vars with the given names
+	 */
+	private IInternalAction assignmentWithAuxVars(final String first, final String second) {
+		final TermVariable out = mScript.variable("x_out", intSort());
+		final TermVariable firstAux = mScript.variable(first, intSort());
+		final TermVariable secondAux = mScript.variable(second, intSort());
+		final TransFormulaBuilder tfb = new TransFormulaBuilder(Collections.emptyMap(),
+				Collections.singletonMap(mX, out), true, null, true, null, false);
+		tfb.addAuxVar(firstAux);
+		tfb.addAuxVar(secondAux);
+		tfb.setFormula(mScript.term("=", out,
+				mScript.term("+", firstAux, mScript.term("*", constant(2), secondAux))));
+		tfb.setInfeasibility(Infeasibility.NOT_DETERMINED);
+		final UnmodifiableTransFormula tf = tfb.finishConstruction(mMgdScript);
+		return new IInternalAction() {
+			@Override
+			public String getPrecedingProcedure() {
+				return PROCEDURE;
+			}
+
+			@Override
+			public String getSucceedingProcedure() {
+				return PROCEDURE;
+			}
+
+			@Override
+			public UnmodifiableTransFormula getTransformula() {
+				return tf;
+			}
+		};
+	}
+
+	private ICallAction call() {
+		final TransFormulaBuilder tfb = new TransFormulaBuilder(Collections.emptyMap(), Collections.emptyMap(), true,
+				null, true, null, true);
+		tfb.setFormula(mScript.term("true"));
+		tfb.setInfeasibility(Infeasibility.NOT_DETERMINED);
+		final UnmodifiableTransFormula tf = tfb.finishConstruction(mMgdScript);
+		return new ICallAction() {
+			@Override
+			public String getPrecedingProcedure() {
+				return PROCEDURE;
+			}
+
+			@Override
+			public String getSucceedingProcedure() {
+				return CALLEE;
+			}
+
+			@Override
+			public UnmodifiableTransFormula getLocalVarsAssignment() {
+				return tf;
+			}
+		};
+	}
+
+	private File[] automatonFiles() {
+		return mDirectory.listFiles((dir, name) -> name.endsWith(".fha"));
+	}
+
+	private Sort intSort() {
+		return SmtSortUtils.getIntSort(mScript);
+	}
+
+	private Term constant(final int value) {
+		return Rational.valueOf(value, 1).toTerm(intSort());
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE ModelCheckerUtilsTest Library.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE ModelCheckerUtilsTest Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE ModelCheckerUtilsTest Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE ModelCheckerUtilsTest Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedRun;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWord;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger.LogLevel;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.CacheEvictionPolicy;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Tests for bounded {@link PathProgramCache}s.
+ */
+public class PathProgramCacheTest {
+
+	private ILogger mLogger;
+
+	@Before
+	public void setUp() {
+		mLogger = UltimateMocks.createUltimateServiceProviderMock(LogLevel.WARN).getLoggingService()
+				.getLogger(getClass());
+	}
+
+	@Test
+	public void unboundedCacheCountsPathPrograms() {
+		final PathProgramCache<String> cache = new PathProgramCache<>(mLogger);
+		Assert.assertEquals(1, cache.addRun(run("a", "b")));
+		Assert.assertEquals(1, cache.addRun(run("c")));
+		// same letters, hence the same path program
+		Assert.assertEquals(2, cache.addRun(run("b", "a", "b")));
+		Assert.assertEquals(2, cache.getPathProgramCount(run("a", "b")));
+		Assert.assertEquals(0, cache.getNumberOfEvictions());
+		Assert.assertEquals(2, cache.getNumberOfResidentPathPrograms());
+	}
+
+	@Test
+	public void evictedPathProgramKeepsItsCount() {
+		final PathProgramCache<String> cache = new PathProgramCache<>(mLogger, 1, CacheEvictionPolicy.LRU);
+		cache.addRun(run("a", "b"));
+		Assert.assertEquals(2, cache.addRun(run("a", "b")));
+		Assert.assertEquals(1, cache.addRun(run("c")));
+		Assert.assertEquals(1, cache.getNumberOfEvictions());
+		Assert.assertEquals(1, cache.getNumberOfResidentPathPrograms());
+		Assert.assertEquals(2, cache.getPathProgramCount(run("a", "b")));
+		Assert.assertEquals(3, cache.addRun(run("a", "b")));
+		Assert.assertEquals(2, cache.addRun(run("c")));
+		Assert.assertEquals(3, cache.getNumberOfEvictions());
+		Assert.assertEquals(3, cache.getPathProgramCount(run("a", "b")));
+	}
+
+	@Test
+	public void evictionPolicies() {
+		final PathProgramCache<String> lru = new PathProgramCache<>(mLogger, 2, CacheEvictionPolicy.LRU);
+		final PathProgramCache<String> size = new PathProgramCache<>(mLogger, 2, CacheEvictionPolicy.SIZE);
+		final PathProgramCache<String> usefulness = new PathProgramCache<>(mLogger, 2, CacheEvictionPolicy.USEFULNESS);
+		for (final PathProgramCache<String> cache : Arrays.asList(lru, size, usefulness)) {
+			cache.addRun(run("a", "b"));
+			cache.addRun(run("c"));
+			cache.addRun(run("c"));
+			cache.addRun(run("a", "b"));
+			cache.addRun(run("a", "b"));
+			cache.addRun(run("d"));
+			Assert.assertEquals(1, cache.getNumberOfEvictions());
+			Assert.assertEquals(2, cache.getNumberOfResidentPathPrograms());
+		}
+		// LRU and USEFULNESS evict {c}, SIZE evicts {a,b}; the counts survive in all cases
+		Assert.assertEquals(4, lru.addRun(run("a", "b")));
+		Assert.assertEquals(3, lru.addRun(run("c")));
+		Assert.assertEquals(3, size.addRun(run("c")));
+		Assert.assertEquals(4, size.addRun(run("a", "b")));
+		Assert.assertEquals(4, usefulness.addRun(run("a", "b")));
+		Assert.assertEquals(3, usefulness.addRun(run("c")));
+	}
+
+	@Test
+	public void evictedCountsNeverTooLow() {
+		// far more evicted path programs than counters, hence many of them share a counter
+		final PathProgramCache<String> cache = new PathProgramCache<>(mLogger, 1, CacheEvictionPolicy.LRU);
+		final int pathPrograms = 1000;
+		for (int round = 1; round <= 3; round++) {
+			for (int i = 0; i < pathPrograms; i++) {
+				Assert.assertTrue(cache.addRun(run("x" + i, "y" + (i % 7))) >= round);
+			}
+		}
+		Assert.assertEquals(3 * pathPrograms - 1, cache.getNumberOfEvictions());
+		Assert.assertEquals(1, cache.getNumberOfResidentPathPrograms());
+	}
+
+	private static NestedRun<String, String> run(final String... letters) {
+		final int[] nestingRelation = new int[letters.length];
+		Arrays.fill(nestingRelation, NestedWord.INTERNAL_POSITION);
+		final ArrayList<String> states = new ArrayList<>();
+		for (int i = 0; i <= letters.length; i++) {
+			states.add("q" + i);
+		}
+		return new NestedRun<>(new NestedWord<>(letters, nestingRelation), states);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE ModelCheckerUtilsTest Library.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE ModelCheckerUtilsTest Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE ModelCheckerUtilsTest Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE ModelCheckerUtilsTest Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger.LogLevel;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker.Validity;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Tests for {@link PersistentHoareTripleCache}.
+ */
+public class PersistentHoareTripleCacheTest {
+
+	private static final String K1 = PersistentHoareTripleCache.computeKey("k1");
+	private static final String K2 = PersistentHoareTripleCache.computeKey("k2");
+	private static final String K3 = PersistentHoareTripleCache.computeKey("k3");
+
+	private ILogger mLogger;
+	private File mDirectory;
+	private Path mFile;
+
+	@Before
+	public void setUp() throws IOException {
+		mLogger = UltimateMocks.createUltimateServiceProviderMock(LogLevel.WARN).getLoggingService()
+				.getLogger(getClass());
+		mDirectory = Files.createTempDirectory("htcache").toFile();
+		mFile = mDirectory.toPath().resolve("triples.htc");
+	}
+
+	@After
+	public void tearDown() {
+		delete(mDirectory);
+	}
+
+	@Test
+	public void resultsSurviveRuns() {
+		final PersistentHoareTripleCache cache = new PersistentHoareTripleCache(mFile, 0, mLogger);
+		cache.put(K1, Validity.VALID);
+		cache.put(K2, Validity.INVALID);
+		cache.put(K3, Validity.UNKNOWN);
+		cache.save();
+
+		final PersistentHoareTripleCache reloaded = new PersistentHoareTripleCache(mFile, 0, mLogger);
+		Assert.assertEquals(2, reloaded.size());
+		Assert.assertEquals(Validity.VALID, reloaded.get(K1));
+		Assert.assertEquals(Validity.INVALID, reloaded.get(K2));
+		Assert.assertNull(reloaded.get(K3));
+	}
+
+	@Test
+	public void leastRecentlyUsedResultsAreEvicted() {
+		final PersistentHoareTripleCache first = new PersistentHoareTripleCache(mFile, 2, mLogger);
+		first.put(K1, Validity.VALID);
+		first.put(K2, Validity.VALID);
+		first.save();
+
+		// the second run uses K1 and adds K3, hence K2 is the least recently used result
+		final PersistentHoareTripleCache second = new PersistentHoareTripleCache(mFile, 2, mLogger);
+		Assert.assertEquals(Validity.VALID, second.get(K1));
+		second.put(K3, Validity.INVALID);
+		second.save();
+
+		final PersistentHoareTripleCache third = new PersistentHoareTripleCache(mFile, 2, mLogger);
+		Assert.assertEquals(2, third.size());
+		Assert.assertEquals(Validity.VALID, third.get(K1));
+		Assert.assertNull(third.get(K2));
+		Assert.assertEquals(Validity.INVALID, third.get(K3));
+	}
+
+	@Test
+	public void concurrentRunsAreMerged() {
+		final PersistentHoareTripleCache first = new PersistentHoareTripleCache(mFile, 0, mLogger);
+		final PersistentHoareTripleCache second = new PersistentHoareTripleCache(mFile, 0, mLogger);
+		first.put(K1, Validity.VALID);
+		second.put(K2, Validity.INVALID);
+		first.save();
+		second.save();
+
+		final PersistentHoareTripleCache reloaded = new PersistentHoareTripleCache(mFile, 0, mLogger);
+		Assert.assertEquals(2, reloaded.size());
+	}
+
+	@Test
+	public void failedWriteLeavesNoTemporaryFile() throws IOException {
+		// a non-empty directory cannot be replaced by the written file
+		Files.createDirectories(mFile);
+		Files.createFile(mFile.resolve("occupied"));
+		final PersistentHoareTripleCache cache = new PersistentHoareTripleCache(mFile, 0, mLogger);
+		cache.put(K1, Validity.VALID);
+		cache.save();
+
+		final File[] files = mDirectory.listFiles((dir, name) -> name.endsWith(".tmp"));
+		Assert.assertNotNull(files);
+		Assert.assertEquals(0, files.length);
+	}
+
+	private static void delete(final File file) {
+		final File[] files = file.listFiles();
+		if (files != null) {
+			for (final File child : files) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE ModelCheckerUtilsTest Library.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE ModelCheckerUtilsTest Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE ModelCheckerUtilsTest Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE ModelCheckerUtilsTest Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE ModelCheckerUtilsTest Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger.LogLevel;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Tests that a {@link PrefixSharingSolverStack} keeps the push levels of the common prefix of consecutive trace checks.
+ */
+public class PrefixSharingSolverStackTest {
+
+	private CountingScript mScript;
+	private ManagedScript mMgdScript;
+	private PrefixSharingSolverStack mStack;
+	private final Map<String, Term> mFrameTerms = new HashMap<>();
+
+	@Before
+	public void setUp() {
+		mScript = new CountingScript();
+		mScript.setLogic(Logics.QF_LIA);
+		mScript.declareFun("x", new Sort[0], mScript.sort("Int"));
+		final Term x = mScript.term("x");
+		final Term zero = mScript.numeral("0");
+		final Term one = mScript.numeral("1");
+		mFrameTerms.put("pre", mScript.term("true"));
+		mFrameTerms.put("x>0", mScript.term(">", x, zero));
+		mFrameTerms.put("x<0", mScript.term("<", x, zero));
+		mFrameTerms.put("x>1", mScript.term(">", x, one));
+		mMgdScript = new ManagedScript(UltimateMocks.createUltimateServiceProviderMock(LogLevel.WARN), mScript);
+		mStack = new PrefixSharingSolverStack(mMgdScript);
+		mMgdScript.lock(this);
+	}
+
+	@After
+	public void tearDown() {
+		if (mMgdScript.isLockOwner(this)) {
+			mMgdScript.unlock(this);
+		}
+		mStack.destroy();
+	}
+
+	@Test
+	public void commonPrefixIsKept() {
+		Assert.assertEquals(0, checkTrace("pre", "x>0", "x<0"));
+		Assert.assertEquals(LBool.UNSAT, mScript.mLastResult);
+		// three frames and the temporary frame
+		assertCounts(4, 0);
+
+		Assert.assertEquals(2, checkTrace("pre", "x>0", "x>1"));
+		// the assertion of the popped frame does not influence the second trace check
+		Assert.assertEquals(LBool.SAT, mScript.mLastResult);
+		// temporary frame and "x<0" popped, "x>1" and temporary frame pushed
+		assertCounts(2, 2);
+
+		Assert.assertEquals(3, checkTrace("pre", "x>0", "x>1"));
+		assertCounts(1, 1);
+
+		Assert.assertEquals(1, checkTrace("pre", "x<0"));
+		Assert.assertEquals(LBool.SAT, mScript.mLastResult);
+		assertCounts(2, 3);
+		Assert.assertEquals(2, mStack.getNumberOfFrames());
+
+		mStack.clear(this);
+		Assert.assertEquals(0, mStack.getNumberOfFrames());
+		Assert.assertEquals(0, mScript.mLevel);
+	}
+
+	@Test
+	public void constantsOfPoppedFramesAreRemoved() {
+		mStack.getDeclaredConstants().put("before", mScript.term("x"));
+		checkTrace("pre", "x>0");
+		mStack.getDeclaredConstants().put("afterFirstFrame", mScript.term("x"));
+		checkTrace("pre", "x>0", "x>1");
+		mStack.getDeclaredConstants().put("afterSecondFrame", mScript.term("x"));
+		checkTrace("pre", "x>0", "x>1");
+		Assert.assertEquals(3, mStack.getDeclaredConstants().size());
+
+		// the constant declared while "x>1" was the top frame is removed with this frame
+		checkTrace("pre", "x>0", "x<0");
+		Assert.assertEquals(2, mStack.getDeclaredConstants().size());
+		Assert.assertFalse(mStack.getDeclaredConstants().containsKey("afterSecondFrame"));
+
+		// constants declared before the first frame are never removed
+		mStack.clear(this);
+		Assert.assertEquals(1, mStack.getDeclaredConstants().size());
+		Assert.assertTrue(mStack.getDeclaredConstants().containsKey("before"));
+	}
+
+	@Test
+	public void destroyExitsSolverOnce() {
+		checkTrace("pre", "x>0");
+		mMgdScript.unlock(this);
+		mStack.destroy();
+		mStack.destroy();
+		Assert.assertTrue(mStack.isDestroyed());
+		Assert.assertEquals(1, mScript.mExits);
+		Assert.assertEquals(0, mStack.getNumberOfFrames());
+	}
+
+	/**
+	 * Simulate a trace check in the way {@link TraceCheck} and {@link AnnotateAndAsserterWithPrefixSharing} use the
+	 * stack.
+	 *
+	 * @return the number of frames that were kept from the previous trace check
+	 */
+	private int checkTrace(final String... frames) {
+		final List<Object> frameKeys = Arrays.asList((Object[]) frames);
+		mScript.mPushes = 0;
+		mScript.mPops = 0;
+		final int kept = mStack.synchronize(this, frameKeys);
+		for (int i = kept; i < frames.length; i++) {
+			mStack.pushFrame(this, frames[i]);
+			mMgdScript.assertTerm(this, mFrameTerms.get(frames[i]));
+		}
+		mStack.pushTemporaryFrame(this);
+		mScript.mLastResult = mMgdScript.checkSat(this);
+		return kept;
+	}
+
+	private void assertCounts(final int pushes, final int pops) {
+		Assert.assertEquals("pushes", pushes, mScript.mPushes);
+		Assert.assertEquals("pops", pops, mScript.mPops);
+		Assert.assertEquals(mStack.getNumberOfFrames() + 1, mScript.mLevel);
+	}
+
+	private static final class CountingScript extends SMTInterpol {
+		private int mPushes;
+		private int mPops;
+		private int mLevel;
+		private int mExits;
+		private LBool mLastResult;
+
+		@Override
+		public void push(final int n) throws SMTLIBException {
+			super.push(n);
+			mPushes += n;
+			mLevel += n;
+		}
+
+		@Override
+		public void pop(final int n) throws SMTLIBException {
+			super.pop(n);
+			mPops += n;
+			mLevel -= n;
+		}
+
+		@Override
+		public void exit() {
+			mExits++;
+			super.exit();
+		}
+	}
+}
@@ -0,0 +1,730 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Util Library.
+ *
+ * The ULTIMATE Util Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Util Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Util Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Util Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Util Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * An immutable map that is implemented as a hash array mapped trie (Bagwell, "Ideal Hash Trees", 2001). Modifications
+ * ({@link #plus(Object, Object)}, {@link #minus(Object)}) return a new map that shares all subtrees of the trie that
+ * are not on the path to the modified key with the old map. Hence, a modification needs time and space that is
+ * logarithmic in the size of the map instead of linear as for a copy of a {@link java.util.HashMap}.
+ * <p>
+ * The shape of the trie depends only on the set of keys. The bulk operations
+ * {@link #combine(PersistentHashMap, PersistentHashMap, BiFunction)} and
+ * {@link #allMatch(PersistentHashMap, PersistentHashMap, BiPredicate)} use this to skip subtrees that are shared by
+ * both maps.
+ * <p>
+ * Neither keys nor values may be <code>null</code>. The methods of {@link Map} that modify the map throw an
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <K>
+ *            Type of the keys.
+ * @param <V>
+ *            Type of the values.
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	@SuppressWarnings("rawtypes")
+	private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+	private final Node<K, V> mRoot;
+	private final int mSize;
+
+	private PersistentHashMap(final Node<K, V> root, final int size) {
+		mRoot = root;
+		mSize = size;
+	}
+
+	/**
+	 * @return The empty map.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @return A {@link PersistentHashMap} with the same mappings as the given map. If the given map already is a
+	 *         {@link PersistentHashMap}, it is returned.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+		if (map instanceof PersistentHashMap) {
+			return (PersistentHashMap<K, V>) map;
+		}
+		return PersistentHashMap.<K, V> empty().plusAll(map);
+	}
+
+	/**
+	 * @return A map that contains all mappings of <code>this</code> except the mapping for the given key, and that maps
+	 *         the given key to the given value. If the key already is mapped to the same (identical) value,
+	 *         <code>this</code> is returned.
+	 */
+	public PersistentHashMap<K, V> plus(final K key, final V value) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		final SizeChange change = new SizeChange();
+		final Node<K, V> newRoot = put(mRoot, new Leaf<>(hash(key), key, value), 0, change);
+		if (newRoot == mRoot) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, mSize + change.mDelta);
+	}
+
+	/**
+	 * @return A map that contains all mappings of <code>this</code> and of the given map. Mappings of the given map
+	 *         take precedence.
+	 */
+	public PersistentHashMap<K, V> plusAll(final Map<? extends K, ? extends V> map) {
+		final SizeChange change = new SizeChange();
+		Node<K, V> newRoot = mRoot;
+		for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+			final K key = Objects.requireNonNull(entry.getKey());
+			newRoot = put(newRoot, new Leaf<>(hash(key), key, Objects.requireNonNull(entry.getValue())), 0, change);
+		}
+		if (newRoot == mRoot) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, mSize + change.mDelta);
+	}
+
+	/**
+	 * @return A map that contains all mappings of <code>this</code> except the mapping for the given key. If there is
+	 *         no mapping for the key, <code>this</code> is returned.
+	 */
+	public PersistentHashMap<K, V> minus(final Object key) {
+		if (key == null) {
+			return this;
+		}
+		final SizeChange change = new SizeChange();
+		final Node<K, V> newRoot = remove(mRoot, hash(key), key, 0, change);
+		if (newRoot == mRoot) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, mSize + change.mDelta);
+	}
+
+	/**
+	 * @return A map that contains all mappings of <code>this</code> except the mappings for the given keys.
+	 */
+	public PersistentHashMap<K, V> minusAll(final Collection<?> keys) {
+		final SizeChange change = new SizeChange();
+		Node<K, V> newRoot = mRoot;
+		for (final Object key : keys) {
+			if (key != null) {
+				newRoot = remove(newRoot, hash(key), key, 0, change);
+			}
+		}
+		if (newRoot == mRoot) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, mSize + change.mDelta);
+	}
+
+	/**
+	 * @return A map with the same keys as <code>this</code> in which each value is replaced by the result of the given
+	 *         function. Subtrees in which the function returns the same (identical) values are shared with
+	 *         <code>this</code>.
+	 */
+	public PersistentHashMap<K, V> mapValues(final Function<? super V, ? extends V> function) {
+		final Node<K, V> newRoot = mapValues(mRoot, function);
+		if (newRoot == mRoot) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, mSize);
+	}
+
+	/**
+	 * Combine two maps pointwise.
+	 * <p>
+	 * The result contains all keys of <code>first</code>. A key that is also contained in <code>second</code> is
+	 * mapped to the result of the given function applied to the value of <code>first</code> and the value of
+	 * <code>second</code>, all other keys keep their value from <code>first</code>.
+	 * <p>
+	 * Subtrees that are shared by both maps are not visited; they are shared with the result. Hence, the given
+	 * function has to satisfy <code>function(v, v).equals(v)</code> for each value <code>v</code>, as, e.g., join,
+	 * meet, and widening operators do. Note that this also means that the function is not applied to every key that
+	 * is contained in both maps, so callers must not rely on side effects of the function, e.g., to detect bottom
+	 * values in the result. If the function returns the value of <code>first</code>, the corresponding subtree is
+	 * shared with <code>first</code>, and if it does so for all keys, <code>first</code> is returned.
+	 *
+	 * @param function
+	 *            A function with <code>function(v, v).equals(v)</code> for all values <code>v</code>.
+	 */
+	public static <K, V> PersistentHashMap<K, V> combine(final PersistentHashMap<K, V> first,
+			final PersistentHashMap<K, V> second, final BiFunction<? super V, ? super V, ? extends V> function) {
+		final Node<K, V> newRoot = combine(first.mRoot, second.mRoot, 0, function);
+		if (newRoot == first.mRoot) {
+			return first;
+		}
+		return new PersistentHashMap<>(newRoot, first.mSize);
+	}
+
+	/**
+	 * Check a predicate for all keys that are contained in both maps.
+	 * <p>
+	 * Subtrees that are shared by both maps are not visited, hence the given predicate must hold for
+	 * <code>(v, v)</code>, as, e.g., equality and inclusion do.
+	 *
+	 * @return true iff the predicate holds for each key that is contained in <code>first</code> and in
+	 *         <code>second</code> when applied to the value of <code>first</code> and the value of
+	 *         <code>second</code>.
+	 */
+	public static <K, V> boolean allMatch(final PersistentHashMap<K, V> first, final PersistentHashMap<K, V> second,
+			final BiPredicate<? super V, ? super V> predicate) {
+		return allMatch(first.mRoot, second.mRoot, 0, predicate);
+	}
+
+	@Override
+	public V get(final Object key) {
+		if (key == null) {
+			return null;
+		}
+		return get(mRoot, hash(key), key, 0);
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public int size() {
+		return mSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<Entry<K, V>>() {
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new LeafIterator<>(mRoot);
+			}
+
+			@Override
+			public int size() {
+				return mSize;
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj instanceof PersistentHashMap && ((PersistentHashMap<?, ?>) obj).mRoot == mRoot) {
+			return true;
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	private static int hash(final Object key) {
+		final int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int bit(final int hash, final int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	private static int index(final int bitmap, final int bit) {
+		return Integer.bitCount(bitmap & (bit - 1));
+	}
+
+	private static <K, V> V get(final Node<K, V> node, final int hash, final Object key, final int shift) {
+		if (node instanceof Leaf) {
+			final Leaf<K, V> leaf = (Leaf<K, V>) node;
+			return leaf.mHash == hash && leaf.mKey.equals(key) ? leaf.mValue : null;
+		} else if (node instanceof Branch) {
+			final Branch<K, V> branch = (Branch<K, V>) node;
+			final int bit = bit(hash, shift);
+			if ((branch.mBitmap & bit) == 0) {
+				return null;
+			}
+			return get(branch.mChildren[index(branch.mBitmap, bit)], hash, key, shift + BITS);
+		} else if (node instanceof Collision) {
+			final Collision<K, V> collision = (Collision<K, V>) node;
+			if (collision.mHash != hash) {
+				return null;
+			}
+			for (final Leaf<K, V> leaf : collision.mLeaves) {
+				if (leaf.mKey.equals(key)) {
+					return leaf.mValue;
+				}
+			}
+			return null;
+		}
+		return null;
+	}
+
+	private static <K, V> Node<K, V> put(final Node<K, V> node, final Leaf<K, V> newLeaf, final int shift,
+			final SizeChange change) {
+		if (node == null) {
+			change.mDelta++;
+			return newLeaf;
+		} else if (node instanceof Leaf) {
+			final Leaf<K, V> leaf = (Leaf<K, V>) node;
+			if (leaf.mHash == newLeaf.mHash && leaf.mKey.equals(newLeaf.mKey)) {
+				return leaf.mValue == newLeaf.mValue ? leaf : newLeaf;
+			}
+			change.mDelta++;
+			if (leaf.mHash == newLeaf.mHash) {
+				final Leaf<K, V>[] leaves = newLeafArray(2);
+				leaves[0] = leaf;
+				leaves[1] = newLeaf;
+				return new Collision<>(leaf.mHash, leaves);
+			}
+			return createBranch(leaf, leaf.mHash, newLeaf, newLeaf.mHash, shift);
+		} else if (node instanceof Branch) {
+			final Branch<K, V> branch = (Branch<K, V>) node;
+			final int bit = bit(newLeaf.mHash, shift);
+			final int idx = index(branch.mBitmap, bit);
+			if ((branch.mBitmap & bit) == 0) {
+				change.mDelta++;
+				final Node<K, V>[] children = newNodeArray(branch.mChildren.length + 1);
+				System.arraycopy(branch.mChildren, 0, children, 0, idx);
+				children[idx] = newLeaf;
+				System.arraycopy(branch.mChildren, idx, children, idx + 1, branch.mChildren.length - idx);
+				return new Branch<>(branch.mBitmap | bit, children);
+			}
+			final Node<K, V> child = branch.mChildren[idx];
+			final Node<K, V> newChild = put(child, newLeaf, shift + BITS, change);
+			return newChild == child ? branch : branch.replace(idx, newChild);
+		}
+		final Collision<K, V> collision = (Collision<K, V>) node;
+		if (collision.mHash != newLeaf.mHash) {
+			change.mDelta++;
+			return createBranch(collision, collision.mHash, newLeaf, newLeaf.mHash, shift);
+		}
+		final Leaf<K, V>[] leaves = collision.mLeaves;
+		for (int i = 0; i < leaves.length; ++i) {
+			if (leaves[i].mKey.equals(newLeaf.mKey)) {
+				if (leaves[i].mValue == newLeaf.mValue) {
+					return collision;
+				}
+				final Leaf<K, V>[] newLeaves = leaves.clone();
+				newLeaves[i] = newLeaf;
+				return new Collision<>(collision.mHash, newLeaves);
+			}
+		}
+		change.mDelta++;
+		final Leaf<K, V>[] newLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+		newLeaves[leaves.length] = newLeaf;
+		return new Collision<>(collision.mHash, newLeaves);
+	}
+
+	/**
+	 * Create a branch that contains the two given nodes. The hashes of the nodes have to be different; hence they
+	 * differ in some bit and are separated at the latest at the shift that covers this bit.
+	 */
+	private static <K, V> Node<K, V> createBranch(final Node<K, V> first, final int firstHash,
+			final Node<K, V> second, final int secondHash, final int shift) {
+		assert firstHash != secondHash;
+		final int firstBit = bit(firstHash, shift);
+		final int secondBit = bit(secondHash, shift);
+		if (firstBit == secondBit) {
+			final Node<K, V>[] children = newNodeArray(1);
+			children[0] = createBranch(first, firstHash, second, secondHash, shift + BITS);
+			return new Branch<>(firstBit, children);
+		}
+		final Node<K, V>[] children = newNodeArray(2);
+		final boolean firstIsLower = Integer.compareUnsigned(firstBit, secondBit) < 0;
+		children[firstIsLower ? 0 : 1] = first;
+		children[firstIsLower ? 1 : 0] = second;
+		return new Branch<>(firstBit | secondBit, children);
+	}
+
+	private static <K, V> Node<K, V> remove(final Node<K, V> node, final int hash, final Object key, final int shift,
+			final SizeChange change) {
+		if (node instanceof Leaf) {
+			final Leaf<K, V> leaf = (Leaf<K, V>) node;
+			if (leaf.mHash == hash && leaf.mKey.equals(key)) {
+				change.mDelta--;
+				return null;
+			}
+			return leaf;
+		} else if (node instanceof Branch) {
+			final Branch<K, V> branch = (Branch<K, V>) node;
+			final int bit = bit(hash, shift);
+			if ((branch.mBitmap & bit) == 0) {
+				return branch;
+			}
+			final int idx = index(branch.mBitmap, bit);
+			final Node<K, V> child = branch.mChildren[idx];
+			final Node<K, V> newChild = remove(child, hash, key, shift + BITS, change);
+			if (newChild == child) {
+				return branch;
+			}
+			if (newChild != null) {
+				if (branch.mChildren.length == 1 && !(newChild instanceof Branch)) {
+					// keep the trie canonical: a branch never has a leaf or collision as only child
+					return newChild;
+				}
+				return branch.replace(idx, newChild);
+			}
+			if (branch.mChildren.length == 1) {
+				return null;
+			}
+			if (branch.mChildren.length == 2 && !(branch.mChildren[1 - idx] instanceof Branch)) {
+				return branch.mChildren[1 - idx];
+			}
+			final Node<K, V>[] children = newNodeArray(branch.mChildren.length - 1);
+			System.arraycopy(branch.mChildren, 0, children, 0, idx);
+			System.arraycopy(branch.mChildren, idx + 1, children, idx, branch.mChildren.length - idx - 1);
+			return new Branch<>(branch.mBitmap & ~bit, children);
+		} else if (node instanceof Collision) {
+			final Collision<K, V> collision = (Collision<K, V>) node;
+			if (collision.mHash != hash) {
+				return collision;
+			}
+			final Leaf<K, V>[] leaves = collision.mLeaves;
+			for (int i = 0; i < leaves.length; ++i) {
+				if (leaves[i].mKey.equals(key)) {
+					change.mDelta--;
+					if (leaves.length == 2) {
+						return leaves[1 - i];
+					}
+					final Leaf<K, V>[] newLeaves = newLeafArray(leaves.length - 1);
+					System.arraycopy(leaves, 0, newLeaves, 0, i);
+					System.arraycopy(leaves, i + 1, newLeaves, i, leaves.length - i - 1);
+					return new Collision<>(hash, newLeaves);
+				}
+			}
+			return collision;
+		}
+		return null;
+	}
+
+	private static <K, V> Node<K, V> mapValues(final Node<K, V> node,
+			final Function<? super V, ? extends V> function) {
+		if (node instanceof Leaf) {
+			final Leaf<K, V> leaf = (Leaf<K, V>) node;
+			final V newValue = Objects.requireNonNull(function.apply(leaf.mValue));
+			return newValue == leaf.mValue ? leaf : new Leaf<>(leaf.mHash, leaf.mKey, newValue);
+		} else if (node instanceof Branch) {
+			final Branch<K, V> branch = (Branch<K, V>) node;
+			Branch<K, V> rtr = branch;
+			for (int i = 0; i < branch.mChildren.length; ++i) {
+				final Node<K, V> child = branch.mChildren[i];
+				final Node<K, V> newChild = mapValues(child, function);
+				if (newChild != child) {
+					rtr = rtr == branch ? branch.replace(i, newChild) : rtr.set(i, newChild);
+				}
+			}
+			return rtr;
+		} else if (node instanceof Collision) {
+			final Collision<K, V> collision = (Collision<K, V>) node;
+			Leaf<K, V>[] newLeaves = null;
+			for (int i = 0; i < collision.mLeaves.length; ++i) {
+				final Leaf<K, V> leaf = collision.mLeaves[i];
+				final Node<K, V> newLeaf = mapValues(leaf, function);
+				if (newLeaf != leaf) {
+					if (newLeaves == null) {
+						newLeaves = collision.mLeaves.clone();
+					}
+					newLeaves[i] = (Leaf<K, V>) newLeaf;
+				}
+			}
+			return newLeaves == null ? collision : new Collision<>(collision.mHash, newLeaves);
+		}
+		return null;
+	}
+
+	private static <K, V> Node<K, V> combine(final Node<K, V> first, final Node<K, V> second, final int shift,
+			final BiFunction<? super V, ? super V, ? extends V> function) {
+		if (first == second || first == null || second == null) {
+			return first;
+		}
+		if (first instanceof Branch && second instanceof Branch) {
+			final Branch<K, V> firstBranch = (Branch<K, V>) first;
+			final Branch<K, V> secondBranch = (Branch<K, V>) second;
+			Branch<K, V> rtr = firstBranch;
+			int bitmap = firstBranch.mBitmap;
+			for (int i = 0; bitmap != 0; ++i) {
+				final int bit = Integer.lowestOneBit(bitmap);
+				bitmap &= ~bit;
+				if ((secondBranch.mBitmap & bit) == 0) {
+					continue;
+				}
+				final Node<K, V> child = firstBranch.mChildren[i];
+				final Node<K, V> newChild = combine(child,
+						secondBranch.mChildren[index(secondBranch.mBitmap, bit)], shift + BITS, function);
+				if (newChild != child) {
+					rtr = rtr == firstBranch ? firstBranch.replace(i, newChild) : rtr.set(i, newChild);
+				}
+			}
+			return rtr;
+		}
+		return combineByLookup(first, second, shift, function);
+	}
+
+	/**
+	 * Combine the leaves of <code>first</code> with the values that are found by a lookup in <code>second</code>,
+	 * which is a node at the given shift.
+	 */
+	private static <K, V> Node<K, V> combineByLookup(final Node<K, V> first, final Node<K, V> second,
+			final int secondShift, final BiFunction<? super V, ? super V, ? extends V> function) {
+		return mapLeaves(first, leaf -> {
+			final V secondValue = get(second, leaf.mHash, leaf.mKey, secondShift);
+			return secondValue == null ? leaf.mValue : function.apply(leaf.mValue, secondValue);
+		});
+	}
+
+	private static <K, V> Node<K, V> mapLeaves(final Node<K, V> node, final Function<Leaf<K, V>, V> function) {
+		if (node instanceof Leaf) {
+			final Leaf<K, V> leaf = (Leaf<K, V>) node;
+			final V newValue = Objects.requireNonNull(function.apply(leaf));
+			return newValue == leaf.mValue ? leaf : new Leaf<>(leaf.mHash, leaf.mKey, newValue);
+		}
+		if (node instanceof Branch) {
+			final Branch<K, V> branch = (Branch<K, V>) node;
+			Branch<K, V> rtr = branch;
+			for (int i = 0; i < branch.mChildren.length; ++i) {
+				final Node<K, V> child = branch.mChildren[i];
+				final Node<K, V> newChild = mapLeaves(child, function);
+				if (newChild != child) {
+					rtr = rtr == branch ? branch.replace(i, newChild) : rtr.set(i, newChild);
+				}
+			}
+			return rtr;
+		}
+		final Collision<K, V> collision = (Collision<K, V>) node;
+		Leaf<K, V>[] newLeaves = null;
+		for (int i = 0; i < collision.mLeaves.length; ++i) {
+			final Leaf<K, V> leaf = collision.mLeaves[i];
+			final Node<K, V> newLeaf = mapLeaves(leaf, function);
+			if (newLeaf != leaf) {
+				if (newLeaves == null) {
+					newLeaves = collision.mLeaves.clone();
+				}
+				newLeaves[i] = (Leaf<K, V>) newLeaf;
+			}
+		}
+		return newLeaves == null ? collision : new Collision<>(collision.mHash, newLeaves);
+	}
+
+	private static <K, V> boolean allMatch(final Node<K, V> first, final Node<K, V> second, final int shift,
+			final BiPredicate<? super V, ? super V> predicate) {
+		if (first == second || first == null || second == null) {
+			return true;
+		}
+		if (first instanceof Branch && second instanceof Branch) {
+			final Branch<K, V> firstBranch = (Branch<K, V>) first;
+			final Branch<K, V> secondBranch = (Branch<K, V>) second;
+			int bitmap = firstBranch.mBitmap & secondBranch.mBitmap;
+			while (bitmap != 0) {
+				final int bit = Integer.lowestOneBit(bitmap);
+				bitmap &= ~bit;
+				if (!allMatch(firstBranch.mChildren[index(firstBranch.mBitmap, bit)],
+						secondBranch.mChildren[index(secondBranch.mBitmap, bit)], shift + BITS, predicate)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		final Iterator<Entry<K, V>> iter = new LeafIterator<>(first);
+		while (iter.hasNext()) {
+			final Leaf<K, V> leaf = (Leaf<K, V>) iter.next();
+			final V secondValue = get(second, leaf.mHash, leaf.mKey, shift);
+			if (secondValue != null && !predicate.test(leaf.mValue, secondValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Generic arrays cannot be created directly; the unchecked cast is safe because the array only ever holds nodes
+	 * of the same map.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <K, V> Node<K, V>[] newNodeArray(final int size) {
+		return new Node[size];
+	}
+
+	/**
+	 * @see #newNodeArray(int)
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <K, V> Leaf<K, V>[] newLeafArray(final int size) {
+		return new Leaf[size];
+	}
+
+	/**
+	 * Counts the change of the size of a map during a modification.
+	 */
+	private static final class SizeChange {
+		private int mDelta;
+	}
+
+	private abstract static class Node<K, V> {
+		// marker for the nodes of the trie
+	}
+
+	private static final class Leaf<K, V> extends Node<K, V> implements Entry<K, V> {
+		private final int mHash;
+		private final K mKey;
+		private final V mValue;
+
+		private Leaf(final int hash, final K key, final V value) {
+			mHash = hash;
+			mKey = key;
+			mValue = value;
+		}
+
+		@Override
+		public K getKey() {
+			return mKey;
+		}
+
+		@Override
+		public V getValue() {
+			return mValue;
+		}
+
+		@Override
+		public V setValue(final V value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			final Entry<?, ?> other = (Entry<?, ?>) obj;
+			return mKey.equals(other.getKey()) && mValue.equals(other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return mKey.hashCode() ^ mValue.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return mKey + "=" + mValue;
+		}
+	}
+
+	/**
+	 * Inner node of the trie. The i-th child belongs to the i-th bit that is set in the bitmap.
+	 */
+	private static final class Branch<K, V> extends Node<K, V> {
+		private final int mBitmap;
+		private final Node<K, V>[] mChildren;
+
+		private Branch(final int bitmap, final Node<K, V>[] children) {
+			mBitmap = bitmap;
+			mChildren = children;
+		}
+
+		private Branch<K, V> replace(final int idx, final Node<K, V> child) {
+			final Node<K, V>[] children = mChildren.clone();
+			children[idx] = child;
+			return new Branch<>(mBitmap, children);
+		}
+
+		/**
+		 * Destructive update, only allowed for branches that were just created by {@link #replace(int, Node)}.
+		 */
+		private Branch<K, V> set(final int idx, final Node<K, V> child) {
+			mChildren[idx] = child;
+			return this;
+		}
+	}
+
+	/**
+	 * Leaves whose keys have the same (full) hash value.
+	 */
+	private static final class Collision<K, V> extends Node<K, V> {
+		private final int mHash;
+		private final Leaf<K, V>[] mLeaves;
+
+		private Collision(final int hash, final Leaf<K, V>[] leaves) {
+			mHash = hash;
+			mLeaves = leaves;
+		}
+	}
+
+	private static final class LeafIterator<K, V> implements Iterator<Entry<K, V>> {
+		private final Deque<Node<K, V>> mStack;
+
+		private LeafIterator(final Node<K, V> root) {
+			mStack = new ArrayDeque<>();
+			if (root != null) {
+				mStack.push(root);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			// each node of the trie contains at least one leaf
+			return !mStack.isEmpty();
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			while (!mStack.isEmpty()) {
+				final Node<K, V> node = mStack.pop();
+				if (node instanceof Leaf) {
+					return (Leaf<K, V>) node;
+				}
+				final Node<K, V>[] children =
+						node instanceof Branch ? ((Branch<K, V>) node).mChildren : ((Collision<K, V>) node).mLeaves;
+				for (int i = children.length - 1; i >= 0; --i) {
+					mStack.push(children[i]);
+				}
+			}
+			throw new NoSuchElementException();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Util Library.
+ *
+ * The ULTIMATE Util Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Util Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Util Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Util Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Util Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * An immutable set that is backed by a {@link PersistentHashMap}. Modifications ({@link #plus(Object)},
+ * {@link #minus(Object)}) return a new set that shares most of its structure with the old set.
+ *
+ * @param <E>
+ *            Type of the elements.
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+
+	@SuppressWarnings("rawtypes")
+	private static final PersistentHashSet EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+	private final PersistentHashMap<E, E> mMap;
+
+	private PersistentHashSet(final PersistentHashMap<E, E> map) {
+		mMap = map;
+	}
+
+	/**
+	 * @return The empty set.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentHashSet<E> empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @return A {@link PersistentHashSet} with the same elements as the given set. If the given set already is a
+	 *         {@link PersistentHashSet}, it is returned.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentHashSet<E> copyOf(final Collection<? extends E> elements) {
+		if (elements instanceof PersistentHashSet) {
+			return (PersistentHashSet<E>) elements;
+		}
+		return PersistentHashSet.<E> empty().plusAll(elements);
+	}
+
+	/**
+	 * @return A set that contains all elements of <code>this</code> and the given element. If the element already is
+	 *         contained, <code>this</code> is returned.
+	 */
+	public PersistentHashSet<E> plus(final E element) {
+		if (mMap.containsKey(element)) {
+			return this;
+		}
+		return new PersistentHashSet<>(mMap.plus(element, element));
+	}
+
+	/**
+	 * @return A set that contains all elements of <code>this</code> and of the given collection.
+	 */
+	public PersistentHashSet<E> plusAll(final Collection<? extends E> elements) {
+		PersistentHashMap<E, E> newMap = mMap;
+		for (final E element : elements) {
+			if (!newMap.containsKey(element)) {
+				newMap = newMap.plus(element, element);
+			}
+		}
+		return newMap == mMap ? this : new PersistentHashSet<>(newMap);
+	}
+
+	/**
+	 * @return A set that contains all elements of <code>this</code> except the given element. If the element is not
+	 *         contained, <code>this</code> is returned.
+	 */
+	public PersistentHashSet<E> minus(final Object element) {
+		final PersistentHashMap<E, E> newMap = mMap.minus(element);
+		return newMap == mMap ? this : new PersistentHashSet<>(newMap);
+	}
+
+	/**
+	 * @return A set that contains all elements of <code>this</code> except the elements of the given collection.
+	 */
+	public PersistentHashSet<E> minusAll(final Collection<?> elements) {
+		final PersistentHashMap<E, E> newMap = mMap.minusAll(elements);
+		return newMap == mMap ? this : new PersistentHashSet<>(newMap);
+	}
+
+	@Override
+	public boolean contains(final Object element) {
+		return mMap.containsKey(element);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return mMap.keySet().iterator();
+	}
+
+	@Override
+	public int size() {
+		return mMap.size();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj instanceof PersistentHashSet) {
+			return ((PersistentHashSet<?>) obj).mMap.equals(mMap);
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+}
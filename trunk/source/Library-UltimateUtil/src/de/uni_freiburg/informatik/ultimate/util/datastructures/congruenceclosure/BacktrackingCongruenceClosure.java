@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Util Library.
+ *
+ * The ULTIMATE Util Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Util Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Util Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Util Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Util Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.util.datastructures.EqualityStatus;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
+
+/**
+ * A mutable congruence closure that records every change on a trail, such that all changes after a
+ * {@link #checkpoint()} can be undone by {@link #backtrack(int)}.
+ * <p>
+ * This is meant for the "apply, then check" pattern: report some equalities or disequalities, check the result, and
+ * backtrack, instead of copying a {@link CongruenceClosure} for each check. Only persistent snapshots need a
+ * {@link CongruenceClosure}.
+ * <p>
+ * The union-find does not use path compression, such that each union can be undone in constant time; union by size
+ * keeps the trees logarithmic. Supported are equalities and disequalities between elements, literals (two different
+ * literals are always unequal), and function applications (closed under congruence). Literal set constraints and the
+ * special function kinds of {@link ICongruenceClosureElement} (constant and mix functions, dependent elements) are
+ * not tracked, so this closure may be weaker than a {@link CongruenceClosure} with the same elements: if it is
+ * inconsistent, the corresponding {@link CongruenceClosure} is, too.
+ *
+ * @param <ELEM>
+ *            The element type.
+ */
+public class BacktrackingCongruenceClosure<ELEM extends ICongruenceClosureElement<ELEM>> {
+
+	private final Map<ELEM, Node<ELEM>> mNodes;
+
+	/**
+	 * Maps the representatives of function and argument of a function application to some function application with
+	 * these representatives.
+	 */
+	private final Map<Pair<Node<ELEM>, Node<ELEM>>, Node<ELEM>> mSignatures;
+
+	private final List<Runnable> mTrail;
+
+	private boolean mIsInconsistent;
+
+	public BacktrackingCongruenceClosure() {
+		mNodes = new HashMap<>();
+		mSignatures = new HashMap<>();
+		mTrail = new ArrayList<>();
+		mIsInconsistent = false;
+	}
+
+	/**
+	 * @return A checkpoint that can be passed to {@link #backtrack(int)} to undo all changes made after this call.
+	 */
+	public int checkpoint() {
+		return mTrail.size();
+	}
+
+	/**
+	 * Undo all changes made after the given checkpoint was taken.
+	 */
+	public void backtrack(final int checkpoint) {
+		if (checkpoint < 0 || checkpoint > mTrail.size()) {
+			throw new IllegalArgumentException("Invalid checkpoint " + checkpoint);
+		}
+		for (int i = mTrail.size() - 1; i >= checkpoint; i--) {
+			mTrail.remove(i).run();
+		}
+	}
+
+	public boolean isInconsistent() {
+		return mIsInconsistent;
+	}
+
+	public boolean hasElement(final ELEM elem) {
+		return mNodes.containsKey(elem);
+	}
+
+	public ELEM getRepresentativeElement(final ELEM elem) {
+		final Node<ELEM> node = mNodes.get(elem);
+		if (node == null) {
+			throw new IllegalArgumentException("Unknown element " + elem);
+		}
+		return find(node).mElem;
+	}
+
+	/**
+	 * Add an element and, if it is a function application, its function and argument.
+	 *
+	 * @return true iff the element was not present before
+	 */
+	public boolean addElement(final ELEM elem) {
+		if (mNodes.containsKey(elem)) {
+			return false;
+		}
+		getOrAddNode(elem);
+		return true;
+	}
+
+	public void reportEquality(final ELEM elem1, final ELEM elem2) {
+		if (mIsInconsistent) {
+			return;
+		}
+		merge(getOrAddNode(elem1), getOrAddNode(elem2));
+	}
+
+	public void reportDisequality(final ELEM elem1, final ELEM elem2) {
+		if (mIsInconsistent) {
+			return;
+		}
+		final Node<ELEM> node1 = getOrAddNode(elem1);
+		final Node<ELEM> node2 = getOrAddNode(elem2);
+		if (mIsInconsistent) {
+			return;
+		}
+		final Node<ELEM> rep1 = find(node1);
+		final Node<ELEM> rep2 = find(node2);
+		if (rep1 == rep2) {
+			setInconsistent();
+			return;
+		}
+		addToList(rep1.mUnequal, node2);
+		addToList(rep2.mUnequal, node1);
+	}
+
+	/**
+	 * Computes the equality status of two elements. Elements that are not present are added temporarily. The status is
+	 * {@link EqualityStatus#NOT_EQUAL} iff reporting the equality would make this closure inconsistent.
+	 */
+	public EqualityStatus getEqualityStatus(final ELEM elem1, final ELEM elem2) {
+		if (mIsInconsistent) {
+			throw new IllegalStateException("catch this outside!");
+		}
+		if (!elem1.hasSameTypeAs(elem2)) {
+			return EqualityStatus.NOT_EQUAL;
+		}
+		final int checkpoint = checkpoint();
+		final Node<ELEM> node1 = getOrAddNode(elem1);
+		final Node<ELEM> node2 = getOrAddNode(elem2);
+		final EqualityStatus result;
+		if (mIsInconsistent) {
+			// adding the elements already led to a contradiction; the status is arbitrary
+			result = EqualityStatus.UNKNOWN;
+		} else if (find(node1) == find(node2)) {
+			result = EqualityStatus.EQUAL;
+		} else {
+			merge(node1, node2);
+			result = mIsInconsistent ? EqualityStatus.NOT_EQUAL : EqualityStatus.UNKNOWN;
+		}
+		backtrack(checkpoint);
+		return result;
+	}
+
+	private Node<ELEM> getOrAddNode(final ELEM elem) {
+		final Node<ELEM> existing = mNodes.get(elem);
+		if (existing != null) {
+			return existing;
+		}
+		final Node<ELEM> node = new Node<>(elem);
+		if (elem.isLiteral()) {
+			node.mLiteral = node;
+		}
+		if (elem.isFunctionApplication()) {
+			node.mFunction = getOrAddNode(elem.getAppliedFunction());
+			node.mArgument = getOrAddNode(elem.getArgument());
+		}
+		mNodes.put(elem, node);
+		mTrail.add(() -> mNodes.remove(elem));
+		if (elem.isFunctionApplication()) {
+			final Node<ELEM> funcRep = find(node.mFunction);
+			final Node<ELEM> argRep = find(node.mArgument);
+			addToList(funcRep.mCcPars, node);
+			if (argRep != funcRep) {
+				addToList(argRep.mCcPars, node);
+			}
+			final Node<ELEM> congruent = putSignature(new Pair<>(funcRep, argRep), node);
+			if (congruent != null) {
+				merge(node, congruent);
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Merge the equivalence classes of two nodes and all classes that become congruent.
+	 */
+	private void merge(final Node<ELEM> node1, final Node<ELEM> node2) {
+		final List<Node<ELEM>> pending = new ArrayList<>();
+		pending.add(node1);
+		pending.add(node2);
+		while (!pending.isEmpty() && !mIsInconsistent) {
+			final Node<ELEM> second = pending.remove(pending.size() - 1);
+			final Node<ELEM> first = pending.remove(pending.size() - 1);
+			Node<ELEM> rep = find(first);
+			Node<ELEM> child = find(second);
+			if (rep == child) {
+				continue;
+			}
+			if (rep.mSize < child.mSize) {
+				final Node<ELEM> tmp = rep;
+				rep = child;
+				child = tmp;
+			}
+			if (rep.mLiteral != null && child.mLiteral != null) {
+				// two different literals
+				setInconsistent();
+				return;
+			}
+			for (final Node<ELEM> unequal : child.mUnequal) {
+				if (find(unequal) == rep) {
+					setInconsistent();
+					return;
+				}
+			}
+			union(rep, child);
+
+			for (final Node<ELEM> ccPar : child.mCcPars) {
+				final Node<ELEM> congruent =
+						putSignature(new Pair<>(find(ccPar.mFunction), find(ccPar.mArgument)), ccPar);
+				if (congruent != null && find(congruent) != find(ccPar)) {
+					pending.add(ccPar);
+					pending.add(congruent);
+				}
+			}
+		}
+	}
+
+	private void union(final Node<ELEM> rep, final Node<ELEM> child) {
+		final int oldSize = rep.mSize;
+		final Node<ELEM> oldLiteral = rep.mLiteral;
+		final int oldCcPars = rep.mCcPars.size();
+		final int oldUnequal = rep.mUnequal.size();
+		child.mParent = rep;
+		rep.mSize += child.mSize;
+		if (rep.mLiteral == null) {
+			rep.mLiteral = child.mLiteral;
+		}
+		rep.mCcPars.addAll(child.mCcPars);
+		rep.mUnequal.addAll(child.mUnequal);
+		mTrail.add(() -> {
+			child.mParent = child;
+			rep.mSize = oldSize;
+			rep.mLiteral = oldLiteral;
+			truncate(rep.mCcPars, oldCcPars);
+			truncate(rep.mUnequal, oldUnequal);
+		});
+	}
+
+	/**
+	 * @return The node that was stored with the same signature before, or null
+	 */
+	private Node<ELEM> putSignature(final Pair<Node<ELEM>, Node<ELEM>> signature, final Node<ELEM> node) {
+		final Node<ELEM> old = mSignatures.get(signature);
+		if (old != null) {
+			return old;
+		}
+		mSignatures.put(signature, node);
+		mTrail.add(() -> mSignatures.remove(signature));
+		return null;
+	}
+
+	private void addToList(final List<Node<ELEM>> list, final Node<ELEM> node) {
+		list.add(node);
+		mTrail.add(() -> list.remove(list.size() - 1));
+	}
+
+	void setInconsistent() {
+		if (!mIsInconsistent) {
+			mIsInconsistent = true;
+			mTrail.add(() -> mIsInconsistent = false);
+		}
+	}
+
+	private static <ELEM> Node<ELEM> find(final Node<ELEM> node) {
+		Node<ELEM> current = node;
+		while (current.mParent != current) {
+			current = current.mParent;
+		}
+		return current;
+	}
+
+	private static <T> void truncate(final List<T> list, final int size) {
+		list.subList(size, list.size()).clear();
+	}
+
+	@Override
+	public String toString() {
+		if (mIsInconsistent) {
+			return "False";
+		}
+		final Map<ELEM, List<ELEM>> classes = new HashMap<>();
+		for (final Node<ELEM> node : mNodes.values()) {
+			classes.computeIfAbsent(find(node).mElem, r -> new ArrayList<>()).add(node.mElem);
+		}
+		return classes.values().toString();
+	}
+
+	/**
+	 * A node of the union-find. The fields of representatives describe the whole equivalence class.
+	 */
+	private static final class Node<ELEM> {
+		private final ELEM mElem;
+		private Node<ELEM> mParent;
+		private int mSize;
+		private Node<ELEM> mLiteral;
+		private Node<ELEM> mFunction;
+		private Node<ELEM> mArgument;
+		/**
+		 * The function applications whose function or argument is in this class.
+		 */
+		private final List<Node<ELEM>> mCcPars;
+		/**
+		 * Nodes that are unequal to some member of this class.
+		 */
+		private final List<Node<ELEM>> mUnequal;
+
+		private Node(final ELEM elem) {
+			mElem = elem;
+			mParent = this;
+			mSize = 1;
+			mCcPars = new ArrayList<>();
+			mUnequal = new ArrayList<>();
+		}
+	}
+}
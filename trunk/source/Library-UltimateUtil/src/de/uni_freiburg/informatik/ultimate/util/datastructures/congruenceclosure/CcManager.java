@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -277,6 +278,11 @@ public class CcManager<ELEM extends ICongruenceClosureElement<ELEM>> {
 			origCc.reportEquality(node1, node2);
 			bmEnd(CcBmNames.REPORT_EQUALITY);
 			return origCc;
+		} else if (isEqualityStatusKnown(origCc, node1, node2, EqualityStatus.EQUAL)) {
+			// the equality holds already, no need to copy
+			final CongruenceClosure<ELEM> resultPp = postProcessCcResult(origCc);
+			bmEnd(CcBmNames.REPORT_EQUALITY);
+			return resultPp;
 		} else {
 			final CongruenceClosure<ELEM> unfrozen = unfreeze(origCc);
 			unfrozen.reportEquality(node1, node2);
@@ -296,6 +302,11 @@ public class CcManager<ELEM extends ICongruenceClosureElement<ELEM>> {
 			origCc.reportDisequality(node1, node2);
 			bmEnd(CcBmNames.REPORT_DISEQUALITY);
 			return origCc;
+		} else if (isEqualityStatusKnown(origCc, node1, node2, EqualityStatus.NOT_EQUAL)) {
+			// the disequality holds already, no need to copy
+			final CongruenceClosure<ELEM> resultPp = postProcessCcResult(origCc);
+			bmEnd(CcBmNames.REPORT_DISEQUALITY);
+			return resultPp;
 		} else {
 			final CongruenceClosure<ELEM> unfrozen = unfreeze(origCc);
 			unfrozen.reportDisequality(node1, node2);
@@ -309,6 +320,16 @@ public class CcManager<ELEM extends ICongruenceClosureElement<ELEM>> {
 		}
 	}
 
+	/**
+	 * Check if a frozen congruence closure already contains both elements and has the given equality status for them.
+	 * Reporting the corresponding (dis)equality does not change such a congruence closure.
+	 */
+	private boolean isEqualityStatusKnown(final CongruenceClosure<ELEM> cc, final ELEM node1, final ELEM node2,
+			final EqualityStatus status) {
+		return cc.isFrozen() && !cc.isInconsistent() && cc.hasElement(node1) && cc.hasElement(node2)
+				&& cc.getEqualityStatus(node1, node2) == status;
+	}
+
 	public CongruenceClosure<ELEM> reportContainsConstraint(final ELEM elem, final Collection<ELEM> elementSet,
 			final CongruenceClosure<ELEM> origCc,
 			final boolean inplace) {
@@ -507,6 +528,52 @@ public class CcManager<ELEM extends ICongruenceClosureElement<ELEM>> {
 		return mInconsistentCc;
 	}
 
+	/**
+	 * Create a {@link BacktrackingCongruenceClosure} with the elements, equalities, and disequalities of the given
+	 * congruence closure. It can be used to check the effect of several constraints on the given congruence closure
+	 * without copying it for each check. Literal set constraints are not transferred.
+	 */
+	public BacktrackingCongruenceClosure<ELEM> getBacktrackingCc(final CongruenceClosure<ELEM> cc) {
+		final BacktrackingCongruenceClosure<ELEM> result = new BacktrackingCongruenceClosure<>();
+		reportAllConstraints(cc, result);
+		return result;
+	}
+
+	/**
+	 * Report the elements, equalities, and disequalities of the given congruence closure to the given
+	 * {@link BacktrackingCongruenceClosure}. Literal set constraints are not transferred.
+	 */
+	public void reportAllConstraints(final CongruenceClosure<ELEM> cc,
+			final BacktrackingCongruenceClosure<ELEM> target) {
+		if (cc.isInconsistent()) {
+			target.setInconsistent();
+			return;
+		}
+		for (final ELEM elem : cc.getAllElements()) {
+			target.reportEquality(elem, cc.getRepresentativeElement(elem));
+		}
+		for (final Entry<ELEM, ELEM> diseq : cc.getElementDisequalities()) {
+			target.reportDisequality(diseq.getKey(), diseq.getValue());
+		}
+	}
+
+	/**
+	 * Check whether the meet of the congruence closure that the given {@link BacktrackingCongruenceClosure} was built
+	 * from and the given congruence closure is inconsistent, without computing the meet. The backtracking closure is
+	 * left as it was.
+	 *
+	 * The check is sound but incomplete: Literal set constraints are ignored, so "false" does not mean that the meet
+	 * is consistent.
+	 */
+	public boolean isMeetInconsistent(final BacktrackingCongruenceClosure<ELEM> target,
+			final CongruenceClosure<ELEM> cc) {
+		final int checkpoint = target.checkpoint();
+		reportAllConstraints(cc, target);
+		final boolean result = target.isInconsistent();
+		target.backtrack(checkpoint);
+		return result;
+	}
+
 	public CongruenceClosure<ELEM> getCongruenceClosureFromTver(final ThreeValuedEquivalenceRelation<ELEM> tver,
 //			final CCLiteralSetConstraints<ELEM> literalConstraints,
 			final boolean modifiable) {
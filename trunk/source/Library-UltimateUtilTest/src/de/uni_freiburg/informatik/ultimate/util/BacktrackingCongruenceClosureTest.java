@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Util Library.
+ *
+ * The ULTIMATE Util Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Util Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Util Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Util Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Util Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.test.mocks.ConsoleLogger;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.EqualityStatus;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.BacktrackingCongruenceClosure;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.CcManager;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.CongruenceClosure;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.congruenceclosure.CongruenceClosureComparator;
+
+/**
+ * Tests for {@link BacktrackingCongruenceClosure}.
+ */
+public class BacktrackingCongruenceClosureTest {
+
+	@Test
+	public void testCongruenceAndBacktrack() {
+		final StringElementFactory factory = new StringElementFactory();
+		final StringCcElement f = factory.getBaseElement("f");
+		final StringCcElement x = factory.getBaseElement("x");
+		final StringCcElement y = factory.getBaseElement("y");
+		final StringCcElement z = factory.getBaseElement("z");
+		final StringCcElement fx = factory.getFuncAppElement(f, x);
+		final StringCcElement fy = factory.getFuncAppElement(f, y);
+		final StringCcElement ffx = factory.getFuncAppElement(f, fx);
+
+		final BacktrackingCongruenceClosure<StringCcElement> cc = new BacktrackingCongruenceClosure<>();
+		cc.addElement(ffx);
+		cc.addElement(fy);
+		assertTrue(cc.hasElement(fx));
+		assertEquals(EqualityStatus.UNKNOWN, cc.getEqualityStatus(fx, fy));
+
+		final int checkpoint = cc.checkpoint();
+		cc.reportEquality(x, y);
+		assertEquals(EqualityStatus.EQUAL, cc.getEqualityStatus(fx, fy));
+		cc.reportEquality(fx, x);
+		assertEquals(EqualityStatus.EQUAL, cc.getEqualityStatus(ffx, x));
+		cc.reportEquality(z, x);
+		assertTrue(cc.hasElement(z));
+
+		cc.backtrack(checkpoint);
+		assertFalse(cc.hasElement(z));
+		assertEquals(EqualityStatus.UNKNOWN, cc.getEqualityStatus(fx, fy));
+		assertEquals(EqualityStatus.UNKNOWN, cc.getEqualityStatus(ffx, x));
+		assertEquals(EqualityStatus.UNKNOWN, cc.getEqualityStatus(x, y));
+	}
+
+	@Test
+	public void testDisequalityAndLiterals() {
+		final StringElementFactory factory = new StringElementFactory();
+		final StringCcElement f = factory.getBaseElement("f");
+		final StringCcElement x = factory.getBaseElement("x");
+		final StringCcElement y = factory.getBaseElement("y");
+		final StringCcElement one = factory.getBaseElement("1", true);
+		final StringCcElement two = factory.getBaseElement("2", true);
+		final StringCcElement fx = factory.getFuncAppElement(f, x);
+		final StringCcElement fy = factory.getFuncAppElement(f, y);
+
+		final BacktrackingCongruenceClosure<StringCcElement> cc = new BacktrackingCongruenceClosure<>();
+		cc.reportDisequality(fx, fy);
+		// x = y would imply f(x) = f(y)
+		assertEquals(EqualityStatus.NOT_EQUAL, cc.getEqualityStatus(x, y));
+		assertEquals(EqualityStatus.NOT_EQUAL, cc.getEqualityStatus(one, two));
+		assertFalse(cc.isInconsistent());
+
+		final int checkpoint = cc.checkpoint();
+		cc.reportEquality(x, one);
+		cc.reportEquality(y, two);
+		assertFalse(cc.isInconsistent());
+		cc.reportEquality(x, y);
+		assertTrue(cc.isInconsistent());
+
+		cc.backtrack(checkpoint);
+		assertFalse(cc.isInconsistent());
+		assertFalse(cc.hasElement(one));
+		assertEquals(EqualityStatus.NOT_EQUAL, cc.getEqualityStatus(fx, fy));
+	}
+
+	@Test
+	public void testFromCongruenceClosure() {
+		final CcManager<StringCcElement> manager =
+				new CcManager<>(new ConsoleLogger(), new CongruenceClosureComparator<StringCcElement>());
+		final StringElementFactory factory = new StringElementFactory();
+		final StringCcElement f = factory.getBaseElement("f");
+		final StringCcElement x = factory.getBaseElement("x");
+		final StringCcElement y = factory.getBaseElement("y");
+		final StringCcElement z = factory.getBaseElement("z");
+		final StringCcElement fx = factory.getFuncAppElement(f, x);
+		final StringCcElement fz = factory.getFuncAppElement(f, z);
+
+		CongruenceClosure<StringCcElement> cc = manager.getEmptyCc(true);
+		cc = manager.addElement(cc, fx, true, false);
+		cc = manager.addElement(cc, fz, true, false);
+		cc = manager.reportEquality(x, y, cc, true);
+		cc = manager.reportDisequality(fx, fz, cc, true);
+
+		final BacktrackingCongruenceClosure<StringCcElement> bcc = manager.getBacktrackingCc(cc);
+		assertEquals(EqualityStatus.EQUAL, bcc.getEqualityStatus(x, y));
+		assertEquals(EqualityStatus.NOT_EQUAL, bcc.getEqualityStatus(y, z));
+		assertEquals(EqualityStatus.UNKNOWN, bcc.getEqualityStatus(x, f));
+	}
+
+	@Test
+	public void testMeetInconsistency() {
+		final CcManager<StringCcElement> manager =
+				new CcManager<>(new ConsoleLogger(), new CongruenceClosureComparator<StringCcElement>());
+		final StringElementFactory factory = new StringElementFactory();
+		final StringCcElement f = factory.getBaseElement("f");
+		final StringCcElement x = factory.getBaseElement("x");
+		final StringCcElement y = factory.getBaseElement("y");
+		final StringCcElement z = factory.getBaseElement("z");
+		final StringCcElement fx = factory.getFuncAppElement(f, x);
+		final StringCcElement fy = factory.getFuncAppElement(f, y);
+
+		final CongruenceClosure<StringCcElement> gpa = manager.reportEquality(x, y, manager.getEmptyCc(true), true);
+		final BacktrackingCongruenceClosure<StringCcElement> bcc = manager.getBacktrackingCc(gpa);
+
+		final CongruenceClosure<StringCcElement> consistent = manager.getSingleDisequalityCc(x, z, true);
+		final CongruenceClosure<StringCcElement> inconsistent = manager.getSingleDisequalityCc(fx, fy, true);
+
+		final int checkpoint = bcc.checkpoint();
+		manager.reportAllConstraints(inconsistent, bcc);
+		assertTrue(bcc.isInconsistent());
+		bcc.backtrack(checkpoint);
+		assertFalse(bcc.isInconsistent());
+
+		manager.reportAllConstraints(consistent, bcc);
+		assertFalse(bcc.isInconsistent());
+		assertEquals(EqualityStatus.NOT_EQUAL, bcc.getEqualityStatus(y, z));
+		bcc.backtrack(checkpoint);
+		assertEquals(EqualityStatus.UNKNOWN, bcc.getEqualityStatus(y, z));
+	}
+
+	@Test
+	public void testIsMeetInconsistentAgreesWithMeet() {
+		final CcManager<StringCcElement> manager =
+				new CcManager<>(new ConsoleLogger(), new CongruenceClosureComparator<StringCcElement>());
+		final StringElementFactory factory = new StringElementFactory();
+		final StringCcElement f = factory.getBaseElement("f");
+		final StringCcElement x = factory.getBaseElement("x");
+		final StringCcElement y = factory.getBaseElement("y");
+		final StringCcElement z = factory.getBaseElement("z");
+		final StringCcElement one = factory.getBaseElement("1", true);
+		final StringCcElement two = factory.getBaseElement("2", true);
+		final StringCcElement fx = factory.getFuncAppElement(f, x);
+		final StringCcElement fy = factory.getFuncAppElement(f, y);
+
+		CongruenceClosure<StringCcElement> cc1 = manager.getEmptyCc(true);
+		cc1 = manager.reportEquality(x, one, cc1, true);
+		cc1 = manager.reportDisequality(fx, fy, cc1, true);
+		manager.freezeIfNecessary(cc1);
+
+		final List<CongruenceClosure<StringCcElement>> others = Arrays.asList(
+				manager.getSingleEqualityCc(x, y, false),
+				manager.getSingleEqualityCc(y, two, false),
+				manager.getSingleEqualityCc(y, z, false),
+				manager.getSingleEqualityCc(x, two, false),
+				manager.getSingleDisequalityCc(x, z, false),
+				manager.getSingleDisequalityCc(x, one, false));
+
+		final BacktrackingCongruenceClosure<StringCcElement> bcc = manager.getBacktrackingCc(cc1);
+		final int checkpoint = bcc.checkpoint();
+		for (final CongruenceClosure<StringCcElement> cc2 : others) {
+			assertEquals(cc2.toString(), manager.meet(cc1, cc2, false).isInconsistent(),
+					manager.isMeetInconsistent(bcc, cc2));
+			assertEquals(checkpoint, bcc.checkpoint());
+			assertFalse(bcc.isInconsistent());
+		}
+		assertEquals(EqualityStatus.UNKNOWN, bcc.getEqualityStatus(y, z));
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE Util Library.
+ *
+ * The ULTIMATE Util Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE Util Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE Util Library. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE Util Library, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE Util Library grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.util.datastructures.PersistentHashMap;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.PersistentHashSet;
+
+/**
+ * Tests for {@link PersistentHashMap} and {@link PersistentHashSet}.
+ */
+public class PersistentHashMapTest {
+
+	@Test
+	public void testPlusMinus() {
+		final PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+		final PersistentHashMap<String, Integer> m1 = empty.plus("a", 1);
+		final PersistentHashMap<String, Integer> m2 = m1.plus("b", 2);
+		final PersistentHashMap<String, Integer> m3 = m2.minus("a");
+		assertTrue(empty.isEmpty());
+		assertEquals(1, m1.size());
+		assertEquals(2, m2.size());
+		assertEquals(Integer.valueOf(2), m3.get("b"));
+		assertFalse(m3.containsKey("a"));
+		assertTrue(m1.containsKey("a"));
+		assertSame(m2, m2.minus("c"));
+		assertSame(m2, m2.plus("a", m2.get("a")));
+	}
+
+	@Test
+	public void testRandomOperationsAgainstHashMap() {
+		final Random random = new Random(42);
+		final Map<Key, Integer> expected = new HashMap<>();
+		PersistentHashMap<Key, Integer> actual = PersistentHashMap.empty();
+		final List<Map<Key, Integer>> expectedSnapshots = new ArrayList<>();
+		final List<PersistentHashMap<Key, Integer>> actualSnapshots = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			// few distinct hash codes lead to collisions
+			final Key key = new Key(random.nextInt(300));
+			if (random.nextInt(3) == 0) {
+				expected.remove(key);
+				actual = actual.minus(key);
+			} else {
+				final Integer value = random.nextInt(10);
+				expected.put(key, value);
+				actual = actual.plus(key, value);
+			}
+			if (i % 500 == 0) {
+				expectedSnapshots.add(new HashMap<>(expected));
+				actualSnapshots.add(actual);
+			}
+		}
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+		for (int i = 0; i < expectedSnapshots.size(); i++) {
+			assertEquals(expectedSnapshots.get(i), actualSnapshots.get(i));
+		}
+		assertTrue(actual.minusAll(new ArrayList<>(expected.keySet())).isEmpty());
+	}
+
+	@Test
+	public void testCombine() {
+		PersistentHashMap<Integer, Integer> first = PersistentHashMap.empty();
+		for (int i = 0; i < 100; i++) {
+			first = first.plus(i, i);
+		}
+		final PersistentHashMap<Integer, Integer> second = first.plus(3, 10).plus(200, 0);
+		final PersistentHashMap<Integer, Integer> max = PersistentHashMap.combine(first, second, Math::max);
+		assertEquals(first.plus(3, 10), max);
+		assertSame(first, PersistentHashMap.combine(first, first, Math::max));
+		assertSame(first, PersistentHashMap.combine(first, second, Math::min));
+	}
+
+	/**
+	 * Values below zero play the role of bottom. Subtrees that are shared by both maps and contain bottom values have
+	 * to be kept as they are, although the function is not applied to them.
+	 */
+	@Test
+	public void testCombineWithSharedBottomValues() {
+		final Random random = new Random(7);
+		PersistentHashMap<Key, Integer> shared = PersistentHashMap.empty();
+		for (int i = 0; i < 200; i++) {
+			shared = shared.plus(new Key(i), i % 10 == 0 ? -1 : i);
+		}
+		for (int round = 0; round < 20; round++) {
+			PersistentHashMap<Key, Integer> first = shared;
+			PersistentHashMap<Key, Integer> second = shared;
+			for (int i = 0; i < 10; i++) {
+				first = first.plus(new Key(random.nextInt(250)), random.nextInt(12) - 1);
+				second = second.plus(new Key(random.nextInt(250)), random.nextInt(12) - 1);
+			}
+			final Map<Key, Integer> expected = new HashMap<>(first);
+			for (final Map.Entry<Key, Integer> entry : second.entrySet()) {
+				expected.computeIfPresent(entry.getKey(), (k, v) -> Math.min(v, entry.getValue()));
+			}
+			final List<Integer> applied = new ArrayList<>();
+			final PersistentHashMap<Key, Integer> meet = PersistentHashMap.combine(first, second, (a, b) -> {
+				applied.add(a);
+				return Math.min(a, b);
+			});
+			assertEquals(expected, meet);
+			// shared subtrees are skipped, hence the function does not see all common keys
+			assertTrue(applied.size() < expected.size());
+		}
+	}
+
+	@Test
+	public void testAllMatch() {
+		PersistentHashMap<Integer, Integer> first = PersistentHashMap.empty();
+		for (int i = 0; i < 100; i++) {
+			first = first.plus(i, i);
+		}
+		assertTrue(PersistentHashMap.allMatch(first, first.plus(3, 10), (a, b) -> a <= b));
+		assertFalse(PersistentHashMap.allMatch(first, first.plus(3, 0), (a, b) -> a <= b));
+		assertTrue(PersistentHashMap.allMatch(first, first.minus(3).plus(200, 0), (a, b) -> a.equals(b)));
+	}
+
+	@Test
+	public void testSet() {
+		final PersistentHashSet<String> set = PersistentHashSet.<String> empty().plus("a").plus("b");
+		assertEquals(2, set.size());
+		assertTrue(set.contains("a"));
+		assertFalse(set.minus("a").contains("a"));
+		assertSame(set, set.plus("a"));
+		assertEquals(PersistentHashSet.copyOf(set.minus("b")), set.minus("b"));
+	}
+
+	/**
+	 * Key with only 20 different hash codes.
+	 */
+	private static final class Key {
+		private final int mId;
+
+		private Key(final int id) {
+			mId = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return mId % 20;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof Key && ((Key) obj).mId == mId;
+		}
+	}
+}
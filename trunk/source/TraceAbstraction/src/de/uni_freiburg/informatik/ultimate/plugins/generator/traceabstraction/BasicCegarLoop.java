@@ -55,9 +55,11 @@ import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomat
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.Accepts;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.Difference;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IncrementalDifference;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.Intersect;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEmpty;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEmpty.SearchStrategy;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEmptyHeuristic;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.PowersetDeterminizer;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.RemoveDeadEnds;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.RemoveUnreachable;
@@ -86,6 +88,8 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareT
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IncrementalHoareTripleChecker;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.SimplificationTechnique;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.XnfConversionTechnique;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder.SolverSettings;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicateUnifier;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.ISLPredicate;
@@ -106,7 +110,9 @@ import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.in
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.interpolantautomata.transitionappender.NondeterministicInterpolantAutomaton;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.pathinvariants.PathInvariantsGenerator;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.pathinvariants.internal.DangerInvariantGuesser;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.HoareTripleCheckSolverPool;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.InductivityCheck;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.PersistentHoareTripleCache;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.PredicateFactory;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TAPreferences;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TAPreferences.Artifact;
@@ -202,6 +208,15 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 	protected final Collection<INwaOutgoingLetterAndTransitionProvider<LETTER, IPredicate>> mStoredRawInterpolantAutomata;
 
 	private final SearchStrategy mSearchStrategy;
+	/**
+	 * Heuristic for the counterexample search, null if the search does not use a heuristic.
+	 */
+	private final ErrorDistanceHeuristic<LETTER> mErrorDistanceHeuristic;
+	/**
+	 * Solvers for concurrent Hoare triple checks during the refinement, null if all checks are sequential.
+	 */
+	private final HoareTripleCheckSolverPool mHoareTripleCheckSolverPool;
+	private final PersistentHoareTripleCache mPersistentHoareTripleCache;
 
 	private final RefinementStrategyFactory<LETTER> mRefinementStrategyFactory;
 	private final PathProgramDumpController<LETTER> mPathProgramDumpController;
@@ -270,7 +285,8 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 		mFaultLocalizationAngelic =
 				prefs.getBoolean(TraceAbstractionPreferenceInitializer.LABEL_ERROR_TRACE_ANGELIC_VERIFICATION_ACTIVE);
 
-		final PathProgramCache<LETTER> pathProgramCache = new PathProgramCache<>(mLogger);
+		final PathProgramCache<LETTER> pathProgramCache =
+				new PathProgramCache<>(mLogger, mPref.getPathProgramCacheSize(), mPref.getCacheEvictionPolicy());
 		final CegarAbsIntRunner<LETTER> absIntRunner = new CegarAbsIntRunner<>(services, mCegarLoopBenchmark, rootNode,
 				mSimplificationTechnique, mXnfConversionTechnique, mCsToolkit, pathProgramCache, taPrefs);
 		mInterpolantAutomatonBuilderFactory = new InterpolantAutomatonBuilderFactory<>(mServices, mCsToolkit,
@@ -278,7 +294,14 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 				mInterpolantAutomatonConstructionProcedure, mCegarLoopBenchmark);
 
 		mSearchStrategy = getSearchStrategy(prefs);
+		mErrorDistanceHeuristic = createErrorDistanceHeuristic(prefs);
 		mStoredRawInterpolantAutomata = checkStoreCounterExamples(mPref) ? new ArrayList<>() : null;
+		final int concurrentHtcSolvers = mPref.getConcurrentHoareTripleCheckSolvers();
+		mHoareTripleCheckSolverPool = concurrentHtcSolvers > 0
+				? HoareTripleCheckSolverPool.getPool(mServices, mToolchainStorage, mCsToolkit, concurrentHtcSolvers,
+						mPref.solverMode(), constructSolverSettings("HoareTripleCheck"), mPref.logicForExternalSolver())
+				: null;
+		mPersistentHoareTripleCache = PersistentHoareTripleCache.getCache(mServices, mToolchainStorage);
 
 		final TaCheckAndRefinementPreferences<LETTER> taCheckAndRefinementPrefs = new TaCheckAndRefinementPreferences<>(
 				mServices, mPref, mInterpolation, mSimplificationTechnique, mXnfConversionTechnique, mCsToolkit,
@@ -339,11 +362,13 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 	protected boolean isAbstractionEmpty() throws AutomataOperationCanceledException {
 		final INwaOutgoingLetterAndTransitionProvider<LETTER, IPredicate> abstraction =
 				(INwaOutgoingLetterAndTransitionProvider<LETTER, IPredicate>) mAbstraction;
-		// TODO: Make an option out of this
-		mCounterexample =
-				new IsEmpty<>(new AutomataLibraryServices(mServices), abstraction, mSearchStrategy).getNestedRun();
-
-		// mCounterexample = new IsEmptyHeuristic<>(new AutomataLibraryServices(mServices), abstraction).getNestedRun();
+		if (mErrorDistanceHeuristic != null) {
+			mCounterexample = new IsEmptyHeuristic<>(new AutomataLibraryServices(mServices), abstraction,
+					mErrorDistanceHeuristic).getNestedRun();
+		} else {
+			mCounterexample =
+					new IsEmpty<>(new AutomataLibraryServices(mServices), abstraction, mSearchStrategy).getNestedRun();
+		}
 
 		if (mCounterexample == null) {
 			return true;
@@ -485,6 +510,7 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 		}
 
 		mCegarLoopBenchmark.addRefinementEngineStatistics(strategy.getRefinementEngineStatistics());
+		mCegarLoopBenchmark.reportPathProgramCache(mRefinementStrategyFactory.getPathProgramCache());
 		return feasibility;
 	}
 
@@ -561,7 +587,8 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 			htc = mTraceCheckAndRefinementEngine.getHoareTripleChecker();
 		} else {
 			htc = TraceAbstractionUtils.constructEfficientHoareTripleCheckerWithCaching(mServices,
-					mPref.getHoareTripleChecks(), mCsToolkit, mTraceCheckAndRefinementEngine.getPredicateUnifier());
+					mPref.getHoareTripleChecks(), mCsToolkit, mTraceCheckAndRefinementEngine.getPredicateUnifier(),
+					mHoareTripleCheckSolverPool, mPersistentHoareTripleCache);
 		}
 
 		final AutomatonType automatonType;
@@ -668,6 +695,10 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 				if (mPref.differenceSenwa()) {
 					diff = new DifferenceSenwa<>(new AutomataLibraryServices(mServices), mStateFactoryForRefinement,
 							minuend, subtrahend, psd, false);
+				} else if (mPref.incrementalDifference() && !mComputeHoareAnnotation) {
+					// the Hoare annotation needs the product state for each pair of states
+					diff = new IncrementalDifference<>(new AutomataLibraryServices(mServices),
+							mStateFactoryForRefinement, minuend, subtrahend, psd, explointSigmaStarConcatOfIA);
 				} else {
 					diff = new Difference<>(new AutomataLibraryServices(mServices), mStateFactoryForRefinement, minuend,
 							subtrahend, psd, explointSigmaStarConcatOfIA);
@@ -902,6 +933,7 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 		case DFA_HOPCROFT_ARRAYS:
 		case MINIMIZE_SEVPA:
 		case SHRINK_NWA:
+		case SHRINK_NWA_PARALLEL:
 		case NWA_MAX_SAT:
 		case NWA_MAX_SAT2:
 		case RAQ_DIRECT_SIMULATION:
@@ -979,8 +1011,13 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 				(INestedWordAutomaton<LETTER, IPredicate>) mAbstraction;
 		mCegarLoopBenchmark.start(CegarLoopStatisticsDefinitions.HoareAnnotationTime.toString());
 		new HoareAnnotationExtractor<>(mServices, abstraction, mHaf);
+		final int concurrentSolvers = mPref.getConcurrentHoareAnnotationSolvers();
+		final HoareAnnotationSimplificationPool simplificationPool = concurrentSolvers > 1
+				? new HoareAnnotationSimplificationPool(mServices, mToolchainStorage, mCsToolkit, concurrentSolvers,
+						mPref.solverMode(), constructSolverSettings("HoareAnnotation"), mPref.logicForExternalSolver())
+				: null;
 		final HoareAnnotationComposer clha = new HoareAnnotationComposer(mCsToolkit, mPredicateFactory, mHaf, mServices,
-				mSimplificationTechnique, mXnfConversionTechnique);
+				mSimplificationTechnique, mXnfConversionTechnique, simplificationPool);
 		final HoareAnnotationWriter writer = new HoareAnnotationWriter(mIcfg, mCsToolkit, mPredicateFactory, clha,
 				mServices, mSimplificationTechnique, mXnfConversionTechnique);
 		writer.addHoareAnnotationToCFG();
@@ -1030,7 +1067,7 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 	 * method called at the end of the cegar loop
 	 */
 	public void finish() {
-		// do nothing
+		mRefinementStrategyFactory.finish();
 	}
 
 	@Override
@@ -1055,6 +1092,16 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 		return pref.getMinimization() == Minimization.NWA_OVERAPPROXIMATION;
 	}
 
+	/**
+	 * @return settings of the solver that is configured in the preferences; scripts are dumped to files whose name
+	 *         ends with the given suffix
+	 */
+	private SolverSettings constructSolverSettings(final String suffix) {
+		return SolverBuilder.constructSolverSettings(mIcfg.getIdentifier() + "_" + suffix, mPref.solverMode(),
+				mPref.fakeNonIncrementalSolver(), mPref.commandExternalSolver(), mPref.dumpSmtScriptToFile(),
+				mPref.pathOfDumpedScript());
+	}
+
 	private static SearchStrategy getSearchStrategy(final IPreferenceProvider mPrefs) {
 		switch (mPrefs.getEnum(TraceAbstractionPreferenceInitializer.LABEL_COUNTEREXAMPLE_SEARCH_STRATEGY,
 				CounterexampleSearchStrategy.class)) {
@@ -1062,11 +1109,26 @@ public class BasicCegarLoop<LETTER extends IIcfgTransition<?>> extends AbstractC
 			return SearchStrategy.BFS;
 		case DFS:
 			return SearchStrategy.DFS;
+		case ASTAR_ERROR_DISTANCE:
+			// used whenever the heuristic search is not applicable
+			return SearchStrategy.BFS;
 		default:
 			throw new IllegalArgumentException();
 		}
 	}
 
+	private ErrorDistanceHeuristic<LETTER> createErrorDistanceHeuristic(final IPreferenceProvider prefs) {
+		if (prefs.getEnum(TraceAbstractionPreferenceInitializer.LABEL_COUNTEREXAMPLE_SEARCH_STRATEGY,
+				CounterexampleSearchStrategy.class) != CounterexampleSearchStrategy.ASTAR_ERROR_DISTANCE) {
+			return null;
+		}
+		final ErrorDistanceHeuristic<LETTER> heuristic = ErrorDistanceHeuristic.create(mIcfg);
+		if (heuristic == null) {
+			mLogger.warn("Program has recursive procedures, using breadth-first search for counterexamples");
+		}
+		return heuristic;
+	}
+
 	public LinkedHashSet<Pair<AbstractInterpolantAutomaton<LETTER>, IPredicateUnifier>> getFloydHoareAutomata() {
 		if (mStoreFloydHoareAutomata) {
 			return mFloydHoareAutomata;
@@ -83,6 +83,7 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPre
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicateUnifier;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.tool.AbstractInterpreter;
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.AbsIntUtil;
+import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.util.AbstractPostCache;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.rcfgbuilder.cfg.BoogieIcfgLocation;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.rcfgbuilder.cfg.PathProgram;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.interpolantautomata.builders.AbsIntNonSmtInterpolantAutomatonBuilder;
@@ -90,6 +91,7 @@ import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.in
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.interpolantautomata.builders.AbsIntTotalInterpolationAutomatonBuilder;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.interpolantautomata.builders.IInterpolantAutomatonBuilder;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.AbsIntHoareTripleChecker;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.AbsIntStateStore;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.CachingHoareTripleChecker;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.CachingHoareTripleCheckerMap;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TAPreferences;
@@ -121,6 +123,10 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 	private final SimplificationTechnique mSimplificationTechnique;
 	private final XnfConversionTechnique mXnfConversionTechnique;
 	private final PathProgramCache<LETTER> mPathProgramCache;
+	/**
+	 * Post states that are kept between the iterations, null if disabled.
+	 */
+	private final AbstractPostCache mPostCache;
 
 	private AbsIntCurrentIteration<?> mCurrentIteration;
 	private IPredicateUnifier mPredicateUnifierSmt;
@@ -142,6 +148,8 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 		mCsToolkit = csToolkit;
 
 		final IPreferenceProvider prefs = mServices.getPreferenceProvider(Activator.PLUGIN_ID);
+		final int postCacheSize = prefs.getInt(TraceAbstractionPreferenceInitializer.LABEL_ABSINT_POST_CACHE_SIZE);
+		mPostCache = postCacheSize > 0 ? new AbstractPostCache(postCacheSize) : null;
 		mAlwaysRefine = prefs.getBoolean(TraceAbstractionPreferenceInitializer.LABEL_ABSINT_ALWAYS_REFINE);
 		mMode = prefs.getEnum(TraceAbstractionPreferenceInitializer.LABEL_ABSINT_MODE,
 				AbstractInterpretationMode.class);
@@ -170,7 +178,7 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 					"AbsInt only supports BoogieIcfgLocations and Codeblocks at the moment");
 		}
 		mPredicateUnifierSmt = Objects.requireNonNull(unifier);
-		mCurrentIteration = null;
+		releaseCurrentIteration();
 
 		if (mMode == AbstractInterpretationMode.NONE) {
 			return;
@@ -215,10 +223,11 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 			@SuppressWarnings("unchecked")
 			final IAbstractInterpretationResult<?, LETTER, ?> result =
 					(IAbstractInterpretationResult<?, LETTER, ?>) AbstractInterpreter.runWithoutTimeoutAndResults(pp,
-							timer, mServices);
-			if (result == null) {
-				mCurrentIteration = null;
-			} else {
+							timer, mServices, mPostCache);
+			if (mPostCache != null && mLogger.isDebugEnabled()) {
+				mLogger.debug(mPostCache);
+			}
+			if (result != null) {
 				mCurrentIteration = new AbsIntCurrentIteration<>(currentCex, result, pp);
 			}
 			if (hasShownInfeasibility()) {
@@ -290,7 +299,7 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 				aiInterpolAutomatonBuilder = new AbsIntTotalInterpolationAutomatonBuilder<>(mServices, abstraction,
 						mCurrentIteration.getResult(), predicateUnifier, mCsToolkit, currentCex,
 						mRoot.getCfgSmtToolkit().getSymbolTable(), mSimplificationTechnique, mXnfConversionTechnique,
-						emptyStackFactory);
+						emptyStackFactory, mCurrentIteration.getStateStore());
 				break;
 			default:
 				throw new UnsupportedOperationException("AI mode " + mMode + " not yet implemented");
@@ -322,6 +331,14 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 		return pathProgramSet.stream().anyMatch(a -> !programPoints.add(a.getTarget()));
 	}
 
+	private void releaseCurrentIteration() {
+		if (mCurrentIteration == null) {
+			return;
+		}
+		mCurrentIteration.release();
+		mCurrentIteration = null;
+	}
+
 	private static UnsupportedOperationException createNoFixpointsException() {
 		return new UnsupportedOperationException(
 				"AbsInt can only provide a hoare triple checker if it generated fixpoints");
@@ -343,6 +360,7 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 		private final AbsIntPredicate<STATE> mTruePredicate;
 		private final PredicateUnifier mPredicateUnifierAbsInt;
 		private final PathProgram mPathProgram;
+		private final AbsIntStateStore<STATE> mStateStore;
 
 		public AbsIntCurrentIteration(final IRun<LETTER, IPredicate, ?> cex,
 				final IAbstractInterpretationResult<STATE, LETTER, ?> result, final PathProgram pathprogram) {
@@ -357,12 +375,25 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 					mPredicateUnifierSmt.getPredicateFactory(), mCsToolkit.getSymbolTable(),
 					SimplificationTechnique.SIMPLIFY_DDA, XnfConversionTechnique.BOTTOM_UP_WITH_LOCAL_SIMPLIFICATION,
 					mFalsePredicate, mTruePredicate);
+			mStateStore = new AbsIntStateStore<>();
 		}
 
 		public IAbstractInterpretationResult<STATE, LETTER, ?> getResult() {
 			return mResult;
 		}
 
+		public AbsIntStateStore<STATE> getStateStore() {
+			return mStateStore;
+		}
+
+		/**
+		 * Release the terms and states that were stored for this iteration.
+		 */
+		public void release() {
+			mLogger.info(mStateStore);
+			mStateStore.clear();
+		}
+
 		public boolean hasReachedError() {
 			return mResult.hasReachedError();
 		}
@@ -376,7 +407,7 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 
 		private CachingHoareTripleCheckerMap createHoareTripleChecker(final boolean onlyAbsInt) {
 			final IHoareTripleChecker htc = new AbsIntHoareTripleChecker<>(mLogger, mServices, mResult.getUsedDomain(),
-					mResult.getUsedVariableProvider(), mPredicateUnifierAbsInt, mCsToolkit, onlyAbsInt);
+					mResult.getUsedVariableProvider(), mPredicateUnifierAbsInt, mCsToolkit, onlyAbsInt, mStateStore);
 			return new CachingHoareTripleCheckerMap(mServices, htc, mPredicateUnifierAbsInt);
 		}
 
@@ -548,8 +579,8 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 
 			final DisjunctiveAbstractState<STATE> disjunctiveState =
 					DisjunctiveAbstractState.createDisjunction(postStates);
-			final IPredicate unUnifiedPredicate =
-					mPredicateUnifierSmt.getPredicateFactory().newPredicate(disjunctiveState.getTerm(script));
+			final IPredicate unUnifiedPredicate = mPredicateUnifierSmt.getPredicateFactory()
+					.newPredicate(mStateStore.getDisjunctionTerm(disjunctiveState, script));
 			final IPredicate disjunction = mPredicateUnifierAbsInt
 					.getOrConstructPredicate(new AbsIntPredicate<>(unUnifiedPredicate, disjunctiveState));
 			if (disjunction.equals(mFalsePredicate)) {
@@ -570,7 +601,8 @@ public class CegarAbsIntRunner<LETTER extends IIcfgTransition<?>> {
 			final BasicPredicateFactory predFac = mPredicateUnifierAbsInt.getPredicateFactory();
 			final DisjunctiveAbstractState<STATE> disjunctiveState =
 					DisjunctiveAbstractState.createDisjunction(postStates).compact();
-			final IPredicate disjunction = predFac.newPredicate(disjunctiveState.getTerm(script));
+			final IPredicate disjunction =
+					predFac.newPredicate(mStateStore.getDisjunctionTerm(disjunctiveState, script));
 			return new AbsIntPredicate<>(disjunction, (STATE) disjunctiveState);
 		}
 	}
@@ -105,7 +105,11 @@ public enum CegarLoopStatisticsDefinitions implements IStatisticsElement {
 	RefinementEngineStatistics(StatisticsData.class, StatisticsType.STATISTICS_DATA_AGGREGATION,
 			StatisticsType.KEY_BEFORE_DATA),
 
-	REUSE_STATISTICS(StatisticsData.class, StatisticsType.STATISTICS_DATA_AGGREGATION, StatisticsType.KEY_BEFORE_DATA);
+	REUSE_STATISTICS(StatisticsData.class, StatisticsType.STATISTICS_DATA_AGGREGATION, StatisticsType.KEY_BEFORE_DATA),
+
+	PathProgramCacheEvictions(Integer.class, StatisticsType.INTEGER_ADDITION, StatisticsType.DATA_BEFORE_KEY),
+
+	PathProgramCacheResidentSize(Integer.class, StatisticsType.INTEGER_MAX, StatisticsType.DATA_BEFORE_KEY);
 
 	private final Class<?> mClazz;
 	private final Function<Object, Function<Object, Object>> mAggr;
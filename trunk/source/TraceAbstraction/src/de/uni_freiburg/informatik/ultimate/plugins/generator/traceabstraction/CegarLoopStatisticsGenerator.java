@@ -61,6 +61,8 @@ public class CegarLoopStatisticsGenerator extends StatisticsGeneratorWithStopwat
 	private int mAiWeakeningVarsRemovedNum = 0;
 	private int mAiWeakeningConjunctReductionNum = 0;
 	private int mAiWeakeningConjunctReductionSum = 0;
+	private int mPathProgramCacheEvictions = 0;
+	private int mPathProgramCacheResidentSize = 0;
 
 	@Override
 	public Collection<String> getKeys() {
@@ -146,6 +148,15 @@ public class CegarLoopStatisticsGenerator extends StatisticsGeneratorWithStopwat
 		return false;
 	}
 
+	/**
+	 * Report the current state of a {@link PathProgramCache}. For the resident size we keep the maximum.
+	 */
+	public void reportPathProgramCache(final PathProgramCache<?> cache) {
+		mPathProgramCacheEvictions = cache.getNumberOfEvictions();
+		mPathProgramCacheResidentSize =
+				Math.max(mPathProgramCacheResidentSize, cache.getNumberOfResidentPathPrograms());
+	}
+
 	public void reportTraceHistogramMaximum(final int maxCurrentTrace) {
 		if (maxCurrentTrace > mTraceHistogramMaximum) {
 			mTraceHistogramMaximum = maxCurrentTrace;
@@ -217,6 +228,10 @@ public class CegarLoopStatisticsGenerator extends StatisticsGeneratorWithStopwat
 			return mHoareAnnotationData;
 		case RefinementEngineStatistics:
 			return mRefinementEngineStatistics;
+		case PathProgramCacheEvictions:
+			return mPathProgramCacheEvictions;
+		case PathProgramCacheResidentSize:
+			return mPathProgramCacheResidentSize;
 		default:
 			throw new AssertionError("unknown data");
 		}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.IsEmptyHeuristic;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IIcfg;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IIcfgCallTransition;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgEdge;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgLocation;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.ISLPredicate;
+
+/**
+ * {@link IsEmptyHeuristic.IHeuristic} for {@link IsEmptyHeuristic} that estimates the distance of an abstraction state
+ * to an error location by the length of the shortest path from its program point to some error location in the
+ * {@link IIcfg}.
+ * <p>
+ * The distances are computed once by a backward breadth-first search from the error locations. Call and return edges
+ * are treated like all other edges, i.e., the matching of calls and returns is ignored. Hence the estimate never
+ * exceeds the actual distance in the abstraction, and states whose program point cannot reach any error location are
+ * pruned.
+ *
+ * @param <LETTER>
+ *            letter type
+ */
+public final class ErrorDistanceHeuristic<LETTER> implements IsEmptyHeuristic.IHeuristic<IPredicate, LETTER> {
+
+	private final Map<IcfgLocation, Integer> mDistanceToError;
+
+	private ErrorDistanceHeuristic(final Map<IcfgLocation, Integer> distanceToError) {
+		mDistanceToError = distanceToError;
+	}
+
+	/**
+	 * @return a heuristic for the given {@link IIcfg}, or null if the {@link IIcfg} contains recursive procedures (then
+	 *         the A* search is not guaranteed to terminate on an empty abstraction)
+	 */
+	public static <LETTER> ErrorDistanceHeuristic<LETTER> create(final IIcfg<?> icfg) {
+		if (isRecursive(icfg)) {
+			return null;
+		}
+		return new ErrorDistanceHeuristic<>(computeDistances(icfg));
+	}
+
+	@Override
+	public int getHeuristicValue(final IPredicate state, final IPredicate stateK, final LETTER trans) {
+		if (!(state instanceof ISLPredicate)) {
+			return 0;
+		}
+		final Integer distance = mDistanceToError.get(((ISLPredicate) state).getProgramPoint());
+		return distance == null ? INFINITY : distance;
+	}
+
+	@Override
+	public int getConcreteCost(final LETTER trans) {
+		return 1;
+	}
+
+	private static Map<IcfgLocation, Integer> computeDistances(final IIcfg<?> icfg) {
+		final Map<IcfgLocation, Integer> distances = new HashMap<>();
+		final Deque<IcfgLocation> worklist = new ArrayDeque<>();
+		for (final Set<? extends IcfgLocation> errorLocs : icfg.getProcedureErrorNodes().values()) {
+			for (final IcfgLocation errorLoc : errorLocs) {
+				if (distances.put(errorLoc, 0) == null) {
+					worklist.add(errorLoc);
+				}
+			}
+		}
+		while (!worklist.isEmpty()) {
+			final IcfgLocation current = worklist.removeFirst();
+			final int predDistance = distances.get(current) + 1;
+			for (final IcfgEdge edge : current.getIncomingEdges()) {
+				final IcfgLocation pred = edge.getSource();
+				if (!distances.containsKey(pred)) {
+					distances.put(pred, predDistance);
+					worklist.add(pred);
+				}
+			}
+		}
+		return distances;
+	}
+
+	private static boolean isRecursive(final IIcfg<?> icfg) {
+		final Map<String, Set<String>> callees = new HashMap<>();
+		for (final Entry<String, ? extends Map<?, ? extends IcfgLocation>> entry : icfg.getProgramPoints()
+				.entrySet()) {
+			final Set<String> procCallees = new HashSet<>();
+			for (final IcfgLocation loc : entry.getValue().values()) {
+				for (final IcfgEdge edge : loc.getOutgoingEdges()) {
+					if (edge instanceof IIcfgCallTransition<?>) {
+						procCallees.add(edge.getTarget().getProcedure());
+					}
+				}
+			}
+			callees.put(entry.getKey(), procCallees);
+		}
+		// depth-first search for a cycle in the call graph
+		final Set<String> finished = new HashSet<>();
+		final Set<String> onStack = new HashSet<>();
+		for (final String proc : callees.keySet()) {
+			if (hasCycle(proc, callees, finished, onStack)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasCycle(final String proc, final Map<String, Set<String>> callees,
+			final Set<String> finished, final Set<String> onStack) {
+		if (finished.contains(proc)) {
+			return false;
+		}
+		if (!onStack.add(proc)) {
+			return true;
+		}
+		final Collection<String> procCallees = callees.get(proc);
+		if (procCallees != null) {
+			for (final String callee : procCallees) {
+				if (hasCycle(callee, callees, finished, onStack)) {
+					return true;
+				}
+			}
+		}
+		onStack.remove(proc);
+		finished.add(proc);
+		return false;
+	}
+}
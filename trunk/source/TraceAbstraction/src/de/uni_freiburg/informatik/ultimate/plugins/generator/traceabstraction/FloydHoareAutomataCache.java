@@ -0,0 +1,587 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
+import de.uni_freiburg.informatik.ultimate.automata.AutomataOperationCanceledException;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.INwaOutgoingLetterAndTransitionProvider;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWordAutomaton;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.VpAlphabet;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.RemoveDeadEnds;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization.NwaBinaryReader;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.serialization.NwaBinaryWriter;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingCallTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingInternalTransition;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.transitions.OutgoingReturnTransition;
+import de.uni_freiburg.informatik.ultimate.automata.statefactory.StringFactory;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.ModifiableGlobalsTable;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IReturnAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.TransFormulaUtils;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramNonOldVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.CommuhashNormalForm;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.Substitution;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+
+/**
+ * Directory of Floyd-Hoare automata that were computed by previous runs and that can be re-used by a
+ * {@link ReuseCegarLoop}.
+ * <p>
+ * The automata are stored in the format of {@link NwaBinaryWriter}, one automaton per file. A letter is represented by
+ * a key that is a hash of its kind, its procedures, its transition formulas, the global variables that the called
+ * procedure may modify (for calls and returns), and the axioms of the program (see {@link #getLetterKey(IAction)}).
+ * The key does not depend on the names of the in-, out-, and auxiliary variables of the transition formula, hence the
+ * letters of a program get the same keys in every run even if unrelated parts of the program were changed. A state is
+ * represented by the formula of its predicate (prefixed by a serial number, as expected by {@link ReuseCegarLoop}).
+ * <p>
+ * Equal keys do not guarantee that a transition of a cached automaton is a valid Hoare triple for the current program,
+ * e.g., if the key of two different letters collide. Hence {@link ReuseCegarLoop} checks each transition of a cached
+ * automaton before the automaton is re-used.
+ * <p>
+ * The name of each file is a hash of its content, hence an automaton that was computed in several runs is stored only
+ * once. To this end, the states are numbered in a canonical order that only depends on the formulas of the states and
+ * the keys of the letters (see {@link #getCanonicalOrder(INestedWordAutomaton)}).
+ * <p>
+ * An index file maps the name of each automaton file to the keys of its letters, hence {@link #load(Collection)} only
+ * reads the automata that share a letter with the current program. Stored automata are appended to the index; files
+ * that are missing in the index (e.g., because concurrent runs rewrote the index) are read once and added again.
+ * <p>
+ * The cache can be bounded. The modification time of a file is updated whenever its automaton is loaded, and if the
+ * cache contains too many automata, the automata that were stored or loaded least recently are deleted.
+ */
+public class FloydHoareAutomataCache {
+
+	private static final String FILE_ENDING = ".fha";
+	private static final String INDEX_FILE = "index";
+	private static final String KEY_PREFIX = "tf#";
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	private final ILogger mLogger;
+	private final AutomataLibraryServices mServices;
+	private final Script mScript;
+	private final ModifiableGlobalsTable mModifiableGlobals;
+	private final String mAxiomsRepresentation;
+	private final File mDirectory;
+	private final int mMaxSize;
+	private final Map<IAction, String> mLetterKeys;
+	private int mLoadedAutomata;
+	private int mStoredAutomata;
+
+	public FloydHoareAutomataCache(final IUltimateServiceProvider services, final CfgSmtToolkit csToolkit,
+			final String directory) {
+		this(services, csToolkit, directory, 0);
+	}
+
+	/**
+	 * @param maxSize
+	 *            maximal number of automata in the directory, 0 if the cache is not bounded
+	 */
+	public FloydHoareAutomataCache(final IUltimateServiceProvider services, final CfgSmtToolkit csToolkit,
+			final String directory, final int maxSize) {
+		mMaxSize = maxSize;
+		mLogger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
+		mServices = new AutomataLibraryServices(services);
+		mScript = csToolkit.getManagedScript().getScript();
+		mModifiableGlobals = csToolkit.getModifiableGlobalsTable();
+		mAxiomsRepresentation = new CommuhashNormalForm(services, mScript)
+				.transform(csToolkit.getAxioms().getClosedFormula()).toStringDirect();
+		mDirectory = new File(directory);
+		mLetterKeys = new HashMap<>();
+		if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+			mLogger.warn("Unable to create directory of Floyd-Hoare automata cache " + mDirectory.getAbsolutePath());
+		}
+	}
+
+	/**
+	 * @return the key by which the given letter is represented in the automata of this cache
+	 */
+	public String getLetterKey(final IAction letter) {
+		return mLetterKeys.computeIfAbsent(letter, this::computeLetterKey);
+	}
+
+	/**
+	 * @return all automata of this cache that have at least one letter whose key is the key of one of the given
+	 *         letters
+	 */
+	public List<INestedWordAutomaton<String, String>> load(final Collection<? extends IAction> letters) {
+		final Set<String> keys = new HashSet<>();
+		for (final IAction letter : letters) {
+			keys.add(getLetterKey(letter));
+		}
+		final File[] files = mDirectory.listFiles((dir, name) -> name.endsWith(FILE_ENDING));
+		if (files == null) {
+			return Collections.emptyList();
+		}
+		// sort to make the order in which the automata are subtracted independent of the file system
+		Arrays.sort(files);
+		final Map<String, Set<String>> index = readIndex();
+		final Map<String, NestedWordAutomaton<String, String>> unindexed = indexMissingFiles(files, index);
+		final long now = System.currentTimeMillis();
+		final List<INestedWordAutomaton<String, String>> result = new ArrayList<>();
+		for (final File file : files) {
+			final Set<String> fileKeys = index.get(file.getName());
+			if (fileKeys == null || Collections.disjoint(fileKeys, keys)) {
+				continue;
+			}
+			NestedWordAutomaton<String, String> nwa = unindexed.get(file.getName());
+			if (nwa == null) {
+				nwa = read(file);
+			}
+			if (nwa == null || nwa.getFinalStates().isEmpty()) {
+				continue;
+			}
+			if (!file.setLastModified(now)) {
+				mLogger.warn("Unable to mark cached Floyd-Hoare automaton " + file + " as used");
+			}
+			result.add(nwa);
+		}
+		mLoadedAutomata += result.size();
+		mLogger.info("Loaded " + result.size() + " of " + files.length + " cached Floyd-Hoare automata");
+		return result;
+	}
+
+	/**
+	 * Store the reachable part of the given Floyd-Hoare automaton from which an accepting state is reachable.
+	 *
+	 * @return true iff the automaton was not already in the cache
+	 */
+	public boolean store(final INwaOutgoingLetterAndTransitionProvider<? extends IAction, IPredicate> automaton) {
+		final NestedWordAutomaton<String, String> nwa;
+		try {
+			nwa = toStringAutomaton(automaton);
+		} catch (final AutomataOperationCanceledException e) {
+			mLogger.warn("Timeout while storing a Floyd-Hoare automaton in the cache");
+			return false;
+		}
+		if (nwa == null) {
+			return false;
+		}
+		try {
+			final ByteArrayOutputStream content = new ByteArrayOutputStream();
+			new NwaBinaryWriter<>(nwa).write(content);
+			final byte[] bytes = content.toByteArray();
+			final File file = new File(mDirectory, hash(bytes) + FILE_ENDING);
+			if (file.exists()) {
+				return false;
+			}
+			Files.write(file.toPath(), bytes);
+			appendToIndex(Collections.singletonMap(file.getName(), getKeys(nwa.getVpAlphabet())));
+		} catch (final IOException e) {
+			mLogger.warn("Unable to store Floyd-Hoare automaton in the cache: " + e.getMessage());
+			return false;
+		}
+		mStoredAutomata++;
+		evict();
+		return true;
+	}
+
+	public int getNumberOfLoadedAutomata() {
+		return mLoadedAutomata;
+	}
+
+	public int getNumberOfStoredAutomata() {
+		return mStoredAutomata;
+	}
+
+	private <L extends IAction> NestedWordAutomaton<String, String> toStringAutomaton(
+			final INwaOutgoingLetterAndTransitionProvider<L, IPredicate> automaton)
+			throws AutomataOperationCanceledException {
+		final INestedWordAutomaton<L, IPredicate> nwa = new RemoveDeadEnds<>(mServices, automaton).getResult();
+		if (nwa.getFinalStates().isEmpty()) {
+			return null;
+		}
+		final VpAlphabet<L> alphabet = nwa.getVpAlphabet();
+		final NestedWordAutomaton<String, String> result = new NestedWordAutomaton<>(mServices,
+				new VpAlphabet<>(toKeys(alphabet.getInternalAlphabet()), toKeys(alphabet.getCallAlphabet()),
+						toKeys(alphabet.getReturnAlphabet())),
+				new StringFactory());
+		final List<IPredicate> order = getCanonicalOrder(nwa);
+		final Map<IPredicate, String> stateNames = new HashMap<>();
+		for (final IPredicate state : order) {
+			final String name = stateNames.size() + "#" + state.getFormula().toStringDirect();
+			stateNames.put(state, name);
+			result.addState(nwa.isInitial(state), nwa.isFinal(state), name);
+		}
+		// add the transitions in a canonical order as well, s.t. equal automata are written to equal files
+		for (final IPredicate state : order) {
+			final String name = stateNames.get(state);
+			final Set<String> internal = new TreeSet<>();
+			for (final OutgoingInternalTransition<L, IPredicate> trans : nwa.internalSuccessors(state)) {
+				internal.add(getLetterKey(trans.getLetter()) + " " + stateNames.get(trans.getSucc()));
+			}
+			for (final String trans : internal) {
+				final int separator = trans.indexOf(' ');
+				result.addInternalTransition(name, trans.substring(0, separator), trans.substring(separator + 1));
+			}
+			final Set<String> call = new TreeSet<>();
+			for (final OutgoingCallTransition<L, IPredicate> trans : nwa.callSuccessors(state)) {
+				call.add(getLetterKey(trans.getLetter()) + " " + stateNames.get(trans.getSucc()));
+			}
+			for (final String trans : call) {
+				final int separator = trans.indexOf(' ');
+				result.addCallTransition(name, trans.substring(0, separator), trans.substring(separator + 1));
+			}
+			final Map<String, OutgoingReturnTransition<L, IPredicate>> ret = new TreeMap<>();
+			for (final OutgoingReturnTransition<L, IPredicate> trans : nwa.returnSuccessors(state)) {
+				final String hierPred = stateNames.get(trans.getHierPred());
+				if (hierPred != null) {
+					ret.put(getLetterKey(trans.getLetter()) + " " + hierPred + " " + stateNames.get(trans.getSucc()),
+							trans);
+				}
+			}
+			for (final OutgoingReturnTransition<L, IPredicate> trans : ret.values()) {
+				result.addReturnTransition(name, stateNames.get(trans.getHierPred()), getLetterKey(trans.getLetter()),
+						stateNames.get(trans.getSucc()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * A breadth-first order of the states from the initial states in which the initial states and the successors of
+	 * each state are sorted by the key of the letter and the formula of the successor. Hence the order does not depend
+	 * on the iteration order of the automaton, only states with equal formulas may be ordered arbitrarily.
+	 */
+	private <L extends IAction> List<IPredicate> getCanonicalOrder(final INestedWordAutomaton<L, IPredicate> nwa) {
+		final Map<IPredicate, String> formulas = new HashMap<>();
+		for (final IPredicate state : nwa.getStates()) {
+			formulas.put(state, state.getFormula().toStringDirect());
+		}
+		final Comparator<IPredicate> byFormula = Comparator.comparing(formulas::get);
+		final List<IPredicate> order = new ArrayList<>(nwa.getInitialStates());
+		order.sort(byFormula);
+		final Set<IPredicate> visited = new HashSet<>(order);
+		final List<IPredicate> successors = new ArrayList<>();
+		final Map<IPredicate, String> successorKeys = new HashMap<>();
+		for (int i = 0; i < order.size(); i++) {
+			final IPredicate state = order.get(i);
+			successors.clear();
+			successorKeys.clear();
+			for (final OutgoingInternalTransition<L, IPredicate> trans : nwa.internalSuccessors(state)) {
+				addSuccessor(successors, successorKeys, trans.getSucc(), "i" + getLetterKey(trans.getLetter()));
+			}
+			for (final OutgoingCallTransition<L, IPredicate> trans : nwa.callSuccessors(state)) {
+				addSuccessor(successors, successorKeys, trans.getSucc(), "c" + getLetterKey(trans.getLetter()));
+			}
+			for (final OutgoingReturnTransition<L, IPredicate> trans : nwa.returnSuccessors(state)) {
+				addSuccessor(successors, successorKeys, trans.getSucc(), "r" + getLetterKey(trans.getLetter()));
+			}
+			successors.sort(Comparator.comparing((final IPredicate succ) -> successorKeys.get(succ))
+					.thenComparing(byFormula));
+			for (final IPredicate succ : successors) {
+				if (visited.add(succ)) {
+					order.add(succ);
+				}
+			}
+		}
+		if (order.size() < formulas.size()) {
+			final List<IPredicate> rest = new ArrayList<>(formulas.keySet());
+			rest.removeAll(visited);
+			rest.sort(byFormula);
+			order.addAll(rest);
+		}
+		return order;
+	}
+
+	/**
+	 * Add a successor, each successor is sorted by the smallest key of a letter that leads to it.
+	 */
+	private static void addSuccessor(final List<IPredicate> successors, final Map<IPredicate, String> successorKeys,
+			final IPredicate succ, final String key) {
+		final String oldKey = successorKeys.get(succ);
+		if (oldKey == null) {
+			successors.add(succ);
+			successorKeys.put(succ, key);
+		} else if (key.compareTo(oldKey) < 0) {
+			successorKeys.put(succ, key);
+		}
+	}
+
+	private Set<String> toKeys(final Set<? extends IAction> letters) {
+		final Set<String> result = new TreeSet<>();
+		for (final IAction letter : letters) {
+			result.add(getLetterKey(letter));
+		}
+		return result;
+	}
+
+	private static Set<String> getKeys(final VpAlphabet<String> alphabet) {
+		final Set<String> result = new TreeSet<>(alphabet.getInternalAlphabet());
+		result.addAll(alphabet.getCallAlphabet());
+		result.addAll(alphabet.getReturnAlphabet());
+		return result;
+	}
+
+	private NestedWordAutomaton<String, String> read(final File file) {
+		try (InputStream inputStream = new FileInputStream(file)) {
+			return new NwaBinaryReader(mServices).read(inputStream);
+		} catch (final IOException e) {
+			mLogger.warn("Unable to read cached Floyd-Hoare automaton " + file + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Read the automata whose files are not in the index and add them to the index.
+	 *
+	 * @return the automata that were read, by file name
+	 */
+	private Map<String, NestedWordAutomaton<String, String>> indexMissingFiles(final File[] files,
+			final Map<String, Set<String>> index) {
+		final Map<String, NestedWordAutomaton<String, String>> result = new HashMap<>();
+		final Map<String, Set<String>> missing = new TreeMap<>();
+		for (final File file : files) {
+			if (index.containsKey(file.getName())) {
+				continue;
+			}
+			final NestedWordAutomaton<String, String> nwa = read(file);
+			if (nwa != null) {
+				result.put(file.getName(), nwa);
+				missing.put(file.getName(), getKeys(nwa.getVpAlphabet()));
+			}
+		}
+		if (!missing.isEmpty()) {
+			index.putAll(missing);
+			try {
+				appendToIndex(missing);
+			} catch (final IOException e) {
+				mLogger.warn("Unable to update index of Floyd-Hoare automata cache: " + e.getMessage());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the keys of the letters of each automaton in the index, by file name
+	 */
+	private Map<String, Set<String>> readIndex() {
+		final Map<String, Set<String>> result = new HashMap<>();
+		final Path indexFile = new File(mDirectory, INDEX_FILE).toPath();
+		if (!Files.isRegularFile(indexFile)) {
+			return result;
+		}
+		try {
+			for (final String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+				final String[] fields = line.split(" ");
+				if (fields.length > 0 && fields[0].endsWith(FILE_ENDING)) {
+					result.put(fields[0], new HashSet<>(Arrays.asList(fields).subList(1, fields.length)));
+				}
+			}
+		} catch (final IOException e) {
+			mLogger.warn("Unable to read index of Floyd-Hoare automata cache: " + e.getMessage());
+		}
+		return result;
+	}
+
+	private void appendToIndex(final Map<String, Set<String>> entries) throws IOException {
+		Files.write(new File(mDirectory, INDEX_FILE).toPath(), toIndexLines(entries),
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * @return one line per automaton that consists of the file name and the keys of the letters, separated by spaces
+	 */
+	private static byte[] toIndexLines(final Map<String, Set<String>> entries) {
+		final StringBuilder sb = new StringBuilder();
+		for (final Entry<String, Set<String>> entry : entries.entrySet()) {
+			sb.append(entry.getKey());
+			for (final String key : entry.getValue()) {
+				sb.append(' ').append(key);
+			}
+			sb.append('\n');
+		}
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Delete the least recently stored or loaded automata if there are more than {@link #mMaxSize} automata, and
+	 * remove them from the index.
+	 */
+	private void evict() {
+		if (mMaxSize <= 0) {
+			return;
+		}
+		final File[] files = mDirectory.listFiles((dir, name) -> name.endsWith(FILE_ENDING));
+		if (files == null || files.length <= mMaxSize) {
+			return;
+		}
+		final Map<File, Long> lastUse = new HashMap<>();
+		for (final File file : files) {
+			lastUse.put(file, file.lastModified());
+		}
+		Arrays.sort(files, Comparator.comparing((final File file) -> lastUse.get(file)).thenComparing(File::getName));
+		final Map<String, Set<String>> index = readIndex();
+		int evicted = 0;
+		for (int i = 0; i < files.length - mMaxSize; i++) {
+			if (files[i].delete()) {
+				index.remove(files[i].getName());
+				evicted++;
+			}
+		}
+		try {
+			writeIndex(new TreeMap<>(index));
+		} catch (final IOException e) {
+			mLogger.warn("Unable to update index of Floyd-Hoare automata cache: " + e.getMessage());
+		}
+		mLogger.info("Evicted " + evicted + " Floyd-Hoare automata from the cache");
+	}
+
+	private void writeIndex(final Map<String, Set<String>> index) throws IOException {
+		final Path indexFile = new File(mDirectory, INDEX_FILE).toPath();
+		final Path tmpFile = Files.createTempFile(mDirectory.toPath(), INDEX_FILE, ".tmp");
+		boolean moved = false;
+		try {
+			Files.write(tmpFile, toIndexLines(index));
+			try {
+				Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(tmpFile);
+			}
+		}
+	}
+
+	private String computeLetterKey(final IAction letter) {
+		final StringBuilder sb = new StringBuilder();
+		if (letter instanceof ICallAction) {
+			sb.append("call");
+			appendNormalizedTransFormula(sb, ((ICallAction) letter).getLocalVarsAssignment());
+			appendModifiableGlobals(sb, letter.getSucceedingProcedure());
+		} else if (letter instanceof IReturnAction) {
+			sb.append("return");
+			appendNormalizedTransFormula(sb, ((IReturnAction) letter).getAssignmentOfReturn());
+			appendNormalizedTransFormula(sb, ((IReturnAction) letter).getLocalVarsAssignmentOfCall());
+			appendModifiableGlobals(sb, letter.getPrecedingProcedure());
+		} else {
+			sb.append("internal");
+			appendNormalizedTransFormula(sb, letter.getTransformula());
+		}
+		sb.append('\n').append(letter.getPrecedingProcedure());
+		sb.append('\n').append(letter.getSucceedingProcedure());
+		sb.append('\n').append(mAxiomsRepresentation);
+		return KEY_PREFIX + hash(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Append the formula of the given {@link UnmodifiableTransFormula} in which each in- and out-variable is renamed
+	 * according to its program variable and each auxiliary variable is renamed according to the position of its first
+	 * occurrence in the formula.
+	 */
+	private void appendNormalizedTransFormula(final StringBuilder sb, final UnmodifiableTransFormula tf) {
+		final Map<Term, Term> renaming = new HashMap<>();
+		final List<String> signature = new ArrayList<>();
+		for (final Entry<IProgramVar, TermVariable> entry : tf.getInVars().entrySet()) {
+			final boolean isOutVar = tf.getOutVars().get(entry.getKey()) == entry.getValue();
+			rename(renaming, signature, entry.getValue(),
+					(isOutVar ? "inout_" : "in_") + entry.getKey().getGloballyUniqueId());
+		}
+		for (final Entry<IProgramVar, TermVariable> entry : tf.getOutVars().entrySet()) {
+			if (!renaming.containsKey(entry.getValue())) {
+				rename(renaming, signature, entry.getValue(), "out_" + entry.getKey().getGloballyUniqueId());
+			}
+		}
+		final List<TermVariable> auxVars = TransFormulaUtils.getAuxVarsInOrderOfOccurrence(tf);
+		for (int i = 0; i < auxVars.size(); i++) {
+			rename(renaming, signature, auxVars.get(i), "aux_" + i);
+		}
+		Collections.sort(signature);
+		sb.append('\n').append(signature);
+		sb.append('\n').append(new Substitution(mScript, renaming).transform(tf.getFormula()).toStringDirect());
+	}
+
+	/**
+	 * Append the global variables that the given procedure may modify. Old variables of a return are only constrained
+	 * for these variables, hence a call or a return does not have the same effect if this set changes.
+	 */
+	private void appendModifiableGlobals(final StringBuilder sb, final String callee) {
+		final Set<String> globals = new TreeSet<>();
+		for (final IProgramNonOldVar global : mModifiableGlobals.getModifiedBoogieVars(callee)) {
+			globals.add(global.getGloballyUniqueId() + ":" + global.getTermVariable().getSort());
+		}
+		sb.append('\n').append(globals);
+	}
+
+	private void rename(final Map<Term, Term> renaming, final List<String> signature, final TermVariable tv,
+			final String name) {
+		renaming.put(tv, mScript.variable(name, tv.getSort()));
+		signature.add(name + ":" + tv.getSort());
+	}
+
+	private static String hash(final byte[] bytes) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new AssertionError(HASH_ALGORITHM + " is supported by every Java platform", e);
+		}
+		final StringBuilder sb = new StringBuilder();
+		for (final byte b : digest.digest(bytes)) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
@@ -55,9 +55,13 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.util.DAGSize;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.HashRelation;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.HashRelation3;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.NestedMap2;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.Pair;
 
 /**
  * Hoare annotation for invariants computed by single CEGAR loop
+ * <p>
+ * The simplifications of the disjunctions and of the annotations of all locations can be done concurrently by a
+ * {@link HoareAnnotationSimplificationPool}. Then the result is not deterministic, see the documentation of the pool.
  * 
  * @author heizmann@informatik.uni-freiburg.de
  * 
@@ -85,9 +89,24 @@ public class HoareAnnotationComposer {
 
 	private final IPredicate mSurrogateForEmptyCallPred;
 
+	private final HoareAnnotationSimplificationPool mSimplificationPool;
+
 	public HoareAnnotationComposer(final CfgSmtToolkit csToolkit, final PredicateFactory predicateFactory,
 			final HoareAnnotationFragments<?> hoareAnnotationFragments, final IUltimateServiceProvider services,
 			final SimplificationTechnique simplicationTechnique, final XnfConversionTechnique xnfConversionTechnique) {
+		this(csToolkit, predicateFactory, hoareAnnotationFragments, services, simplicationTechnique,
+				xnfConversionTechnique, null);
+	}
+
+	/**
+	 * @param simplificationPool
+	 *            solvers that simplify concurrently, null if the simplification is sequential; the pool is destroyed
+	 *            when the Hoare annotation is composed
+	 */
+	public HoareAnnotationComposer(final CfgSmtToolkit csToolkit, final PredicateFactory predicateFactory,
+			final HoareAnnotationFragments<?> hoareAnnotationFragments, final IUltimateServiceProvider services,
+			final SimplificationTechnique simplicationTechnique, final XnfConversionTechnique xnfConversionTechnique,
+			final HoareAnnotationSimplificationPool simplificationPool) {
 		mServices = services;
 		mLogger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
 		mCsToolkit = csToolkit;
@@ -96,19 +115,40 @@ public class HoareAnnotationComposer {
 		mHoareAnnotationStatisticsGenerator = new HoareAnnotationStatisticsGenerator();
 		mSurrogateForEmptyCallPred =
 				mPredicateFactory.newPredicate(mCsToolkit.getManagedScript().getScript().term("true"));
-		final HashRelation3<IcfgLocation, IPredicate, Term> loc2callPred2disjuncts =
-				constructLoc2CallPred2DisjunctsMapping();
-		mLoc2callPred2disjunction = constructLoc2Callpred2DisjunctionMapping(loc2callPred2disjuncts);
-		mHoareAnnotationStatisticsGenerator.setNumberOfFragments(mNumberOfFragments);
-		mHoareAnnotationStatisticsGenerator.setLocationsWithHoareAnnotation(mLoc2callPred2disjunction.keySet().size());
-		mHoareAnnotationStatisticsGenerator.setPreInvPairs(mLoc2callPred2disjunction.size());
-		mLoc2hoare = combineInter(mLoc2callPred2disjunction);
+		mSimplificationPool = simplificationPool;
+		try {
+			final HashRelation3<IcfgLocation, IPredicate, Term> loc2callPred2disjuncts =
+					constructLoc2CallPred2DisjunctsMapping();
+			mLoc2callPred2disjunction = constructLoc2Callpred2DisjunctionMapping(loc2callPred2disjuncts);
+			mHoareAnnotationStatisticsGenerator.setNumberOfFragments(mNumberOfFragments);
+			mHoareAnnotationStatisticsGenerator
+					.setLocationsWithHoareAnnotation(mLoc2callPred2disjunction.keySet().size());
+			mHoareAnnotationStatisticsGenerator.setPreInvPairs(mLoc2callPred2disjunction.size());
+			mLoc2hoare = combineInter(mLoc2callPred2disjunction);
+		} finally {
+			if (mSimplificationPool != null) {
+				mSimplificationPool.destroy();
+			}
+		}
+	}
 
+	private List<ExtendedSimplificationResult> simplify(final List<Term> terms,
+			final SimplificationTechnique simplificationTechnique) {
+		if (mSimplificationPool != null) {
+			return mSimplificationPool.simplify(terms, simplificationTechnique);
+		}
+		final List<ExtendedSimplificationResult> result = new ArrayList<>(terms.size());
+		for (final Term term : terms) {
+			result.add(SmtUtils.simplifyWithStatistics(mCsToolkit.getManagedScript(), term, mServices,
+					simplificationTechnique));
+		}
+		return result;
 	}
 
 	private Map<IcfgLocation, IPredicate>
 			combineInter(final NestedMap2<IcfgLocation, IPredicate, Term> loc2callPred2invariant) {
-		final Map<IcfgLocation, IPredicate> result = new HashMap<>();
+		final List<IcfgLocation> locs = new ArrayList<>();
+		final List<Term> annotations = new ArrayList<>();
 		for (final IcfgLocation loc : loc2callPred2invariant.keySet()) {
 			final Map<IPredicate, Term> callpred2invariant = loc2callPred2invariant.get(loc);
 			final List<Term> conjuncts = new ArrayList<>(callpred2invariant.size());
@@ -146,8 +186,16 @@ public class HoareAnnotationComposer {
 					mCsToolkit.getManagedScript().getScript(), mCsToolkit.getSymbolTable()).getVars();
 			conjunction = TraceAbstractionUtils.substituteOldVarsOfNonModifiableGlobals(loc.getProcedure(), vars,
 					conjunction, mCsToolkit.getModifiableGlobalsTable(), mCsToolkit.getManagedScript().getScript());
-			final ExtendedSimplificationResult simplificationResult = SmtUtils.simplifyWithStatistics(
-					mCsToolkit.getManagedScript(), conjunction, mServices, SimplificationTechnique.SIMPLIFY_DDA);
+			locs.add(loc);
+			annotations.add(conjunction);
+		}
+
+		final List<ExtendedSimplificationResult> simplificationResults =
+				simplify(annotations, SimplificationTechnique.SIMPLIFY_DDA);
+		final Map<IcfgLocation, IPredicate> result = new HashMap<>();
+		for (int i = 0; i < locs.size(); i++) {
+			final IcfgLocation loc = locs.get(i);
+			final ExtendedSimplificationResult simplificationResult = simplificationResults.get(i);
 			mHoareAnnotationStatisticsGenerator.reportSimplificationInter();
 			mHoareAnnotationStatisticsGenerator.reportReductionInter(simplificationResult.getReductionOfTreeSize());
 			mHoareAnnotationStatisticsGenerator
@@ -165,28 +213,32 @@ public class HoareAnnotationComposer {
 
 	private NestedMap2<IcfgLocation, IPredicate, Term> constructLoc2Callpred2DisjunctionMapping(
 			final HashRelation3<IcfgLocation, IPredicate, Term> loc2precond2invariantSet) {
-		final NestedMap2<IcfgLocation, IPredicate, Term> loc2precond2invariant = new NestedMap2<>();
+		final List<Pair<IcfgLocation, IPredicate>> locAndPreconds = new ArrayList<>();
+		final List<Term> disjunctions = new ArrayList<>();
 		for (final IcfgLocation loc : loc2precond2invariantSet.projectToFst()) {
 			for (final IPredicate precond : loc2precond2invariantSet.projectToSnd(loc)) {
 				final Set<Term> terms = loc2precond2invariantSet.projectToTrd(loc, precond);
 				mNumberOfFragments += terms.size();
-				final Term invariant = or(terms);
-				loc2precond2invariant.put(loc, precond, invariant);
+				locAndPreconds.add(new Pair<>(loc, precond));
+				disjunctions.add(SmtUtils.or(mCsToolkit.getManagedScript().getScript(), terms));
 			}
 		}
+		final List<ExtendedSimplificationResult> simplificationResults =
+				simplify(disjunctions, SimplificationTechnique.SIMPLIFY_QUICK);
+		final NestedMap2<IcfgLocation, IPredicate, Term> loc2precond2invariant = new NestedMap2<>();
+		for (int i = 0; i < locAndPreconds.size(); i++) {
+			final ExtendedSimplificationResult simplificationResult = simplificationResults.get(i);
+			mHoareAnnotationStatisticsGenerator.reportSimplification();
+			mHoareAnnotationStatisticsGenerator.reportReduction(simplificationResult.getReductionOfTreeSize());
+			mHoareAnnotationStatisticsGenerator
+					.reportSimplificationTime(simplificationResult.getSimplificationTimeNano());
+			final Pair<IcfgLocation, IPredicate> locAndPrecond = locAndPreconds.get(i);
+			loc2precond2invariant.put(locAndPrecond.getFirst(), locAndPrecond.getSecond(),
+					simplificationResult.getSimplifiedTerm());
+		}
 		return loc2precond2invariant;
 	}
 
-	private Term or(final Set<Term> terms) {
-		final Term disjunction = SmtUtils.or(mCsToolkit.getManagedScript().getScript(), terms);
-		final ExtendedSimplificationResult simplificationResult = SmtUtils.simplifyWithStatistics(
-				mCsToolkit.getManagedScript(), disjunction, mServices, SimplificationTechnique.SIMPLIFY_QUICK);
-		mHoareAnnotationStatisticsGenerator.reportSimplification();
-		mHoareAnnotationStatisticsGenerator.reportReduction(simplificationResult.getReductionOfTreeSize());
-		mHoareAnnotationStatisticsGenerator.reportSimplificationTime(simplificationResult.getSimplificationTimeNano());
-		return simplificationResult.getSimplifiedTerm();
-	}
-
 	/**
 	 * Construct mapping for our three cases: - invariants for empty callpred - invariants for dead callpred -
 	 * invariants for live callpred
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uni_freiburg.informatik.ultimate.core.lib.exceptions.ToolchainCanceledException;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IToolchainStorage;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.ExtendedSimplificationResult;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.SimplificationTechnique;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder.SolverMode;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder.SolverSettings;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.TermTransferrer;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
+
+/**
+ * Solvers that simplify terms of the {@link CfgSmtToolkit} concurrently for the {@link HoareAnnotationComposer}.
+ * <p>
+ * The solvers are built from the configured solver settings, but each query of an SMTInterpol instance is bounded by
+ * {@link SolverBuilder#TIMEOUT_SMTINTERPOL}. Each solver has its own
+ * {@link de.uni_freiburg.informatik.ultimate.logic.Theory}. Because theories are not thread-safe, terms are
+ * transferred to the solvers and back by {@link TermTransferrer}s on the calling thread; only the simplifications run
+ * concurrently. The i-th term of a batch is simplified by solver i modulo the number of solvers, each solver
+ * simplifies its terms in the order of the batch and the results are collected in the order of the batch.
+ * <p>
+ * Solvers that cannot be started are dropped. A solver that fails on a term is dropped as well. Terms that could not
+ * be simplified concurrently are simplified sequentially by the {@link CfgSmtToolkit}'s solver.
+ * <p>
+ * The result is <b>not</b> deterministic. The timeout of a query is a wall-clock limit and hence depends on the load of
+ * the machine, in particular on the other solvers of this pool. A query that runs into the timeout yields a less
+ * simplified term or makes the solver fail. A failure moves the remaining terms of the solver to the
+ * {@link CfgSmtToolkit}'s solver and, because the failed solver is dropped, changes the assignment of terms to solvers
+ * in all following batches. Only if no query times out or fails, the result does not depend on the scheduling of the
+ * threads.
+ */
+public final class HoareAnnotationSimplificationPool {
+
+	private final IUltimateServiceProvider mServices;
+	private final ILogger mLogger;
+	private final ManagedScript mMainScript;
+	private final List<Worker> mWorkers;
+	private final ExecutorService mExecutor;
+
+	/**
+	 * @param numberOfSolvers
+	 *            number of solvers (and threads)
+	 * @param solverSettings
+	 *            settings of the configured solver; the base name of each dumped script gets the number of its solver
+	 *            as suffix
+	 * @param logicForExternalSolver
+	 *            logic of the configured solver if it is an external solver
+	 */
+	public HoareAnnotationSimplificationPool(final IUltimateServiceProvider services,
+			final IToolchainStorage storage, final CfgSmtToolkit csToolkit, final int numberOfSolvers,
+			final SolverMode solverMode, final SolverSettings solverSettings, final String logicForExternalSolver) {
+		mServices = services;
+		mLogger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
+		mMainScript = csToolkit.getManagedScript();
+		mWorkers = new ArrayList<>(numberOfSolvers);
+		final Term axioms = csToolkit.getAxioms().getFormula();
+		for (int i = 0; i < numberOfSolvers; i++) {
+			final SolverSettings workerSettings = solverSettings.withTimeoutAndBaseName(
+					SolverBuilder.TIMEOUT_SMTINTERPOL, solverSettings.getBaseNameOfDumpedScript() + i);
+			Script solver = null;
+			try {
+				solver = SolverBuilder.buildAndInitializeSolver(services, storage, solverMode, workerSettings, false,
+						false, logicForExternalSolver, "HoareAnnotation" + i);
+				final TermTransferrer toWorker = new TermTransferrer(solver);
+				solver.assertTerm(toWorker.transform(axioms));
+				mWorkers.add(new Worker(new ManagedScript(services, solver), toWorker,
+						new TermTransferrer(mMainScript.getScript())));
+			} catch (final SMTLIBException | UnsupportedOperationException e) {
+				mLogger.warn("Unable to start solver for concurrent Hoare annotation computation: " + e.getMessage());
+				if (solver != null) {
+					exit(solver);
+				}
+			}
+		}
+		if (mWorkers.isEmpty()) {
+			mLogger.warn("No solver for concurrent Hoare annotation computation available, simplifying sequentially");
+			mExecutor = null;
+			return;
+		}
+		mExecutor = Executors.newFixedThreadPool(mWorkers.size(), runnable -> {
+			final Thread thread = new Thread(runnable, "HoareAnnotation");
+			thread.setDaemon(true);
+			return thread;
+		});
+		mLogger.info("Started " + mWorkers.size() + " solvers for concurrent Hoare annotation computation");
+	}
+
+	/**
+	 * Simplify the given terms of the {@link CfgSmtToolkit}'s solver concurrently.
+	 *
+	 * @return a list that contains for each term (at the same position) the result of the simplification; the
+	 *         simplified terms belong to the {@link CfgSmtToolkit}'s solver
+	 */
+	public List<ExtendedSimplificationResult> simplify(final List<Term> terms,
+			final SimplificationTechnique simplificationTechnique) {
+		final ExtendedSimplificationResult[] result = new ExtendedSimplificationResult[terms.size()];
+		if (!mWorkers.isEmpty()) {
+			simplifyConcurrently(terms, simplificationTechnique, result);
+		}
+		for (int i = 0; i < terms.size(); i++) {
+			if (result[i] == null) {
+				result[i] = SmtUtils.simplifyWithStatistics(mMainScript, terms.get(i), mServices,
+						simplificationTechnique);
+			}
+		}
+		return Arrays.asList(result);
+	}
+
+	/**
+	 * Shut down all solvers of this pool.
+	 */
+	public void destroy() {
+		if (mExecutor != null) {
+			mExecutor.shutdownNow();
+		}
+		for (final Worker worker : mWorkers) {
+			exit(worker.mManagedScript.getScript());
+		}
+		mWorkers.clear();
+	}
+
+	/**
+	 * Store the result of each term that was simplified concurrently in result, all other positions stay null.
+	 */
+	private void simplifyConcurrently(final List<Term> terms, final SimplificationTechnique simplificationTechnique,
+			final ExtendedSimplificationResult[] result) {
+		final int numberOfWorkers = mWorkers.size();
+		final List<List<Term>> inputs = new ArrayList<>(numberOfWorkers);
+		for (int i = 0; i < numberOfWorkers; i++) {
+			inputs.add(new ArrayList<>());
+		}
+		for (int i = 0; i < terms.size(); i++) {
+			final Worker worker = mWorkers.get(i % numberOfWorkers);
+			final List<Term> input = inputs.get(i % numberOfWorkers);
+			if (worker.mFailed) {
+				continue;
+			}
+			try {
+				input.add(worker.mToWorker.transform(terms.get(i)));
+			} catch (final SMTLIBException | UnsupportedOperationException e) {
+				// the worker must not skip a term, otherwise the positions of its results are shifted
+				worker.fail(e);
+			}
+		}
+
+		final List<Callable<List<ExtendedSimplificationResult>>> tasks = new ArrayList<>(numberOfWorkers);
+		for (int i = 0; i < numberOfWorkers; i++) {
+			final Worker worker = mWorkers.get(i);
+			final List<Term> input = inputs.get(i);
+			tasks.add(() -> worker.simplify(input, simplificationTechnique));
+		}
+		final List<List<ExtendedSimplificationResult>> outputs = new ArrayList<>(numberOfWorkers);
+		try {
+			for (final Future<List<ExtendedSimplificationResult>> future : mExecutor.invokeAll(tasks)) {
+				outputs.add(getResult(future));
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ToolchainCanceledException(getClass(), "simplifying Hoare annotation");
+		}
+
+		for (int i = 0; i < terms.size(); i++) {
+			final Worker worker = mWorkers.get(i % numberOfWorkers);
+			final List<ExtendedSimplificationResult> output = outputs.get(i % numberOfWorkers);
+			if (worker.mFailed && i / numberOfWorkers >= output.size()) {
+				continue;
+			}
+			final ExtendedSimplificationResult workerResult = output.get(i / numberOfWorkers);
+			try {
+				result[i] = new ExtendedSimplificationResult(
+						worker.mFromWorker.transform(workerResult.getSimplifiedTerm()),
+						workerResult.getSimplificationTimeNano(), workerResult.getReductionOfTreeSize(),
+						workerResult.getReductionRatioInPercent());
+			} catch (final SMTLIBException | UnsupportedOperationException e) {
+				mLogger.warn("Unable to transfer simplified Hoare annotation: " + e.getMessage());
+			}
+		}
+		removeFailedWorkers();
+	}
+
+	private void removeFailedWorkers() {
+		final Iterator<Worker> iter = mWorkers.iterator();
+		while (iter.hasNext()) {
+			final Worker worker = iter.next();
+			if (worker.mFailed) {
+				exit(worker.mManagedScript.getScript());
+				iter.remove();
+			}
+		}
+		if (mWorkers.isEmpty()) {
+			mLogger.warn("No solver for concurrent Hoare annotation computation left, simplifying sequentially");
+		}
+	}
+
+	private void exit(final Script solver) {
+		try {
+			solver.exit();
+		} catch (final SMTLIBException e) {
+			mLogger.warn("Unable to shut down solver for Hoare annotation: " + e.getMessage());
+		}
+	}
+
+	private static <T> T getResult(final Future<T> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new AssertionError(cause);
+		}
+	}
+
+	/**
+	 * A solver together with the {@link TermTransferrer}s from and to the {@link CfgSmtToolkit}'s solver.
+	 */
+	private final class Worker {
+		private final ManagedScript mManagedScript;
+		private final TermTransferrer mToWorker;
+		private final TermTransferrer mFromWorker;
+		/**
+		 * Set if the solver failed on a term. A failed worker does not simplify further terms.
+		 */
+		private volatile boolean mFailed;
+
+		private Worker(final ManagedScript managedScript, final TermTransferrer toWorker,
+				final TermTransferrer fromWorker) {
+			mManagedScript = managedScript;
+			mToWorker = toWorker;
+			mFromWorker = fromWorker;
+		}
+
+		/**
+		 * @return the results of the longest prefix of the terms that was simplified without failure
+		 */
+		private List<ExtendedSimplificationResult> simplify(final List<Term> terms,
+				final SimplificationTechnique simplificationTechnique) {
+			final List<ExtendedSimplificationResult> result = new ArrayList<>(terms.size());
+			for (final Term term : terms) {
+				try {
+					result.add(SmtUtils.simplifyWithStatistics(mManagedScript, term, mServices,
+							simplificationTechnique));
+				} catch (final SMTLIBException | UnsupportedOperationException e) {
+					fail(e);
+					break;
+				}
+			}
+			return result;
+		}
+
+		private void fail(final Exception e) {
+			mLogger.warn("Solver for concurrent Hoare annotation computation failed, it is dropped: " + e.getMessage());
+			mFailed = true;
+		}
+	}
+}
@@ -318,6 +318,7 @@ public class IncrementalInclusionCegarLoop<LETTER extends IIcfgTransition<?>> ex
 
 	@Override
 	public void finish() {
+		super.finish();
 		assert mHoareTripleChecker.size() == mInterpolantAutomata.size();
 		for (final IHoareTripleChecker htc : mHoareTripleChecker) {
 			mCegarLoopBenchmark.addEdgeCheckerData(htc.getEdgeCheckerBenchmark());
@@ -26,32 +26,61 @@
  */
 package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import de.uni_freiburg.informatik.ultimate.automata.IRun;
 import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.CacheEvictionPolicy;
 
 /**
- * {@link PathProgramCache} saves a hash of the trace and the path program that is analyzed in each iteration.
+ * {@link PathProgramCache} saves the path program that is analyzed in each iteration and counts how often it was
+ * analyzed.
+ *
+ * The cache can be bounded. If it is full, one path program is evicted according to a {@link CacheEvictionPolicy}
+ * before a new path program is added. Only the letters of an evicted path program are dropped. Its count is kept in a
+ * fixed-size table of counters indexed by the hash code of its letters and continues if the path program is seen
+ * again. Path programs that share a counter share their count after eviction, i.e., the count of an evicted path
+ * program may be too high, but never too low.
  *
  * @author Daniel Dietsch (dietsch@informatik.uni-freiburg.de)
  *
  */
 public class PathProgramCache<LETTER> {
 
+	private static final int EVICTED_COUNTS_PER_ENTRY = 4;
+	private static final int MIN_EVICTED_COUNTS = 64;
+	private static final int MAX_EVICTED_COUNTS = 1 << 20;
+
 	private final ILogger mLogger;
 	private final Map<Set<LETTER>, Integer> mKnownPathPrograms;
-	private final List<Integer> mTraceHashes;
+	private final int[] mEvictedPathProgramCounts;
+	private final int mMaxSize;
+	private final CacheEvictionPolicy mEvictionPolicy;
+	private int mEvictions;
 
 	public PathProgramCache(final ILogger logger) {
+		this(logger, 0, CacheEvictionPolicy.LRU);
+	}
+
+	/**
+	 * @param maxSize
+	 *            maximal number of path programs in the cache, 0 if the cache is not bounded
+	 * @param evictionPolicy
+	 *            determines which path program is evicted if the cache is full
+	 */
+	public PathProgramCache(final ILogger logger, final int maxSize, final CacheEvictionPolicy evictionPolicy) {
 		mLogger = logger;
-		mKnownPathPrograms = new HashMap<>();
-		mTraceHashes = new ArrayList<>();
+		// access order, s.t. the first entry is the least recently used one
+		mKnownPathPrograms = new LinkedHashMap<>(16, 0.75f, true);
+		mEvictedPathProgramCounts = maxSize > 0 ? new int[getEvictedCountsLength(maxSize)] : null;
+		mMaxSize = maxSize;
+		mEvictionPolicy = evictionPolicy;
 	}
 
 	/**
@@ -67,13 +96,15 @@ public class PathProgramCache<LETTER> {
 	public int addRun(final IRun<LETTER, ?, ?> counterexample) {
 		final List<LETTER> trace = counterexample.getWord().asList();
 		final int traceHash = trace.hashCode();
-		mTraceHashes.add(traceHash);
 
 		final Set<LETTER> pathProgramRepresentative = new HashSet<>(trace);
 		final Integer count = mKnownPathPrograms.get(pathProgramRepresentative);
 		final int rtr;
 		if (count == null) {
-			rtr = 1;
+			rtr = getEvictedCount(pathProgramRepresentative) + 1;
+			if (mMaxSize > 0 && mKnownPathPrograms.size() >= mMaxSize) {
+				evict();
+			}
 		} else {
 			rtr = count.intValue() + 1;
 		}
@@ -93,10 +124,70 @@ public class PathProgramCache<LETTER> {
 		final Set<LETTER> pathProgramRepresentative = counterexample.getWord().asSet();
 		final Integer count = mKnownPathPrograms.get(pathProgramRepresentative);
 		if (count == null) {
-			mLogger.warn("You did not report this counterexample before!");
-			return 0;
+			final int evictedCount = getEvictedCount(pathProgramRepresentative);
+			if (evictedCount == 0) {
+				mLogger.warn("You did not report this counterexample before!");
+			}
+			return evictedCount;
 		}
 		return count.intValue();
 	}
 
+	/**
+	 * @return number of path programs that were evicted from this cache
+	 */
+	public int getNumberOfEvictions() {
+		return mEvictions;
+	}
+
+	/**
+	 * @return number of path programs that are currently in this cache
+	 */
+	public int getNumberOfResidentPathPrograms() {
+		return mKnownPathPrograms.size();
+	}
+
+	private void evict() {
+		final Iterator<Entry<Set<LETTER>, Integer>> iter = mKnownPathPrograms.entrySet().iterator();
+		Entry<Set<LETTER>, Integer> victim = iter.next();
+		if (mEvictionPolicy != CacheEvictionPolicy.LRU) {
+			// on ties we keep the least recently used candidate
+			while (iter.hasNext()) {
+				final Entry<Set<LETTER>, Integer> candidate = iter.next();
+				if (mEvictionPolicy == CacheEvictionPolicy.SIZE
+						? candidate.getKey().size() > victim.getKey().size()
+						: candidate.getValue() < victim.getValue()) {
+					victim = candidate;
+				}
+			}
+		}
+		mKnownPathPrograms.remove(victim.getKey());
+		final int index = getEvictedCountIndex(victim.getKey());
+		mEvictedPathProgramCounts[index] = Math.max(mEvictedPathProgramCounts[index], victim.getValue());
+		mEvictions++;
+	}
+
+	private int getEvictedCount(final Set<LETTER> pathProgramRepresentative) {
+		if (mEvictions == 0) {
+			return 0;
+		}
+		return mEvictedPathProgramCounts[getEvictedCountIndex(pathProgramRepresentative)];
+	}
+
+	private int getEvictedCountIndex(final Set<LETTER> pathProgramRepresentative) {
+		final int hash = pathProgramRepresentative.hashCode();
+		return (hash ^ (hash >>> 16)) & (mEvictedPathProgramCounts.length - 1);
+	}
+
+	/**
+	 * @return a power of two that is at least {@link #EVICTED_COUNTS_PER_ENTRY} times the maximal size of the cache
+	 */
+	private static int getEvictedCountsLength(final int maxSize) {
+		final long minLength = Math.max(MIN_EVICTED_COUNTS, (long) EVICTED_COUNTS_PER_ENTRY * maxSize);
+		if (minLength >= MAX_EVICTED_COUNTS) {
+			return MAX_EVICTED_COUNTS;
+		}
+		return Integer.highestOneBit((int) minLength - 1) << 1;
+	}
+
 }
@@ -52,8 +52,11 @@ import de.uni_freiburg.informatik.ultimate.core.model.services.IToolchainStorage
 import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IIcfg;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IIcfgTransition;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IReturnAction;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IcfgLocation;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.debugidentifiers.DebugIdentifier;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.HoareTripleCheckerStatisticsGenerator;
@@ -101,6 +104,7 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 
 	protected final ReuseStatisticsGenerator mReuseStats;
 	private boolean mStatsAlreadyAggregated = false;
+	private FloydHoareAutomataCache mFloydHoareAutomataCache;
 
 	public ReuseCegarLoop(final DebugIdentifier name, final IIcfg<?> rootNode, final CfgSmtToolkit csToolkit,
 			final PredicateFactory predicateFactory, final TAPreferences taPrefs,
@@ -117,6 +121,13 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 		mReuseStats = new ReuseStatisticsGenerator();
 	}
 
+	/**
+	 * Additionally re-use the automata of the given cache whose letters match letters of the initial abstraction.
+	 */
+	public void setFloydHoareAutomataCache(final FloydHoareAutomataCache cache) {
+		mFloydHoareAutomataCache = cache;
+	}
+
 	@Override
 	protected void getInitialAbstraction() throws AutomataLibraryException {
 		super.getInitialAbstraction();
@@ -126,27 +137,56 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 		mReuseStats.continueTime();
 
 		final PredicateParsingWrapperScript ppws = new PredicateParsingWrapperScript(mCsToolkit);
+		// Create map from strings to all equivalent "new" letters (abstraction letters)
+		final Map<String, Set<LETTER>> mapStringToLetter = new HashMap<>();
+		final VpAlphabet<LETTER> abstractionAlphabet =
+				((INestedWordAutomaton<LETTER, IPredicate>) mAbstraction).getVpAlphabet();
+		addLettersToStringMap(mapStringToLetter, abstractionAlphabet.getCallAlphabet());
+		addLettersToStringMap(mapStringToLetter, abstractionAlphabet.getInternalAlphabet());
+		addLettersToStringMap(mapStringToLetter, abstractionAlphabet.getReturnAlphabet());
 
 		for (final INestedWordAutomaton<String, String> rawAutomatonFromFile : mRawFloydHoareAutomataFromFile) {
 			if (rawAutomatonFromFile.getFinalStates().isEmpty()) {
 				throw new AssertionError("A Floyd-Hoare automaton without accepting states is useless.");
 			}
-			buildFloydHoareAutomaton(ppws, rawAutomatonFromFile);
+			if (buildFloydHoareAutomaton(ppws, rawAutomatonFromFile, mapStringToLetter, false)) {
+				mReuseStats.addAutomataFromFile(1);
+			}
+		}
+
+		if (mFloydHoareAutomataCache != null) {
+			// letters of cached automata are represented by their keys
+			final Set<LETTER> letters = new HashSet<>();
+			letters.addAll(abstractionAlphabet.getCallAlphabet());
+			letters.addAll(abstractionAlphabet.getInternalAlphabet());
+			letters.addAll(abstractionAlphabet.getReturnAlphabet());
+			for (final LETTER letter : letters) {
+				mapStringToLetter.computeIfAbsent(mFloydHoareAutomataCache.getLetterKey(letter), a -> new HashSet<>())
+						.add(letter);
+			}
+			for (final INestedWordAutomaton<String, String> rawAutomatonFromCache : mFloydHoareAutomataCache
+					.load(letters)) {
+				// the letters were only matched by their keys, hence we check each transition
+				if (buildFloydHoareAutomaton(ppws, rawAutomatonFromCache, mapStringToLetter, true)) {
+					mReuseStats.addAutomataFromCache(1);
+				}
+			}
 		}
 
 		mReuseStats.addAutomataFromPreviousErrorLocation(mFloydHoareAutomataFromOtherErrorLocations.size());
 		mReuseStats.stopTime();
 	}
 
-	private void buildFloydHoareAutomaton(final PredicateParsingWrapperScript ppws,
-			final INestedWordAutomaton<String, String> rawAutomatonFromFile) {
-		// Create map from strings to all equivalent "new" letters (abstraction letters)
-		final Map<String, Set<LETTER>> mapStringToLetter = new HashMap<>();
+	/**
+	 * @param checkTransitions
+	 *            if true, only transitions that are valid Hoare triples are added to the Floyd-Hoare automaton
+	 * @return true iff the Floyd-Hoare automaton was added to the automata that are re-used
+	 */
+	private boolean buildFloydHoareAutomaton(final PredicateParsingWrapperScript ppws,
+			final INestedWordAutomaton<String, String> rawAutomatonFromFile,
+			final Map<String, Set<LETTER>> mapStringToLetter, final boolean checkTransitions) {
 		final VpAlphabet<LETTER> abstractionAlphabet =
 				((INestedWordAutomaton<LETTER, IPredicate>) mAbstraction).getVpAlphabet();
-		addLettersToStringMap(mapStringToLetter, abstractionAlphabet.getCallAlphabet());
-		addLettersToStringMap(mapStringToLetter, abstractionAlphabet.getInternalAlphabet());
-		addLettersToStringMap(mapStringToLetter, abstractionAlphabet.getReturnAlphabet());
 		// compute stats for letters
 		countReusedAndRemovedLetters(rawAutomatonFromFile.getVpAlphabet(), mapStringToLetter);
 		// Create empty automaton with same alphabet
@@ -221,19 +261,27 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 
 		if (!USE_AUTOMATA_WITH_UNMATCHED_PREDICATES && removedStates > 0) {
 			mReuseStats.addDroppedAutomata(1);
-			return;
+			return false;
 		}
 		mReuseStats.addReusedStates(reusedStates);
 		mReuseStats.addUselessPredicates(removedStates);
 		mReuseStats.addTotalStates(totalStates);
 		// Add transitions
-		addTransitionsFromRawAutomaton(resAutomaton, rawAutomatonFromFile, mapStringToLetter, mapStringToState,
-				mapStateToString);
+		if (checkTransitions) {
+			final IHoareTripleChecker htc = TraceAbstractionUtils.constructEfficientHoareTripleCheckerWithCaching(
+					mServices, mPref.getHoareTripleChecks(), mCsToolkit, predicateUnifier);
+			addTransitionsFromRawAutomaton(resAutomaton, rawAutomatonFromFile, mapStringToLetter, mapStringToState,
+					mapStateToString, htc);
+			htc.releaseLock();
+		} else {
+			addTransitionsFromRawAutomaton(resAutomaton, rawAutomatonFromFile, mapStringToLetter, mapStringToState,
+					mapStateToString, null);
+		}
 
 		final ReuseAutomaton reuseAutomaton = new ReuseAutomaton(resAutomaton, abstractionAlphabet, predicateUnifier);
 		// Add capability for on-demand extension to automata from file.
 		mFloydHoareAutomataFromFile.add(reuseAutomaton);
-		mReuseStats.addAutomataFromFile(1);
+		return true;
 	}
 
 	private void addState(final INestedWordAutomaton<String, String> rawAutomatonFromFile,
@@ -341,10 +389,14 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 		mReuseStats.addTotalLetters(totalLetters);
 	}
 
+	/**
+	 * @param htc
+	 *            if not null, transitions that this checker does not prove to be valid Hoare triples are removed
+	 */
 	private final void addTransitionsFromRawAutomaton(final NestedWordAutomaton<LETTER, IPredicate> resAutomaton,
 			final INestedWordAutomaton<String, String> rawAutomatonFromFile,
 			final Map<String, Set<LETTER>> mapStringToLetter, final Map<String, IPredicate> mapStringToState,
-			final Map<IPredicate, String> mapStateToString) {
+			final Map<IPredicate, String> mapStateToString, final IHoareTripleChecker htc) {
 
 		int removedTransitions = 0;
 		int reusedTransitions = 0;
@@ -363,6 +415,11 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 				}
 
 				for (final LETTER letter : outTrans.getFirst()) {
+					if (htc != null && htc.checkCall(predicateState, (ICallAction) letter,
+							outTrans.getSecond()) != Validity.VALID) {
+						removedTransitions++;
+						continue;
+					}
 					resAutomaton.addCallTransition(predicateState, letter, outTrans.getSecond());
 					reusedTransitions++;
 				}
@@ -379,6 +436,11 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 				}
 
 				for (final LETTER letter : outTrans.getFirst()) {
+					if (htc != null && htc.checkInternal(predicateState, (IInternalAction) letter,
+							outTrans.getSecond()) != Validity.VALID) {
+						removedTransitions++;
+						continue;
+					}
 					resAutomaton.addInternalTransition(predicateState, letter, outTrans.getSecond());
 					reusedTransitions++;
 				}
@@ -401,6 +463,11 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 				}
 
 				for (final LETTER letter : outTrans.getFirst()) {
+					if (htc != null && htc.checkReturn(predicateState, heirPredState, (IReturnAction) letter,
+							outTrans.getSecond()) != Validity.VALID) {
+						removedTransitions++;
+						continue;
+					}
 					resAutomaton.addReturnTransition(predicateState, heirPredState, letter, outTrans.getSecond());
 					reusedTransitions++;
 				}
@@ -586,6 +653,8 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 
 		AUTOMATA_FROM_PREV_ERROR_LOC(Integer.class, StatisticsType.INTEGER_ADDITION, StatisticsType.KEY_BEFORE_DATA),
 
+		AUTOMATA_FROM_CACHE(Integer.class, StatisticsType.INTEGER_ADDITION, StatisticsType.KEY_BEFORE_DATA),
+
 		REUSE_PREDICATE_UNIFIER(IStatisticsDataProvider.class, StatisticsType.STATISTICS_DATA_AGGREGATION,
 				StatisticsType.KEY_BEFORE_DATA),
 
@@ -645,6 +714,7 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 		private boolean mRunning = false;
 		private int mAutomataFromFile;
 		private int mAutomataFromPreviousErrorLocation;
+		private int mAutomataFromCache;
 		private int mReusedStates;
 		private int mTotalStates;
 		private int mReusedLetters;
@@ -666,6 +736,7 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 			mTime.register(String.valueOf(ReuseStatisticsDefinitions.REUSE_TIME));
 			mAutomataFromFile = 0;
 			mAutomataFromPreviousErrorLocation = 0;
+			mAutomataFromCache = 0;
 			mReusedStates = 0;
 			mTotalStates = 0;
 			mReusedLetters = 0;
@@ -697,6 +768,10 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 			mAutomataFromPreviousErrorLocation = mAutomataFromPreviousErrorLocation + value;
 		}
 
+		public void addAutomataFromCache(final int value) {
+			mAutomataFromCache = mAutomataFromCache + value;
+		}
+
 		public void addTotalStates(final int value) {
 			mTotalStates = mTotalStates + value;
 		}
@@ -787,6 +862,8 @@ public class ReuseCegarLoop<LETTER extends IIcfgTransition<?>> extends BasicCega
 				return mAutomataFromFile;
 			case AUTOMATA_FROM_PREV_ERROR_LOC:
 				return mAutomataFromPreviousErrorLocation;
+			case AUTOMATA_FROM_CACHE:
+				return mAutomataFromCache;
 			case REUSED_STATES:
 				return mReusedStates;
 			case TOTAL_STATES:
@@ -110,6 +110,7 @@ public class TraceAbstractionStarter {
 	private IElement mRootOfNewModel;
 	private Result mOverallResult;
 	private IElement mArtifact;
+	private FloydHoareAutomataCache mFloydHoareAutomataCache;
 
 	private final List<Pair<AbstractInterpolantAutomaton<IIcfgTransition<?>>, IPredicateUnifier>> mFloydHoareAutomataFromOtherErrorLocations =
 			new ArrayList<>();
@@ -139,6 +140,10 @@ public class TraceAbstractionStarter {
 		final CfgSmtToolkit csToolkit = icfg.getCfgSmtToolkit();
 		final PredicateFactory predicateFactory = new PredicateFactory(mServices, csToolkit.getManagedScript(),
 				csToolkit.getSymbolTable(), taPrefs.getSimplificationTechnique(), taPrefs.getXnfConversionTechnique());
+		if (taPrefs.getFloydHoareAutomataCacheDirectory() != null) {
+			mFloydHoareAutomataCache = new FloydHoareAutomataCache(mServices, csToolkit,
+					taPrefs.getFloydHoareAutomataCacheDirectory(), taPrefs.getFloydHoareAutomataCacheSize());
+		}
 		TraceAbstractionBenchmarks traceAbstractionBenchmark = new TraceAbstractionBenchmarks(icfg);
 
 		final Map<String, Set<IcfgLocation>> proc2errNodes = icfg.getProcedureErrorNodes();
@@ -310,13 +315,20 @@ public class TraceAbstractionStarter {
 				csToolkit, predicateFactory, taBenchmark, errorLocs, rawFloydHoareAutomataFromFile);
 		basicCegarLoop.setWitnessAutomaton(witnessAutomaton);
 
-		final Result result = basicCegarLoop.iterate();
-		basicCegarLoop.finish();
+		final Result result;
+		try {
+			result = basicCegarLoop.iterate();
+		} finally {
+			basicCegarLoop.finish();
+		}
 		if (taPrefs.getFloydHoareAutomataReuse() != FloydHoareAutomataReuse.NONE) {
 			final LinkedHashSet<?> fhs = basicCegarLoop.getFloydHoareAutomata();
 			mFloydHoareAutomataFromOtherErrorLocations.addAll(
 					(LinkedHashSet<Pair<AbstractInterpolantAutomaton<IIcfgTransition<?>>, IPredicateUnifier>>) fhs);
 		}
+		if (mFloydHoareAutomataCache != null) {
+			storeFloydHoareAutomataInCache(basicCegarLoop);
+		}
 
 		mOverallResult = computeOverallResult(errorLocs, basicCegarLoop, result);
 
@@ -344,6 +356,18 @@ public class TraceAbstractionStarter {
 		return result;
 	}
 
+	private <LETTER extends IIcfgTransition<?>> void
+			storeFloydHoareAutomataInCache(final BasicCegarLoop<LETTER> basicCegarLoop) {
+		int stored = 0;
+		for (final Pair<AbstractInterpolantAutomaton<LETTER>, IPredicateUnifier> fh : basicCegarLoop
+				.getFloydHoareAutomata()) {
+			if (mFloydHoareAutomataCache.store(fh.getFirst())) {
+				stored++;
+			}
+		}
+		mLogger.info("Stored " + stored + " new Floyd-Hoare automata in cache");
+	}
+
 	private BasicCegarLoop<?> constructCegarLoop(final DebugIdentifier name, final IIcfg<IcfgLocation> root,
 			final TAPreferences taPrefs, final CfgSmtToolkit csToolkit, final PredicateFactory predicateFactory,
 			final TraceAbstractionBenchmarks taBenchmark, final Collection<IcfgLocation> errorLocs,
@@ -376,6 +400,9 @@ public class TraceAbstractionStarter {
 				default:
 					throw new AssertionError();
 				}
+				if (mFloydHoareAutomataCache != null && result instanceof ReuseCegarLoop) {
+					((ReuseCegarLoop<IIcfgTransition<?>>) result).setFloydHoareAutomataCache(mFloydHoareAutomataCache);
+				}
 			}
 		} else {
 			result = new IncrementalInclusionCegarLoop<>(name, root, csToolkit, predicateFactory, taPrefs, errorLocs,
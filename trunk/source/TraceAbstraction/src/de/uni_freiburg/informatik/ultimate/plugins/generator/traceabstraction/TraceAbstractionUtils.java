@@ -71,8 +71,12 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.Pred
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.TermVarsProc;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.rcfgbuilder.cfg.BoogieIcfgLocation;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.CachingHoareTripleCheckerMap;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.ConcurrentHoareTripleChecker;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.EfficientHoareTripleChecker;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.HoareTripleCheckSolverPool;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.IMLPredicate;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.PersistentHoareTripleCache;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.PersistentHoareTripleChecker;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.HoareAnnotationPositions;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.HoareTripleChecks;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.relation.HashRelation;
@@ -115,7 +119,35 @@ public class TraceAbstractionUtils {
 	public static IHoareTripleChecker constructEfficientHoareTripleChecker(final IUltimateServiceProvider services,
 			final HoareTripleChecks hoareTripleChecks, final CfgSmtToolkit csToolkit,
 			final IPredicateUnifier predicateUnifier) throws AssertionError {
-		final IHoareTripleChecker solverHtc = constructSmtHoareTripleChecker(hoareTripleChecks, csToolkit);
+		return constructEfficientHoareTripleChecker(services, hoareTripleChecks, csToolkit, predicateUnifier, null,
+				null);
+	}
+
+	/**
+	 * Variant of {@link #constructEfficientHoareTripleChecker(IUltimateServiceProvider, HoareTripleChecks,
+	 * CfgSmtToolkit, IPredicateUnifier)} whose batches of internal Hoare triple checks are distributed over the
+	 * solvers of the given {@link HoareTripleCheckSolverPool} and whose solver results are looked up in and stored to
+	 * the given {@link PersistentHoareTripleCache}. Results of the cheap syntactic checks of the
+	 * {@link EfficientHoareTripleChecker} are not stored. If the pool is null, all checks are done by the solver of the
+	 * {@link CfgSmtToolkit}; if the cache is null, no persistent cache is used.
+	 */
+	public static IHoareTripleChecker constructEfficientHoareTripleChecker(final IUltimateServiceProvider services,
+			final HoareTripleChecks hoareTripleChecks, final CfgSmtToolkit csToolkit,
+			final IPredicateUnifier predicateUnifier, final HoareTripleCheckSolverPool solverPool,
+			final PersistentHoareTripleCache persistentCache) throws AssertionError {
+		final IHoareTripleChecker smtHtc = constructSmtHoareTripleChecker(hoareTripleChecks, csToolkit);
+		final IHoareTripleChecker concurrentHtc;
+		if (solverPool == null) {
+			concurrentHtc = smtHtc;
+		} else {
+			concurrentHtc = new ConcurrentHoareTripleChecker(smtHtc, solverPool, csToolkit);
+		}
+		final IHoareTripleChecker solverHtc;
+		if (persistentCache == null) {
+			solverHtc = concurrentHtc;
+		} else {
+			solverHtc = new PersistentHoareTripleChecker(services, concurrentHtc, persistentCache, csToolkit);
+		}
 		return new EfficientHoareTripleChecker(solverHtc, csToolkit, predicateUnifier);
 	}
 
@@ -138,8 +170,17 @@ public class TraceAbstractionUtils {
 	public static IHoareTripleChecker constructEfficientHoareTripleCheckerWithCaching(
 			final IUltimateServiceProvider services, final HoareTripleChecks hoareTripleChecks,
 			final CfgSmtToolkit csToolkit, final IPredicateUnifier predicateUnifier) throws AssertionError {
-		final IHoareTripleChecker ehtc =
-				constructEfficientHoareTripleChecker(services, hoareTripleChecks, csToolkit, predicateUnifier);
+		return constructEfficientHoareTripleCheckerWithCaching(services, hoareTripleChecks, csToolkit,
+				predicateUnifier, null, null);
+	}
+
+	public static IHoareTripleChecker constructEfficientHoareTripleCheckerWithCaching(
+			final IUltimateServiceProvider services, final HoareTripleChecks hoareTripleChecks,
+			final CfgSmtToolkit csToolkit, final IPredicateUnifier predicateUnifier,
+			final HoareTripleCheckSolverPool solverPool, final PersistentHoareTripleCache persistentCache)
+			throws AssertionError {
+		final IHoareTripleChecker ehtc = constructEfficientHoareTripleChecker(services, hoareTripleChecks, csToolkit,
+				predicateUnifier, solverPool, persistentCache);
 		return new CachingHoareTripleCheckerMap(services, ehtc, predicateUnifier);
 	}
 
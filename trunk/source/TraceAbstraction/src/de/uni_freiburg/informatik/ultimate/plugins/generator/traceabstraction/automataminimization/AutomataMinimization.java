@@ -55,6 +55,7 @@ import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimi
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.MinimizeSevpa;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.ShrinkNwa;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.maxsat.arrays.MinimizeNwaMaxSAT;
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.minimization.parallel.ShrinkNwaParallel;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.delayed.BuchiReduce;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.delayed.nwa.ReduceNwaDelayedSimulation;
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.operations.simulation.direct.nwa.ReduceNwaDirectSimulation;
@@ -207,6 +208,13 @@ public class AutomataMinimization<LCS, LCSP extends IPredicate, LETTER> {
 							0, false, false, true, initialPartitionSeparatesFinalsAndNonfinals));
 			break;
 		}
+		case SHRINK_NWA_PARALLEL: {
+			minimizationResult = new MinimizationResult(true, true,
+					new ShrinkNwaParallel<>(autServices, predicateFactoryRefinement, operand, partition,
+							computeOldState2NewStateMapping, initialPartitionSeparatesFinalsAndNonfinals,
+							Runtime.getRuntime().availableProcessors()));
+			break;
+		}
 		case NWA_COMBINATOR_PATTERN: {
 			final AbstractMinimizeNwa<LETTER, IPredicate> minNwa = new MinimizeNwaPattern<>(autServices,
 					predicateFactoryRefinement, (IDoubleDeckerAutomaton<LETTER, IPredicate>) operand, partition,
@@ -338,6 +346,11 @@ public class AutomataMinimization<LCS, LCSP extends IPredicate, LETTER> {
 					new BuchiReduce<>(autServices, predicateFactoryRefinement, operand));
 			break;
 		}
+		case DELAYED_SIMULATION_PARALLEL: {
+			minimizationResult = new MinimizationResult(true, true, new BuchiReduce<>(autServices,
+					predicateFactoryRefinement, operand, Runtime.getRuntime().availableProcessors()));
+			break;
+		}
 		case FAIR_SIMULATION_WITH_SCC: {
 			minimizationResult = new MinimizationResult(true, true,
 					new ReduceBuchiFairSimulation<>(autServices, predicateFactoryRefinement, operand, true));
@@ -70,6 +70,7 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPre
 import de.uni_freiburg.informatik.ultimate.plugins.analysis.abstractinterpretationv2.algorithm.rcfg.RcfgStatementExtractor;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.rcfgbuilder.cfg.CodeBlock;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.Activator;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.AbsIntStateStore;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.SdHoareTripleChecker;
 
 /**
@@ -96,6 +97,7 @@ public class AbsIntTotalInterpolationAutomatonBuilder<LETTER extends IIcfgTransi
 	private final IIcfgSymbolTable mSymbolTable;
 	private final XnfConversionTechnique mXnfConversionTechnique;
 	private final SimplificationTechnique mSimplificationTechnique;
+	private final AbsIntStateStore<?> mStateStore;
 
 	/**
 	 * Constructs a new AbsIntTotalInterpolationAutomatonBuilder which preforms total interpolation on a given counter
@@ -110,6 +112,10 @@ public class AbsIntTotalInterpolationAutomatonBuilder<LETTER extends IIcfgTransi
 	 * @param symbolTable
 	 * @param simplificationTechnique
 	 * @param xnfConversionTechnique
+	 * @param emptyStackFactory
+	 * @param stateStore
+	 *            The {@link AbsIntStateStore} of the current abstract interpretation result; used to reuse the terms of
+	 *            abstract states.
 	 */
 	public AbsIntTotalInterpolationAutomatonBuilder(final IUltimateServiceProvider services,
 			final INwaOutgoingLetterAndTransitionProvider<LETTER, IPredicate> oldAbstraction,
@@ -117,10 +123,11 @@ public class AbsIntTotalInterpolationAutomatonBuilder<LETTER extends IIcfgTransi
 			final CfgSmtToolkit csToolkit, final IRun<LETTER, IPredicate, ?> currentCounterExample,
 			final IIcfgSymbolTable symbolTable, final SimplificationTechnique simplificationTechnique,
 			final XnfConversionTechnique xnfConversionTechnique,
-			final IEmptyStackStateFactory<IPredicate> emptyStackFactory) {
+			final IEmptyStackStateFactory<IPredicate> emptyStackFactory, final AbsIntStateStore<?> stateStore) {
 		mServices = services;
 		mLogger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
 		mCsToolkit = csToolkit;
+		mStateStore = stateStore;
 		mSymbolTable = symbolTable;
 		mCurrentCounterExample = currentCounterExample;
 		mVariableCollector = new VariableCollector();
@@ -177,7 +184,7 @@ public class AbsIntTotalInterpolationAutomatonBuilder<LETTER extends IIcfgTransi
 				// aiResult.getUsedDomain().getPostOperator()))
 				// .collect(Collectors.toSet()));
 				target = predicateUnifier.getOrConstructPredicateForDisjunction(
-						nextStates.stream().map(s -> s.getTerm(mCsToolkit.getManagedScript().getScript()))
+						nextStates.stream().map(s -> mStateStore.getTerm(s, mCsToolkit.getManagedScript().getScript()))
 								.map(predicateUnifier::getOrConstructPredicate).collect(Collectors.toSet()));
 
 				// Add mapping from predicate -> Set<STATE> to be able to determine all STATES the predicate is
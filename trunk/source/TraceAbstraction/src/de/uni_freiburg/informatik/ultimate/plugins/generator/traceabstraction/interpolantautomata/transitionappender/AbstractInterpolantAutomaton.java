@@ -27,6 +27,8 @@
 package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.interpolantautomata.transitionappender;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import de.uni_freiburg.informatik.ultimate.automata.AutomataLibraryServices;
@@ -325,6 +327,18 @@ public abstract class AbstractInterpolantAutomaton<LETTER>
 		public abstract Validity computeSuccWithSolver(IPredicate resPred, IPredicate resHier, LETTER letter,
 				IPredicate resSucc);
 
+		/**
+		 * Check all successor candidates at once, see {@link IHoareTripleChecker#checkInternalBatch}.
+		 */
+		public Map<IPredicate, Validity> computeSuccsWithSolver(final IPredicate resPred, final IPredicate resHier,
+				final LETTER letter, final Collection<IPredicate> resSuccs) {
+			final Map<IPredicate, Validity> result = new HashMap<>();
+			for (final IPredicate resSucc : resSuccs) {
+				result.put(resSucc, computeSuccWithSolver(resPred, resHier, letter, resSucc));
+			}
+			return result;
+		}
+
 		public abstract Collection<IPredicate> getSuccsInterpolantAutomaton(IPredicate resPred, IPredicate resHier,
 				LETTER letter);
 
@@ -359,6 +373,13 @@ public abstract class AbstractInterpolantAutomaton<LETTER>
 			return mIHoareTripleChecker.checkInternal(resPred, (IInternalAction) letter, inputSucc);
 		}
 
+		@Override
+		public Map<IPredicate, Validity> computeSuccsWithSolver(final IPredicate resPred, final IPredicate resHier,
+				final LETTER letter, final Collection<IPredicate> inputSuccs) {
+			assert resHier == null;
+			return mIHoareTripleChecker.checkInternalBatch(resPred, (IInternalAction) letter, inputSuccs);
+		}
+
 		@Override
 		public Collection<IPredicate> getSuccsInterpolantAutomaton(final IPredicate resPred, final IPredicate resHier,
 				final LETTER letter) {
@@ -403,6 +424,13 @@ public abstract class AbstractInterpolantAutomaton<LETTER>
 			return mIHoareTripleChecker.checkCall(resPred, (ICallAction) letter, inputSucc);
 		}
 
+		@Override
+		public Map<IPredicate, Validity> computeSuccsWithSolver(final IPredicate resPred, final IPredicate resHier,
+				final LETTER letter, final Collection<IPredicate> inputSuccs) {
+			assert resHier == null;
+			return mIHoareTripleChecker.checkCallBatch(resPred, (ICallAction) letter, inputSuccs);
+		}
+
 		@Override
 		public Collection<IPredicate> getSuccsInterpolantAutomaton(final IPredicate resPred, final IPredicate resHier,
 				final LETTER letter) {
@@ -31,7 +31,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import de.uni_freiburg.informatik.ultimate.automata.nestedword.INestedWordAutomaton;
@@ -191,12 +193,20 @@ extends BasicAbstractInterpolantAutomaton<LETTER> {
 	@Override
 	protected void addOtherSuccessors(final IPredicate resPred, final IPredicate resHier, final LETTER letter,
 			final SuccessorComputationHelper sch, final Set<IPredicate> inputSuccs) {
+		final List<IPredicate> succCands = new ArrayList<>();
 		for (final IPredicate succCand : selectSuccessorCandidates(resPred, resHier)) {
 			if (!inputSuccs.contains(succCand)) {
-				final Validity sat = sch.computeSuccWithSolver(resPred, resHier, letter, succCand);
-				if (sat == Validity.VALID) {
-					inputSuccs.add(succCand);
-				}
+				succCands.add(succCand);
+			}
+		}
+		if (succCands.isEmpty()) {
+			return;
+		}
+		// check all candidates at once, this allows the Hoare triple checker to share work between the checks
+		for (final Entry<IPredicate, Validity> entry : sch.computeSuccsWithSolver(resPred, resHier, letter, succCands)
+				.entrySet()) {
+			if (entry.getValue() == Validity.VALID) {
+				inputSuccs.add(entry.getKey());
 			}
 		}
 	}
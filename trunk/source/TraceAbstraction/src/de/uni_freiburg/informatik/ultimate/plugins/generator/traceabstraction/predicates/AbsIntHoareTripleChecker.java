@@ -115,6 +115,7 @@ public class AbsIntHoareTripleChecker<STATE extends IAbstractState<STATE>, ACTIO
 	private final SdHoareTripleChecker mHtcSd;
 	private final boolean mOnlyAbsInt;
 	private final boolean mUseHierachicalPre;
+	private final AbsIntStateStore<STATE> mStateStore;
 
 	/**
 	 * Create a new {@link AbsIntHoareTripleChecker} instance.
@@ -141,6 +142,23 @@ public class AbsIntHoareTripleChecker<STATE extends IAbstractState<STATE>, ACTIO
 	public AbsIntHoareTripleChecker(final ILogger logger, final IUltimateServiceProvider services,
 			final IAbstractDomain<STATE, ACTION> domain, final IVariableProvider<STATE, ACTION> varProvider,
 			final IPredicateUnifier predicateUnifer, final CfgSmtToolkit csToolkit, final boolean onlyAbsInt) {
+		this(logger, services, domain, varProvider, predicateUnifer, csToolkit, onlyAbsInt, new AbsIntStateStore<>());
+	}
+
+	/**
+	 * Create a new {@link AbsIntHoareTripleChecker} instance that shares the states of predicates and the terms of
+	 * states with all other users of the given {@link AbsIntStateStore}.
+	 *
+	 * @param stateStore
+	 *            An {@link AbsIntStateStore} for the abstract interpretation result that created the predicates
+	 *            checked by this hoare triple checker.
+	 * @see #AbsIntHoareTripleChecker(ILogger, IUltimateServiceProvider, IAbstractDomain, IVariableProvider,
+	 *      IPredicateUnifier, CfgSmtToolkit, boolean)
+	 */
+	public AbsIntHoareTripleChecker(final ILogger logger, final IUltimateServiceProvider services,
+			final IAbstractDomain<STATE, ACTION> domain, final IVariableProvider<STATE, ACTION> varProvider,
+			final IPredicateUnifier predicateUnifer, final CfgSmtToolkit csToolkit, final boolean onlyAbsInt,
+			final AbsIntStateStore<STATE> stateStore) {
 		mServices = services;
 		mLogger = Objects.requireNonNull(logger);
 		mDomain = Objects.requireNonNull(domain);
@@ -161,7 +179,7 @@ public class AbsIntHoareTripleChecker<STATE extends IAbstractState<STATE>, ACTIO
 		mHtcSmt = new IncrementalHoareTripleChecker(mCsToolkit, false);
 		mHtcSd = new SdHoareTripleChecker(mCsToolkit, predicateUnifer, mBenchmark);
 		mOnlyAbsInt = onlyAbsInt;
-
+		mStateStore = Objects.requireNonNull(stateStore);
 	}
 
 	@Override
@@ -430,8 +448,12 @@ public class AbsIntHoareTripleChecker<STATE extends IAbstractState<STATE>, ACTIO
 		return valid;
 	}
 
-	@SuppressWarnings("unchecked")
 	private DisjunctiveAbstractState<STATE> getState(final IPredicate pred) {
+		return mStateStore.getState(pred, this::createState);
+	}
+
+	@SuppressWarnings("unchecked")
+	private DisjunctiveAbstractState<STATE> createState(final IPredicate pred) {
 		if (pred instanceof AbsIntPredicate<?>) {
 			final Set<STATE> states = ((AbsIntPredicate<STATE>) pred).getAbstractStates();
 			if (states.size() <= 1) {
@@ -560,7 +582,8 @@ public class AbsIntHoareTripleChecker<STATE extends IAbstractState<STATE>, ACTIO
 	}
 
 	private IPredicate createPredicateFromState(final DisjunctiveAbstractState<STATE> preState) {
-		return mPredicateUnifier.getPredicateFactory().newPredicate(preState.getTerm(mManagedScript.getScript()));
+		return mPredicateUnifier.getPredicateFactory().newPredicate(
+				mStateStore.getDisjunctionTerm(preState, mManagedScript.getScript()));
 	}
 
 	private boolean assertBottomRetained(final DisjunctiveAbstractState<STATE> pre,
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.DisjunctiveAbstractState;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.absint.IAbstractState;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+
+/**
+ * Stores derived information about the abstract states of one abstract interpretation result, i.e., the SMT terms of
+ * the states and the {@link DisjunctiveAbstractState}s represented by predicates.
+ * <p>
+ * Abstract states are only equal to themselves, hence only information about states that are kept (the states of the
+ * result and of the predicates) is reused. Results of inclusion checks are not stored, because one side of each check
+ * is a freshly computed abstract post. All terms are created with the same {@link Script}; a store must therefore not
+ * outlive the abstraction (and the script) it was created for. Call {@link #clear()} when the result is no longer
+ * needed.
+ *
+ * @param <STATE>
+ *            The type of the abstract states.
+ */
+public final class AbsIntStateStore<STATE extends IAbstractState<STATE>> {
+
+	private final Map<IAbstractState<?>, Term> mTerms;
+	private final Map<IPredicate, DisjunctiveAbstractState<STATE>> mPredicate2State;
+
+	private int mTermQueries;
+	private int mTermHits;
+
+	public AbsIntStateStore() {
+		mTerms = new HashMap<>();
+		mPredicate2State = new HashMap<>();
+	}
+
+	/**
+	 * @return The term of the given state, computed only once per state.
+	 */
+	public Term getTerm(final IAbstractState<?> state, final Script script) {
+		mTermQueries++;
+		final Term cached = mTerms.get(state);
+		if (cached != null) {
+			mTermHits++;
+			return cached;
+		}
+		final Term term = state.getTerm(script);
+		mTerms.put(state, term);
+		return term;
+	}
+
+	/**
+	 * @return The term of the given disjunctive state, built from the cached terms of its disjuncts.
+	 */
+	public Term getDisjunctionTerm(final DisjunctiveAbstractState<STATE> state, final Script script) {
+		return SmtUtils.or(script,
+				state.getStates().stream().map(a -> getTerm(a, script)).collect(Collectors.toSet()));
+	}
+
+	/**
+	 * @return The {@link DisjunctiveAbstractState} represented by the given predicate. The state is computed by
+	 *         <code>funCreateState</code> on the first request for this predicate.
+	 */
+	public DisjunctiveAbstractState<STATE> getState(final IPredicate pred,
+			final Function<IPredicate, DisjunctiveAbstractState<STATE>> funCreateState) {
+		return mPredicate2State.computeIfAbsent(pred, funCreateState);
+	}
+
+	/**
+	 * Release all stored terms and states.
+	 */
+	public void clear() {
+		mTerms.clear();
+		mPredicate2State.clear();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AbsIntStateStore: %s terms (%s/%s hits), %s predicates", mTerms.size(), mTermHits,
+				mTermQueries, mPredicate2State.size());
+	}
+}
@@ -26,8 +26,12 @@
  */
 package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 
 import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
@@ -107,6 +111,37 @@ public abstract class CachingHoareTripleChecker implements IHoareTripleChecker {
 		return result;
 	}
 
+	@Override
+	public Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final List<IPredicate> toCheck = new ArrayList<>();
+		for (final IPredicate succ : succs) {
+			Validity cached = getFromInternalCache(pre, act, succ);
+			if (cached == null) {
+				cached = extendedBinaryCacheCheck(pre, act, succ, mInternalCache);
+				if (cached == null) {
+					toCheck.add(succ);
+					continue;
+				}
+				mResultFromExtendedCacheCheck.incIn();
+				addToInternalCache(pre, act, succ, cached);
+			} else {
+				mResultFromCache.incIn();
+			}
+			result.put(succ, cached);
+		}
+		if (!toCheck.isEmpty()) {
+			for (final Entry<IPredicate, Validity> entry : mComputingHoareTripleChecker
+					.checkInternalBatch(pre, act, toCheck).entrySet()) {
+				mResultFromSolver.incIn();
+				addToInternalCache(pre, act, entry.getKey(), entry.getValue());
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return result;
+	}
+
 	private Validity getFromInternalCache(final IPredicate pre, final IInternalAction act, final IPredicate succ) {
 		return mInternalCache.get(act, pre, succ);
 	}
@@ -134,6 +169,37 @@ public abstract class CachingHoareTripleChecker implements IHoareTripleChecker {
 		return result;
 	}
 
+	@Override
+	public Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final List<IPredicate> toCheck = new ArrayList<>();
+		for (final IPredicate succ : succs) {
+			Validity cached = getFromCallCache(pre, act, succ);
+			if (cached == null) {
+				cached = extendedBinaryCacheCheck(pre, act, succ, mCallCache);
+				if (cached == null) {
+					toCheck.add(succ);
+					continue;
+				}
+				mResultFromExtendedCacheCheck.incCa();
+				addToCallCache(pre, act, succ, cached);
+			} else {
+				mResultFromCache.incCa();
+			}
+			result.put(succ, cached);
+		}
+		if (!toCheck.isEmpty()) {
+			for (final Entry<IPredicate, Validity> entry : mComputingHoareTripleChecker
+					.checkCallBatch(pre, act, toCheck).entrySet()) {
+				mResultFromSolver.incCa();
+				addToCallCache(pre, act, entry.getKey(), entry.getValue());
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return result;
+	}
+
 	private Validity getFromCallCache(final IPredicate pre, final ICallAction act, final IPredicate succ) {
 		return mCallCache.get(act, pre, succ);
 	}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IReturnAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramNonOldVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.HoareTripleCheckerStatisticsGenerator;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.PredicateUtils;
+
+/**
+ * {@link IHoareTripleChecker} that distributes the checks of a batch of internal Hoare triples (see
+ * {@link #checkInternalBatch(IPredicate, IInternalAction, Collection)}) over the solvers of a
+ * {@link HoareTripleCheckSolverPool}.
+ * <p>
+ * The queries are constructed in the solver of the {@link CfgSmtToolkit} (see
+ * {@link PredicateUtils#constructInductivityQuery}) and checked concurrently by the solvers of the pool. Triples
+ * whose check was not successful are passed to the underlying (sequential) {@link IHoareTripleChecker}. All other
+ * checks are passed to the underlying {@link IHoareTripleChecker} directly, and so are all checks if no solver of the
+ * pool is available.
+ */
+public class ConcurrentHoareTripleChecker implements IHoareTripleChecker {
+
+	private final IHoareTripleChecker mSequentialHoareTripleChecker;
+	private final HoareTripleCheckSolverPool mSolverPool;
+	private final CfgSmtToolkit mCsToolkit;
+	private final ManagedScript mManagedScript;
+
+	public ConcurrentHoareTripleChecker(final IHoareTripleChecker sequentialHoareTripleChecker,
+			final HoareTripleCheckSolverPool solverPool, final CfgSmtToolkit csToolkit) {
+		mSequentialHoareTripleChecker = sequentialHoareTripleChecker;
+		mSolverPool = solverPool;
+		mCsToolkit = csToolkit;
+		mManagedScript = csToolkit.getManagedScript();
+	}
+
+	@Override
+	public Validity checkInternal(final IPredicate pre, final IInternalAction act, final IPredicate succ) {
+		return mSequentialHoareTripleChecker.checkInternal(pre, act, succ);
+	}
+
+	@Override
+	public Validity checkCall(final IPredicate pre, final ICallAction act, final IPredicate succ) {
+		return mSequentialHoareTripleChecker.checkCall(pre, act, succ);
+	}
+
+	@Override
+	public Validity checkReturn(final IPredicate preLin, final IPredicate preHier, final IReturnAction act,
+			final IPredicate succ) {
+		return mSequentialHoareTripleChecker.checkReturn(preLin, preHier, act, succ);
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		if (succs.size() < 2 || !mSolverPool.isAvailable()) {
+			return mSequentialHoareTripleChecker.checkInternalBatch(pre, act, succs);
+		}
+		final HoareTripleCheckerStatisticsGenerator statistics = getEdgeCheckerBenchmark();
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final List<IPredicate> checkedSuccs = new ArrayList<>(succs.size());
+		final List<Term> queries = new ArrayList<>(succs.size());
+		statistics.continueEdgeCheckerTime();
+		if (mManagedScript.isLocked()) {
+			mManagedScript.requestLockRelease();
+		}
+		mManagedScript.lock(this);
+		try {
+			final UnmodifiableTransFormula tf = act.getTransformula();
+			final Set<IProgramNonOldVar> modifiableGlobalsPred =
+					mCsToolkit.getModifiableGlobalsTable().getModifiedBoogieVars(act.getPrecedingProcedure());
+			final Set<IProgramNonOldVar> modifiableGlobalsSucc =
+					mCsToolkit.getModifiableGlobalsTable().getModifiedBoogieVars(act.getSucceedingProcedure());
+			final boolean preIsFalse = SmtUtils.isFalse(pre.getFormula());
+			for (final IPredicate succ : succs) {
+				if (preIsFalse || SmtUtils.isTrue(succ.getFormula())) {
+					result.put(succ, Validity.VALID);
+				} else {
+					checkedSuccs.add(succ);
+					queries.add(PredicateUtils.constructInductivityQuery(mManagedScript.getScript(), pre, succ, tf,
+							modifiableGlobalsPred, modifiableGlobalsSucc));
+				}
+			}
+		} finally {
+			mManagedScript.unlock(this);
+		}
+		final List<LBool> lbools = queries.isEmpty() ? new ArrayList<>() : mSolverPool.checkSat(queries);
+		statistics.stopEdgeCheckerTime();
+
+		final List<IPredicate> remaining = new ArrayList<>();
+		for (int i = 0; i < checkedSuccs.size(); i++) {
+			final IPredicate succ = checkedSuccs.get(i);
+			final LBool lbool = lbools.get(i);
+			if (lbool == LBool.UNSAT) {
+				statistics.getSolverCounterUnsat().incIn();
+				result.put(succ, Validity.VALID);
+			} else if (lbool == LBool.SAT) {
+				statistics.getSolverCounterSat().incIn();
+				result.put(succ, Validity.INVALID);
+			} else {
+				remaining.add(succ);
+			}
+		}
+		if (!remaining.isEmpty()) {
+			result.putAll(mSequentialHoareTripleChecker.checkInternalBatch(pre, act, remaining));
+		}
+		return result;
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		return mSequentialHoareTripleChecker.checkCallBatch(pre, act, succs);
+	}
+
+	@Override
+	public HoareTripleCheckerStatisticsGenerator getEdgeCheckerBenchmark() {
+		return mSequentialHoareTripleChecker.getEdgeCheckerBenchmark();
+	}
+
+	@Override
+	public void releaseLock() {
+		mSequentialHoareTripleChecker.releaseLock();
+	}
+}
@@ -26,6 +26,13 @@
  */
 package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
@@ -102,6 +109,64 @@ public class EfficientHoareTripleChecker implements IHoareTripleChecker {
 		return result;
 	}
 
+	@Override
+	public Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final List<IPredicate> toCheck = new ArrayList<>();
+		for (final IPredicate succ : succs) {
+			final Validity sdResult = mSdHoareTripleChecker.checkInternal(pre, act, succ);
+			if (sdResult == Validity.UNKNOWN) {
+				toCheck.add(succ);
+			} else {
+				if (REVIEW_SD_RESULTS_IF_ASSERTIONS_ENABLED) {
+					assert reviewInductiveInternal(pre, act, succ, sdResult);
+				}
+				result.put(succ, sdResult);
+			}
+		}
+		if (toCheck.isEmpty()) {
+			return result;
+		}
+		final Map<IPredicate, Validity> smtResult = mSmtBasedHoareTripleChecker.checkInternalBatch(pre, act, toCheck);
+		if (REVIEW_SMT_RESULTS_IF_ASSERTIONS_ENABLED) {
+			for (final Entry<IPredicate, Validity> entry : smtResult.entrySet()) {
+				assert reviewInductiveInternal(pre, act, entry.getKey(), entry.getValue());
+			}
+		}
+		result.putAll(smtResult);
+		return result;
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final List<IPredicate> toCheck = new ArrayList<>();
+		for (final IPredicate succ : succs) {
+			final Validity sdResult = mSdHoareTripleChecker.checkCall(pre, act, succ);
+			if (sdResult == Validity.UNKNOWN) {
+				toCheck.add(succ);
+			} else {
+				if (REVIEW_SD_RESULTS_IF_ASSERTIONS_ENABLED) {
+					assert reviewInductiveCall(pre, act, succ, sdResult);
+				}
+				result.put(succ, sdResult);
+			}
+		}
+		if (toCheck.isEmpty()) {
+			return result;
+		}
+		final Map<IPredicate, Validity> smtResult = mSmtBasedHoareTripleChecker.checkCallBatch(pre, act, toCheck);
+		if (REVIEW_SMT_RESULTS_IF_ASSERTIONS_ENABLED) {
+			for (final Entry<IPredicate, Validity> entry : smtResult.entrySet()) {
+				assert reviewInductiveCall(pre, act, entry.getKey(), entry.getValue());
+			}
+		}
+		result.putAll(smtResult);
+		return result;
+	}
+
 	@Override
 	public HoareTripleCheckerStatisticsGenerator getEdgeCheckerBenchmark() {
 		return mSmtBasedHoareTripleChecker.getEdgeCheckerBenchmark();
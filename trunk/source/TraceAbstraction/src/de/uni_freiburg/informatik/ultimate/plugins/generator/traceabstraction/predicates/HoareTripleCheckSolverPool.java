@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IStorable;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IToolchainStorage;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder.SolverMode;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder.SolverSettings;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.TermTransferrer;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.Activator;
+
+/**
+ * Set of solvers that are independent of the {@link CfgSmtToolkit}'s solver and can be used to check closed formulas
+ * of the {@link CfgSmtToolkit} concurrently.
+ * <p>
+ * The solvers are built from the given {@link SolverSettings}, but SMTInterpol gets a timeout for each query (see
+ * {@link SolverBuilder#TIMEOUT_SMTINTERPOL}). Each instance has its own
+ * {@link de.uni_freiburg.informatik.ultimate.logic.Theory}; formulas are transferred to an instance by a
+ * {@link TermTransferrer} that declares missing sorts and functions on the fly. The axioms of the
+ * {@link CfgSmtToolkit} are asserted once in every instance. The instances are created when they are needed for the
+ * first time and are shut down when the toolchain ends (see {@link #destroy()}). Instances that cannot be initialized
+ * are dropped; if no instance remains the pool is not available (see {@link #isAvailable()}) and callers have to check
+ * their formulas sequentially.
+ */
+public final class HoareTripleCheckSolverPool implements IStorable {
+
+	private static final String STORAGE_KEY = HoareTripleCheckSolverPool.class.getName();
+
+	private final IUltimateServiceProvider mServices;
+	private final IToolchainStorage mStorage;
+	private final CfgSmtToolkit mCsToolkit;
+	private final ILogger mLogger;
+	private final int mNumberOfSolvers;
+	private final SolverMode mSolverMode;
+	private final SolverSettings mSolverSettings;
+	private final String mLogicForExternalSolver;
+	private final BlockingQueue<Worker> mIdleWorkers;
+	private final List<Worker> mWorkers;
+	private ExecutorService mExecutor;
+	private boolean mInitialized;
+
+	private HoareTripleCheckSolverPool(final IUltimateServiceProvider services, final IToolchainStorage storage,
+			final CfgSmtToolkit csToolkit, final int numberOfSolvers, final SolverMode solverMode,
+			final SolverSettings solverSettings, final String logicForExternalSolver) {
+		mServices = services;
+		mStorage = storage;
+		mCsToolkit = csToolkit;
+		mLogger = services.getLoggingService().getLogger(Activator.PLUGIN_ID);
+		mNumberOfSolvers = numberOfSolvers;
+		mSolverMode = solverMode;
+		mSolverSettings = solverSettings;
+		mLogicForExternalSolver = logicForExternalSolver;
+		mIdleWorkers = new LinkedBlockingQueue<>();
+		mWorkers = new ArrayList<>(numberOfSolvers);
+	}
+
+	/**
+	 * @param solverMode
+	 *            solver mode of the configured solver
+	 * @param solverSettings
+	 *            settings of the configured solver
+	 * @param logicForExternalSolver
+	 *            logic of the configured solver
+	 * @return a pool with the given number of solvers for the given {@link CfgSmtToolkit}. The pool is kept in the
+	 *         toolchain storage, hence subsequent calls with the same toolkit and number of solvers return the same
+	 *         object.
+	 */
+	public static HoareTripleCheckSolverPool getPool(final IUltimateServiceProvider services,
+			final IToolchainStorage storage, final CfgSmtToolkit csToolkit, final int numberOfSolvers,
+			final SolverMode solverMode, final SolverSettings solverSettings, final String logicForExternalSolver) {
+		final IStorable stored = storage.getStorable(STORAGE_KEY);
+		if (stored instanceof HoareTripleCheckSolverPool) {
+			final HoareTripleCheckSolverPool pool = (HoareTripleCheckSolverPool) stored;
+			if (pool.mCsToolkit == csToolkit && pool.mNumberOfSolvers == numberOfSolvers) {
+				return pool;
+			}
+			storage.destroyStorable(STORAGE_KEY);
+		}
+		final HoareTripleCheckSolverPool pool = new HoareTripleCheckSolverPool(services, storage, csToolkit,
+				numberOfSolvers, solverMode, solverSettings, logicForExternalSolver);
+		storage.putStorable(STORAGE_KEY, pool);
+		return pool;
+	}
+
+	/**
+	 * Check the satisfiability of each of the given closed formulas, each on one of the solvers of this pool.
+	 * Formulas are checked concurrently; this method returns when all checks are finished.
+	 *
+	 * @return a list that contains for each query (at the same position) the result of the check, or null if the
+	 *         solver was not able to check the query
+	 */
+	public List<LBool> checkSat(final List<Term> queries) {
+		final List<LBool> result = new ArrayList<>(queries.size());
+		if (!isAvailable()) {
+			while (result.size() < queries.size()) {
+				result.add(null);
+			}
+			return result;
+		}
+		final List<Callable<LBool>> tasks = new ArrayList<>(queries.size());
+		for (final Term query : queries) {
+			tasks.add(() -> checkSatOnIdleWorker(query));
+		}
+		try {
+			for (final Future<LBool> future : mExecutor.invokeAll(tasks)) {
+				result.add(getResult(future));
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		while (result.size() < queries.size()) {
+			result.add(null);
+		}
+		return result;
+	}
+
+	public int getNumberOfSolvers() {
+		return mNumberOfSolvers;
+	}
+
+	/**
+	 * Start the solvers of this pool if this was not done before.
+	 *
+	 * @return true iff at least one solver of this pool is usable
+	 */
+	public boolean isAvailable() {
+		if (!mInitialized) {
+			mInitialized = true;
+			initialize();
+		}
+		return mExecutor != null;
+	}
+
+	@Override
+	public void destroy() {
+		if (mExecutor != null) {
+			mExecutor.shutdownNow();
+			mExecutor = null;
+		}
+		for (final Worker worker : mWorkers) {
+			exit(worker.mScript);
+		}
+		mWorkers.clear();
+		mIdleWorkers.clear();
+	}
+
+	private void initialize() {
+		final Term axioms = mCsToolkit.getAxioms().getFormula();
+		for (int i = 0; i < mNumberOfSolvers; i++) {
+			final SolverSettings solverSettings = mSolverSettings.withTimeoutAndBaseName(
+					SolverBuilder.TIMEOUT_SMTINTERPOL, mSolverSettings.getBaseNameOfDumpedScript() + i);
+			Script solver = null;
+			try {
+				solver = SolverBuilder.buildAndInitializeSolver(mServices, mStorage, mSolverMode, solverSettings,
+						false, false, mLogicForExternalSolver, "HoareTripleCheck" + i);
+				final TermTransferrer tt = new TermTransferrer(solver);
+				solver.assertTerm(tt.transform(axioms));
+				final Worker worker = new Worker(solver, tt);
+				mWorkers.add(worker);
+				mIdleWorkers.add(worker);
+			} catch (final SMTLIBException | UnsupportedOperationException e) {
+				mLogger.warn("Unable to start solver for concurrent Hoare triple checks: " + e.getMessage());
+				if (solver != null) {
+					exit(solver);
+				}
+			}
+		}
+		if (mWorkers.isEmpty()) {
+			mLogger.warn("No solver for concurrent Hoare triple checks available, checking sequentially");
+			return;
+		}
+		mExecutor = Executors.newFixedThreadPool(mWorkers.size(), runnable -> {
+			final Thread thread = new Thread(runnable, "HoareTripleCheck");
+			thread.setDaemon(true);
+			return thread;
+		});
+		mLogger.info("Started " + mWorkers.size() + " solvers for concurrent Hoare triple checks");
+	}
+
+	private void exit(final Script solver) {
+		try {
+			solver.exit();
+		} catch (final SMTLIBException e) {
+			mLogger.warn("Unable to shut down solver for Hoare triple checks: " + e.getMessage());
+		}
+	}
+
+	private LBool checkSatOnIdleWorker(final Term query) throws InterruptedException {
+		final Worker worker = mIdleWorkers.take();
+		try {
+			return worker.checkSat(query);
+		} catch (final SMTLIBException | UnsupportedOperationException e) {
+			mLogger.warn("Concurrent Hoare triple check failed: " + e.getMessage());
+			return null;
+		} finally {
+			mIdleWorkers.add(worker);
+		}
+	}
+
+	private LBool getResult(final Future<LBool> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			mLogger.warn("Concurrent Hoare triple check failed: " + e.getCause());
+			return null;
+		}
+	}
+
+	/**
+	 * A solver together with the {@link TermTransferrer} that transfers terms to this solver. A worker is used by at
+	 * most one thread at a time.
+	 */
+	private static final class Worker {
+		private final Script mScript;
+		private final TermTransferrer mTermTransferrer;
+
+		private Worker(final Script script, final TermTransferrer termTransferrer) {
+			mScript = script;
+			mTermTransferrer = termTransferrer;
+		}
+
+		private LBool checkSat(final Term query) {
+			// transfer before the push, declarations that are added by the transfer are kept for later queries
+			final Term transferred = mTermTransferrer.transform(query);
+			mScript.push(1);
+			try {
+				mScript.assertTerm(transferred);
+				return mScript.checkSat();
+			} finally {
+				mScript.pop(1);
+			}
+		}
+	}
+}
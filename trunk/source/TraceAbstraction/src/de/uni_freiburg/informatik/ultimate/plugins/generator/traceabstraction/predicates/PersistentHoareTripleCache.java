@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IStorable;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IToolchainStorage;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker.Validity;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.Activator;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer;
+
+/**
+ * On-disk store for results of Hoare triple checks that survives single CEGAR loops and single runs of Ultimate.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of a canonical textual representation of a Hoare triple (see
+ * {@link PersistentHoareTripleChecker}). Only {@link Validity#VALID} and {@link Validity#INVALID} results are stored.
+ * The cache is loaded from the file given by
+ * {@link TraceAbstractionPreferenceInitializer#LABEL_HOARE_TRIPLE_CACHE_FILE} when it is requested for the first time
+ * in a toolchain. It is kept in the {@link IToolchainStorage} and is written back when the toolchain ends (see
+ * {@link #destroy()}). When it is written back, the entries that other runs have written to the file in the meantime
+ * are merged into it; the file is locked while it is rewritten.
+ * <p>
+ * The file is bounded by {@link TraceAbstractionPreferenceInitializer#LABEL_HOARE_TRIPLE_CACHE_SIZE}. Each write of
+ * the file starts a new generation, and each entry records the last generation in which it was looked up or added. If
+ * the bound is exceeded, the entries with the oldest generations are evicted.
+ */
+public final class PersistentHoareTripleCache implements IStorable {
+
+	private static final int MAGIC = 0x48544332;
+	private static final int DIGEST_LENGTH = 32;
+	private static final byte VALID = 0;
+	private static final byte INVALID = 1;
+
+	private static final String STORAGE_KEY = PersistentHoareTripleCache.class.getName();
+	private static final String LOCK_FILE_ENDING = ".lock";
+
+	private final Path mFile;
+	private final int mMaxSize;
+	private final ILogger mLogger;
+	private final Map<String, Validity> mResults;
+	/**
+	 * Generation of the last use of each entry that was loaded from the file.
+	 */
+	private final Map<String, Integer> mLastUse;
+	/**
+	 * Keys that were looked up successfully or added since the last write.
+	 */
+	private final Set<String> mUsed;
+	private int mGeneration;
+	private volatile boolean mModified;
+
+	/**
+	 * Load the cache from a file. Use {@link #getCache(IUltimateServiceProvider, IToolchainStorage)} to share one cache
+	 * between all users in a toolchain.
+	 *
+	 * @param maxSize
+	 *            maximal number of entries that are written to the file, 0 if the file is not bounded
+	 */
+	public PersistentHoareTripleCache(final Path file, final int maxSize, final ILogger logger) {
+		mFile = file;
+		mMaxSize = maxSize;
+		mLogger = logger;
+		mResults = new ConcurrentHashMap<>();
+		mLastUse = new HashMap<>();
+		mUsed = ConcurrentHashMap.newKeySet();
+		load();
+	}
+
+	/**
+	 * @return the cache for the file that is set in the preferences of this plug-in, or null if no file is set. The
+	 *         cache is kept in the toolchain storage, hence subsequent calls in the same toolchain for the same file
+	 *         return the same object.
+	 */
+	public static PersistentHoareTripleCache getCache(final IUltimateServiceProvider services,
+			final IToolchainStorage storage) {
+		final String fileName = services.getPreferenceProvider(Activator.PLUGIN_ID)
+				.getString(TraceAbstractionPreferenceInitializer.LABEL_HOARE_TRIPLE_CACHE_FILE);
+		if (fileName == null || fileName.isEmpty()) {
+			return null;
+		}
+		final Path file = Paths.get(fileName).toAbsolutePath().normalize();
+		final IStorable stored = storage.getStorable(STORAGE_KEY);
+		if (stored instanceof PersistentHoareTripleCache) {
+			final PersistentHoareTripleCache cache = (PersistentHoareTripleCache) stored;
+			if (cache.mFile.equals(file)) {
+				return cache;
+			}
+			storage.destroyStorable(STORAGE_KEY);
+		}
+		final int maxSize = services.getPreferenceProvider(Activator.PLUGIN_ID)
+				.getInt(TraceAbstractionPreferenceInitializer.LABEL_HOARE_TRIPLE_CACHE_SIZE);
+		final PersistentHoareTripleCache cache = new PersistentHoareTripleCache(file, maxSize,
+				services.getLoggingService().getLogger(Activator.PLUGIN_ID));
+		storage.putStorable(STORAGE_KEY, cache);
+		return cache;
+	}
+
+	/**
+	 * @return the digest of the canonical representation of a Hoare triple that is used as key in this cache
+	 */
+	public static String computeKey(final String canonicalTriple) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(canonicalTriple.getBytes(StandardCharsets.UTF_8)));
+		} catch (final NoSuchAlgorithmException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * @return the stored result for the given key, or null if there is no such result
+	 */
+	public Validity get(final String key) {
+		final Validity result = mResults.get(key);
+		if (result != null && mUsed.add(key)) {
+			mModified = true;
+		}
+		return result;
+	}
+
+	public void put(final String key, final Validity result) {
+		if (result != Validity.VALID && result != Validity.INVALID) {
+			return;
+		}
+		mResults.put(key, result);
+		if (mUsed.add(key)) {
+			mModified = true;
+		}
+	}
+
+	public int size() {
+		return mResults.size();
+	}
+
+	@Override
+	public void destroy() {
+		save();
+	}
+
+	/**
+	 * Write all results to the file if some result was used or added since the last write. Other runs of Ultimate may
+	 * have written to the file since it was loaded, hence the current content of the file is merged with the results
+	 * of this cache while the file is locked. The file is replaced atomically whenever the file system supports it, so
+	 * concurrent runs of Ultimate never see a partially written cache.
+	 */
+	public synchronized void save() {
+		if (!mModified) {
+			return;
+		}
+		try {
+			final Path parent = mFile.getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			final Path lockFile = mFile.resolveSibling(mFile.getFileName() + LOCK_FILE_ENDING);
+			try (FileChannel lockChannel =
+					FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+					FileLock lock = lockChannel.lock()) {
+				final Map<String, Validity> merged = new HashMap<>();
+				final Map<String, Integer> lastUse = new HashMap<>();
+				int fileGeneration = 0;
+				if (Files.isRegularFile(mFile)) {
+					try {
+						fileGeneration = read(merged, lastUse);
+					} catch (final IOException e) {
+						merged.clear();
+						lastUse.clear();
+						mLogger.warn("Overwriting unreadable Hoare triple cache " + mFile + ": " + e.getMessage());
+					}
+				}
+				final int numberOfForeignResults = merged.size();
+				final int generation = Math.max(fileGeneration, mGeneration) + 1;
+				for (final Entry<String, Validity> entry : mResults.entrySet()) {
+					final String key = entry.getKey();
+					merged.put(key, entry.getValue());
+					if (mUsed.contains(key)) {
+						lastUse.put(key, generation);
+					} else {
+						lastUse.merge(key, mLastUse.getOrDefault(key, 0), Math::max);
+					}
+				}
+				final int evicted = evict(merged, lastUse);
+				write(merged, lastUse, generation);
+				for (final String key : mUsed) {
+					mLastUse.put(key, generation);
+				}
+				mUsed.clear();
+				mGeneration = generation;
+				mModified = false;
+				mLogger.info("Wrote " + merged.size() + " Hoare triples to " + mFile + " (merged with "
+						+ numberOfForeignResults + " Hoare triples in the file, evicted " + evicted + ")");
+			}
+		} catch (final IOException e) {
+			mLogger.warn("Unable to write Hoare triple cache " + mFile + ": " + e.getMessage());
+		}
+	}
+
+	private void load() {
+		if (!Files.isRegularFile(mFile)) {
+			mLogger.info("Hoare triple cache " + mFile + " does not exist yet, starting with empty cache");
+			return;
+		}
+		try {
+			mGeneration = read(mResults, mLastUse);
+			mLogger.info("Loaded " + mResults.size() + " Hoare triples from " + mFile);
+		} catch (final IOException e) {
+			mResults.clear();
+			mLastUse.clear();
+			mLogger.warn("Ignoring unreadable Hoare triple cache " + mFile + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Remove the least recently used entries if there are more than {@link #mMaxSize} entries.
+	 *
+	 * @return the number of removed entries
+	 */
+	private int evict(final Map<String, Validity> results, final Map<String, Integer> lastUse) {
+		final int excess = results.size() - mMaxSize;
+		if (mMaxSize <= 0 || excess <= 0) {
+			return 0;
+		}
+		final List<String> keys = new ArrayList<>(results.keySet());
+		keys.sort(Comparator.comparingInt(lastUse::get));
+		for (final String key : keys.subList(0, excess)) {
+			results.remove(key);
+			lastUse.remove(key);
+		}
+		return excess;
+	}
+
+	/**
+	 * @return the generation of the last write of the file
+	 */
+	private int read(final Map<String, Validity> results, final Map<String, Integer> lastUse) throws IOException {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(Files.newInputStream(mFile))))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("not a Hoare triple cache");
+			}
+			final int generation = in.readInt();
+			final int size = in.readInt();
+			final byte[] digest = new byte[DIGEST_LENGTH];
+			for (int i = 0; i < size; i++) {
+				final byte validity = in.readByte();
+				final int entryGeneration = in.readInt();
+				in.readFully(digest);
+				final Validity result;
+				if (validity == VALID) {
+					result = Validity.VALID;
+				} else if (validity == INVALID) {
+					result = Validity.INVALID;
+				} else {
+					throw new IOException("unknown validity " + validity);
+				}
+				final String key = Base64.getEncoder().encodeToString(digest);
+				results.put(key, result);
+				lastUse.put(key, entryGeneration);
+			}
+			return generation;
+		}
+	}
+
+	private void write(final Map<String, Validity> results, final Map<String, Integer> lastUse,
+			final int generation) throws IOException {
+		final Path tmpFile = Files.createTempFile(mFile.getParent(), mFile.getFileName().toString(), ".tmp");
+		boolean moved = false;
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmpFile))))) {
+				out.writeInt(MAGIC);
+				out.writeInt(generation);
+				out.writeInt(results.size());
+				for (final Entry<String, Validity> entry : results.entrySet()) {
+					out.writeByte(entry.getValue() == Validity.VALID ? VALID : INVALID);
+					out.writeInt(lastUse.get(entry.getKey()));
+					out.write(Base64.getDecoder().decode(entry.getKey()));
+				}
+			}
+			try {
+				Files.move(tmpFile, mFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tmpFile, mFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+			moved = true;
+		} finally {
+			if (!moved) {
+				deleteTemporaryFile(tmpFile);
+			}
+		}
+	}
+
+	private void deleteTemporaryFile(final Path tmpFile) {
+		try {
+			Files.deleteIfExists(tmpFile);
+		} catch (final IOException e) {
+			mLogger.warn("Unable to delete temporary file " + tmpFile + ": " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.CfgSmtToolkit;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IReturnAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.TransFormulaUtils;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.HoareTripleCheckerStatisticsGenerator;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.CommuhashNormalForm;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.Substitution;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+
+/**
+ * {@link IHoareTripleChecker} that consults a {@link PersistentHoareTripleCache} before it passes a Hoare triple to
+ * the underlying {@link IHoareTripleChecker} and stores the results of the underlying checker in this cache.
+ * <p>
+ * A Hoare triple is represented by the {@link CommuhashNormalForm} of the closed formulas of its predicates and its
+ * action, i.e., all program variables are renamed to their default constants (resp. primed constants). Because the
+ * semantics of an action also depends on the global variables that are modifiable by the involved procedures, these
+ * variables are part of the representation as well. Auxiliary variables are renamed by their position in the formula
+ * because their names are not stable across runs. Each key also contains a digest of the axioms of the program, hence
+ * results are never shared between programs with different axioms or constant definitions. Only internal and call
+ * actions are cached; checks for return actions are passed to the underlying checker directly.
+ * <p>
+ * This checker should wrap the solver-based checker of an {@link EfficientHoareTripleChecker}, s.t. only results of
+ * the solver are stored and the cheap syntactic checks are not.
+ */
+public class PersistentHoareTripleChecker implements IHoareTripleChecker {
+
+	private static final String AUX_VAR_PREFIX = "aux_";
+
+	private final IHoareTripleChecker mComputingHoareTripleChecker;
+	private final PersistentHoareTripleCache mCache;
+	private final CfgSmtToolkit mCsToolkit;
+	private final CommuhashNormalForm mNormalForm;
+	private final Script mScript;
+	private final String mAxiomsRepresentation;
+
+	private final Map<IPredicate, String> mPredicateRepresentations = new HashMap<>();
+	private final Map<IAction, String> mActionRepresentations = new HashMap<>();
+
+	public PersistentHoareTripleChecker(final IUltimateServiceProvider services,
+			final IHoareTripleChecker computingHoareTripleChecker, final PersistentHoareTripleCache cache,
+			final CfgSmtToolkit csToolkit) {
+		mComputingHoareTripleChecker = computingHoareTripleChecker;
+		mCache = cache;
+		mCsToolkit = csToolkit;
+		mScript = csToolkit.getManagedScript().getScript();
+		mNormalForm = new CommuhashNormalForm(services, mScript);
+		mAxiomsRepresentation =
+				PersistentHoareTripleCache.computeKey(normalize(csToolkit.getAxioms().getClosedFormula()));
+	}
+
+	@Override
+	public Validity checkInternal(final IPredicate pre, final IInternalAction act, final IPredicate succ) {
+		final String key = computeKey(pre, act, succ);
+		final Validity cached = mCache.get(key);
+		if (cached != null) {
+			getEdgeCheckerBenchmark().getPersistentCacheHitCounter().incIn();
+			return cached;
+		}
+		getEdgeCheckerBenchmark().getPersistentCacheMissCounter().incIn();
+		final Validity result = mComputingHoareTripleChecker.checkInternal(pre, act, succ);
+		mCache.put(key, result);
+		return result;
+	}
+
+	@Override
+	public Validity checkCall(final IPredicate pre, final ICallAction act, final IPredicate succ) {
+		final String key = computeKey(pre, act, succ);
+		final Validity cached = mCache.get(key);
+		if (cached != null) {
+			getEdgeCheckerBenchmark().getPersistentCacheHitCounter().incCa();
+			return cached;
+		}
+		getEdgeCheckerBenchmark().getPersistentCacheMissCounter().incCa();
+		final Validity result = mComputingHoareTripleChecker.checkCall(pre, act, succ);
+		mCache.put(key, result);
+		return result;
+	}
+
+	@Override
+	public Validity checkReturn(final IPredicate preLin, final IPredicate preHier, final IReturnAction act,
+			final IPredicate succ) {
+		return mComputingHoareTripleChecker.checkReturn(preLin, preHier, act, succ);
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final Map<IPredicate, String> misses = new HashMap<>();
+		for (final IPredicate succ : succs) {
+			final String key = computeKey(pre, act, succ);
+			final Validity cached = mCache.get(key);
+			if (cached == null) {
+				getEdgeCheckerBenchmark().getPersistentCacheMissCounter().incIn();
+				misses.put(succ, key);
+			} else {
+				getEdgeCheckerBenchmark().getPersistentCacheHitCounter().incIn();
+				result.put(succ, cached);
+			}
+		}
+		if (!misses.isEmpty()) {
+			final Map<IPredicate, Validity> computed =
+					mComputingHoareTripleChecker.checkInternalBatch(pre, act, new ArrayList<>(misses.keySet()));
+			storeResults(misses, computed);
+			result.putAll(computed);
+		}
+		return result;
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final Map<IPredicate, String> misses = new HashMap<>();
+		for (final IPredicate succ : succs) {
+			final String key = computeKey(pre, act, succ);
+			final Validity cached = mCache.get(key);
+			if (cached == null) {
+				getEdgeCheckerBenchmark().getPersistentCacheMissCounter().incCa();
+				misses.put(succ, key);
+			} else {
+				getEdgeCheckerBenchmark().getPersistentCacheHitCounter().incCa();
+				result.put(succ, cached);
+			}
+		}
+		if (!misses.isEmpty()) {
+			final Map<IPredicate, Validity> computed =
+					mComputingHoareTripleChecker.checkCallBatch(pre, act, new ArrayList<>(misses.keySet()));
+			storeResults(misses, computed);
+			result.putAll(computed);
+		}
+		return result;
+	}
+
+	private void storeResults(final Map<IPredicate, String> keys, final Map<IPredicate, Validity> results) {
+		for (final Entry<IPredicate, Validity> entry : results.entrySet()) {
+			final String key = keys.get(entry.getKey());
+			if (key != null) {
+				mCache.put(key, entry.getValue());
+			}
+		}
+	}
+
+	@Override
+	public HoareTripleCheckerStatisticsGenerator getEdgeCheckerBenchmark() {
+		return mComputingHoareTripleChecker.getEdgeCheckerBenchmark();
+	}
+
+	@Override
+	public void releaseLock() {
+		mComputingHoareTripleChecker.releaseLock();
+	}
+
+	private String computeKey(final IPredicate pre, final IAction act, final IPredicate succ) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(mAxiomsRepresentation);
+		sb.append('\n');
+		sb.append(getRepresentation(pre));
+		sb.append('\n');
+		sb.append(getRepresentation(act));
+		sb.append('\n');
+		sb.append(getRepresentation(succ));
+		return PersistentHoareTripleCache.computeKey(sb.toString());
+	}
+
+	private String getRepresentation(final IPredicate pred) {
+		String result = mPredicateRepresentations.get(pred);
+		if (result == null) {
+			final StringBuilder sb = new StringBuilder();
+			sb.append(normalize(pred.getClosedFormula()));
+			sb.append(' ');
+			sb.append(representVars(pred.getVars()));
+			result = sb.toString();
+			mPredicateRepresentations.put(pred, result);
+		}
+		return result;
+	}
+
+	private String getRepresentation(final IAction act) {
+		String result = mActionRepresentations.get(act);
+		if (result == null) {
+			final StringBuilder sb = new StringBuilder();
+			final UnmodifiableTransFormula tf;
+			if (act instanceof ICallAction) {
+				sb.append("call ");
+				tf = ((ICallAction) act).getLocalVarsAssignment();
+			} else {
+				sb.append("internal ");
+				tf = act.getTransformula();
+			}
+			final Map<Term, Term> substitution = new HashMap<>();
+			for (final Entry<IProgramVar, TermVariable> entry : tf.getInVars().entrySet()) {
+				substitution.put(entry.getValue(), UnmodifiableTransFormula.getConstantForInVar(entry.getKey()));
+			}
+			final TreeSet<String> outVars = new TreeSet<>();
+			for (final Entry<IProgramVar, TermVariable> entry : tf.getOutVars().entrySet()) {
+				final Term constant =
+						UnmodifiableTransFormula.getConstantForOutVar(entry.getKey(), tf.getInVars(), tf.getOutVars());
+				substitution.putIfAbsent(entry.getValue(), constant);
+				outVars.add(constant.toStringDirect());
+			}
+			// the names of auxiliary variables come from a counter, hence they are renamed by their position
+			final List<TermVariable> auxVars = TransFormulaUtils.getAuxVarsInOrderOfOccurrence(tf);
+			final List<String> auxSorts = new ArrayList<>(auxVars.size());
+			for (int i = 0; i < auxVars.size(); i++) {
+				final TermVariable auxVar = auxVars.get(i);
+				substitution.put(auxVar, mScript.variable(AUX_VAR_PREFIX + i, auxVar.getSort()));
+				auxSorts.add(auxVar.getSort().toString());
+			}
+			sb.append(normalize(new Substitution(mScript, substitution).transform(tf.getFormula())));
+			sb.append(" in:");
+			sb.append(representVars(tf.getInVars().keySet()));
+			sb.append(" out:");
+			sb.append(outVars);
+			sb.append(" aux:");
+			sb.append(auxSorts);
+			sb.append(" mod:");
+			sb.append(representVars(mCsToolkit.getModifiableGlobalsTable()
+					.getModifiedBoogieVars(act.getPrecedingProcedure())));
+			sb.append(representVars(mCsToolkit.getModifiableGlobalsTable()
+					.getModifiedBoogieVars(act.getSucceedingProcedure())));
+			result = sb.toString();
+			mActionRepresentations.put(act, result);
+		}
+		return result;
+	}
+
+	private String normalize(final Term term) {
+		return mNormalForm.transform(term).toStringDirect();
+	}
+
+	private static String representVars(final Collection<? extends IProgramVar> vars) {
+		final TreeSet<String> result = new TreeSet<>();
+		for (final IProgramVar pv : vars) {
+			result.add(pv.getDefaultConstant().toStringDirect() + ":" + pv.getTermVariable().getSort());
+		}
+		return result.toString();
+	}
+}
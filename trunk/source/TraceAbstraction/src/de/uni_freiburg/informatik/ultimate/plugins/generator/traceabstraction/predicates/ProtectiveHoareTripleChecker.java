@@ -26,6 +26,13 @@
  */
 package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.ICallAction;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IInternalAction;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IReturnAction;
@@ -80,6 +87,36 @@ public class ProtectiveHoareTripleChecker implements IHoareTripleChecker {
 		return mProtectedHoareTripleChecker.checkReturn(preLin, preHier, act, succ);
 	}
 
+	@Override
+	public Map<IPredicate, Validity> checkInternalBatch(final IPredicate pre, final IInternalAction act,
+			final Collection<IPredicate> succs) {
+		return checkBatch(pre, succs, toCheck -> mProtectedHoareTripleChecker.checkInternalBatch(pre, act, toCheck));
+	}
+
+	@Override
+	public Map<IPredicate, Validity> checkCallBatch(final IPredicate pre, final ICallAction act,
+			final Collection<IPredicate> succs) {
+		return checkBatch(pre, succs, toCheck -> mProtectedHoareTripleChecker.checkCallBatch(pre, act, toCheck));
+	}
+
+	private Map<IPredicate, Validity> checkBatch(final IPredicate pre, final Collection<IPredicate> succs,
+			final Function<Collection<IPredicate>, Map<IPredicate, Validity>> protectedBatchCheck) {
+		final Map<IPredicate, Validity> result = new HashMap<>();
+		final boolean intricatePre = mPredicateUnifer.isIntricatePredicate(pre);
+		final List<IPredicate> toCheck = new ArrayList<>();
+		for (final IPredicate succ : succs) {
+			if (intricatePre || mPredicateUnifer.isIntricatePredicate(succ)) {
+				result.put(succ, Validity.NOT_CHECKED);
+			} else {
+				toCheck.add(succ);
+			}
+		}
+		if (!toCheck.isEmpty()) {
+			result.putAll(protectedBatchCheck.apply(toCheck));
+		}
+		return result;
+	}
+
 	@Override
 	public HoareTripleCheckerStatisticsGenerator getEdgeCheckerBenchmark() {
 		return mProtectedHoareTripleChecker.getEdgeCheckerBenchmark();
@@ -36,6 +36,7 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SolverBuilder.S
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.tracecheck.TraceCheckReasonUnknown.RefinementStrategyExceptionBlacklist;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.rcfgbuilder.preferences.RcfgPreferenceInitializer;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.Activator;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.CacheEvictionPolicy;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.FloydHoareAutomataReuse;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.FloydHoareAutomataReuseEnhancement;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.HoareAnnotationPositions;
@@ -153,8 +154,29 @@ public final class TAPreferences {
 	}
 
 	public FloydHoareAutomataReuse getFloydHoareAutomataReuse() {
-		return mPrefs.getEnum(TraceAbstractionPreferenceInitializer.LABEL_FLOYD_HOARE_AUTOMATA_REUSE,
-				FloydHoareAutomataReuse.class);
+		final FloydHoareAutomataReuse reuse = mPrefs.getEnum(
+				TraceAbstractionPreferenceInitializer.LABEL_FLOYD_HOARE_AUTOMATA_REUSE, FloydHoareAutomataReuse.class);
+		if (reuse == FloydHoareAutomataReuse.NONE && getFloydHoareAutomataCacheDirectory() != null) {
+			// cached automata are only used by the reuse CEGAR loops
+			return FloydHoareAutomataReuse.EAGER;
+		}
+		return reuse;
+	}
+
+	/**
+	 * @return the directory of the Floyd-Hoare automata cache or null if the cache is disabled
+	 */
+	public String getFloydHoareAutomataCacheDirectory() {
+		final String directory =
+				mPrefs.getString(TraceAbstractionPreferenceInitializer.LABEL_FLOYD_HOARE_AUTOMATA_CACHE);
+		return directory == null || directory.trim().isEmpty() ? null : directory.trim();
+	}
+
+	/**
+	 * @return the maximal number of automata in the Floyd-Hoare automata cache, 0 if the cache is not bounded
+	 */
+	public int getFloydHoareAutomataCacheSize() {
+		return mPrefs.getInt(TraceAbstractionPreferenceInitializer.LABEL_FLOYD_HOARE_AUTOMATA_CACHE_SIZE);
 	}
 
 	public FloydHoareAutomataReuseEnhancement getFloydHoareAutomataReuseEnhancement() {
@@ -207,6 +229,13 @@ public final class TAPreferences {
 		return mPrefs.getBoolean(TraceAbstractionPreferenceInitializer.LABEL_SEPARATE_SOLVER);
 	}
 
+	/**
+	 * @return true iff consecutive trace checks should share the asserted code blocks of their common prefix
+	 */
+	public boolean sharePrefixesOfTraceChecks() {
+		return mPrefs.getBoolean(TraceAbstractionPreferenceInitializer.LABEL_TRACE_CHECK_PREFIX_SHARING);
+	}
+
 	/**
 	 * @return The interpolation technique.
 	 */
@@ -261,6 +290,43 @@ public final class TAPreferences {
 		return mPrefs.getBoolean(TraceAbstractionPreferenceInitializer.LABEL_DIFFERENCE_SENWA);
 	}
 
+	/**
+	 * @return true iff the difference should reuse states of the abstraction that are not affected by the subtrahend.
+	 */
+	public boolean incrementalDifference() {
+		return mPrefs.getBoolean(TraceAbstractionPreferenceInitializer.LABEL_INCREMENTAL_DIFFERENCE);
+	}
+
+	/**
+	 * @return maximal number of path programs in the path program cache, 0 if the cache is not bounded
+	 */
+	public int getPathProgramCacheSize() {
+		return mPrefs.getInt(TraceAbstractionPreferenceInitializer.LABEL_PATH_PROGRAM_CACHE_SIZE);
+	}
+
+	/**
+	 * @return eviction policy of the path program cache
+	 */
+	public CacheEvictionPolicy getCacheEvictionPolicy() {
+		return mPrefs.getEnum(TraceAbstractionPreferenceInitializer.LABEL_CACHE_EVICTION_POLICY,
+				CacheEvictionPolicy.class);
+	}
+
+	/**
+	 * @return number of solvers that simplify the Hoare annotation concurrently, values below 2 disable concurrent
+	 *         simplification
+	 */
+	public int getConcurrentHoareAnnotationSolvers() {
+		return mPrefs.getInt(TraceAbstractionPreferenceInitializer.LABEL_CONCURRENT_HOARE_ANNOTATION);
+	}
+
+	/**
+	 * @return number of solvers that check Hoare triples concurrently, values below 2 disable concurrent checks
+	 */
+	public int getConcurrentHoareTripleCheckSolvers() {
+		return mPrefs.getInt(TraceAbstractionPreferenceInitializer.LABEL_CONCURRENT_HOARE_TRIPLE_CHECKS);
+	}
+
 	/**
 	 * @return The minimization.
 	 */
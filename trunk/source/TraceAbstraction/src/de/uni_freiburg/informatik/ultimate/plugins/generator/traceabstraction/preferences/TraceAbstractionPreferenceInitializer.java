@@ -72,6 +72,21 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 					+ "0 disables this limit.";
 	private static final int DEF_USERLIMIT_PATH_PROGRAM = 0;
 
+	public static final String LABEL_PATH_PROGRAM_CACHE_SIZE = "Maximal number of cached path programs";
+	private static final String DESC_PATH_PROGRAM_CACHE_SIZE =
+			"Bound on the number of path programs whose analysis attempts are counted. If the bound is reached, a path "
+					+ "program is evicted according to the eviction policy of the path program cache. Its count is "
+					+ "kept, only its letters are dropped. 0 disables this bound.";
+	private static final int DEF_PATH_PROGRAM_CACHE_SIZE = 0;
+
+	public static final String LABEL_CACHE_EVICTION_POLICY = "Eviction policy of the path program cache";
+	private static final String DESC_CACHE_EVICTION_POLICY =
+			"Determines which path program is evicted from the path program cache if it is bounded. "
+					+ CacheEvictionPolicy.LRU + " evicts the least recently seen path program, "
+					+ CacheEvictionPolicy.SIZE + " the path program with the most letters, and "
+					+ CacheEvictionPolicy.USEFULNESS + " the least often seen path program.";
+	private static final CacheEvictionPolicy DEF_CACHE_EVICTION_POLICY = CacheEvictionPolicy.LRU;
+
 	public static final String LABEL_USERLIMIT_ITERATIONS = "Limit iterations";
 	private static final String DESC_USERLIMIT_ITERATIONS =
 			"Abort the analysis of either a single error location or the whole program if more than the specified "
@@ -83,12 +98,16 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 	public static final String LABEL_FLOYD_HOARE_AUTOMATA_REUSE = "Reuse of Floyd-Hoare automata";
 	public static final String LABEL_FLOYD_HOARE_AUTOMATA_REUSE_ENHANCEMENT =
 			"Enhance during reuse of Floyd-Hoare automata";
+	public static final String LABEL_FLOYD_HOARE_AUTOMATA_CACHE = "Directory of Floyd-Hoare automata cache";
+	public static final String LABEL_FLOYD_HOARE_AUTOMATA_CACHE_SIZE =
+			"Maximal number of automata in Floyd-Hoare automata cache";
 	public static final String LABEL_ARTIFACT = "Kind of artifact that is visualized";
 	public static final String LABEL_WATCHITERATION = "Number of iteration whose artifact is visualized";
 	public static final String LABEL_HOARE =
 			"Compute Hoare Annotation of negated interpolant automaton, abstraction and CFG";
 	public static final String LABEL_HOARE_POSITIONS = "Positions where we compute the Hoare Annotation";
 	public static final String LABEL_SEPARATE_SOLVER = "Use separate solver for trace checks";
+	public static final String LABEL_TRACE_CHECK_PREFIX_SHARING = "Share common prefixes of consecutive trace checks";
 	public static final String LABEL_INTERPOLATED_LOCS = "Compute Interpolants along a Counterexample";
 	public static final String LABEL_NONLINEAR_CONSTRAINTS_IN_PATHINVARIANTS =
 			"Use nonlinear constraints in PathInvariants";
@@ -105,7 +124,12 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 	public static final String LABEL_DUMP_ONLY_REUSE = "Dump only reuse-automata";
 	public static final String LABEL_INTERPOLANT_AUTOMATON_ENHANCEMENT = "Interpolant automaton enhancement";
 	public static final String LABEL_HOARE_TRIPLE_CHECKS = "Hoare triple checks";
+	public static final String LABEL_HOARE_TRIPLE_CACHE_FILE = "Persistent Hoare triple cache file";
+	public static final String LABEL_HOARE_TRIPLE_CACHE_SIZE = "Maximal number of Hoare triples in the persistent cache";
+	public static final String LABEL_CONCURRENT_HOARE_TRIPLE_CHECKS = "Solvers for concurrent Hoare triple checks";
+	public static final String LABEL_CONCURRENT_HOARE_ANNOTATION = "Solvers for concurrent Hoare annotation computation";
 	public static final String LABEL_DIFFERENCE_SENWA = "DifferenceSenwa operation instead classical Difference";
+	public static final String LABEL_INCREMENTAL_DIFFERENCE = "Reuse unaffected states of abstraction in Difference";
 	public static final String LABEL_MINIMIZE = "Minimization of abstraction";
 	public static final String LABEL_CONCURRENCY = "Automaton type used in concurrency analysis";
 	public static final String LABEL_ORDER = "Order in Petri net unfolding";
@@ -117,6 +141,8 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 	public static final String LABEL_LANGUAGE_OPERATION = "LanguageOperation";
 	public static final String LABEL_ABSINT_MODE = "Abstract interpretation Mode";
 	public static final String LABEL_ABSINT_ALWAYS_REFINE = "Refine always when using abstract interpretation";
+	public static final String LABEL_ABSINT_POST_CACHE_SIZE =
+			"Maximal number of pre states in the abstract interpretation post cache";
 	public static final String LABEL_COMPUTE_COUNTEREXAMPLE = "Compute trace for counterexample result";
 	public static final String LABEL_COMPUTE_INTERPOLANT_SEQUENCE_STATISTICS =
 			"Compute statistics for interpolant sequences";
@@ -160,12 +186,15 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 	private static final FloydHoareAutomataReuse DEF_FLOYD_HOARE_AUTOMATA_REUSE = FloydHoareAutomataReuse.NONE;
 	private static final FloydHoareAutomataReuseEnhancement DEF_FLOYD_HOARE_AUTOMATA_REUSE_ENHANCEMENT =
 			FloydHoareAutomataReuseEnhancement.NONE;
+	private static final String DEF_FLOYD_HOARE_AUTOMATA_CACHE = "";
+	private static final int DEF_FLOYD_HOARE_AUTOMATA_CACHE_SIZE = 1000;
 
 	public static final String DEF_ARTIFACT = VALUE_RCFG;
 	public static final int DEF_WATCHITERATION = 1_000_000;
 	public static final boolean DEF_HOARE = false;
 	public static final HoareAnnotationPositions DEF_HOARE_POSITIONS = HoareAnnotationPositions.All;
 	public static final boolean DEF_SEPARATE_SOLVER = true;
+	public static final boolean DEF_TRACE_CHECK_PREFIX_SHARING = false;
 	public static final SolverMode DEF_SOLVER = SolverMode.Internal_SMTInterpol;
 	public static final String DEF_EXTERNAL_SOLVER_COMMAND = RcfgPreferenceInitializer.Z3_DEFAULT;
 	public static final InterpolationTechnique DEF_INTERPOLANTS = InterpolationTechnique.ForwardPredicates;
@@ -174,6 +203,7 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 	public static final Format DEF_AUTOMATAFORMAT = Format.ATS_NUMERATE;
 	public static final String DEF_DUMPPATH = ".";
 	public static final boolean DEF_DIFFERENCE_SENWA = false;
+	public static final boolean DEF_INCREMENTAL_DIFFERENCE = false;
 	public static final boolean DEF_MINIMIZE = true;
 	public static final String DEF_CONCURRENCY = VALUE_FINITE_AUTOMATON;
 	public static final boolean DEF_ALL_ERRORS_AT_ONCE = true;
@@ -199,13 +229,47 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 			XnfConversionTechnique.BOTTOM_UP_WITH_LOCAL_SIMPLIFICATION;
 
 	private static final boolean DEF_ABSINT_ALWAYS_REFINE = Boolean.FALSE;
+	private static final int DEF_ABSINT_POST_CACHE_SIZE = 10_000;
 	private static final boolean DEF_ONLY_REUSE = false;
+	public static final String DEF_HOARE_TRIPLE_CACHE_FILE = "";
+	public static final int DEF_HOARE_TRIPLE_CACHE_SIZE = 1_000_000;
+	public static final int DEF_CONCURRENT_HOARE_TRIPLE_CHECKS = 0;
+	public static final int DEF_CONCURRENT_HOARE_ANNOTATION = 0;
 	private static final boolean DEF_COMPUTE_COUNTEREXAMPLE = true;
 	private static final boolean DEF_COMPUTE_INTERPOLANT_SEQUENCE_STATISTICS = true;
 
 	private static final String DESC_DUMP_ONLY_REUSE =
 			"When dumping automata is enabled, we only dump the interpolant automaton and add to that file if it "
 					+ "exists s.t. it can be reused by later verification runs.";
+	private static final String DESC_HOARE_TRIPLE_CACHE_FILE =
+			"If non-empty, results of Hoare triple checks are loaded from this file at the start of the analysis and "
+					+ "written back at the end s.t. they can be reused by later verification runs.";
+	private static final String DESC_HOARE_TRIPLE_CACHE_SIZE =
+			"Bound on the number of Hoare triples in the persistent Hoare triple cache file. If the bound is exceeded, "
+					+ "the Hoare triples that were not used for the most runs are evicted. 0 disables this bound.";
+	private static final String DESC_ABSINT_POST_CACHE_SIZE =
+			"Bound on the number of abstract pre states whose post states are kept between the abstract interpretation "
+					+ "runs of one CEGAR loop. The bound counts pre states, not the size of the states. 0 disables the "
+					+ "cache.";
+	private static final String DESC_CONCURRENT_HOARE_TRIPLE_CHECKS =
+			"Number of additional solvers that check the Hoare triples of the interpolant automaton enhancement "
+					+ "concurrently. The solvers are built like the configured solver, SMTInterpol gets a timeout for "
+					+ "each query. 0 disables concurrent checks.";
+	private static final String DESC_CONCURRENT_HOARE_ANNOTATION =
+			"Number of solvers that simplify the Hoare annotations of the locations concurrently. The solvers are "
+					+ "built like the configured solver, SMTInterpol gets a timeout for each query. Terms on which a "
+					+ "solver fails are simplified sequentially by the main solver. Because a timeout depends on the "
+					+ "load of the machine, the annotation may differ between runs. Values below 2 disable "
+					+ "concurrent simplification.";
+	private static final String DESC_TRACE_CHECK_PREFIX_SHARING =
+			"Trace checks use one solver that is kept between CEGAR iterations. Code blocks of the longest common "
+					+ "prefix with the previous trace stay asserted and only the remaining code blocks are asserted. "
+					+ "Only used with " + InterpolationTechnique.Craig_TreeInterpolation + " and the refinement "
+					+ "strategy " + RefinementStrategy.FIXED_PREFERENCES + ".";
+	private static final String DESC_INCREMENTAL_DIFFERENCE =
+			"States of the abstraction from which no letter that is constrained by the interpolant automaton is "
+					+ "reachable are taken over unchanged instead of being copied into a new product state. Not used "
+					+ "if a Hoare annotation is computed.";
 	private static final String DESC_FLOYD_HOARE_AUTOMATA_REUSE =
 			"Try to re-use interpolant automata from input files and/or previous runs. " + FloydHoareAutomataReuse.NONE
 					+ " disables the re-use, all other settings enable it. You can specifiy additional .ats files as"
@@ -220,6 +284,16 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 					+ "the set of reusable interpolant automata.";
 	private static final String DESC_FLOYD_HOARE_AUTOMATA_REUSE_ENHANCEMENT =
 			"Specifies how to compute successors on-demand for re-use interpolant automata.";
+	private static final String DESC_FLOYD_HOARE_AUTOMATA_CACHE =
+			"If not empty, the Floyd-Hoare automata of each run are stored in this directory and the stored automata "
+					+ "whose letters match letters of the program are re-used in later runs. Letters are matched by a "
+					+ "hash of their transition formulas, the global variables that a called procedure may modify, "
+					+ "and the axioms of the program. Each transition of a cached automaton is checked before it is "
+					+ "re-used. Enabling the cache forces " + FloydHoareAutomataReuse.EAGER + " re-use if "
+					+ LABEL_FLOYD_HOARE_AUTOMATA_REUSE + " is " + FloydHoareAutomataReuse.NONE + ".";
+	private static final String DESC_FLOYD_HOARE_AUTOMATA_CACHE_SIZE =
+			"Bound on the number of automata in the Floyd-Hoare automata cache. If the bound is exceeded, the automata "
+					+ "that were stored or re-used least recently are deleted. 0 disables this bound.";
 
 	private static final String DESC_ALL_ERRORS_AT_ONCE = null;
 	private static final String DESC_COMPUTE_COUNTEREXAMPLE = null;
@@ -249,6 +323,11 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 				new UltimatePreferenceItem<>(LABEL_FLOYD_HOARE_AUTOMATA_REUSE_ENHANCEMENT,
 						DEF_FLOYD_HOARE_AUTOMATA_REUSE_ENHANCEMENT, DESC_FLOYD_HOARE_AUTOMATA_REUSE_ENHANCEMENT,
 						PreferenceType.Combo, FloydHoareAutomataReuseEnhancement.values()),
+				new UltimatePreferenceItem<>(LABEL_FLOYD_HOARE_AUTOMATA_CACHE, DEF_FLOYD_HOARE_AUTOMATA_CACHE,
+						DESC_FLOYD_HOARE_AUTOMATA_CACHE, PreferenceType.String),
+				new UltimatePreferenceItem<>(LABEL_FLOYD_HOARE_AUTOMATA_CACHE_SIZE,
+						DEF_FLOYD_HOARE_AUTOMATA_CACHE_SIZE, DESC_FLOYD_HOARE_AUTOMATA_CACHE_SIZE,
+						PreferenceType.Integer, IUltimatePreferenceItemValidator.ONLY_POSITIVE),
 
 				new UltimatePreferenceItem<>(LABEL_USERLIMIT_ITERATIONS, DEF_USERLIMIT_ITERATIONS,
 						DESC_USERLIMIT_ITERATIONS, PreferenceType.Integer,
@@ -262,6 +341,12 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 						DESC_USERLIMIT_TRACE_HISTOGRAM, PreferenceType.Integer,
 						IUltimatePreferenceItemValidator.ONLY_POSITIVE),
 
+				new UltimatePreferenceItem<>(LABEL_PATH_PROGRAM_CACHE_SIZE, DEF_PATH_PROGRAM_CACHE_SIZE,
+						DESC_PATH_PROGRAM_CACHE_SIZE, PreferenceType.Integer,
+						IUltimatePreferenceItemValidator.ONLY_POSITIVE),
+				new UltimatePreferenceItem<>(LABEL_CACHE_EVICTION_POLICY, DEF_CACHE_EVICTION_POLICY,
+						DESC_CACHE_EVICTION_POLICY, PreferenceType.Combo, CacheEvictionPolicy.values()),
+
 				new UltimatePreferenceItem<>(LABEL_COMPUTE_COUNTEREXAMPLE, DEF_COMPUTE_COUNTEREXAMPLE,
 						DESC_COMPUTE_COUNTEREXAMPLE, PreferenceType.Boolean),
 				new UltimatePreferenceItem<>(LABEL_COMPUTE_INTERPOLANT_SEQUENCE_STATISTICS,
@@ -274,8 +359,13 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 				new UltimatePreferenceItem<>(LABEL_HOARE, DEF_HOARE, PreferenceType.Boolean),
 				new UltimatePreferenceItem<>(LABEL_HOARE_POSITIONS, DEF_HOARE_POSITIONS, PreferenceType.Combo,
 						HoareAnnotationPositions.values()),
+				new UltimatePreferenceItem<>(LABEL_CONCURRENT_HOARE_ANNOTATION, DEF_CONCURRENT_HOARE_ANNOTATION,
+						DESC_CONCURRENT_HOARE_ANNOTATION, PreferenceType.Integer,
+						new IUltimatePreferenceItemValidator.IntegerValidator(0, 64)),
 
 				new UltimatePreferenceItem<>(LABEL_SEPARATE_SOLVER, DEF_SEPARATE_SOLVER, PreferenceType.Boolean),
+				new UltimatePreferenceItem<>(LABEL_TRACE_CHECK_PREFIX_SHARING, DEF_TRACE_CHECK_PREFIX_SHARING,
+						DESC_TRACE_CHECK_PREFIX_SHARING, PreferenceType.Boolean),
 				new UltimatePreferenceItem<>(RcfgPreferenceInitializer.LABEL_SOLVER, DEF_SOLVER, PreferenceType.Combo,
 						SolverMode.values()),
 				new UltimatePreferenceItem<>(RcfgPreferenceInitializer.LABEL_FAKE_NON_INCREMENTAL_SCRIPT,
@@ -318,9 +408,19 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 						InterpolantAutomatonEnhancement.values()),
 				new UltimatePreferenceItem<>(LABEL_HOARE_TRIPLE_CHECKS, HoareTripleChecks.INCREMENTAL,
 						PreferenceType.Combo, HoareTripleChecks.values()),
+				new UltimatePreferenceItem<>(LABEL_HOARE_TRIPLE_CACHE_FILE, DEF_HOARE_TRIPLE_CACHE_FILE,
+						DESC_HOARE_TRIPLE_CACHE_FILE, PreferenceType.File),
+				new UltimatePreferenceItem<>(LABEL_HOARE_TRIPLE_CACHE_SIZE, DEF_HOARE_TRIPLE_CACHE_SIZE,
+						DESC_HOARE_TRIPLE_CACHE_SIZE, PreferenceType.Integer,
+						IUltimatePreferenceItemValidator.ONLY_POSITIVE),
+				new UltimatePreferenceItem<>(LABEL_CONCURRENT_HOARE_TRIPLE_CHECKS,
+						DEF_CONCURRENT_HOARE_TRIPLE_CHECKS, DESC_CONCURRENT_HOARE_TRIPLE_CHECKS,
+						PreferenceType.Integer, new IUltimatePreferenceItemValidator.IntegerValidator(0, 64)),
 				new UltimatePreferenceItem<>(LABEL_LANGUAGE_OPERATION, LanguageOperation.DIFFERENCE,
 						PreferenceType.Combo, LanguageOperation.values()),
 				new UltimatePreferenceItem<>(LABEL_DIFFERENCE_SENWA, DEF_DIFFERENCE_SENWA, PreferenceType.Boolean),
+				new UltimatePreferenceItem<>(LABEL_INCREMENTAL_DIFFERENCE, DEF_INCREMENTAL_DIFFERENCE,
+						DESC_INCREMENTAL_DIFFERENCE, PreferenceType.Boolean),
 				new UltimatePreferenceItem<>(LABEL_MINIMIZE, Minimization.MINIMIZE_SEVPA, PreferenceType.Combo,
 						Minimization.values()),
 				new UltimatePreferenceItem<>(LABEL_CONCURRENCY, Concurrency.PETRI_NET, PreferenceType.Combo,
@@ -333,6 +433,9 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 						AbstractInterpretationMode.values()),
 				new UltimatePreferenceItem<>(LABEL_ABSINT_ALWAYS_REFINE, DEF_ABSINT_ALWAYS_REFINE,
 						PreferenceType.Boolean),
+				new UltimatePreferenceItem<>(LABEL_ABSINT_POST_CACHE_SIZE, DEF_ABSINT_POST_CACHE_SIZE,
+						DESC_ABSINT_POST_CACHE_SIZE, PreferenceType.Integer,
+						IUltimatePreferenceItemValidator.ONLY_POSITIVE),
 				new UltimatePreferenceItem<>(LABEL_ERROR_TRACE_RELEVANCE_ANALYSIS_MODE,
 						DEF_ERROR_TRACE_RELEVANCE_ANALYSIS_MODE, DESC_ERROR_TRACE_RELEVANCE_ANALYSIS_MODE,
 						PreferenceType.Combo, RelevanceAnalysisMode.values()),
@@ -383,6 +486,7 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 		NWA_OVERAPPROXIMATION, NWA_COMBINATOR_MULTI_DEFAULT, NWA_COMBINATOR_MULTI_SIMULATION, DELAYED_SIMULATION,
 		FAIR_SIMULATION_WITH_SCC, FAIR_SIMULATION_WITHOUT_SCC, FAIR_DIRECT_SIMULATION, RAQ_DELAYED_SIMULATION,
 		RAQ_DELAYED_SIMULATION_B, FULLMULTIPEBBLE_DELAYED_SIMULATION, FULLMULTIPEBBLE_DIRECT_SIMULATION,
+		SHRINK_NWA_PARALLEL, DELAYED_SIMULATION_PARALLEL,
 	}
 
 	/**
@@ -424,7 +528,12 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 		/**
 		 * Depth-first search.
 		 */
-		DFS
+		DFS,
+		/**
+		 * A* search guided by the distance to the nearest error location in the ICFG. Falls back to breadth-first
+		 * search if the program has recursive procedures.
+		 */
+		ASTAR_ERROR_DISTANCE
 	}
 
 	/**
@@ -553,6 +662,24 @@ public class TraceAbstractionPreferenceInitializer extends UltimatePreferenceIni
 		ONLY_NEW_LETTERS_SOLVER,
 	}
 
+	/**
+	 * Eviction policy of the path program cache.
+	 */
+	public enum CacheEvictionPolicy {
+		/**
+		 * Evict the least recently seen path program.
+		 */
+		LRU,
+		/**
+		 * Evict the path program with the most letters.
+		 */
+		SIZE,
+		/**
+		 * Evict the least often seen path program.
+		 */
+		USEFULNESS,
+	}
+
 	public enum MultiPropertyMode {
 		STOP_AFTER_FIRST_VIOLATION, CHECK_EACH_PROPERTY_SEPARATELY, CHECK_ALL_PROPERTIES_REFINE_WITH_VIOLATIONS,
 	}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck;
+
+import java.util.List;
+import java.util.TreeMap;
+
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
+
+/**
+ * {@link AnnotateAndAsserter} that asserts each conjunct of the annotated SSA in its own frame of a
+ * {@link PrefixSharingSolverStack}. Conjuncts whose frame was kept from the previous trace check are not asserted
+ * again; for these conjuncts we only refer to the name under which they were asserted. The negated postcondition is
+ * asserted in the temporary top frame of the stack.
+ * <p>
+ * Pending returns are not supported.
+ */
+public class AnnotateAndAsserterWithPrefixSharing extends AnnotateAndAsserter {
+
+	private final PrefixSharingSolverStack mSolverStack;
+	private final List<Object> mFrameKeys;
+	private final int mKeptFrames;
+
+	/**
+	 * @param frameKeys
+	 *            keys of the frames of the trace (see {@link PrefixSharingSolverStack#computeFrameKeys})
+	 * @param keptFrames
+	 *            number of frames that were kept from the previous trace check
+	 */
+	public AnnotateAndAsserterWithPrefixSharing(final ManagedScript mgdScriptTc,
+			final NestedFormulas<Term, Term> nestedSSA, final AnnotateAndAssertCodeBlocks aaacb,
+			final TraceCheckStatisticsGenerator tcbg, final IUltimateServiceProvider services,
+			final PrefixSharingSolverStack solverStack, final List<Object> frameKeys, final int keptFrames) {
+		super(mgdScriptTc, nestedSSA, aaacb, tcbg, services);
+		mSolverStack = solverStack;
+		mFrameKeys = frameKeys;
+		mKeptFrames = keptFrames;
+	}
+
+	@Override
+	public void buildAnnotatedSsaAndAssertTerms() {
+		if (mAnnotSSA != null) {
+			throw new AssertionError("already build");
+		}
+		assert mSatisfiable == null;
+		assert mTrace.getPendingReturns().isEmpty() : "pending returns are not supported";
+		assert mSolverStack.getNumberOfFrames() == mKeptFrames : "solver stack was modified";
+
+		mAnnotSSA = new ModifiableNestedFormulas<>(mTrace, new TreeMap<Integer, Term>());
+		final AnnotateAndAssertCodeBlocks aaacb = mAnnotateAndAssertCodeBlocks;
+
+		if (isKept(0)) {
+			mAnnotSSA.setPrecondition(named(aaacb.precondAnnotation()));
+		} else {
+			pushFrame(0);
+			mAnnotSSA.setPrecondition(aaacb.annotateAndAssertPrecondition());
+		}
+		for (int i = 0; i < mTrace.length(); i++) {
+			final int frame = i + 1;
+			final boolean kept = isKept(frame);
+			if (!kept) {
+				pushFrame(frame);
+			}
+			if (mTrace.isCallPosition(i)) {
+				mAnnotSSA.setGlobalVarAssignmentAtPos(i, kept ? named(aaacb.globalVarAssignemntAnnotation(i))
+						: aaacb.annotateAndAssertGlobalVarAssignemntCall(i));
+				mAnnotSSA.setLocalVarAssignmentAtPos(i, kept ? named(aaacb.localVarAssignemntCallAnnotation(i))
+						: aaacb.annotateAndAssertLocalVarAssignemntCall(i));
+				mAnnotSSA.setOldVarAssignmentAtPos(i, kept ? named(aaacb.oldVarAssignemntCallAnnotation(i))
+						: aaacb.annotateAndAssertOldVarAssignemntCall(i));
+			} else if (kept) {
+				final String name =
+						mTrace.isReturnPosition(i) ? aaacb.returnAnnotation(i) : aaacb.internalAnnotation(i);
+				mAnnotSSA.setFormulaAtNonCallPos(i, named(name));
+			} else {
+				mAnnotSSA.setFormulaAtNonCallPos(i, aaacb.annotateAndAssertNonCall(i));
+			}
+		}
+		mSolverStack.pushTemporaryFrame(aaacb.mScriptLockOwner);
+		mAnnotSSA.setPostcondition(aaacb.annotateAndAssertPostcondition());
+		mSatisfiable = mMgdScriptTc.getScript().checkSat();
+
+		// Report benchmarks
+		final int reusedCodeBlocks = Math.max(mKeptFrames - 1, 0);
+		mTcbg.reportNewCheckSat();
+		mTcbg.reportNewCodeBlocks(mTrace.length());
+		mTcbg.reportNewAssertedCodeBlocks(mTrace.length() - reusedCodeBlocks);
+		mLogger.info("Conjunction of SSA is " + mSatisfiable + ", reused " + reusedCodeBlocks
+				+ " asserted code blocks of previous trace check");
+	}
+
+	private boolean isKept(final int frame) {
+		return frame < mKeptFrames;
+	}
+
+	private void pushFrame(final int frame) {
+		mSolverStack.pushFrame(mAnnotateAndAssertCodeBlocks.mScriptLockOwner, mFrameKeys.get(frame));
+	}
+
+	private Term named(final String name) {
+		return mMgdScriptTc.getScript().term(name);
+	}
+}
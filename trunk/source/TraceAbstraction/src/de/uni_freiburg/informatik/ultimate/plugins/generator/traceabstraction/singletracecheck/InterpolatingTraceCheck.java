@@ -90,11 +90,29 @@ public abstract class InterpolatingTraceCheck<LETTER extends IAction> extends Tr
 			final boolean computeRcfgProgramExecution, final boolean collectInterpolatSequenceStatistics,
 			final SimplificationTechnique simplificationTechnique,
 			final XnfConversionTechnique xnfConversionTechnique) {
+		this(precondition, postcondition, pendingContexts, trace, controlLocationSequence, services, csToolkit,
+				tcSmtManager, predicateFactory, predicateUnifier, assertCodeBlocksIncrementally,
+				computeRcfgProgramExecution, collectInterpolatSequenceStatistics, simplificationTechnique,
+				xnfConversionTechnique, null);
+	}
+
+	/**
+	 * @param solverStack
+	 *            solver stack that is shared with previous trace checks, or null (see {@link TraceCheck})
+	 */
+	public InterpolatingTraceCheck(final IPredicate precondition, final IPredicate postcondition,
+			final SortedMap<Integer, IPredicate> pendingContexts, final NestedWord<LETTER> trace,
+			final List<? extends Object> controlLocationSequence, final IUltimateServiceProvider services,
+			final CfgSmtToolkit csToolkit, final ManagedScript tcSmtManager, final PredicateFactory predicateFactory,
+			final IPredicateUnifier predicateUnifier, final AssertCodeBlockOrder assertCodeBlocksIncrementally,
+			final boolean computeRcfgProgramExecution, final boolean collectInterpolatSequenceStatistics,
+			final SimplificationTechnique simplificationTechnique, final XnfConversionTechnique xnfConversionTechnique,
+			final PrefixSharingSolverStack solverStack) {
 		super(precondition, postcondition, pendingContexts, trace,
 				new DefaultTransFormulas(trace, precondition, postcondition, pendingContexts,
 						csToolkit.getOldVarsAssignmentCache(), false),
 				services, csToolkit, tcSmtManager, assertCodeBlocksIncrementally, computeRcfgProgramExecution,
-				collectInterpolatSequenceStatistics, false);
+				collectInterpolatSequenceStatistics, false, solverStack);
 		mPredicateUnifier = predicateUnifier;
 		mPredicateFactory = predicateFactory;
 		mSimplificationTechnique = simplificationTechnique;
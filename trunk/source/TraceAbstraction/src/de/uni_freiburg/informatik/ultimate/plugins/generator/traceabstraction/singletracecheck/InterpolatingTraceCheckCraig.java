@@ -95,10 +95,29 @@ public class InterpolatingTraceCheckCraig<LETTER extends IAction> extends Interp
 			final InterpolationTechnique interpolation, final boolean instanticateArrayExt,
 			final XnfConversionTechnique xnfConversionTechnique, final SimplificationTechnique simplificationTechnique,
 			final boolean innerRecursiveNestedInterpolationCall) {
+		this(precondition, postcondition, pendingContexts, trace, controlLocationSequence, services, csToolkit,
+				mgdScriptTc, predicateFactory, predicateUnifier, assertCodeBlocksIncrementally,
+				computeRcfgProgramExecution, collectInterpolantStatistics, interpolation, instanticateArrayExt,
+				xnfConversionTechnique, simplificationTechnique, innerRecursiveNestedInterpolationCall, null);
+	}
+
+	/**
+	 * @param solverStack
+	 *            solver stack that is shared with previous trace checks, or null (see {@link TraceCheck})
+	 */
+	public InterpolatingTraceCheckCraig(final IPredicate precondition, final IPredicate postcondition,
+			final SortedMap<Integer, IPredicate> pendingContexts, final NestedWord<LETTER> trace,
+			final List<? extends Object> controlLocationSequence, final IUltimateServiceProvider services,
+			final CfgSmtToolkit csToolkit, final ManagedScript mgdScriptTc, final PredicateFactory predicateFactory,
+			final IPredicateUnifier predicateUnifier, final AssertCodeBlockOrder assertCodeBlocksIncrementally,
+			final boolean computeRcfgProgramExecution, final boolean collectInterpolantStatistics,
+			final InterpolationTechnique interpolation, final boolean instanticateArrayExt,
+			final XnfConversionTechnique xnfConversionTechnique, final SimplificationTechnique simplificationTechnique,
+			final boolean innerRecursiveNestedInterpolationCall, final PrefixSharingSolverStack solverStack) {
 		super(precondition, postcondition, pendingContexts, trace, controlLocationSequence, services, csToolkit,
 				mgdScriptTc, predicateFactory, predicateUnifier, assertCodeBlocksIncrementally,
 				computeRcfgProgramExecution, collectInterpolantStatistics, simplificationTechnique,
-				xnfConversionTechnique);
+				xnfConversionTechnique, solverStack);
 		if (assertCodeBlocksIncrementally != AssertCodeBlockOrder.NOT_INCREMENTALLY) {
 			throw new UnsupportedOperationException("incremental assertion is not available for Craig interpolation");
 		}
@@ -122,7 +122,11 @@ public class NestedSsaBuilder {
 
 	private final ModifiableGlobalsTable mModGlobVarManager;
 
-	private final Map<String, Term> mIndexedConstants = new HashMap<>();
+	/**
+	 * Constants that were declared in the Script, identified by their name. Might be shared with other
+	 * {@link NestedSsaBuilder}s (see {@link PrefixSharingSolverStack}).
+	 */
+	private final Map<String, Term> mIndexedConstants;
 
 	protected String mCurrentProcedure;
 
@@ -147,7 +151,21 @@ public class NestedSsaBuilder {
 			final NestedFormulas<UnmodifiableTransFormula, IPredicate> nestedTransFormulas,
 			final ModifiableGlobalsTable modifiableGlobalsTable, final ILogger logger,
 			final boolean transferToScriptNeeded) {
+		this(trace, csToolkit, nestedTransFormulas, modifiableGlobalsTable, logger, transferToScriptNeeded,
+				new HashMap<>());
+	}
+
+	/**
+	 * @param declaredConstants
+	 *            constants that are already declared in the Script of csToolkit. Constants that are declared by this
+	 *            {@link NestedSsaBuilder} are added to this map.
+	 */
+	public NestedSsaBuilder(final NestedWord<? extends IAction> trace, final ManagedScript csToolkit,
+			final NestedFormulas<UnmodifiableTransFormula, IPredicate> nestedTransFormulas,
+			final ModifiableGlobalsTable modifiableGlobalsTable, final ILogger logger,
+			final boolean transferToScriptNeeded, final Map<String, Term> declaredConstants) {
 		mLogger = logger;
+		mIndexedConstants = declaredConstants;
 		mScript = csToolkit.getScript();
 		mFormulas = nestedTransFormulas;
 		mModGlobVarManager = modifiableGlobalsTable;
@@ -559,8 +577,7 @@ public class NestedSsaBuilder {
 			for (TermVariable tv : mTF.getBranchEncoders()) {
 				tv = transferToCurrentScriptIfNecessary(tv);
 				final String name = branchEncoderConstantName(tv, currentPos);
-				mScript.declareFun(name, new Sort[0], tv.getSort());
-				mSubstitutionMapping.put(tv, mScript.term(name));
+				mSubstitutionMapping.put(tv, getOrDeclareConstant(name, tv.getSort()));
 			}
 		}
 
@@ -579,8 +596,17 @@ public class NestedSsaBuilder {
 			final Integer newIndex = mConstForTvCounter.increase(tv);
 			final String name = SmtUtils.removeSmtQuoteCharacters(tv.getName()) + "_fresh_" + newIndex;
 			final Sort resultSort = tv.getSort();
-			mScript.declareFun(name, new Sort[0], resultSort);
-			return mScript.term(name);
+			return getOrDeclareConstant(name, resultSort);
+		}
+
+		private Term getOrDeclareConstant(final String name, final Sort sort) {
+			Term constant = mIndexedConstants.get(name);
+			if (constant == null) {
+				mScript.declareFun(name, new Sort[0], sort);
+				constant = mScript.term(name);
+				mIndexedConstants.put(name, constant);
+			}
+			return constant;
 		}
 
 		public void versionPredicate() {
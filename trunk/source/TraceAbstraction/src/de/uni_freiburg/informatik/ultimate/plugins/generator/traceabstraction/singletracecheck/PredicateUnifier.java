@@ -27,11 +27,15 @@
  */
 package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +48,7 @@ import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
 import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
 import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
 import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
 import de.uni_freiburg.informatik.ultimate.logic.CheckClosedTerm;
 import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
 import de.uni_freiburg.informatik.ultimate.logic.QuotedObject;
@@ -54,11 +59,13 @@ import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.IIcfgSymbolTabl
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.variables.IProgramVar;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.hoaretriple.IHoareTripleChecker.Validity;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.CommuhashNormalForm;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.ConstantFinder;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.ContainsQuantifier;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.MonolithicImplicationChecker;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.SimplificationTechnique;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SmtUtils.XnfConversionTechnique;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.SubstitutionWithLocalSimplification;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.linearterms.PrenexNormalForm;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.linearterms.QuantifierSequence;
 import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
@@ -97,6 +104,7 @@ public class PredicateUnifier implements IPredicateUnifier {
 	private final LinkedHashSet<IPredicate> mKnownPredicates = new LinkedHashSet<>();
 	private final Map<IPredicate, IPredicate> mDeprecatedPredicates = new HashMap<>();
 	private final CoverageRelation mCoverageRelation = new CoverageRelation();
+	private final ImplicationIndex mImplicationIndex = new ImplicationIndex();
 	protected final ILogger mLogger;
 	protected final IUltimateServiceProvider mServices;
 	private final Script mScript;
@@ -699,6 +707,125 @@ public class PredicateUnifier implements IPredicateUnifier {
 
 	}
 
+	/**
+	 * Index over the known predicates that decides implications without calling the solver whenever this is cheaply
+	 * possible. The solver is only asked if none of the following criteria applies.
+	 * <ul>
+	 * <li>Syntactic atoms: p ==> q holds if each conjunct of q is a conjunct of p or if each disjunct of p is a
+	 * disjunct of q.
+	 * <li>Counter-models: the program states that the solver returned as counterexamples to earlier implication checks
+	 * are stored (similar to the witnesses of the {@code PredicateTrie}). If some stored state satisfies p but
+	 * violates q, then p ==> q does not hold.
+	 * </ul>
+	 * Note that two predicates whose variables are disjoint may nevertheless imply each other, e.g., because both
+	 * refer to the same constant or because the axioms relate their variables.
+	 */
+	private final class ImplicationIndex {
+		/**
+		 * Maximal number of stored counter-models. Each stored model is evaluated once for each known predicate.
+		 */
+		private static final int MAX_MODELS = 64;
+
+		private final List<Map<Term, Term>> mModels = new ArrayList<>();
+		private final Map<IPredicate, IndexEntry> mEntries = new HashMap<>();
+
+		IndexEntry getEntry(final IPredicate pred) {
+			IndexEntry entry = mEntries.get(pred);
+			if (entry == null) {
+				entry = new IndexEntry(pred.getFormula(), pred.getClosedFormula());
+				mEntries.put(pred, entry);
+			}
+			return entry;
+		}
+
+		/**
+		 * @return the validity of lhs ==> rhs if it can be decided by this index, null otherwise.
+		 */
+		Validity checkImplication(final IndexEntry lhs, final IndexEntry rhs) {
+			if (lhs.mConjuncts.containsAll(rhs.mConjuncts) || rhs.mDisjuncts.containsAll(lhs.mDisjuncts)) {
+				return Validity.VALID;
+			}
+			lhs.evaluateNewModels();
+			rhs.evaluateNewModels();
+			if (lhs.mSatisfyingModels.intersects(rhs.mViolatingModels)) {
+				return Validity.INVALID;
+			}
+			return null;
+		}
+
+		/**
+		 * Check lhs ==> rhs with the solver and store the counterexample if the implication does not hold.
+		 */
+		Validity checkImplicationWithSolver(final IndexEntry lhs, final IndexEntry rhs) {
+			final Map<Term, Term> counterexample = new HashMap<>();
+			final Term[] constants;
+			if (mModels.size() < MAX_MODELS) {
+				final Set<Term> constantSet = new HashSet<>();
+				constantSet.addAll(lhs.getConstants());
+				constantSet.addAll(rhs.getConstants());
+				constants = constantSet.toArray(new Term[constantSet.size()]);
+			} else {
+				constants = new Term[0];
+			}
+			final Validity result = mImplicationChecker.checkImplication(lhs.mFormula, lhs.mClosedFormula,
+					rhs.mFormula, rhs.mClosedFormula, constants, counterexample);
+			if (result == Validity.INVALID && !counterexample.isEmpty()) {
+				mModels.add(counterexample);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Information about a single predicate that is used by the {@link ImplicationIndex}.
+	 */
+	private final class IndexEntry {
+		private final Term mFormula;
+		private final Term mClosedFormula;
+		private Set<ApplicationTerm> mConstants;
+		private final Set<Term> mConjuncts;
+		private final Set<Term> mDisjuncts;
+		private final BitSet mSatisfyingModels = new BitSet();
+		private final BitSet mViolatingModels = new BitSet();
+		private int mEvaluatedModels;
+
+		IndexEntry(final Term formula, final Term closedFormula) {
+			mFormula = formula;
+			mClosedFormula = closedFormula;
+			mConjuncts = new HashSet<>(Arrays.asList(SmtUtils.getConjuncts(formula)));
+			mDisjuncts = new HashSet<>(Arrays.asList(SmtUtils.getDisjuncts(formula)));
+		}
+
+		/**
+		 * @return all non-theory constants of the closed formula, i.e., the default constants of the variables but
+		 *         also the constants of the program.
+		 */
+		Set<ApplicationTerm> getConstants() {
+			if (mConstants == null) {
+				mConstants = new ConstantFinder().findConstants(mClosedFormula, true);
+			}
+			return mConstants;
+		}
+
+		/**
+		 * Evaluate the closed formula in all models that were added to the index since the last call. If a model does
+		 * not assign all constants of the formula the result is neither true nor false and the model is ignored.
+		 */
+		void evaluateNewModels() {
+			final List<Map<Term, Term>> models = mImplicationIndex.mModels;
+			while (mEvaluatedModels < models.size()) {
+				final Term value = new SubstitutionWithLocalSimplification(mMgnScript, models.get(mEvaluatedModels))
+						.transform(mClosedFormula);
+				if (SmtUtils.isTrue(value)) {
+					mSatisfyingModels.set(mEvaluatedModels);
+				} else if (SmtUtils.isFalse(value)) {
+					mViolatingModels.set(mEvaluatedModels);
+				}
+				mEvaluatedModels++;
+			}
+		}
+	}
+
 	public enum PredicateUniferStatisticsDefinitions implements IStatisticsElement {
 
 		DeclaredPredicates(Integer.class, StatisticsType.INTEGER_ADDITION, StatisticsType.DATA_BEFORE_KEY),
@@ -717,6 +844,8 @@ public class PredicateUnifier implements IPredicateUnifier {
 
 		ImplicationChecksByTransitivity(Integer.class, StatisticsType.INTEGER_ADDITION, StatisticsType.DATA_BEFORE_KEY),
 
+		ImplicationChecksByIndex(Integer.class, StatisticsType.INTEGER_ADDITION, StatisticsType.DATA_BEFORE_KEY),
+
 		Time(Integer.class, StatisticsType.LONG_ADDITION, StatisticsType.NANOS_BEFORE_KEY),;
 
 		private final Class<?> mClazz;
@@ -770,6 +899,7 @@ public class PredicateUnifier implements IPredicateUnifier {
 		private int mIntricatePredicates = 0;
 		private int mDeprecatedPredicatesCount = 0;
 		private int mImplicationChecksByTransitivity = 0;
+		private int mImplicationChecksByIndex = 0;
 		protected final Benchmark mBenchmark;
 
 		protected boolean mRunning = false;
@@ -813,6 +943,10 @@ public class PredicateUnifier implements IPredicateUnifier {
 			mImplicationChecksByTransitivity++;
 		}
 
+		public void incrementImplicationChecksByIndex() {
+			mImplicationChecksByIndex++;
+		}
+
 		public long getTime() {
 			return (long) mBenchmark.getElapsedTime(String.valueOf(PredicateUniferStatisticsDefinitions.Time),
 					TimeUnit.NANOSECONDS);
@@ -856,6 +990,8 @@ public class PredicateUnifier implements IPredicateUnifier {
 				return mDeprecatedPredicatesCount;
 			case ImplicationChecksByTransitivity:
 				return mImplicationChecksByTransitivity;
+			case ImplicationChecksByIndex:
+				return mImplicationChecksByIndex;
 			case Time:
 				return getTime();
 			default:
@@ -882,6 +1018,7 @@ public class PredicateUnifier implements IPredicateUnifier {
 		private final Term mTerm;
 		private final Term mClosedTerm;
 		private final boolean mTermContainsQuantifiers;
+		private final IndexEntry mIndexEntry;
 		private final HashMap<IPredicate, Validity> mImpliedPredicates;
 		private final HashMap<IPredicate, Validity> mExpliedPredicates;
 		private final IPredicate mEquivalentLeqQuantifiedPredicate;
@@ -909,6 +1046,7 @@ public class PredicateUnifier implements IPredicateUnifier {
 			mTerm = term;
 			mClosedTerm = PredicateUtils.computeClosedFormula(term, vars, mScript);
 			mTermContainsQuantifiers = new ContainsQuantifier().containsQuantifier(term);
+			mIndexEntry = new IndexEntry(term, mClosedTerm);
 
 			mScript.echo(new QuotedObject("begin unification"));
 			mEquivalentLeqQuantifiedPredicate = compare();
@@ -967,8 +1105,8 @@ public class PredicateUnifier implements IPredicateUnifier {
 
 		private IPredicate compare() {
 			// check if false
-			final Validity impliesFalse = mImplicationChecker.checkImplication(mTerm, mClosedTerm, false,
-					mFalsePredicate.getFormula(), mFalsePredicate.getClosedFormula(), false);
+			final Validity impliesFalse =
+					mImplicationIndex.checkImplicationWithSolver(mIndexEntry, mImplicationIndex.getEntry(mFalsePredicate));
 			switch (impliesFalse) {
 			case VALID:
 				return mFalsePredicate;
@@ -989,8 +1127,8 @@ public class PredicateUnifier implements IPredicateUnifier {
 			mExpliedPredicates.put(mFalsePredicate, Validity.VALID);
 
 			// check if true
-			final Validity impliedByTrue = mImplicationChecker.checkImplication(mTruePredicate.getFormula(),
-					mTruePredicate.getClosedFormula(), false, mTerm, mClosedTerm, false);
+			final Validity impliedByTrue =
+					mImplicationIndex.checkImplicationWithSolver(mImplicationIndex.getEntry(mTruePredicate), mIndexEntry);
 			switch (impliedByTrue) {
 			case VALID:
 				return mTruePredicate;
@@ -1037,8 +1175,7 @@ public class PredicateUnifier implements IPredicateUnifier {
 				final Term otherClosedTerm = other.getClosedFormula();
 				Validity implies = mImpliedPredicates.get(other);
 				if (implies == null) {
-					implies = mImplicationChecker.checkImplication(mTerm, mClosedTerm, false, other.getFormula(),
-							other.getClosedFormula(), false);
+					implies = checkImplication(mIndexEntry, mImplicationIndex.getEntry(other));
 					if (implies == Validity.VALID) {
 						// if (this ==> other) and (other ==> impliedByOther) then
 						// we conclude (this ==> impliedByOther)
@@ -1072,8 +1209,7 @@ public class PredicateUnifier implements IPredicateUnifier {
 				}
 				Validity explies = mExpliedPredicates.get(other);
 				if (explies == null) {
-					explies = mImplicationChecker.checkImplication(other.getFormula(), other.getClosedFormula(), false,
-							mTerm, mClosedTerm, false);
+					explies = checkImplication(mImplicationIndex.getEntry(other), mIndexEntry);
 					if (explies == Validity.VALID) {
 						// if (other ==> this) and (expliedByOther ==> other)
 						// we conclude (expliedByOther ==> this)
@@ -1126,6 +1262,15 @@ public class PredicateUnifier implements IPredicateUnifier {
 			return null;
 		}
 
+		private Validity checkImplication(final IndexEntry lhs, final IndexEntry rhs) {
+			final Validity indexResult = mImplicationIndex.checkImplication(lhs, rhs);
+			if (indexResult != null) {
+				mPredicateUnifierBenchmarkGenerator.incrementImplicationChecksByIndex();
+				return indexResult;
+			}
+			return mImplicationIndex.checkImplicationWithSolver(lhs, rhs);
+		}
+
 		private void checkTimeout(final Term closedTerm) {
 			if (!mServices.getProgressMonitorService().continueProcessing()) {
 				final String quantifierInformation = generateQuantifierInformation(closedTerm);
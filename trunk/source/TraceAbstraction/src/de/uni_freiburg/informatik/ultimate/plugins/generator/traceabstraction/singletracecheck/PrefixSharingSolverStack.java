@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE TraceAbstraction plug-in.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE TraceAbstraction plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE TraceAbstraction plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE TraceAbstraction plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE TraceAbstraction plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.automata.nestedword.NestedWord;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.structure.IAction;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.cfg.transitions.UnmodifiableTransFormula;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.managedscript.ManagedScript;
+import de.uni_freiburg.informatik.ultimate.modelcheckerutils.smt.predicates.IPredicate;
+
+/**
+ * Assertion stack of a solver that is used exclusively by consecutive {@link TraceCheck}s and that is kept between
+ * these trace checks.
+ * <p>
+ * Each frame of the stack (i.e., each push level of the solver) belongs to one conjunct of the annotated SSA: frame 0
+ * contains the precondition, frame i+1 contains the code block at position i of the trace. A frame is identified by the
+ * formulas from which its SSA is constructed (see {@link #computeFrameKeys(NestedFormulas)}). Because the SSA of a
+ * position depends only on the positions before it, a trace check can keep all frames of the longest common prefix of
+ * its trace and the previously checked trace. It pops the other frames and asserts only the code blocks that follow
+ * the common prefix. The negated postcondition is asserted in an additional frame that is popped when the trace check
+ * is finished.
+ * <p>
+ * Constants that are declared by the {@link NestedSsaBuilder} of a trace check are shared via
+ * {@link #getDeclaredConstants()} and are attributed to the frame that was on top of the stack while they were
+ * declared. If this frame is popped, the constants are removed again.
+ * <p>
+ * Traces with pending returns are not supported, because the SSA of their pending contexts depends on the whole trace.
+ */
+public class PrefixSharingSolverStack {
+
+	private final ManagedScript mManagedScript;
+	private final List<Object> mFrameKeys = new ArrayList<>();
+	private final List<List<String>> mFrameDeclarations = new ArrayList<>();
+	private final Map<String, Term> mDeclaredConstants = new HashMap<>();
+	private final Set<String> mAttributedConstants = new HashSet<>();
+	private boolean mTemporaryFramePushed;
+	private boolean mDestroyed;
+
+	public PrefixSharingSolverStack(final ManagedScript managedScript) {
+		mManagedScript = managedScript;
+	}
+
+	public ManagedScript getManagedScript() {
+		return mManagedScript;
+	}
+
+	/**
+	 * @return true iff {@link #destroy()} was called, i.e., the solver of this stack must not be used any more
+	 */
+	public boolean isDestroyed() {
+		return mDestroyed;
+	}
+
+	/**
+	 * Shut down the solver of this stack. This is necessary if a trace check was not finished normally, because then
+	 * the assertion stack of the solver might not correspond to the frames of this stack.
+	 */
+	public void destroy() {
+		if (mDestroyed) {
+			return;
+		}
+		mDestroyed = true;
+		mFrameKeys.clear();
+		mFrameDeclarations.clear();
+		mDeclaredConstants.clear();
+		mAttributedConstants.clear();
+		try {
+			mManagedScript.getScript().exit();
+		} catch (final SMTLIBException e) {
+			// the solver is not used any more
+		}
+	}
+
+	/**
+	 * @return the keys of the frames for the given trace, one for the precondition and one for each position
+	 */
+	static List<Object> computeFrameKeys(final NestedFormulas<UnmodifiableTransFormula, IPredicate> nestedFormulas) {
+		final NestedWord<? extends IAction> trace = nestedFormulas.getTrace();
+		final List<Object> result = new ArrayList<>(trace.length() + 1);
+		final String firstProcedure = trace.length() == 0 ? null : trace.getSymbol(0).getPrecedingProcedure();
+		result.add(Arrays.asList(nestedFormulas.getPrecondition().getFormula(), firstProcedure));
+		for (int i = 0; i < trace.length(); i++) {
+			if (trace.isCallPosition(i)) {
+				result.add(Arrays.asList(nestedFormulas.getLocalVarAssignment(i),
+						nestedFormulas.getGlobalVarAssignment(i), nestedFormulas.getOldVarAssignment(i)));
+			} else {
+				result.add(Collections.singletonList(nestedFormulas.getFormulaFromNonCallPos(i)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pop all frames that do not belong to the longest common prefix of the frames of this stack and the given frames.
+	 *
+	 * @return the number of frames that were kept
+	 */
+	int synchronize(final Object lockOwner, final List<Object> frameKeys) {
+		popTemporaryFrame(lockOwner);
+		int kept = 0;
+		while (kept < mFrameKeys.size() && kept < frameKeys.size() && mFrameKeys.get(kept).equals(frameKeys.get(kept))) {
+			kept++;
+		}
+		while (mFrameKeys.size() > kept) {
+			popFrame(lockOwner);
+		}
+		return kept;
+	}
+
+	/**
+	 * Pop all frames.
+	 */
+	void clear(final Object lockOwner) {
+		synchronize(lockOwner, Collections.emptyList());
+	}
+
+	/**
+	 * @return the constants that are declared in the solver, must be used by the {@link NestedSsaBuilder} of each
+	 *         trace check that uses this stack
+	 */
+	Map<String, Term> getDeclaredConstants() {
+		return mDeclaredConstants;
+	}
+
+	int getNumberOfFrames() {
+		return mFrameKeys.size();
+	}
+
+	void pushFrame(final Object lockOwner, final Object frameKey) {
+		assert !mTemporaryFramePushed : "temporary frame has to be the top frame";
+		attributeDeclarations();
+		mManagedScript.push(lockOwner, 1);
+		mFrameKeys.add(frameKey);
+		mFrameDeclarations.add(new ArrayList<>());
+	}
+
+	void pushTemporaryFrame(final Object lockOwner) {
+		assert !mTemporaryFramePushed : "temporary frame already pushed";
+		attributeDeclarations();
+		mManagedScript.push(lockOwner, 1);
+		mTemporaryFramePushed = true;
+	}
+
+	void popTemporaryFrame(final Object lockOwner) {
+		if (mTemporaryFramePushed) {
+			mManagedScript.pop(lockOwner, 1);
+			mTemporaryFramePushed = false;
+		}
+	}
+
+	private void popFrame(final Object lockOwner) {
+		final int top = mFrameKeys.size() - 1;
+		mManagedScript.pop(lockOwner, 1);
+		mFrameKeys.remove(top);
+		for (final String name : mFrameDeclarations.remove(top)) {
+			mDeclaredConstants.remove(name);
+			mAttributedConstants.remove(name);
+		}
+	}
+
+	/**
+	 * Attribute all constants that were declared since the last call of this method to the top frame. Constants that
+	 * were declared while there was no frame are never removed.
+	 */
+	private void attributeDeclarations() {
+		if (mAttributedConstants.size() == mDeclaredConstants.size()) {
+			return;
+		}
+		final List<String> topFrameDeclarations =
+				mFrameDeclarations.isEmpty() ? null : mFrameDeclarations.get(mFrameDeclarations.size() - 1);
+		for (final String name : mDeclaredConstants.keySet()) {
+			if (mAttributedConstants.add(name) && topFrameDeclarations != null) {
+				topFrameDeclarations.add(name);
+			}
+		}
+	}
+}
@@ -140,6 +140,14 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 	protected ToolchainCanceledException mToolchainCanceledException;
 	protected final IIcfgSymbolTable mBoogie2SmtSymbolTable;
 	protected final FeasibilityCheckResult mFeasibilityResult;
+	/**
+	 * Solver stack that is shared with the previous trace check, or null if this trace check does not share a prefix
+	 * with other trace checks.
+	 */
+	protected final PrefixSharingSolverStack mSolverStack;
+	private final boolean mSharesPrefix;
+	private List<Object> mFrameKeys;
+	private int mKeptFrames;
 
 	/**
 	 * Check if trace fulfills specification given by precondition, postcondition and pending contexts. The
@@ -189,6 +197,25 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 			final CfgSmtToolkit csToolkit, final ManagedScript managedScriptTc,
 			final AssertCodeBlockOrder assertCodeBlocksIncrementally, final boolean computeRcfgProgramExecution,
 			final boolean collectInterpolatSequenceStatistics, final boolean unlockSmtSolverAlsoIfUnsat) {
+		this(precondition, postcondition, pendingContexts, trace, rv, services, csToolkit, managedScriptTc,
+				assertCodeBlocksIncrementally, computeRcfgProgramExecution, collectInterpolatSequenceStatistics,
+				unlockSmtSolverAlsoIfUnsat, null);
+	}
+
+	/**
+	 * @param solverStack
+	 *            if not null, managedScriptTc has to be the script of this stack and the code blocks of the longest
+	 *            common prefix with the trace of the previous trace check that used this stack are not asserted again
+	 *            (only supported if the code blocks are not asserted incrementally and if the trace does not contain
+	 *            pending returns, otherwise the stack is cleared)
+	 */
+	protected TraceCheck(final IPredicate precondition, final IPredicate postcondition,
+			final SortedMap<Integer, IPredicate> pendingContexts, final NestedWord<LETTER> trace,
+			final NestedFormulas<UnmodifiableTransFormula, IPredicate> rv, final IUltimateServiceProvider services,
+			final CfgSmtToolkit csToolkit, final ManagedScript managedScriptTc,
+			final AssertCodeBlockOrder assertCodeBlocksIncrementally, final boolean computeRcfgProgramExecution,
+			final boolean collectInterpolatSequenceStatistics, final boolean unlockSmtSolverAlsoIfUnsat,
+			final PrefixSharingSolverStack solverStack) {
 		mServices = services;
 		mLogger = mServices.getLoggingService().getLogger(Activator.PLUGIN_ID);
 		mCfgManagedScript = csToolkit.getManagedScript();
@@ -206,6 +233,10 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 		mNestedFormulas = rv;
 		mAssertCodeBlocksIncrementally = assertCodeBlocksIncrementally;
 		mTraceCheckBenchmarkGenerator = new TraceCheckStatisticsGenerator(collectInterpolatSequenceStatistics);
+		assert solverStack == null || solverStack.getManagedScript() == managedScriptTc : "wrong script";
+		mSolverStack = solverStack;
+		mSharesPrefix = solverStack != null && assertCodeBlocksIncrementally == AssertCodeBlockOrder.NOT_INCREMENTALLY
+				&& trace.getPendingReturns().isEmpty();
 
 		boolean providesIcfgProgramExecution = false;
 		IcfgProgramExecution icfgProgramExecution = null;
@@ -271,8 +302,14 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 		lockAndPrepareSolverForTraceCheck();
 		final boolean transferToDifferentScript = mTcSmtManager != mCfgManagedScript;
 		mTraceCheckBenchmarkGenerator.start(TraceCheckStatisticsDefinitions.SsaConstructionTime.toString());
-		mNsb = new NestedSsaBuilder(mTrace, mTcSmtManager, mNestedFormulas, mCsToolkit.getModifiableGlobalsTable(),
-				mLogger, transferToDifferentScript);
+		if (mSharesPrefix) {
+			mNsb = new NestedSsaBuilder(mTrace, mTcSmtManager, mNestedFormulas,
+					mCsToolkit.getModifiableGlobalsTable(), mLogger, transferToDifferentScript,
+					mSolverStack.getDeclaredConstants());
+		} else {
+			mNsb = new NestedSsaBuilder(mTrace, mTcSmtManager, mNestedFormulas,
+					mCsToolkit.getModifiableGlobalsTable(), mLogger, transferToDifferentScript);
+		}
 		final NestedFormulas<Term, Term> ssa = mNsb.getSsa();
 		mTraceCheckBenchmarkGenerator.stop(TraceCheckStatisticsDefinitions.SsaConstructionTime.toString());
 
@@ -281,6 +318,9 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 			mAAA = new AnnotateAndAsserterWithStmtOrderPrioritization(mTcSmtManager, ssa,
 					getAnnotateAndAsserterCodeBlocks(ssa), mTraceCheckBenchmarkGenerator,
 					mAssertCodeBlocksIncrementally, mServices);
+		} else if (mSharesPrefix) {
+			mAAA = new AnnotateAndAsserterWithPrefixSharing(mTcSmtManager, ssa, getAnnotateAndAsserterCodeBlocks(ssa),
+					mTraceCheckBenchmarkGenerator, mServices, mSolverStack, mFrameKeys, mKeptFrames);
 		} else {
 			mAAA = new AnnotateAndAsserter(mTcSmtManager, ssa, getAnnotateAndAsserterCodeBlocks(ssa),
 					mTraceCheckBenchmarkGenerator, mServices);
@@ -332,7 +372,7 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 					mCsToolkit.getOldVarsAssignmentCache(), true);
 			final TraceCheck<? extends IAction> tc = new TraceCheck<>(mNestedFormulas.getPrecondition(),
 					mNestedFormulas.getPostcondition(), mPendingContexts, mNestedFormulas.getTrace(), withBE, mServices,
-					mCsToolkit, mTcSmtManager, AssertCodeBlockOrder.NOT_INCREMENTALLY, true, false, true);
+					mCsToolkit, mTcSmtManager, AssertCodeBlockOrder.NOT_INCREMENTALLY, true, false, true, mSolverStack);
 			if (tc.getToolchainCanceledExpection() != null) {
 				throw tc.getToolchainCanceledExpection();
 			}
@@ -457,12 +497,26 @@ public class TraceCheck<LETTER extends IAction> implements ITraceCheck {
 	private void lockAndPrepareSolverForTraceCheck() {
 		mTcSmtManager.lock(mTraceCheckLock);
 		mTcSmtManager.echo(mTraceCheckLock, new QuotedObject("starting trace check"));
-		mTcSmtManager.push(mTraceCheckLock, 1);
+		if (mSharesPrefix) {
+			// pop the frames that do not belong to the common prefix before the SSA is constructed, the
+			// NestedSsaBuilder may only reuse constants that are still declared
+			mFrameKeys = PrefixSharingSolverStack.computeFrameKeys(mNestedFormulas);
+			mKeptFrames = mSolverStack.synchronize(mTraceCheckLock, mFrameKeys);
+		} else {
+			if (mSolverStack != null) {
+				mSolverStack.clear(mTraceCheckLock);
+			}
+			mTcSmtManager.push(mTraceCheckLock, 1);
+		}
 	}
 
 	protected void cleanupAndUnlockSolver() {
 		mTcSmtManager.echo(mTraceCheckLock, new QuotedObject("finished trace check"));
-		mTcSmtManager.pop(mTraceCheckLock, 1);
+		if (mSharesPrefix) {
+			mSolverStack.popTemporaryFrame(mTraceCheckLock);
+		} else {
+			mTcSmtManager.pop(mTraceCheckLock, 1);
+		}
 		mTcSmtManager.unlock(mTraceCheckLock);
 	}
 
@@ -50,6 +50,7 @@ import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.in
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.PredicateFactory;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TAPreferences;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.PredicateUnifier;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.PrefixSharingSolverStack;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.DataStructureUtils;
 
 /**
@@ -103,6 +104,21 @@ public class FixedRefinementStrategy<LETTER extends IIcfgTransition<?>> extends
 			final IRun<LETTER, IPredicate, ?> counterexample, final IPredicate precondition, final IAutomaton<LETTER, IPredicate> abstraction,
 			final TAPreferences taPrefsForInterpolantConsolidation, final TaskIdentifier taskIdentifier,
 			final IEmptyStackStateFactory<IPredicate> emptyStackFactory) {
+		this(logger, prefs, managedScript, services, predicateFactory, predicateUnifier, counterexample, precondition,
+				abstraction, taPrefsForInterpolantConsolidation, taskIdentifier, emptyStackFactory, null);
+	}
+
+	/**
+	 * @param solverStack
+	 *            solver stack that is shared with the trace checks of previous iterations, or null
+	 */
+	public FixedRefinementStrategy(final ILogger logger, final TaCheckAndRefinementPreferences<LETTER> prefs,
+			final ManagedScript managedScript, final IUltimateServiceProvider services,
+			final PredicateFactory predicateFactory, final PredicateUnifier predicateUnifier,
+			final IRun<LETTER, IPredicate, ?> counterexample, final IPredicate precondition,
+			final IAutomaton<LETTER, IPredicate> abstraction, final TAPreferences taPrefsForInterpolantConsolidation,
+			final TaskIdentifier taskIdentifier, final IEmptyStackStateFactory<IPredicate> emptyStackFactory,
+			final PrefixSharingSolverStack solverStack) {
 		super(logger, emptyStackFactory);
 		mServices = services;
 		mLogger = logger;
@@ -115,7 +131,8 @@ public class FixedRefinementStrategy<LETTER extends IIcfgTransition<?>> extends
 		mTaPrefsForInterpolantConsolidation = taPrefsForInterpolantConsolidation;
 		mRefinementEngineStatisticsGenerator = new RefinementEngineStatisticsGenerator();
 		mFunConstructFromPrefs = new TraceCheckConstructor<>(prefs, managedScript, services, predicateFactory,
-				predicateUnifier, counterexample, precondition, mPrefs.getInterpolationTechnique(), taskIdentifier);
+				predicateUnifier, counterexample, precondition, prefs.getAssertCodeBlocksOrder(),
+				mPrefs.getInterpolationTechnique(), taskIdentifier, solverStack);
 	}
 
 	@Override
@@ -49,8 +49,10 @@ import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.IP
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.PathProgramCache;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.predicates.PredicateFactory;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TAPreferences;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.InterpolationTechnique;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.preferences.TraceAbstractionPreferenceInitializer.RefinementStrategy;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.PredicateUnifier;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.PrefixSharingSolverStack;
 
 /**
  * Factory for obtaining an {@link IRefinementStrategy}.
@@ -70,6 +72,7 @@ public class RefinementStrategyFactory<LETTER extends IIcfgTransition<?>> {
 	protected final AssertionOrderModulation<LETTER> mAssertionOrderModulation;
 	private final PathProgramCache<LETTER> mPathProgramCache;
 	private final RefinementStrategy mStrategy;
+	private PrefixSharingSolverStack mPrefixSharingSolverStack;
 
 	/**
 	 * @param logger
@@ -160,6 +163,12 @@ public class RefinementStrategyFactory<LETTER extends IIcfgTransition<?>> {
 
 		switch (mStrategy) {
 		case FIXED_PREFERENCES:
+			if (usePrefixSharing()) {
+				final PrefixSharingSolverStack solverStack = getPrefixSharingSolverStack();
+				return new FixedRefinementStrategy<>(mLogger, mPrefs, solverStack.getManagedScript(), mServices,
+						mPredicateFactory, predicateUnifier, counterexample, precondition, abstraction,
+						mPrefsConsolidation, taskIdentifier, emptyStackFactory, solverStack);
+			}
 			final ManagedScript managedScript =
 					setupManagedScriptFromPreferences(mServices, mInitialIcfg, mStorage, taskIdentifier, mPrefs);
 			return new FixedRefinementStrategy<>(mLogger, mPrefs, managedScript, mServices, mPredicateFactory,
@@ -217,32 +226,69 @@ public class RefinementStrategyFactory<LETTER extends IIcfgTransition<?>> {
 		}
 	}
 
+	/**
+	 * Prefix sharing needs a dedicated solver and is only supported for trace checks that assert all code blocks at
+	 * once and that do not run further trace checks on the same solver (as nested interpolation does).
+	 */
+	private boolean usePrefixSharing() {
+		return mPrefsConsolidation.sharePrefixesOfTraceChecks() && mPrefs.getUseSeparateSolverForTracechecks()
+				&& mPrefs.getInterpolationTechnique() == InterpolationTechnique.Craig_TreeInterpolation
+				&& mPrefs.getAssertCodeBlocksOrder() == AssertCodeBlockOrder.NOT_INCREMENTALLY;
+	}
+
+	private PrefixSharingSolverStack getPrefixSharingSolverStack() {
+		if (mPrefixSharingSolverStack == null || mPrefixSharingSolverStack.isDestroyed()) {
+			final Script tcSolver = constructTraceCheckSolver(mServices, mInitialIcfg, mStorage,
+					"PrefixSharing_TraceCheck", mPrefs);
+			mPrefixSharingSolverStack = new PrefixSharingSolverStack(new ManagedScript(mServices, tcSolver));
+		}
+		return mPrefixSharingSolverStack;
+	}
+
 	private ManagedScript setupManagedScriptFromPreferences(final IUltimateServiceProvider services,
 			final IIcfg<?> icfgContainer, final IToolchainStorage toolchainStorage, final TaskIdentifier taskIdentifier,
 			final TaCheckAndRefinementPreferences<LETTER> prefs) throws AssertionError {
 		final ManagedScript mgdScriptTc;
 		if (prefs.getUseSeparateSolverForTracechecks()) {
 			final String filename = taskIdentifier + "_TraceCheck";
-			final SolverMode solverMode = prefs.getSolverMode();
-			final boolean fakeNonIncrementalSolver = prefs.getFakeNonIncrementalSolver();
-			final String commandExternalSolver = prefs.getCommandExternalSolver();
-			final boolean dumpSmtScriptToFile = prefs.getDumpSmtScriptToFile();
-			final String pathOfDumpedScript = prefs.getPathOfDumpedScript();
-			final SolverSettings solverSettings = SolverBuilder.constructSolverSettings(filename, solverMode,
-					fakeNonIncrementalSolver, commandExternalSolver, dumpSmtScriptToFile, pathOfDumpedScript);
-			final Script tcSolver = SolverBuilder.buildAndInitializeSolver(services, toolchainStorage,
-					prefs.getSolverMode(), solverSettings, false, false, prefs.getLogicForExternalSolver(), filename);
+			final Script tcSolver = constructTraceCheckSolver(services, icfgContainer, toolchainStorage, filename, prefs);
 			mgdScriptTc = new ManagedScript(services, tcSolver);
-			final TermTransferrer tt = new TermTransferrer(tcSolver);
-			final Term axioms = icfgContainer.getCfgSmtToolkit().getAxioms().getFormula();
-			tcSolver.assertTerm(tt.transform(axioms));
 		} else {
 			mgdScriptTc = prefs.getCfgSmtToolkit().getManagedScript();
 		}
 		return mgdScriptTc;
 	}
 
+	private static Script constructTraceCheckSolver(final IUltimateServiceProvider services,
+			final IIcfg<?> icfgContainer, final IToolchainStorage toolchainStorage, final String filename,
+			final TaCheckAndRefinementPreferences<?> prefs) {
+		final SolverMode solverMode = prefs.getSolverMode();
+		final boolean fakeNonIncrementalSolver = prefs.getFakeNonIncrementalSolver();
+		final String commandExternalSolver = prefs.getCommandExternalSolver();
+		final boolean dumpSmtScriptToFile = prefs.getDumpSmtScriptToFile();
+		final String pathOfDumpedScript = prefs.getPathOfDumpedScript();
+		final SolverSettings solverSettings = SolverBuilder.constructSolverSettings(filename, solverMode,
+				fakeNonIncrementalSolver, commandExternalSolver, dumpSmtScriptToFile, pathOfDumpedScript);
+		final Script tcSolver = SolverBuilder.buildAndInitializeSolver(services, toolchainStorage,
+				prefs.getSolverMode(), solverSettings, false, false, prefs.getLogicForExternalSolver(), filename);
+		final TermTransferrer tt = new TermTransferrer(tcSolver);
+		final Term axioms = icfgContainer.getCfgSmtToolkit().getAxioms().getFormula();
+		tcSolver.assertTerm(tt.transform(axioms));
+		return tcSolver;
+	}
+
 	public PathProgramCache<LETTER> getPathProgramCache() {
 		return mPathProgramCache;
 	}
+
+	/**
+	 * Shut down the solver that is shared by the trace checks of all strategies created by this factory. Has to be
+	 * called when the CEGAR loop is finished.
+	 */
+	public void finish() {
+		if (mPrefixSharingSolverStack != null) {
+			mPrefixSharingSolverStack.destroy();
+			mPrefixSharingSolverStack = null;
+		}
+	}
 }
@@ -55,6 +55,7 @@ import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.pr
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.InterpolatingTraceCheckCraig;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.InterpolatingTraceCheckPathInvariantsWithFallback;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.PredicateUnifier;
+import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.PrefixSharingSolverStack;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.TraceCheck;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.TraceCheckSpWp;
 import de.uni_freiburg.informatik.ultimate.plugins.generator.traceabstraction.singletracecheck.TraceCheckUtils;
@@ -75,6 +76,7 @@ public class TraceCheckConstructor<LETTER extends IIcfgTransition<?>> implements
 	private final InterpolationTechnique mInterpolationTechnique;
 	private final TaskIdentifier mTaskIdentifier;
 	private final AssertCodeBlockOrder mAssertionOrder;
+	private final PrefixSharingSolverStack mSolverStack;
 
 	/**
 	 * @param prefs
@@ -148,6 +150,23 @@ public class TraceCheckConstructor<LETTER extends IIcfgTransition<?>> implements
 			final PredicateUnifier predicateUnifier, final IRun<LETTER, IPredicate, ?> counterexample, final IPredicate precondition,
 			final AssertCodeBlockOrder assertOrder, final InterpolationTechnique interpolationTechnique,
 			final TaskIdentifier taskIdentifier) {
+		this(prefs, managedScript, services, predicateFactory, predicateUnifier, counterexample, precondition,
+				assertOrder, interpolationTechnique, taskIdentifier, null);
+	}
+
+	/**
+	 * Full constructor with a solver stack that is shared with previous trace checks.
+	 *
+	 * @param solverStack
+	 *            solver stack whose script is managedScript, or null if the trace check should not share a prefix
+	 *            with previous trace checks
+	 */
+	public TraceCheckConstructor(final ITraceCheckPreferences prefs, final ManagedScript managedScript,
+			final IUltimateServiceProvider services, final PredicateFactory predicateFactory,
+			final PredicateUnifier predicateUnifier, final IRun<LETTER, IPredicate, ?> counterexample,
+			final IPredicate precondition, final AssertCodeBlockOrder assertOrder,
+			final InterpolationTechnique interpolationTechnique, final TaskIdentifier taskIdentifier,
+			final PrefixSharingSolverStack solverStack) {
 		mPrefs = prefs;
 		mManagedScript = managedScript;
 		mServices = services;
@@ -158,6 +177,7 @@ public class TraceCheckConstructor<LETTER extends IIcfgTransition<?>> implements
 		mAssertionOrder = assertOrder;
 		mInterpolationTechnique = interpolationTechnique;
 		mTaskIdentifier = taskIdentifier;
+		mSolverStack = solverStack;
 	}
 
 	@Override
@@ -166,6 +186,11 @@ public class TraceCheckConstructor<LETTER extends IIcfgTransition<?>> implements
 
 		if (traceCheck.getToolchainCanceledExpection() != null) {
 			throw traceCheck.getToolchainCanceledExpection();
+		} else if (mSolverStack != null) {
+			// the solver is kept for the next trace check, unless its assertion stack is in an unknown state
+			if (!traceCheck.wasTracecheckFinishedNormally() || mManagedScript.isLocked()) {
+				mSolverStack.destroy();
+			}
 		} else if (mPrefs.getUseSeparateSolverForTracechecks() && traceCheck.wasTracecheckFinishedNormally()) {
 			mManagedScript.getScript().exit();
 		}
@@ -213,7 +238,7 @@ public class TraceCheckConstructor<LETTER extends IIcfgTransition<?>> implements
 				TraceCheckUtils.getSequenceOfProgramPoints(NestedWord.nestedWord(mCounterexample.getWord())), mServices,
 				mPrefs.getCfgSmtToolkit(), mManagedScript, mPredicateFactory, mPredicateUnifier, mAssertionOrder,
 				mPrefs.computeCounterexample(), mPrefs.collectInterpolantStatistics(), mInterpolationTechnique, true,
-				xnfConversionTechnique, simplificationTechnique, false);
+				xnfConversionTechnique, simplificationTechnique, false, mSolverStack);
 	}
 
 	private TraceCheck<LETTER> constructForwardBackward() {
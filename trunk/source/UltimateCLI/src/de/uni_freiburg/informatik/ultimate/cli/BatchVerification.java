@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE CLI plug-in.
+ *
+ * The ULTIMATE CLI plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE CLI plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE CLI plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE CLI plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE CLI plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.cli;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.cli.ParseException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+import de.uni_freiburg.informatik.ultimate.cli.exceptions.InvalidFileArgumentException;
+import de.uni_freiburg.informatik.ultimate.core.coreplugin.toolchain.DefaultToolchainJob;
+import de.uni_freiburg.informatik.ultimate.core.lib.results.ResultSummarizer;
+import de.uni_freiburg.informatik.ultimate.core.lib.toolchain.RunDefinition;
+import de.uni_freiburg.informatik.ultimate.core.model.ICore;
+import de.uni_freiburg.informatik.ultimate.core.model.IToolchainData;
+import de.uni_freiburg.informatik.ultimate.core.model.results.IResult;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+
+/**
+ * Runs the toolchain of a {@link CommandLineController} once for each input file and reports one result record per
+ * input file.
+ * <p>
+ * All runs share the JVM, the loaded plugins, and the preferences of the controller, but each run has its own
+ * {@link IToolchainData} (and hence its own storage, solvers, and SMT theories). Sharing solvers or theories between
+ * runs would leak declarations between unrelated programs. The {@link IToolchainData} of a run is created by the worker
+ * thread right before the run starts and released when the run is finished, so at most one toolchain per worker
+ * thread exists at a time. Runs are distributed over a fixed number of worker threads. Because {@link ICore} reports
+ * results and selects tools via the controller of the core, the controller asks {@link #getCurrentTask()} which run
+ * belongs to the calling thread.
+ * <p>
+ * A result record is written as soon as its run is finished. It consists of the tab-separated fields
+ * <code>BATCH-RESULT</code>, path of the input file, result summary, run time in milliseconds, and result description.
+ */
+class BatchVerification {
+
+	private static final String RECORD_PREFIX = "BATCH-RESULT";
+
+	private final ICore<RunDefinition> mCore;
+	private final CommandLineController mController;
+	private final ParsedParameter mCliParams;
+	private final int mThreads;
+	private final File mResultsFile;
+	private final ILogger mLogger;
+	private final ThreadLocal<BatchTask> mCurrentTask;
+	private Writer mRecordWriter;
+
+	BatchVerification(final ICore<RunDefinition> core, final CommandLineController controller,
+			final ParsedParameter cliParams, final ILogger logger) throws ParseException {
+		this(core, controller, cliParams, cliParams.getBatchThreads(),
+				cliParams.hasBatchResultsFile() ? cliParams.getBatchResultsFile() : null, logger);
+	}
+
+	/**
+	 * Constructor for batches that override {@link #createToolchain()} and {@link #runToolchain(BatchTask)}.
+	 *
+	 * @param resultsFile
+	 *            file to which the result records are appended, or null
+	 */
+	BatchVerification(final int threads, final File resultsFile, final ILogger logger) {
+		this(null, null, null, threads, resultsFile, logger);
+	}
+
+	private BatchVerification(final ICore<RunDefinition> core, final CommandLineController controller,
+			final ParsedParameter cliParams, final int threads, final File resultsFile, final ILogger logger) {
+		mCore = core;
+		mController = controller;
+		mCliParams = cliParams;
+		mThreads = threads;
+		mResultsFile = resultsFile;
+		mLogger = logger;
+		mCurrentTask = new ThreadLocal<>();
+	}
+
+	/**
+	 * @return the run that is executed by the calling thread, or null if the calling thread does not execute a run of
+	 *         this batch
+	 */
+	BatchTask getCurrentTask() {
+		return mCurrentTask.get();
+	}
+
+	/**
+	 * Run the toolchain for each of the input files and wait until all runs are finished.
+	 */
+	void run(final File[] inputFiles) throws InvalidFileArgumentException, InterruptedException {
+		final int threads = Math.max(1, Math.min(mThreads, inputFiles.length));
+		final List<BatchTask> runs = new ArrayList<>(inputFiles.length);
+		for (final File inputFile : inputFiles) {
+			runs.add(new BatchTask(inputFile));
+		}
+
+		mLogger.info("Starting batch of " + inputFiles.length + " input files with " + threads + " threads");
+		openRecordWriter();
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (final Future<Void> future : executor.invokeAll(runs)) {
+				try {
+					future.get();
+				} catch (final ExecutionException e) {
+					mLogger.fatal("Exception during execution of batch", e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			closeRecordWriter();
+		}
+	}
+
+	/**
+	 * Create the toolchain of one run. The toolchain file is parsed again for each run such that runs do not share
+	 * their storage.
+	 */
+	IToolchainData<RunDefinition> createToolchain() throws ParseException, InvalidFileArgumentException {
+		// the preferences are shared by all runs
+		synchronized (mCliParams) {
+			final IToolchainData<RunDefinition> toolchain = mCliParams.createToolchainData();
+			mCliParams.applyCliSettings(toolchain.getServices());
+			return toolchain;
+		}
+	}
+
+	/**
+	 * Run the toolchain of the given task and wait until it is finished.
+	 */
+	void runToolchain(final BatchTask task) throws InterruptedException {
+		final BatchToolchainJob job = new BatchToolchainJob(mCore, mController, mLogger, task, mCurrentTask);
+		job.schedule();
+		job.join();
+	}
+
+	private void openRecordWriter() throws InvalidFileArgumentException {
+		if (mResultsFile == null) {
+			return;
+		}
+		try {
+			mRecordWriter = new FileWriter(mResultsFile, true);
+		} catch (final IOException e) {
+			throw new InvalidFileArgumentException(
+					"Cannot write batch results to " + mResultsFile.getAbsolutePath() + ": " + e.getMessage(), e);
+		}
+	}
+
+	private void closeRecordWriter() {
+		if (mRecordWriter == null) {
+			return;
+		}
+		try {
+			mRecordWriter.close();
+		} catch (final IOException e) {
+			mLogger.error("Could not close batch results file: " + e.getMessage());
+		}
+		mRecordWriter = null;
+	}
+
+	private synchronized void writeRecord(final BatchTask task) {
+		final String record = String.join("\t", RECORD_PREFIX, task.mInputFile.getAbsolutePath(), task.mSummary,
+				String.valueOf(task.mMillis), task.mDescription.replaceAll("\\s+", " "));
+		mLogger.info(record);
+		if (mRecordWriter == null) {
+			return;
+		}
+		try {
+			mRecordWriter.write(record);
+			mRecordWriter.write(System.lineSeparator());
+			mRecordWriter.flush();
+		} catch (final IOException e) {
+			mLogger.error("Could not write batch result for " + task.mInputFile + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * One run of a batch, i.e., the toolchain for a single input file together with its result.
+	 */
+	final class BatchTask implements Callable<Void> {
+		private final File mInputFile;
+		private IToolchainData<RunDefinition> mToolchain;
+		private String mSummary;
+		private String mDescription;
+		private long mMillis;
+
+		private BatchTask(final File inputFile) {
+			mInputFile = inputFile;
+			mSummary = "NORESULT";
+			mDescription = "The toolchain did not report any result";
+		}
+
+		@Override
+		public Void call() throws InterruptedException {
+			final long start = System.nanoTime();
+			try {
+				mToolchain = createToolchain();
+				runToolchain(this);
+			} catch (final ParseException | InvalidFileArgumentException e) {
+				setException("Cannot create toolchain", e);
+			} finally {
+				// the storage of the toolchain is not needed for the result record
+				mToolchain = null;
+				mMillis = (System.nanoTime() - start) / 1_000_000;
+				writeRecord(this);
+			}
+			return null;
+		}
+
+		File getInputFile() {
+			return mInputFile;
+		}
+
+		IToolchainData<RunDefinition> getToolchain() {
+			return mToolchain;
+		}
+
+		void setResults(final Map<String, List<IResult>> results) {
+			final ResultSummarizer summarizer = new ResultSummarizer(results);
+			mSummary = summarizer.getResultSummary().toString();
+			mDescription = summarizer.getResultDescription();
+		}
+
+		void setException(final String description, final Throwable ex) {
+			mSummary = "EXCEPTION";
+			mDescription = description + ": " + ex;
+		}
+	}
+
+	/**
+	 * {@link DefaultToolchainJob} that marks its thread as the thread of a {@link BatchTask} while it runs.
+	 */
+	private static final class BatchToolchainJob extends DefaultToolchainJob {
+		private final BatchTask mTask;
+		private final ThreadLocal<BatchTask> mCurrentTask;
+
+		private BatchToolchainJob(final ICore<RunDefinition> core, final CommandLineController controller,
+				final ILogger logger, final BatchTask task, final ThreadLocal<BatchTask> currentTask) {
+			super("Processing " + task.mInputFile.getName(), core, controller, logger, new File[] { task.mInputFile });
+			mTask = task;
+			mCurrentTask = currentTask;
+		}
+
+		@Override
+		protected IStatus run(final IProgressMonitor monitor) {
+			mCurrentTask.set(mTask);
+			try {
+				return super.run(monitor);
+			} finally {
+				mCurrentTask.remove();
+			}
+		}
+	}
+}
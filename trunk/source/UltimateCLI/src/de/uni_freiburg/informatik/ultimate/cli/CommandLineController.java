@@ -84,6 +84,7 @@ public class CommandLineController implements IController<RunDefinition> {
 
 	private ParsedParameter mCliParams;
 	private String mCsvPrefix;
+	private BatchVerification mBatch;
 
 	@Override
 	public int init(final ICore<RunDefinition> core) {
@@ -237,6 +238,11 @@ public class CommandLineController implements IController<RunDefinition> {
 			final ILogger logger, final IToolchainData<RunDefinition> toolchain)
 			throws ParseException, InvalidFileArgumentException, InterruptedException {
 		final File[] inputFiles = cliParams.getInputFiles();
+		if (cliParams.isBatchMode()) {
+			mBatch = new BatchVerification(core, this, cliParams, logger);
+			mBatch.run(inputFiles);
+			return;
+		}
 		executeToolchain(core, inputFiles, logger, toolchain);
 	}
 
@@ -293,6 +299,10 @@ public class CommandLineController implements IController<RunDefinition> {
 
 	@Override
 	public IToolchainData<RunDefinition> selectTools(final List<ITool> tools) {
+		final BatchVerification.BatchTask batchTask = getCurrentBatchTask();
+		if (batchTask != null) {
+			return batchTask.getToolchain();
+		}
 		return mToolchain;
 	}
 
@@ -304,6 +314,12 @@ public class CommandLineController implements IController<RunDefinition> {
 	@Override
 	public void displayToolchainResults(final IToolchainData<RunDefinition> toolchain,
 			final Map<String, List<IResult>> results) {
+		final BatchVerification.BatchTask batchTask = getCurrentBatchTask();
+		if (batchTask != null) {
+			// in batch mode, results are reported as one record per input file
+			batchTask.setResults(results);
+			return;
+		}
 		final ResultSummarizer summarizer = new ResultSummarizer(results);
 		switch (summarizer.getResultSummary()) {
 		case CORRECT:
@@ -410,6 +426,12 @@ public class CommandLineController implements IController<RunDefinition> {
 	@Override
 	public void displayException(final IToolchainData<RunDefinition> toolchain, final String description,
 			final Throwable ex) {
+		final BatchVerification.BatchTask batchTask = getCurrentBatchTask();
+		if (batchTask != null) {
+			mLogger.fatal("An exception occured during the execution of Ultimate: " + description, ex);
+			batchTask.setException(description, ex);
+			return;
+		}
 		mLogger.fatal("RESULT: An exception occured during the execution of Ultimate: " + description, ex);
 	}
 
@@ -418,6 +440,11 @@ public class CommandLineController implements IController<RunDefinition> {
 		return null;
 	}
 
+	private BatchVerification.BatchTask getCurrentBatchTask() {
+		final BatchVerification batch = mBatch;
+		return batch == null ? null : batch.getCurrentTask();
+	}
+
 	private Predicate<String> getCoreAndControllerPluginFilter() {
 		final Set<String> allowedIds = new HashSet<>();
 		allowedIds.add(de.uni_freiburg.informatik.ultimate.core.coreplugin.Activator.PLUGIN_ID);
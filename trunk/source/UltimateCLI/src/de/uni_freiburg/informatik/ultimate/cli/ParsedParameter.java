@@ -127,6 +127,30 @@ public class ParsedParameter {
 		return mCli.hasOption(CommandLineOptions.OPTION_LONG_NAME_GENERATE_CSV);
 	}
 
+	public boolean isBatchMode() {
+		return mCli.hasOption(CommandLineOptions.OPTION_LONG_NAME_BATCH);
+	}
+
+	public int getBatchThreads() throws ParseException {
+		if (!mCli.hasOption(CommandLineOptions.OPTION_LONG_NAME_BATCH_THREADS)) {
+			return 1;
+		}
+		final Number threads = getParsedOption(CommandLineOptions.OPTION_LONG_NAME_BATCH_THREADS);
+		if (threads == null || threads.intValue() < 1) {
+			throw new ParseException("Argument of \"" + CommandLineOptions.OPTION_LONG_NAME_BATCH_THREADS
+					+ "\" has to be a positive integer");
+		}
+		return threads.intValue();
+	}
+
+	public boolean hasBatchResultsFile() {
+		return mCli.hasOption(CommandLineOptions.OPTION_LONG_NAME_BATCH_RESULTS);
+	}
+
+	public File getBatchResultsFile() throws ParseException {
+		return getParsedOption(CommandLineOptions.OPTION_LONG_NAME_BATCH_RESULTS);
+	}
+
 	private boolean hasCsvDirectory() {
 		return mCli.hasOption(CommandLineOptions.OPTION_LONG_NAME_CSV_DIR);
 	}
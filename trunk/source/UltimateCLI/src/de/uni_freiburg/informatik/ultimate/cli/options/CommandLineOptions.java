@@ -50,6 +50,9 @@ public final class CommandLineOptions {
 	public static final String OPTION_LONG_NAME_EXPERIMENTAL = "experimental";
 	public static final String OPTION_LONG_NAME_CSV_DIR = "csv-dir";
 	public static final String OPTION_LONG_NAME_GENERATE_CSV = "generate-csv";
+	public static final String OPTION_LONG_NAME_BATCH = "batch";
+	public static final String OPTION_LONG_NAME_BATCH_THREADS = "batch-threads";
+	public static final String OPTION_LONG_NAME_BATCH_RESULTS = "batch-results";
 
 	private CommandLineOptions() {
 		// this is a utility class
@@ -92,6 +95,17 @@ public final class CommandLineOptions {
 		rtr.add(Option.builder().longOpt(OPTION_LONG_NAME_CSV_DIR).type(File.class)
 				.desc("Specify the path to a directory where the generated .csv files should be stored.").hasArg()
 				.argName("DIR").build());
+		rtr.add(Option.builder().longOpt(OPTION_LONG_NAME_BATCH).type(Boolean.class)
+				.desc("Run the toolchain once for each input file instead of once for all input files. All runs share "
+						+ "this JVM and report one result record per input file.")
+				.build());
+		rtr.add(Option.builder().longOpt(OPTION_LONG_NAME_BATCH_THREADS).type(Number.class).hasArg().argName("N")
+				.desc("Specify how many input files are processed concurrently in batch mode (default is 1).")
+				.build());
+		rtr.add(Option.builder().longOpt(OPTION_LONG_NAME_BATCH_RESULTS).type(File.class).hasArg().argName("FILE")
+				.desc("Specify a file to which the result records of batch mode are appended as soon as they are "
+						+ "available.")
+				.build());
 		rtr.add(Option.builder(OPTION_NAME_HELP).longOpt("help").type(Boolean.class).build());
 		rtr.add(Option.builder().longOpt(OPTION_LONG_NAME_VERSION).type(Boolean.class).build());
 		rtr.add(Option.builder().longOpt(OPTION_LONG_NAME_EXPERIMENTAL).type(Boolean.class)
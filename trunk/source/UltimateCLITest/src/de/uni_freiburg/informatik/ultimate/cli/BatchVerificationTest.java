@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of the ULTIMATE CLI plug-in.
+ *
+ * The ULTIMATE CLI plug-in is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ULTIMATE CLI plug-in is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ULTIMATE CLI plug-in. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Additional permission under GNU GPL version 3 section 7:
+ * If you modify the ULTIMATE CLI plug-in, or any covered work, by linking
+ * or combining it with Eclipse RCP (or a modified version of Eclipse RCP),
+ * containing parts covered by the terms of the Eclipse Public License, the
+ * licensors of the ULTIMATE CLI plug-in grant you additional permission
+ * to convey the resulting work.
+ */
+package de.uni_freiburg.informatik.ultimate.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_freiburg.informatik.ultimate.cli.exceptions.InvalidFileArgumentException;
+import de.uni_freiburg.informatik.ultimate.core.lib.results.ResultSummarizer;
+import de.uni_freiburg.informatik.ultimate.core.lib.toolchain.RunDefinition;
+import de.uni_freiburg.informatik.ultimate.core.model.IToolchainData;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger;
+import de.uni_freiburg.informatik.ultimate.core.model.services.ILogger.LogLevel;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IToolchainStorage;
+import de.uni_freiburg.informatik.ultimate.core.model.services.IUltimateServiceProvider;
+import de.uni_freiburg.informatik.ultimate.test.mocks.UltimateMocks;
+
+/**
+ * Tests that a {@link BatchVerification} creates one toolchain per input file, only while the file is processed, and
+ * writes one result record per input file.
+ */
+public class BatchVerificationTest {
+
+	private static final int NUMBER_OF_FILES = 6;
+
+	private ILogger mLogger;
+	private File mResultsFile;
+	private File[] mInputFiles;
+
+	@Before
+	public void setUp() throws IOException {
+		mLogger = UltimateMocks.createUltimateServiceProviderMock(LogLevel.WARN).getLoggingService()
+				.getLogger(getClass());
+		mResultsFile = File.createTempFile("batch", ".tsv");
+		mInputFiles = new File[NUMBER_OF_FILES];
+		for (int i = 0; i < NUMBER_OF_FILES; i++) {
+			mInputFiles[i] = new File("input" + i + ".bpl");
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(mResultsFile.toPath());
+	}
+
+	@Test
+	public void toolchainsAreCreatedPerRun() throws Exception {
+		final TestBatch batch = new TestBatch(2, -1);
+		batch.run(mInputFiles);
+
+		assertEquals(NUMBER_OF_FILES, batch.mCreated.get());
+		// toolchains are not created up front, each worker thread holds at most one toolchain
+		assertTrue("toolchains alive at the same time: " + batch.mMaxAlive.get(), batch.mMaxAlive.get() <= 2);
+		assertEquals(0, batch.mAlive.get());
+
+		final List<String[]> records = readRecords();
+		assertEquals(NUMBER_OF_FILES, records.size());
+		final String summary = new ResultSummarizer(Collections.emptyMap()).getResultSummary().toString();
+		final Set<String> files = new HashSet<>();
+		for (final String[] record : records) {
+			assertEquals("BATCH-RESULT", record[0]);
+			assertEquals(summary, record[2]);
+			files.add(record[1]);
+		}
+		assertEquals(Arrays.stream(mInputFiles).map(File::getAbsolutePath).collect(Collectors.toSet()), files);
+	}
+
+	@Test
+	public void failureToCreateToolchainOnlyAffectsItsFile() throws Exception {
+		// one thread, hence the files are processed in order
+		final TestBatch batch = new TestBatch(1, 2);
+		batch.run(mInputFiles);
+
+		final List<String[]> records = readRecords();
+		assertEquals(NUMBER_OF_FILES, records.size());
+		for (int i = 0; i < NUMBER_OF_FILES; i++) {
+			assertEquals(mInputFiles[i].getAbsolutePath(), records.get(i)[1]);
+			assertEquals(i == 2, "EXCEPTION".equals(records.get(i)[2]));
+		}
+		assertEquals(NUMBER_OF_FILES - 1, batch.mRuns.get());
+	}
+
+	private List<String[]> readRecords() throws IOException {
+		return Files.readAllLines(mResultsFile.toPath()).stream().map(a -> a.split("\t"))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * A batch that does not run a toolchain but counts the toolchains that exist at the same time.
+	 */
+	private final class TestBatch extends BatchVerification {
+		private final int mFailingRun;
+		private final AtomicInteger mCreated = new AtomicInteger();
+		private final AtomicInteger mAlive = new AtomicInteger();
+		private final AtomicInteger mMaxAlive = new AtomicInteger();
+		private final AtomicInteger mRuns = new AtomicInteger();
+
+		/**
+		 * @param failingRun
+		 *            number of the toolchain whose creation fails, -1 if all succeed
+		 */
+		private TestBatch(final int threads, final int failingRun) {
+			super(threads, mResultsFile, mLogger);
+			mFailingRun = failingRun;
+		}
+
+		@Override
+		IToolchainData<RunDefinition> createToolchain() throws InvalidFileArgumentException {
+			if (mCreated.getAndIncrement() == mFailingRun) {
+				throw new InvalidFileArgumentException("broken toolchain");
+			}
+			final int alive = mAlive.incrementAndGet();
+			mMaxAlive.accumulateAndGet(alive, Math::max);
+			return new TestToolchain();
+		}
+
+		@Override
+		void runToolchain(final BatchTask task) throws InterruptedException {
+			mRuns.incrementAndGet();
+			assertNotNull(task.getToolchain());
+			Thread.sleep(20);
+			task.setResults(Collections.emptyMap());
+			mAlive.decrementAndGet();
+		}
+	}
+
+	/**
+	 * A toolchain without content.
+	 */
+	private static final class TestToolchain implements IToolchainData<RunDefinition> {
+		@Override
+		public RunDefinition getRootElement() {
+			return null;
+		}
+
+		@Override
+		public IToolchainStorage getStorage() {
+			return null;
+		}
+
+		@Override
+		public IUltimateServiceProvider getServices() {
+			return null;
+		}
+
+		@Override
+		public void addPlugin(final String pluginID) {
+			// nothing to add
+		}
+	}
+}